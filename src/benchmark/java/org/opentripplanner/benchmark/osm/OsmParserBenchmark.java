@@ -0,0 +1,62 @@
+package org.opentripplanner.benchmark.osm;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.graph_builder.module.osm.OSMDatabase;
+import org.opentripplanner.openstreetmap.OpenStreetMapProvider;
+
+/**
+ * Read an OSM PBF file into a new {@link OSMDatabase}, using 1 to 8 threads to decompress and
+ * parse the PBF blocks. The file is cached in memory, so the result is not affected by the disk.
+ * <p>
+ * The test extracts in {@code src/test/resources} are used. They are small, so a larger extract
+ * can be passed in with {@code -p file=<path>} to see the speedup on a real data set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4G" })
+public class OsmParserBenchmark {
+
+  @Param(
+    {
+      "src/test/resources/oslo-east-filtered.osm.pbf",
+      "src/test/resources/portland/portland-central-filtered.osm.pbf",
+      "src/test/resources/org/opentripplanner/graph_builder/module/columbus.osm.pbf",
+    }
+  )
+  public String file;
+
+  @Param({ "1", "2", "4", "8" })
+  public int threads;
+
+  private OpenStreetMapProvider provider;
+
+  @Setup
+  public void setup() {
+    this.provider = new OpenStreetMapProvider(new File(file), true, threads);
+  }
+
+  @Benchmark
+  public void readOSM(Blackhole bh) {
+    var osmdb = new OSMDatabase(DataImportIssueStore.NOOP, Set.of());
+    provider.readOSM(osmdb);
+    bh.consume(osmdb.nodeCount());
+  }
+}
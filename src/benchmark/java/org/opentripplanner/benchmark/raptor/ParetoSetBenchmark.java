@@ -0,0 +1,84 @@
+package org.opentripplanner.benchmark.raptor;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
+import org.opentripplanner.raptor.util.paretoset.ParetoSet;
+import org.opentripplanner.raptor.util.paretoset.ParetoSetWithMarker;
+
+/**
+ * Insert stop arrivals into a pareto set. The vectors and the comparator mimic the
+ * {@code McStopArrivals} stop arrival pareto sets: arrival-time, number-of-transfers and
+ * generalized-cost. The {@code round} benchmark set the marker after each round of
+ * {@code arrivalsPerRound} arrivals, the same way Raptor does it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParetoSetBenchmark {
+
+  private static final ParetoComparator<Arrival> COMPARATOR = (l, r) ->
+    l.time < r.time || l.transfers < r.transfers || l.cost < r.cost;
+
+  @Param({ "20", "200", "2000" })
+  public int nArrivals;
+
+  @Param({ "5" })
+  public int arrivalsPerRound;
+
+  private Arrival[] arrivals;
+
+  @Setup
+  public void setup() {
+    // Use a fixed seed to make the benchmark comparable between runs
+    var rnd = new Random(4711);
+    arrivals = new Arrival[nArrivals];
+    for (int i = 0; i < nArrivals; ++i) {
+      // The arrival time and the cost are correlated, like they are in a real search
+      int time = 3600 + rnd.nextInt(7200);
+      int transfers = i / arrivalsPerRound;
+      int cost = time + rnd.nextInt(1800) - 900;
+      arrivals[i] = new Arrival(time, transfers, cost);
+    }
+  }
+
+  @Benchmark
+  public void add(Blackhole bh) {
+    var set = new ParetoSet<>(COMPARATOR);
+    for (Arrival it : arrivals) {
+      bh.consume(set.add(it));
+    }
+    bh.consume(set.size());
+  }
+
+  @Benchmark
+  public void addWithMarker(Blackhole bh) {
+    var set = new ParetoSetWithMarker<>(COMPARATOR);
+    for (int i = 0; i < arrivals.length; ++i) {
+      if (i % arrivalsPerRound == 0) {
+        set.markAtEndOfSet();
+      }
+      bh.consume(set.add(arrivals[i]));
+    }
+    for (Arrival it : set.elementsAfterMarker()) {
+      bh.consume(it);
+    }
+  }
+
+  private record Arrival(int time, int transfers, int cost) {}
+}
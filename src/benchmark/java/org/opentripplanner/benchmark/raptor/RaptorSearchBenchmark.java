@@ -0,0 +1,113 @@
+package org.opentripplanner.benchmark.raptor;
+
+import static org.opentripplanner.raptor._data.transit.TestAccessEgress.walk;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.framework.time.TimeUtils;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.transit.TestRoute;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.Optimization;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+/**
+ * Route a multi-criteria search with destination pruning on a generated grid network, with a
+ * route along each row and each column. The search run the forward and reverse heuristic
+ * searches before the main search, so the per stop arrays of three workers are allocated for each
+ * request. The journey is the same for all grid sizes, so the difference between the grid sizes
+ * is the cost of the number of stops. Run it with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RaptorSearchBenchmark {
+
+  private static final int STOP_TRAVEL_TIME = 60;
+  private static final int DESTINATION = 10;
+  private static final int HEADWAY = 600;
+  private static final int FIRST_DEPARTURE = TimeUtils.hm2time(6, 0);
+  private static final int LAST_DEPARTURE = TimeUtils.hm2time(10, 0);
+
+  /** The number of stops is the grid size squared. */
+  @Param({ "32", "128", "256" })
+  public int gridSize;
+
+  private final RaptorConfig<TestTripSchedule> config = RaptorConfig.defaultConfigForTest();
+  private final RaptorService<TestTripSchedule> service = new RaptorService<>(config);
+
+  private TestTransitData data;
+  private RaptorRequest<TestTripSchedule> request;
+
+  @Setup
+  public void setup() {
+    data = new TestTransitData();
+    for (int i = 0; i < gridSize; ++i) {
+      data.withRoute(gridRoute("Row" + i, stop(i, 0), 1));
+      data.withRoute(gridRoute("Col" + i, stop(0, i), gridSize));
+    }
+
+    var builder = new RaptorRequestBuilder<TestTripSchedule>();
+    builder
+      .profile(RaptorProfile.MULTI_CRITERIA)
+      .enableOptimization(Optimization.PARETO_CHECK_AGAINST_DESTINATION);
+    builder
+      .searchParams()
+      .earliestDepartureTime(TimeUtils.hm2time(7, 0))
+      .addAccessPaths(walk(stop(0, 0), 60), walk(stop(1, 1), 300))
+      .addEgressPaths(walk(stop(DESTINATION, DESTINATION), 60));
+    request = builder.build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    config.shutdown();
+  }
+
+  @Benchmark
+  public void multiCriteria(Blackhole bh) {
+    bh.consume(service.route(request, data).paths());
+  }
+
+  private int stop(int row, int col) {
+    // Stop index 0 is not used by the test transit data
+    return 1 + row * gridSize + col;
+  }
+
+  private TestRoute gridRoute(String name, int firstStop, int step) {
+    int[] stops = new int[gridSize];
+    for (int i = 0; i < gridSize; ++i) {
+      stops[i] = firstStop + i * step;
+    }
+    var route = route(name, stops);
+    for (int departure = FIRST_DEPARTURE; departure <= LAST_DEPARTURE; departure += HEADWAY) {
+      int[] times = new int[gridSize];
+      for (int i = 0; i < gridSize; ++i) {
+        times[i] = departure + i * STOP_TRAVEL_TIME;
+      }
+      route.withTimetable(schedule().times(times));
+    }
+    return route;
+  }
+}
@@ -0,0 +1,170 @@
+package org.opentripplanner.benchmark.report;
+
+import static org.opentripplanner.framework.text.Table.Align.Center;
+import static org.opentripplanner.framework.text.Table.Align.Left;
+import static org.opentripplanner.framework.text.Table.Align.Right;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.opentripplanner.framework.text.Table;
+
+/**
+ * Compare two JMH result files (json format) and print a markdown table with the relative change
+ * for each benchmark. The first file is the baseline, the second the current result.
+ * <p>
+ * A result is reported as a regression/improvement if the change is more than
+ * {@link #THRESHOLD_PERCENT} and larger than the sum of the error margins of the two results.
+ * The program exits with status code 1 if at least one regression is found, so it can be used in
+ * a CI pipeline.
+ */
+public class BenchmarkReport {
+
+  private static final double THRESHOLD_PERCENT = 5.0;
+
+  private final Map<String, Score> baseline;
+  private final Map<String, Score> current;
+
+  BenchmarkReport(Map<String, Score> baseline, Map<String, Score> current) {
+    this.baseline = baseline;
+    this.current = current;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: BenchmarkReport <baseline.json> <current.json>");
+      System.exit(2);
+    }
+    var report = new BenchmarkReport(read(new File(args[0])), read(new File(args[1])));
+    System.out.println(report.toMarkdown());
+    if (report.regressionExist()) {
+      System.exit(1);
+    }
+  }
+
+  static Map<String, Score> read(File file) throws IOException {
+    return parse(new ObjectMapper().readTree(file));
+  }
+
+  static Map<String, Score> parse(JsonNode root) {
+    var result = new LinkedHashMap<String, Score>();
+    for (JsonNode it : root) {
+      var metric = it.get("primaryMetric");
+      var score = new Score(
+        it.get("mode").asText(),
+        metric.get("score").asDouble(),
+        metric.get("scoreError").asDouble(Double.NaN),
+        metric.get("scoreUnit").asText()
+      );
+      result.put(name(it), score);
+    }
+    return result;
+  }
+
+  String toMarkdown() {
+    var table = Table
+      .of()
+      .withAlights(Left, Right, Right, Right, Left, Center)
+      .withHeaders("Benchmark", "Baseline", "Current", "Change", "Unit", "Status");
+
+    for (String name : benchmarkNames()) {
+      var b = baseline.get(name);
+      var c = current.get(name);
+
+      if (b == null || c == null) {
+        table.addRow(name, format(b), format(c), "", unit(b, c), b == null ? "NEW" : "REMOVED");
+        continue;
+      }
+      table.addRow(
+        name,
+        format(b),
+        format(c),
+        String.format(Locale.ROOT, "%+.1f%%", c.changeInPercent(b)),
+        c.unit(),
+        status(b, c).name()
+      );
+    }
+    return table.build().toMarkdownTable();
+  }
+
+  boolean regressionExist() {
+    return benchmarkNames()
+      .stream()
+      .filter(n -> baseline.containsKey(n) && current.containsKey(n))
+      .anyMatch(n -> status(baseline.get(n), current.get(n)) == Status.REGRESSION);
+  }
+
+  /* private methods */
+
+  private List<String> benchmarkNames() {
+    // Keep the order of the baseline, and add new benchmarks at the end
+    var names = new ArrayList<>(baseline.keySet());
+    current.keySet().stream().filter(n -> !baseline.containsKey(n)).forEach(names::add);
+    return names;
+  }
+
+  private static Status status(Score baseline, Score current) {
+    double change = current.changeInPercent(baseline);
+    if (Math.abs(change) < THRESHOLD_PERCENT) {
+      return Status.OK;
+    }
+    double error = baseline.error() + current.error();
+    if (!Double.isNaN(error) && Math.abs(current.score() - baseline.score()) <= error) {
+      return Status.OK;
+    }
+    boolean worse = current.higherIsBetter() ? change < 0 : change > 0;
+    return worse ? Status.REGRESSION : Status.IMPROVEMENT;
+  }
+
+  /**
+   * Create a unique name for the benchmark, including the parameters. The package prefix is
+   * removed to keep the table readable.
+   */
+  private static String name(JsonNode node) {
+    var name = node.get("benchmark").asText().replace("org.opentripplanner.benchmark.", "");
+    var params = node.get("params");
+    if (params == null) {
+      return name;
+    }
+    var sorted = new TreeMap<String, String>();
+    params.fields().forEachRemaining(e -> sorted.put(e.getKey(), e.getValue().asText()));
+    return name + sorted;
+  }
+
+  private static String format(Score score) {
+    if (score == null) {
+      return "";
+    }
+    return Double.isNaN(score.error())
+      ? String.format(Locale.ROOT, "%.3f", score.score())
+      : String.format(Locale.ROOT, "%.3f ± %.3f", score.score(), score.error());
+  }
+
+  private static String unit(Score b, Score c) {
+    return b != null ? b.unit() : c.unit();
+  }
+
+  enum Status {
+    OK,
+    IMPROVEMENT,
+    REGRESSION,
+  }
+
+  record Score(String mode, double score, double error, String unit) {
+    /** Throughput is the only JMH mode where a higher score is better. */
+    boolean higherIsBetter() {
+      return "thrpt".equals(mode);
+    }
+
+    double changeInPercent(Score baseline) {
+      return 100.0 * (score - baseline.score) / baseline.score;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package org.opentripplanner.benchmark.street;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.astar.model.PriorityQueueType;
+import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
+import org.opentripplanner.benchmark.support.BenchmarkTransitData;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.request.StreetRequest;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.StreetSearchBuilder;
+import org.opentripplanner.street.search.strategy.DominanceFunctions;
+import org.opentripplanner.street.search.strategy.EuclideanRemainingWeightHeuristic;
+
+/**
+ * Compare the A* priority queues and shortest path tree state stores on street searches:
+ * <ul>
+ *   <li>{@code accessEgress} - A one-to-many walk search limited by duration, the same kind of
+ *   search as the access/egress search done before Raptor.</li>
+ *   <li>{@code direct} - A point-to-point bicycle search with the euclidean heuristic, the same
+ *   kind of search as the direct street search.</li>
+ * </ul>
+ * Each benchmark invocation runs a search for each of the 20 origins (and destinations).
+ * They are picked at random, using a fixed seed, among the street vertices in the graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx12G" })
+public class StreetSearchBenchmark {
+
+  private static final int N_SEARCHES = 20;
+  private static final Duration ACCESS_EGRESS_MAX_DURATION = Duration.ofMinutes(20);
+  private static final double DIRECT_MAX_DISTANCE_METERS = 10_000;
+
+  @Param({ "BINARY_HEAP", "INDEXED_DARY_HEAP" })
+  public PriorityQueueType queue;
+
+  /** Store the shortest path tree states in an array indexed by the dense vertex index. */
+  @Param({ "false", "true" })
+  public boolean vertexIndex;
+
+  private Graph graph;
+  private RouteRequest request;
+  private final List<Vertex> origins = new ArrayList<>();
+  private final List<Vertex> destinations = new ArrayList<>();
+
+  @Setup
+  public void setup() {
+    var data = BenchmarkTransitData.load();
+    this.graph = data.graph();
+    this.request = data.request();
+
+    var vertices = graph.getVerticesOfType(StreetVertex.class);
+    // The graph vertices are not ordered, sort them to make the benchmark comparable between runs
+    vertices.sort(Comparator.comparing(Vertex::getLabel));
+
+    var rnd = new Random(4711);
+    while (origins.size() < N_SEARCHES) {
+      var from = vertices.get(rnd.nextInt(vertices.size()));
+      var to = vertices.get(rnd.nextInt(vertices.size()));
+      // Only pick destinations within bicycle distance
+      if (
+        SphericalDistanceLibrary.distance(from.getCoordinate(), to.getCoordinate()) <
+        DIRECT_MAX_DISTANCE_METERS
+      ) {
+        origins.add(from);
+        destinations.add(to);
+      }
+    }
+  }
+
+  @Benchmark
+  public void accessEgress(Blackhole bh) {
+    for (Vertex origin : origins) {
+      var spt = searchBuilder(StreetMode.WALK)
+        .setSkipEdgeStrategy(new DurationSkipEdgeStrategy<>(ACCESS_EGRESS_MAX_DURATION))
+        .setFrom(origin)
+        .getShortestPathTree();
+      bh.consume(spt.getVertexCount());
+    }
+  }
+
+  @Benchmark
+  public void direct(Blackhole bh) {
+    for (int i = 0; i < origins.size(); ++i) {
+      var paths = searchBuilder(StreetMode.BIKE)
+        .setHeuristic(new EuclideanRemainingWeightHeuristic())
+        .setFrom(origins.get(i))
+        .setTo(destinations.get(i))
+        .getPathsToTarget();
+      bh.consume(paths);
+    }
+  }
+
+  private StreetSearchBuilder searchBuilder(StreetMode mode) {
+    var builder = StreetSearchBuilder
+      .of()
+      .setDominanceFunction(new DominanceFunctions.MinimumWeight())
+      .setRequest(request)
+      .setStreetRequest(new StreetRequest(mode))
+      .setPriorityQueueType(queue);
+
+    if (vertexIndex) {
+      builder.setVertexIndex(Vertex::getIndex, graph.getVertexIndexSize());
+    }
+    return builder;
+  }
+}
@@ -0,0 +1,132 @@
+package org.opentripplanner.benchmark.street;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.linking.LinkingDirection;
+import org.opentripplanner.routing.linking.PartitionedVertexLinker;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.edge.StreetTransitStopLink;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.TransitStopVertex;
+import org.opentripplanner.street.model.vertex.TransitStopVertexBuilder;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.TraverseModeSet;
+import org.opentripplanner.transit.model._data.TransitModelForTest;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.service.StopModel;
+
+/**
+ * Link stops to a generated grid of streets with the {@link PartitionedVertexLinker}, per number
+ * of threads. Linking changes the graph, so a new graph is built before each iteration and each
+ * iteration links all stops once. Half of the stops are placed close to the previous stop, so
+ * they are linked to the same street edges. The linker logs how many of the stops had their
+ * street edges found again after an earlier stop split one of them, this part is sequential.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4G" })
+public class VertexLinkingBenchmark {
+
+  private static final int GRID_SIZE = 100;
+  /** About 200 meters */
+  private static final double GRID_SPACING = 0.002;
+  private static final double LAT = 59.9;
+  private static final double LON = 10.7;
+  private static final int N_STOPS = 20_000;
+
+  @Param({ "1", "2", "4" })
+  public int threads;
+
+  private Graph graph;
+  private List<TransitStopVertex> stops;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    graph = buildGraph();
+    stops = graph.getVerticesOfType(TransitStopVertex.class);
+  }
+
+  @Benchmark
+  public Graph linkStops() {
+    new PartitionedVertexLinker(graph.getLinker(), threads)
+      .linkVerticesPermanently(
+        stops,
+        stop -> new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BOTH_WAYS,
+        (vertex, streetVertex) ->
+          List.of(
+            new StreetTransitStopLink((TransitStopVertex) vertex, streetVertex),
+            new StreetTransitStopLink(streetVertex, (TransitStopVertex) vertex)
+          ),
+        () -> {}
+      );
+    return graph;
+  }
+
+  private static Graph buildGraph() {
+    var graph = new Graph(new Deduplicator());
+
+    IntersectionVertex[][] grid = new IntersectionVertex[GRID_SIZE][GRID_SIZE];
+    for (int x = 0; x < GRID_SIZE; ++x) {
+      for (int y = 0; y < GRID_SIZE; ++y) {
+        String label = "V" + x + "_" + y;
+        grid[x][y] =
+          new IntersectionVertex(
+            graph,
+            label,
+            LON + x * GRID_SPACING,
+            LAT + y * GRID_SPACING,
+            label
+          );
+      }
+    }
+    for (int x = 0; x < GRID_SIZE; ++x) {
+      for (int y = 0; y < GRID_SIZE; ++y) {
+        if (x + 1 < GRID_SIZE) {
+          StreetModelForTest.streetEdge(grid[x][y], grid[x + 1][y]);
+          StreetModelForTest.streetEdge(grid[x + 1][y], grid[x][y]);
+        }
+        if (y + 1 < GRID_SIZE) {
+          StreetModelForTest.streetEdge(grid[x][y], grid[x][y + 1]);
+          StreetModelForTest.streetEdge(grid[x][y + 1], grid[x][y]);
+        }
+      }
+    }
+
+    var random = new Random(42);
+    double size = (GRID_SIZE - 1) * GRID_SPACING;
+    double lat = LAT;
+    double lon = LON;
+    for (int i = 0; i < N_STOPS; ++i) {
+      if (i % 2 == 0) {
+        lat = LAT + random.nextDouble() * size;
+        lon = LON + random.nextDouble() * size;
+      } else {
+        lat += (random.nextDouble() - 0.5) * 0.0002;
+        lon += (random.nextDouble() - 0.5) * 0.0002;
+      }
+      var stop = TransitModelForTest.stop("S" + i).withCoordinate(lat, lon).build();
+      new TransitStopVertexBuilder().withGraph(graph).withStop(stop).build();
+    }
+
+    graph.index(new StopModel());
+    return graph;
+  }
+}
@@ -0,0 +1,96 @@
+package org.opentripplanner.benchmark.support;
+
+import static org.opentripplanner.standalone.configure.ConstructApplication.creatTransitLayerForRaptor;
+
+import java.io.File;
+import java.time.ZonedDateTime;
+import org.opentripplanner.datastore.OtpDataStore;
+import org.opentripplanner.framework.time.ServiceDateUtils;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RaptorRoutingRequestTransitData;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RouteRequestTransitDataProviderFilter;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.SerializedGraphObject;
+import org.opentripplanner.standalone.config.ConfigModel;
+import org.opentripplanner.standalone.config.OtpConfigLoader;
+import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.transit.speed_test.options.SpeedTestConfig;
+
+/**
+ * Load a graph from one of the {@code test/performance} data sets and create the transit layer
+ * used by Raptor. The graph is loaded once per JVM, JMH forks a new JVM for each benchmark, so
+ * a benchmark should keep this in a {@code Scope.Benchmark} state.
+ * <p>
+ * The data set directory is set with the {@link #DIR_PROPERTY} system property.
+ */
+public class BenchmarkTransitData {
+
+  public static final String DIR_PROPERTY = "otp.benchmark.dir";
+  private static final String DEFAULT_DIR = "test/performance/norway";
+
+  private final SpeedTestConfig config;
+  private final Graph graph;
+  private final TransitModel transitModel;
+
+  private BenchmarkTransitData(SpeedTestConfig config, Graph graph, TransitModel transitModel) {
+    this.config = config;
+    this.graph = graph;
+    this.transitModel = transitModel;
+  }
+
+  public static BenchmarkTransitData load() {
+    var dir = new File(System.getProperty(DIR_PROPERTY, DEFAULT_DIR));
+    ConfigModel.initializeOtpFeatures(new OtpConfigLoader(dir).loadOtpConfig());
+    var config = SpeedTestConfig.config(dir);
+
+    var file = config.graph == null
+      ? OtpDataStore.graphFile(dir)
+      : config.graph.isAbsolute()
+        ? new File(config.graph)
+        : new File(dir, config.graph.getPath());
+
+    var serializedGraphObject = SerializedGraphObject.load(file);
+    var transitModel = serializedGraphObject.transitModel;
+    transitModel.index();
+    serializedGraphObject.graph.index(transitModel.getStopModel());
+    creatTransitLayerForRaptor(transitModel, config.transitRoutingParams);
+
+    return new BenchmarkTransitData(config, serializedGraphObject.graph, transitModel);
+  }
+
+  /** The street graph, used by the street search benchmarks. */
+  public Graph graph() {
+    return graph;
+  }
+
+  public TransitLayer transitLayer() {
+    return transitModel.getTransitLayer();
+  }
+
+  /** The routing defaults from the {@code speed-test-config.json}. */
+  public RouteRequest request() {
+    return config.request;
+  }
+
+  /** Start of service on the test date, all transit times are relative to this. */
+  public ZonedDateTime transitSearchTimeZero() {
+    return ServiceDateUtils.asStartOfService(config.testDate, transitModel.getTimeZone());
+  }
+
+  /**
+   * Create the transit data the same way as the {@code TransitRouter} does it, using the test
+   * date and the routing defaults. One day before and after the test date is included.
+   */
+  public RaptorRoutingRequestTransitData createRequestTransitData() {
+    var request = request();
+    return new RaptorRoutingRequestTransitData(
+      transitLayer(),
+      transitSearchTimeZero(),
+      1,
+      1,
+      new RouteRequestTransitDataProviderFilter(request),
+      request
+    );
+  }
+}
@@ -0,0 +1,73 @@
+package org.opentripplanner.benchmark.transit;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.benchmark.support.BenchmarkTransitData;
+import org.opentripplanner.raptor.api.model.RaptorTransfer;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.RaptorTransferIndex;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.routing.api.request.RouteRequest;
+
+/**
+ * Measure the transfer lookup done by Raptor for each stop reached, and the cost of creating a
+ * new {@link RaptorTransferIndex} - which is what happens on a transfer cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx12G" })
+public class TransferIndexBenchmark {
+
+  private TransitLayer transitLayer;
+  private RouteRequest request;
+  private RaptorTransferIndex transferIndex;
+  private int nStops;
+
+  @Setup
+  public void setup() {
+    var data = BenchmarkTransitData.load();
+    this.transitLayer = data.transitLayer();
+    this.request = data.request();
+    this.transferIndex = transitLayer.getRaptorTransfersForRequest(request);
+    this.nStops = transitLayer.getStopCount();
+  }
+
+  /** Iterate over all forward transfers for all stops. */
+  @Benchmark
+  public void forwardTransfersLookup(Blackhole bh) {
+    for (int stop = 0; stop < nStops; ++stop) {
+      for (RaptorTransfer it : transferIndex.getForwardTransfers(stop)) {
+        bh.consume(it.durationInSeconds());
+      }
+    }
+  }
+
+  /** Iterate over all reverse transfers for all stops. */
+  @Benchmark
+  public void reverseTransfersLookup(Blackhole bh) {
+    for (int stop = 0; stop < nStops; ++stop) {
+      for (RaptorTransfer it : transferIndex.getReversedTransfers(stop)) {
+        bh.consume(it.durationInSeconds());
+      }
+    }
+  }
+
+  /** Create a new transfer index, the cache is cleared before each call. */
+  @Benchmark
+  public RaptorTransferIndex createTransferIndex() {
+    transitLayer.getTransferCache().getTransferCache().invalidateAll();
+    return transitLayer.getRaptorTransfersForRequest(request);
+  }
+}
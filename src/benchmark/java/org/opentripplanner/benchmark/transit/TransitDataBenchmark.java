@@ -0,0 +1,44 @@
+package org.opentripplanner.benchmark.transit;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.benchmark.support.BenchmarkTransitData;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RaptorRoutingRequestTransitData;
+
+/**
+ * Measure the per request creation of the {@link RaptorRoutingRequestTransitData}. This include
+ * filtering the trip patterns for the search days, merging them into {@code TripPatternForDates}
+ * and creating the patterns-per-stop index. The transfer index is cached, so it is not part of
+ * this benchmark, see {@link TransferIndexBenchmark}.
+ * <p>
+ * Run with {@code -prof gc} to see the amount of garbage created per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx12G" })
+public class TransitDataBenchmark {
+
+  private BenchmarkTransitData data;
+
+  @Setup
+  public void setup() {
+    this.data = BenchmarkTransitData.load();
+  }
+
+  @Benchmark
+  public RaptorRoutingRequestTransitData createRequestTransitData() {
+    return data.createRequestTransitData();
+  }
+}
@@ -0,0 +1,95 @@
+package org.opentripplanner.benchmark.transit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.benchmark.support.BenchmarkTransitData;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.spi.RaptorTimeTable;
+import org.opentripplanner.raptor.util.IntIterators;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RaptorRoutingRequestTransitData;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.TripPatternForDates;
+
+/**
+ * Measure the {@code TripScheduleBoardSearch} and the {@code TripScheduleAlightSearch} on the
+ * timetables of a real data set. A fixed set of random (pattern, stop position, time) queries are
+ * created up front and each benchmark invocation run all of them. The trip search is created for
+ * each query, the same way Raptor creates a new search for each route in each round.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx12G" })
+public class TripSearchBenchmark {
+
+  private static final int N_QUERIES = 10_000;
+
+  private final List<Query> queries = new ArrayList<>();
+
+  @Setup
+  public void setup() {
+    BenchmarkTransitData data = BenchmarkTransitData.load();
+    RaptorRoutingRequestTransitData transitData = data.createRequestTransitData();
+
+    List<TripPatternForDates> patterns = new ArrayList<>();
+    var it = transitData.routeIndexIterator(
+      IntIterators.intIncIterator(0, transitData.numberOfStops())
+    );
+    while (it.hasNext()) {
+      var route = (TripPatternForDates) transitData.getRouteForIndex(it.next());
+      // Frequency based patterns use a different search, they are not included
+      if (!route.useCustomizedTripSearch() && route.numberOfTripSchedules() > 0) {
+        patterns.add(route);
+      }
+    }
+    if (patterns.isEmpty()) {
+      throw new IllegalStateException("No trip patterns found on the test date.");
+    }
+
+    // Use a fixed seed to make the benchmark comparable between runs
+    var rnd = new Random(4711);
+    for (int i = 0; i < N_QUERIES; ++i) {
+      var pattern = patterns.get(rnd.nextInt(patterns.size()));
+      int stopPos = rnd.nextInt(pattern.numberOfStopsInPattern());
+      var departures = pattern.getDepartureTimes(stopPos);
+      int first = departures.applyAsInt(0);
+      int last = departures.applyAsInt(pattern.numberOfTripSchedules() - 1);
+      // Pick a time in the service period of the pattern, with a one hour margin at each end
+      int time = first - 3600 + rnd.nextInt(Math.max(1, last - first + 7200));
+      queries.add(new Query(pattern, stopPos, time));
+    }
+  }
+
+  @Benchmark
+  public void boardSearch(Blackhole bh) {
+    for (Query q : queries) {
+      var search = q.timetable.tripSearch(SearchDirection.FORWARD);
+      bh.consume(search.search(q.time, q.stopPos).tripIndex());
+    }
+  }
+
+  @Benchmark
+  public void alightSearch(Blackhole bh) {
+    for (Query q : queries) {
+      var search = q.timetable.tripSearch(SearchDirection.REVERSE);
+      bh.consume(search.search(q.time, q.stopPos).tripIndex());
+    }
+  }
+
+  private record Query(RaptorTimeTable<TripSchedule> timetable, int stopPos, int time) {}
+}
@@ -152,7 +152,8 @@ class GraphQLIntegrationTest {
       2000,
       2000,
       Locale.ENGLISH,
-      context
+      context,
+      null
     );
     var actualJson = extracted(response);
     assertEquals(200, response.getStatus());
@@ -3,12 +3,15 @@ package org.opentripplanner.ext.legacygraphqlapi;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.model.plan.PlanTestConstants;
 import org.opentripplanner.model.plan.TripPlan;
 import org.opentripplanner.routing.api.RoutingService;
+import org.opentripplanner.routing.api.request.RouteBatchRequest;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.RouteViaRequest;
+import org.opentripplanner.routing.api.response.BatchRoutingResponse;
 import org.opentripplanner.routing.api.response.RoutingResponse;
 import org.opentripplanner.routing.api.response.ViaRoutingResponse;
 import org.opentripplanner.routing.framework.DebugTimingAggregator;
@@ -39,4 +42,9 @@ public class TestRoutingService implements RoutingService {
   public ViaRoutingResponse route(RouteViaRequest request) {
     throw new RuntimeException("Not implemented yet!");
   }
+
+  @Override
+  public void route(RouteBatchRequest request, Consumer<BatchRoutingResponse> responseListener) {
+    throw new RuntimeException("Not implemented yet!");
+  }
 }
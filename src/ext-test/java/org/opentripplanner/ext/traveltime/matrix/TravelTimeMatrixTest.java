@@ -0,0 +1,103 @@
+package org.opentripplanner.ext.traveltime.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.opentripplanner.ext.traveltime.matrix.TravelTimeMatrix.UNREACHED;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.api.response.StopArrivals;
+
+class TravelTimeMatrixTest {
+
+  private static final int NOT_REACHED = -999;
+
+  /**
+   * Stop 0 and 1 is cluster 0, stop 2 is cluster 1, and stop 3 has no egress.
+   */
+  private final StopClusterEgress egress = createEgress();
+
+  @Test
+  void minMedianAndMax() {
+    var subject = new TravelTimeMatrix(egress, 3, 1000);
+
+    subject.iterationComplete(100, arrivals(400, 300, 1000, 150));
+    subject.iterationComplete(40, arrivals(300, NOT_REACHED, 400, 100));
+    subject.iterationComplete(0, arrivals(NOT_REACHED, NOT_REACHED, 200, 50));
+
+    assertEquals(3, subject.nIterations());
+
+    // Iteration travel times: 260, 320, unreached
+    assertEquals(260, subject.min(0));
+    assertEquals(320, subject.median(0));
+    assertEquals(UNREACHED, subject.max(0));
+
+    // Iteration travel times: 500 (cluster 0), 480 (cluster 1), 320 (cluster 1)
+    assertEquals(320, subject.min(1));
+    assertEquals(480, subject.median(1));
+    assertEquals(500, subject.max(1));
+
+    // No egress to target 2
+    assertEquals(UNREACHED, subject.min(2));
+    assertEquals(UNREACHED, subject.median(2));
+    assertEquals(UNREACHED, subject.max(2));
+  }
+
+  @Test
+  void travelTimesLongerThanMaxDurationAreUnreached() {
+    var subject = new TravelTimeMatrix(egress, 3, 300);
+
+    subject.iterationComplete(100, arrivals(400, 300, 1000, 150));
+    subject.iterationComplete(40, arrivals(300, NOT_REACHED, 400, 100));
+
+    assertEquals(260, subject.min(0));
+    assertEquals(UNREACHED, subject.max(0));
+    assertEquals(UNREACHED, subject.min(1));
+  }
+
+  @Test
+  void noIterations() {
+    var subject = new TravelTimeMatrix(egress, 3, 1000);
+
+    assertEquals(UNREACHED, subject.min(0));
+    assertEquals(UNREACHED, subject.median(0));
+    assertEquals(UNREACHED, subject.max(0));
+  }
+
+  private static StopClusterEgress createEgress() {
+    var egress = new StopClusterEgress(4);
+    int c0 = egress.addCluster(0, 1);
+    int c1 = egress.addCluster(2);
+    egress.addEgress(c0, 0, 60);
+    egress.addEgress(c0, 1, 300);
+    egress.addEgress(c1, 1, 120);
+    return egress;
+  }
+
+  private static StopArrivals arrivals(int... bestArrivalTimes) {
+    return new StopArrivals() {
+      @Override
+      public boolean reached(int stopIndex) {
+        return bestArrivalTimes[stopIndex] != NOT_REACHED;
+      }
+
+      @Override
+      public int bestArrivalTime(int stopIndex) {
+        return bestArrivalTimes[stopIndex];
+      }
+
+      @Override
+      public boolean reachedByTransit(int stopIndex) {
+        return reached(stopIndex);
+      }
+
+      @Override
+      public int bestTransitArrivalTime(int stopIndex) {
+        return bestArrivalTime(stopIndex);
+      }
+
+      @Override
+      public int smallestNumberOfTransfers(int stopIndex) {
+        return 0;
+      }
+    };
+  }
+}
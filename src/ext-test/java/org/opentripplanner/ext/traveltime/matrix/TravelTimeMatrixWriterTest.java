@@ -0,0 +1,96 @@
+package org.opentripplanner.ext.traveltime.matrix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.api.response.StopArrivals;
+
+class TravelTimeMatrixWriterTest {
+
+  private static final List<TravelTimeMatrixTarget> TARGETS = List.of(
+    new TravelTimeMatrixTarget("A", 60.0, 10.0),
+    new TravelTimeMatrixTarget("B, \"North\"", 60.1, 10.1)
+  );
+
+  private final TravelTimeMatrix matrix = createMatrix();
+
+  @Test
+  void writeCsv() throws IOException {
+    var out = new ByteArrayOutputStream();
+
+    TravelTimeMatrixWriter.writeCsv(TARGETS, matrix, out);
+
+    assertEquals(
+      """
+      id,min,median,max
+      A,80,80,100
+      "B, ""North""\",-1,-1,-1
+      """,
+      out.toString(StandardCharsets.UTF_8)
+    );
+  }
+
+  @Test
+  void writeBinary() throws IOException {
+    var out = new ByteArrayOutputStream();
+
+    TravelTimeMatrixWriter.writeBinary(matrix, out);
+
+    var in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(2, in.readInt());
+    assertEquals(80, in.readInt());
+    assertEquals(80, in.readInt());
+    assertEquals(100, in.readInt());
+    assertEquals(-1, in.readInt());
+    assertEquals(-1, in.readInt());
+    assertEquals(-1, in.readInt());
+    assertEquals(-1, in.read());
+  }
+
+  /**
+   * Target A is reached in 100 and 80 seconds, target B is not reached.
+   */
+  private static TravelTimeMatrix createMatrix() {
+    var egress = new StopClusterEgress(1);
+    egress.addEgress(egress.addCluster(0), 0, 40);
+    var matrix = new TravelTimeMatrix(egress, 2, 3600);
+    matrix.iterationComplete(60, arrivalAtStop0(120));
+    matrix.iterationComplete(0, arrivalAtStop0(40));
+    return matrix;
+  }
+
+  private static StopArrivals arrivalAtStop0(int time) {
+    return new StopArrivals() {
+      @Override
+      public boolean reached(int stopIndex) {
+        return true;
+      }
+
+      @Override
+      public int bestArrivalTime(int stopIndex) {
+        return time;
+      }
+
+      @Override
+      public boolean reachedByTransit(int stopIndex) {
+        return true;
+      }
+
+      @Override
+      public int bestTransitArrivalTime(int stopIndex) {
+        return time;
+      }
+
+      @Override
+      public int smallestNumberOfTransfers(int stopIndex) {
+        return 0;
+      }
+    };
+  }
+}
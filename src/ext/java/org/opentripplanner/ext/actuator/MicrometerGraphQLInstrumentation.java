@@ -20,6 +20,7 @@ import graphql.schema.GraphQLTypeUtil;
 import graphql.validation.ValidationError;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -31,12 +32,21 @@ import java.util.concurrent.CompletableFuture;
  * There are two types of metrics: one for query execution, and another for resolver timing. The
  * timers are registered to micrometer using graphql.timer.query and graphql.timer.resolver.
  * <p>
+ * The instrumentation can be reused across requests. Tags which differ from request to request are
+ * passed in the {@link graphql.GraphQLContext} of the execution input, using the
+ * {@link #REQUEST_TAGS} key.
+ * <p>
  * ### See also: - https://github.com/symbaloo/graphql-micrometer/blob/main/src/main/kotlin/com/symbaloo/graphqlmicrometer/MicrometerInstrumentation.kt
  * - https://github.com/graphql-java-kickstart/graphql-spring-boot/blob/master/graphql-spring-boot-autoconfigure/src/main/java/graphql/kickstart/autoconfigure/web/servlet/metrics/MetricsInstrumentation.java
  * - https://github.com/apollographql/apollo-tracing - [TracingInstrumentation]
  */
 public class MicrometerGraphQLInstrumentation implements Instrumentation {
 
+  /**
+   * The key of the request specific tags, an {@code Iterable<Tag>}, in the GraphQL context.
+   */
+  public static final String REQUEST_TAGS = "micrometerRequestTags";
+
   private static final String QUERY_TIME_METRIC_NAME = "graphql.timer.query";
   private static final String RESOLVER_TIME_METRIC_NAME = "graphql.timer.resolver";
   private static final String OPERATION_NAME_TAG = "operationName";
@@ -56,7 +66,12 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
 
   @Override
   public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
-    return new TraceState(parameters.getExecutionInput().getOperationName());
+    var executionInput = parameters.getExecutionInput();
+    Iterable<Tag> requestTags = executionInput.getGraphQLContext().get(REQUEST_TAGS);
+    return new TraceState(
+      executionInput.getOperationName(),
+      requestTags == null ? tags : Tags.concat(tags, requestTags)
+    );
   }
 
   @Override
@@ -66,7 +81,7 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
   ) {
     Timer.Sample sample = Timer.start(meterRegistry);
     return whenCompleted((res, err) ->
-      sample.stop(buildQueryTimer(((TraceState) state).operationName, "execution"))
+      sample.stop(buildQueryTimer((TraceState) state, "execution"))
     );
   }
 
@@ -77,7 +92,7 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
   ) {
     Timer.Sample sample = Timer.start(meterRegistry);
     return whenCompleted((res, err) ->
-      sample.stop(buildQueryTimer(((TraceState) state).operationName, "parse"))
+      sample.stop(buildQueryTimer((TraceState) state, "parse"))
     );
   }
 
@@ -88,7 +103,7 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
   ) {
     Timer.Sample sample = Timer.start(meterRegistry);
     return whenCompleted((res, err) ->
-      sample.stop(buildQueryTimer(((TraceState) state).operationName, "validation"))
+      sample.stop(buildQueryTimer((TraceState) state, "validation"))
     );
   }
 
@@ -136,34 +151,36 @@ public class MicrometerGraphQLInstrumentation implements Instrumentation {
         parameters.getExecutionStepInfo().getParent().getUnwrappedNonNullType()
       );
       String fieldName = parameters.getExecutionStepInfo().getFieldDefinition().getName();
-      sample.stop(buildFieldTimer(((TraceState) state).operationName, parentType, fieldName));
+      sample.stop(buildFieldTimer((TraceState) state, parentType, fieldName));
     });
   }
 
-  private Timer buildQueryTimer(String operationName, String operation) {
+  private Timer buildQueryTimer(TraceState state, String operation) {
     return Timer
       .builder(QUERY_TIME_METRIC_NAME)
       .description(TIMER_DESCRIPTION)
-      .tag(OPERATION_NAME_TAG, operationName)
+      .tag(OPERATION_NAME_TAG, state.operationName)
       .tag(OPERATION, operation)
-      .tags(tags)
+      .tags(state.tags)
       .register(meterRegistry);
   }
 
-  private Timer buildFieldTimer(String operationName, String parent, String field) {
+  private Timer buildFieldTimer(TraceState state, String parent, String field) {
     return Timer
       .builder(RESOLVER_TIME_METRIC_NAME)
       .description(TIMER_DESCRIPTION)
-      .tag(OPERATION_NAME_TAG, operationName)
+      .tag(OPERATION_NAME_TAG, state.operationName)
       .tag(PARENT, parent)
       .tag(FIELD, field)
-      .tags(tags)
+      .tags(state.tags)
       .register(meterRegistry);
   }
 
-  private record TraceState(String operationName) implements InstrumentationState {
-    private TraceState(String operationName) {
+  private record TraceState(String operationName, Iterable<Tag> tags)
+    implements InstrumentationState {
+    private TraceState(String operationName, Iterable<Tag> tags) {
       this.operationName = operationName == null ? "__UNKNOWN__" : operationName;
+      this.tags = tags;
     }
   }
 }
@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import org.opentripplanner.api.json.GraphQLResponseSerializer;
+import org.opentripplanner.framework.graphql.GraphQLDocumentCache;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,7 +58,12 @@ public class LegacyGraphQLAPI {
     @HeaderParam("OTPMaxResolves") @DefaultValue("1000000") int maxResolves,
     @Context HttpHeaders headers
   ) {
-    if (queryParameters == null || !queryParameters.containsKey("query")) {
+    Map<String, Object> extensions = queryParameters == null ? null : extensions(queryParameters);
+
+    if (
+      queryParameters == null ||
+      (!queryParameters.containsKey("query") && !GraphQLDocumentCache.isPersistedQuery(extensions))
+    ) {
       LOG.debug("No query found in body");
       return Response
         .status(Response.Status.BAD_REQUEST)
@@ -97,7 +103,8 @@ public class LegacyGraphQLAPI {
       maxResolves,
       timeout,
       locale,
-      LegacyGraphQLRequestContext.ofServerContext(serverContext)
+      LegacyGraphQLRequestContext.ofServerContext(serverContext),
+      extensions
     );
   }
 
@@ -119,7 +126,8 @@ public class LegacyGraphQLAPI {
       maxResolves,
       timeout,
       locale,
-      LegacyGraphQLRequestContext.ofServerContext(serverContext)
+      LegacyGraphQLRequestContext.ofServerContext(serverContext),
+      null
     );
   }
 
@@ -157,6 +165,7 @@ public class LegacyGraphQLAPI {
         variables = null;
       }
       String operationName = (String) query.getOrDefault("operationName", null);
+      Map<String, Object> extensions = extensions(query);
 
       futures.add(() ->
         LegacyGraphQLIndex.getGraphQLExecutionResult(
@@ -166,7 +175,8 @@ public class LegacyGraphQLAPI {
           maxResolves,
           timeout,
           locale,
-          LegacyGraphQLRequestContext.ofServerContext(serverContext)
+          LegacyGraphQLRequestContext.ofServerContext(serverContext),
+          extensions
         )
       );
     }
@@ -182,4 +192,13 @@ public class LegacyGraphQLAPI {
       throw new RuntimeException(e);
     }
   }
+
+  /* private methods */
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> extensions(Map<String, Object> queryParameters) {
+    return queryParameters.get("extensions") instanceof Map
+      ? (Map<String, Object>) queryParameters.get("extensions")
+      : null;
+  }
 }
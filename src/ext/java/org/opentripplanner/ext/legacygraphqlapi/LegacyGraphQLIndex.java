@@ -5,10 +5,10 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
-import graphql.analysis.MaxQueryComplexityInstrumentation;
 import graphql.execution.AbortExecutionException;
 import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
 import graphql.scalars.ExtendedScalars;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.RuntimeWiring;
@@ -16,6 +16,7 @@ import graphql.schema.idl.SchemaGenerator;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
 import jakarta.ws.rs.core.Response;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
@@ -29,6 +30,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.opentripplanner.api.json.GraphQLResponseSerializer;
+import org.opentripplanner.api.support.TransitDataLoaders;
 import org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation;
 import org.opentripplanner.ext.legacygraphqlapi.datafetchers.LegacyGraphQLAgencyImpl;
 import org.opentripplanner.ext.legacygraphqlapi.datafetchers.LegacyGraphQLAlertEntityTypeResolver;
@@ -81,6 +83,8 @@ import org.opentripplanner.ext.legacygraphqlapi.datafetchers.LegacyGraphQLservic
 import org.opentripplanner.ext.legacygraphqlapi.datafetchers.LegacyGraphQLstepImpl;
 import org.opentripplanner.ext.legacygraphqlapi.datafetchers.LegacyGraphQLstopAtDistanceImpl;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.graphql.GraphQLDocumentCache;
+import org.opentripplanner.framework.graphql.MaxResolvesInstrumentation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -88,8 +92,20 @@ class LegacyGraphQLIndex {
 
   static final Logger LOG = LoggerFactory.getLogger(LegacyGraphQLIndex.class);
 
+  private static final Tag API_TAG = Tag.of("api", "legacy-graphql");
+
+  private static final int DEFAULT_MAX_RESOLVES = 1_000_000;
+
   private static final GraphQLSchema indexSchema = buildSchema();
 
+  private static final GraphQLDocumentCache documentCache = createDocumentCache();
+
+  /**
+   * The GraphQL instance is reused across requests. The max resolves value is request specific and
+   * passed to the instrumentation in the GraphQL context.
+   */
+  private static final GraphQL graphQL = createGraphQL();
+
   static final ExecutorService threadPool = Executors.newCachedThreadPool(
     new ThreadFactoryBuilder().setNameFormat("GraphQLExecutor-%d").build()
   );
@@ -176,30 +192,27 @@ class LegacyGraphQLIndex {
     int maxResolves,
     int timeoutMs,
     Locale locale,
-    LegacyGraphQLRequestContext requestContext
+    LegacyGraphQLRequestContext requestContext,
+    Map<String, Object> extensions
   ) {
-    Instrumentation instrumentation = new MaxQueryComplexityInstrumentation(maxResolves);
-
-    if (OTPFeature.ActuatorAPI.isOn()) {
-      instrumentation =
-        new ChainedInstrumentation(
-          new MicrometerGraphQLInstrumentation(Metrics.globalRegistry, List.of()),
-          instrumentation
-        );
-    }
-
-    GraphQL graphQL = GraphQL.newGraphQL(indexSchema).instrumentation(instrumentation).build();
-
     if (variables == null) {
       variables = new HashMap<>();
     }
 
     ExecutionInput executionInput = ExecutionInput
       .newExecutionInput()
-      .query(query)
+      .query(query == null ? PersistedQuerySupport.PERSISTED_QUERY_MARKER : query)
       .operationName(operationName)
       .context(requestContext)
+      .graphQLContext(Map.of(MaxResolvesInstrumentation.MAX_RESOLVES, maxResolves))
       .variables(variables)
+      .extensions(extensions == null ? Map.of() : extensions)
+      .dataLoaderRegistry(
+        TransitDataLoaders.createRegistry(
+          requestContext.transitService(),
+          requestContext.vehiclePositionService()
+        )
+      )
       .locale(locale)
       .build();
     try {
@@ -216,7 +229,8 @@ class LegacyGraphQLIndex {
     int maxResolves,
     int timeoutMs,
     Locale locale,
-    LegacyGraphQLRequestContext requestContext
+    LegacyGraphQLRequestContext requestContext,
+    Map<String, Object> extensions
   ) {
     ExecutionResult executionResult = getGraphQLExecutionResult(
       query,
@@ -225,7 +239,8 @@ class LegacyGraphQLIndex {
       maxResolves,
       timeoutMs,
       locale,
-      requestContext
+      requestContext,
+      extensions
     );
 
     return Response
@@ -233,4 +248,32 @@ class LegacyGraphQLIndex {
       .entity(GraphQLResponseSerializer.serialize(executionResult))
       .build();
   }
+
+  /* private methods */
+
+  private static GraphQLDocumentCache createDocumentCache() {
+    var cache = new GraphQLDocumentCache();
+    if (OTPFeature.ActuatorAPI.isOn()) {
+      cache.bindMetrics(Metrics.globalRegistry, "graphql.documents", List.of(API_TAG));
+    }
+    return cache;
+  }
+
+  private static GraphQL createGraphQL() {
+    Instrumentation instrumentation = new MaxResolvesInstrumentation(DEFAULT_MAX_RESOLVES);
+
+    if (OTPFeature.ActuatorAPI.isOn()) {
+      instrumentation =
+        new ChainedInstrumentation(
+          new MicrometerGraphQLInstrumentation(Metrics.globalRegistry, List.of()),
+          instrumentation
+        );
+    }
+
+    return GraphQL
+      .newGraphQL(indexSchema)
+      .instrumentation(instrumentation)
+      .preparsedDocumentProvider(documentCache)
+      .build();
+  }
 }
@@ -1,9 +1,12 @@
 package org.opentripplanner.ext.legacygraphqlapi;
 
+import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import java.time.Instant;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLTypes.LegacyGraphQLFilterPlaceType;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLTypes.LegacyGraphQLFormFactor;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLTypes.LegacyGraphQLInputField;
@@ -37,6 +40,19 @@ public class LegacyGraphQLUtils {
     return environment.getLocale();
   }
 
+  /**
+   * Create a data fetcher which returns a future, usually from one of the
+   * {@link org.opentripplanner.api.support.TransitDataLoaders}. The generated data fetcher
+   * interfaces declare the resolved type of the field, but graphql-java waits for a returned
+   * {@link CompletionStage} before the field is resolved, so the future is returned as it is.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> DataFetcher<T> asyncDataFetcher(
+    Function<DataFetchingEnvironment, CompletionStage<? extends T>> fetcher
+  ) {
+    return environment -> (T) fetcher.apply(environment);
+  }
+
   public static String getTranslation(I18NString input, DataFetchingEnvironment environment) {
     if (input == null) {
       return null;
@@ -13,8 +13,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import org.opentripplanner.api.support.TransitDataLoaders;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLRequestContext;
+import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLUtils;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLDataFetchers;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLTypes;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLTypes.LegacyGraphQLAlertEffectType;
@@ -316,15 +319,16 @@ public class LegacyGraphQLAlertImpl implements LegacyGraphQLDataFetchers.LegacyG
 
   @Override
   public DataFetcher<Trip> trip() {
-    return environment ->
+    return LegacyGraphQLUtils.asyncDataFetcher(environment ->
       getSource(environment)
         .entities()
         .stream()
         .filter(entitySelector -> entitySelector instanceof EntitySelector.Trip)
         .findAny()
         .map(EntitySelector.Trip.class::cast)
-        .map(entitySelector -> getTransitService(environment).getTripForId(entitySelector.tripId()))
-        .orElse(null);
+        .map(entitySelector -> TransitDataLoaders.trip(environment, entitySelector.tripId()))
+        .orElse(CompletableFuture.completedFuture(null))
+    );
   }
 
   private Object getAlertEntityOrUnknown(Object entity, String id, String type) {
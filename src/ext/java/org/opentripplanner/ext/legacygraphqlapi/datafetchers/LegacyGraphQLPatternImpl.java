@@ -14,6 +14,7 @@ import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.api.support.SemanticHash;
+import org.opentripplanner.api.support.TransitDataLoaders;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLRequestContext;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLUtils;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLDataFetchers;
@@ -22,7 +23,6 @@ import org.opentripplanner.framework.time.ServiceDateUtils;
 import org.opentripplanner.routing.alertpatch.EntitySelector;
 import org.opentripplanner.routing.alertpatch.TransitAlert;
 import org.opentripplanner.routing.services.TransitAlertService;
-import org.opentripplanner.service.vehiclepositions.VehiclePositionService;
 import org.opentripplanner.service.vehiclepositions.model.RealtimeVehiclePosition;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.network.Route;
@@ -228,8 +228,9 @@ public class LegacyGraphQLPatternImpl implements LegacyGraphQLDataFetchers.Legac
 
   @Override
   public DataFetcher<Iterable<RealtimeVehiclePosition>> vehiclePositions() {
-    return environment ->
-      getVehiclePositionsService(environment).getVehiclePositions(this.getSource(environment));
+    return LegacyGraphQLUtils.asyncDataFetcher(environment ->
+      TransitDataLoaders.vehiclePositions(environment, getSource(environment))
+    );
   }
 
   private Agency getAgency(DataFetchingEnvironment environment) {
@@ -252,10 +253,6 @@ public class LegacyGraphQLPatternImpl implements LegacyGraphQLDataFetchers.Legac
     return getSource(environment).scheduledTripsAsStream().collect(Collectors.toList());
   }
 
-  private VehiclePositionService getVehiclePositionsService(DataFetchingEnvironment environment) {
-    return environment.<LegacyGraphQLRequestContext>getContext().vehiclePositionService();
-  }
-
   private TransitService getTransitService(DataFetchingEnvironment environment) {
     return environment.<LegacyGraphQLRequestContext>getContext().transitService();
   }
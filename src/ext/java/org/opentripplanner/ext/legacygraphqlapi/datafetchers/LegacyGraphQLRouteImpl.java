@@ -5,7 +5,9 @@ import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import org.opentripplanner.api.support.TransitDataLoaders;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLRequestContext;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLUtils;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLDataFetchers;
@@ -31,7 +33,7 @@ public class LegacyGraphQLRouteImpl implements LegacyGraphQLDataFetchers.LegacyG
 
   @Override
   public DataFetcher<Iterable<TransitAlert>> alerts() {
-    return environment -> {
+    return LegacyGraphQLUtils.asyncDataFetcher(environment -> {
       TransitAlertService alertService = getAlertService(environment);
       var args = new LegacyGraphQLTypes.LegacyGraphQLRouteAlertsArgs(environment.getArguments());
       Iterable<LegacyGraphQLTypes.LegacyGraphQLRouteAlertType> types = args.getLegacyGraphQLTypes();
@@ -122,11 +124,13 @@ public class LegacyGraphQLRouteImpl implements LegacyGraphQLDataFetchers.LegacyG
               break;
           }
         });
-        return alerts.stream().distinct().collect(Collectors.toList());
+        return CompletableFuture.completedFuture(
+          alerts.stream().distinct().collect(Collectors.toList())
+        );
       } else {
-        return getAlertService(environment).getRouteAlerts(getSource(environment).getId());
+        return TransitDataLoaders.routeAlerts(environment, getSource(environment).getId());
       }
-    };
+    });
   }
 
   @Override
@@ -12,10 +12,12 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.api.support.SemanticHash;
+import org.opentripplanner.api.support.TransitDataLoaders;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLRequestContext;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLUtils;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLDataFetchers;
@@ -52,7 +54,7 @@ public class LegacyGraphQLTripImpl implements LegacyGraphQLDataFetchers.LegacyGr
 
   @Override
   public DataFetcher<Iterable<TransitAlert>> alerts() {
-    return environment -> {
+    return LegacyGraphQLUtils.asyncDataFetcher(environment -> {
       TransitAlertService alertService = getTransitService(environment).getTransitAlertService();
       var args = new LegacyGraphQLTypes.LegacyGraphQLTripAlertsArgs(environment.getArguments());
       Iterable<LegacyGraphQLTypes.LegacyGraphQLTripAlertType> types = args.getLegacyGraphQLTypes();
@@ -119,11 +121,13 @@ public class LegacyGraphQLTripImpl implements LegacyGraphQLDataFetchers.LegacyGr
               break;
           }
         });
-        return alerts.stream().distinct().collect(Collectors.toList());
+        return CompletableFuture.completedFuture(
+          alerts.stream().distinct().collect(Collectors.toList())
+        );
       } else {
-        return alertService.getTripAlerts(getSource(environment).getId(), null);
+        return TransitDataLoaders.tripAlerts(environment, getSource(environment).getId());
       }
-    };
+    });
   }
 
   @Override
@@ -258,7 +262,9 @@ public class LegacyGraphQLTripImpl implements LegacyGraphQLDataFetchers.LegacyGr
 
   @Override
   public DataFetcher<TripPattern> pattern() {
-    return this::getTripPattern;
+    return LegacyGraphQLUtils.asyncDataFetcher(environment ->
+      TransitDataLoaders.patternForTrip(environment, getSource(environment))
+    );
   }
 
   @Override
@@ -306,16 +312,9 @@ public class LegacyGraphQLTripImpl implements LegacyGraphQLDataFetchers.LegacyGr
 
   @Override
   public DataFetcher<Iterable<TripTimeOnDate>> stoptimes() {
-    return environment -> {
-      TripPattern tripPattern = getTripPattern(environment);
-      if (tripPattern == null) {
-        return List.of();
-      }
-      return TripTimeOnDate.fromTripTimes(
-        tripPattern.getScheduledTimetable(),
-        getSource(environment)
-      );
-    };
+    return LegacyGraphQLUtils.asyncDataFetcher(environment ->
+      TransitDataLoaders.stopTimesForTrip(environment, getSource(environment))
+    );
   }
 
   @Override
@@ -29,6 +29,7 @@ import java.util.stream.Collectors;
 import org.opentripplanner.api.json.GraphQLResponseSerializer;
 import org.opentripplanner.ext.transmodelapi.mapping.TransitIdMapper;
 import org.opentripplanner.ext.transmodelapi.support.GqlUtil;
+import org.opentripplanner.framework.graphql.GraphQLDocumentCache;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.transit.service.TransitModel;
@@ -45,11 +46,10 @@ public class TransmodelAPI {
   @SuppressWarnings("unused")
   private static final Logger LOG = LoggerFactory.getLogger(TransmodelAPI.class);
 
-  private static GraphQLSchema schema;
-  private static Collection<String> tracingHeaderTags;
+  private static volatile TransmodelGraph index;
+  private static volatile Collection<String> tracingHeaderTags;
 
   private final OtpServerRequestContext serverContext;
-  private final TransmodelGraph index;
   private final ObjectMapper deserializer = new ObjectMapper();
 
   public TransmodelAPI(
@@ -61,7 +61,6 @@ public class TransmodelAPI {
     @Deprecated @PathParam("ignoreRouterId") String ignoreRouterId
   ) {
     this.serverContext = serverContext;
-    this.index = new TransmodelGraph(schema);
   }
 
   /**
@@ -74,12 +73,29 @@ public class TransmodelAPI {
     TransitModel transitModel,
     RouteRequest defaultRouteRequest
   ) {
-    if (config.hideFeedId()) {
-      TransitIdMapper.setupFixedFeedId(transitModel.getAgencies());
-    }
-    tracingHeaderTags = config.tracingHeaderTags();
+    prepareSetUp(config, transitModel, defaultRouteRequest).run();
+  }
+
+  /**
+   * Build the schema for the given transit model, and return the task to switch the API over to
+   * it. Building the schema takes time, so when the transit model is reloaded this is done before
+   * the new model is swapped in, and the returned task is run right after the swap.
+   */
+  public static Runnable prepareSetUp(
+    TransmodelAPIParameters config,
+    TransitModel transitModel,
+    RouteRequest defaultRouteRequest
+  ) {
     GqlUtil gqlUtil = new GqlUtil(transitModel.getTimeZone());
-    schema = TransmodelGraphQLSchema.create(defaultRouteRequest, gqlUtil);
+    GraphQLSchema schema = TransmodelGraphQLSchema.create(defaultRouteRequest, gqlUtil);
+    var newIndex = new TransmodelGraph(schema);
+    return () -> {
+      if (config.hideFeedId()) {
+        TransitIdMapper.setupFixedFeedId(transitModel.getAgencies());
+      }
+      tracingHeaderTags = config.tracingHeaderTags();
+      index = newIndex;
+    };
   }
 
   /**
@@ -99,7 +115,12 @@ public class TransmodelAPI {
     @HeaderParam("OTPMaxResolves") @DefaultValue("1000000") int maxResolves,
     @Context HttpHeaders headers
   ) {
-    if (queryParameters == null || !queryParameters.containsKey("query")) {
+    Map<String, Object> extensions = queryParameters == null ? null : extensions(queryParameters);
+
+    if (
+      queryParameters == null ||
+      (!queryParameters.containsKey("query") && !GraphQLDocumentCache.isPersistedQuery(extensions))
+    ) {
       LOG.debug("No query found in body");
       throw new BadRequestException("No query found in body");
     }
@@ -125,7 +146,8 @@ public class TransmodelAPI {
       variables,
       operationName,
       maxResolves,
-      getTagsFromHeaders(headers)
+      getTagsFromHeaders(headers),
+      extensions
     );
   }
 
@@ -143,7 +165,8 @@ public class TransmodelAPI {
       null,
       null,
       maxResolves,
-      getTagsFromHeaders(headers)
+      getTagsFromHeaders(headers),
+      null
     );
   }
 
@@ -174,6 +197,7 @@ public class TransmodelAPI {
         variables = null;
       }
       String operationName = (String) query.getOrDefault("operationName", null);
+      Map<String, Object> extensions = extensions(query);
 
       futures.add(() ->
         index.getGraphQLExecutionResult(
@@ -182,13 +206,14 @@ public class TransmodelAPI {
           variables,
           operationName,
           maxResolves,
-          getTagsFromHeaders(headers)
+          getTagsFromHeaders(headers),
+          extensions
         )
       );
     }
 
     try {
-      List<Future<ExecutionResult>> results = index.threadPool.invokeAll(futures);
+      List<Future<ExecutionResult>> results = TransmodelGraph.threadPool.invokeAll(futures);
       return Response
         .status(Response.Status.OK)
         .entity(GraphQLResponseSerializer.serializeBatch(queries, results))
@@ -208,4 +233,11 @@ public class TransmodelAPI {
       })
       .collect(Collectors.toList());
   }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> extensions(Map<String, Object> queryParameters) {
+    return queryParameters.get("extensions") instanceof Map
+      ? (Map<String, Object>) queryParameters.get("extensions")
+      : null;
+  }
 }
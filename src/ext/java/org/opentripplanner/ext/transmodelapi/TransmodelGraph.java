@@ -4,20 +4,24 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
-import graphql.analysis.MaxQueryComplexityInstrumentation;
 import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
 import graphql.schema.GraphQLSchema;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Tag;
 import jakarta.ws.rs.core.Response;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.opentripplanner.api.json.GraphQLResponseSerializer;
+import org.opentripplanner.api.support.TransitDataLoaders;
 import org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.graphql.GraphQLDocumentCache;
+import org.opentripplanner.framework.graphql.MaxResolvesInstrumentation;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,16 +30,31 @@ class TransmodelGraph {
 
   static final Logger LOG = LoggerFactory.getLogger(TransmodelGraph.class);
 
-  private final GraphQLSchema indexSchema;
+  private static final Tag API_TAG = Tag.of("api", "transmodel");
 
-  final ExecutorService threadPool;
+  private static final int DEFAULT_MAX_RESOLVES = 1_000_000;
+
+  private final GraphQLDocumentCache documentCache = new GraphQLDocumentCache();
+
+  /**
+   * The GraphQL instance is reused across requests. The max resolves value and the tracing tags
+   * are request specific and passed to the instrumentation in the GraphQL context.
+   */
+  private final GraphQL graphQL;
+
+  /**
+   * The thread pool is shared by all instances, a new instance is created each time the transit
+   * model is reloaded.
+   */
+  static final ExecutorService threadPool = Executors.newCachedThreadPool(
+    new ThreadFactoryBuilder().setNameFormat("GraphQLExecutor-%d").build()
+  );
 
   TransmodelGraph(GraphQLSchema schema) {
-    this.threadPool =
-      Executors.newCachedThreadPool(
-        new ThreadFactoryBuilder().setNameFormat("GraphQLExecutor-%d").build()
-      );
-    this.indexSchema = schema;
+    this.graphQL = createGraphQL(schema);
+    if (OTPFeature.ActuatorAPI.isOn()) {
+      documentCache.bindMetrics(Metrics.globalRegistry, "graphql.documents", List.of(API_TAG));
+    }
   }
 
   ExecutionResult getGraphQLExecutionResult(
@@ -44,19 +63,9 @@ class TransmodelGraph {
     Map<String, Object> variables,
     String operationName,
     int maxResolves,
-    Iterable<Tag> tracingTags
+    Iterable<Tag> tracingTags,
+    Map<String, Object> extensions
   ) {
-    Instrumentation instrumentation = new MaxQueryComplexityInstrumentation(maxResolves);
-    if (OTPFeature.ActuatorAPI.isOn()) {
-      instrumentation =
-        new ChainedInstrumentation(
-          new MicrometerGraphQLInstrumentation(Metrics.globalRegistry, tracingTags),
-          instrumentation
-        );
-    }
-
-    GraphQL graphQL = GraphQL.newGraphQL(indexSchema).instrumentation(instrumentation).build();
-
     if (variables == null) {
       variables = new HashMap<>();
     }
@@ -69,11 +78,26 @@ class TransmodelGraph {
 
     ExecutionInput executionInput = ExecutionInput
       .newExecutionInput()
-      .query(query)
+      .query(query == null ? PersistedQuerySupport.PERSISTED_QUERY_MARKER : query)
       .operationName(operationName)
       .context(transmodelRequestContext)
+      .graphQLContext(
+        Map.of(
+          MaxResolvesInstrumentation.MAX_RESOLVES,
+          maxResolves,
+          MicrometerGraphQLInstrumentation.REQUEST_TAGS,
+          tracingTags
+        )
+      )
       .root(serverContext)
       .variables(variables)
+      .extensions(extensions == null ? Map.of() : extensions)
+      .dataLoaderRegistry(
+        TransitDataLoaders.createRegistry(
+          serverContext.transitService(),
+          serverContext.vehiclePositionService()
+        )
+      )
       .build();
     return graphQL.execute(executionInput);
   }
@@ -84,7 +108,8 @@ class TransmodelGraph {
     Map<String, Object> variables,
     String operationName,
     int maxResolves,
-    Iterable<Tag> tracingTags
+    Iterable<Tag> tracingTags,
+    Map<String, Object> extensions
   ) {
     ExecutionResult result = getGraphQLExecutionResult(
       query,
@@ -92,7 +117,8 @@ class TransmodelGraph {
       variables,
       operationName,
       maxResolves,
-      tracingTags
+      tracingTags,
+      extensions
     );
 
     return Response
@@ -100,4 +126,23 @@ class TransmodelGraph {
       .entity(GraphQLResponseSerializer.serialize(result))
       .build();
   }
+
+  /* private methods */
+
+  private GraphQL createGraphQL(GraphQLSchema schema) {
+    Instrumentation instrumentation = new MaxResolvesInstrumentation(DEFAULT_MAX_RESOLVES);
+    if (OTPFeature.ActuatorAPI.isOn()) {
+      instrumentation =
+        new ChainedInstrumentation(
+          new MicrometerGraphQLInstrumentation(Metrics.globalRegistry, List.of()),
+          instrumentation
+        );
+    }
+
+    return GraphQL
+      .newGraphQL(schema)
+      .instrumentation(instrumentation)
+      .preparsedDocumentProvider(documentCache)
+      .build();
+  }
 }
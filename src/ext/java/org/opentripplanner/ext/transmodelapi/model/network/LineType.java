@@ -12,6 +12,7 @@ import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLTypeReference;
 import java.util.Collection;
 import java.util.stream.Collectors;
+import org.opentripplanner.api.support.TransitDataLoaders;
 import org.opentripplanner.ext.transmodelapi.mapping.TransitIdMapper;
 import org.opentripplanner.ext.transmodelapi.model.EnumTypes;
 import org.opentripplanner.ext.transmodelapi.model.TransmodelTransportSubmode;
@@ -200,10 +201,7 @@ public class LineType {
           .description("Get all situations active for the line.")
           .type(new GraphQLNonNull(new GraphQLList(new GraphQLNonNull(ptSituationElementType))))
           .dataFetcher(environment ->
-            GqlUtil
-              .getTransitService(environment)
-              .getTransitAlertService()
-              .getRouteAlerts(((Route) environment.getSource()).getId())
+            TransitDataLoaders.routeAlerts(environment, ((Route) environment.getSource()).getId())
           )
           .build()
       )
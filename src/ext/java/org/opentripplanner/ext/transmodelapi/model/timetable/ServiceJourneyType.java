@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.locationtech.jts.geom.LineString;
+import org.opentripplanner.api.support.TransitDataLoaders;
 import org.opentripplanner.ext.transmodelapi.model.EnumTypes;
 import org.opentripplanner.ext.transmodelapi.model.TransmodelTransportSubmode;
 import org.opentripplanner.ext.transmodelapi.support.GqlUtil;
@@ -177,7 +178,7 @@ public class ServiceJourneyType {
             "ServiceJourney is not included in the scheduled data, null is returned."
           )
           .type(journeyPatternType)
-          .dataFetcher(env -> GqlUtil.getTransitService(env).getPatternForTrip(trip(env)))
+          .dataFetcher(env -> TransitDataLoaders.patternForTrip(env, trip(env)))
           .build()
       )
       .field(
@@ -324,10 +325,7 @@ public class ServiceJourneyType {
           .description("Get all situations active for the service journey.")
           .type(new GraphQLNonNull(new GraphQLList(new GraphQLNonNull(ptSituationElementType))))
           .dataFetcher(environment ->
-            GqlUtil
-              .getTransitService(environment)
-              .getTransitAlertService()
-              .getTripAlerts(trip(environment).getId(), null)
+            TransitDataLoaders.tripAlerts(environment, trip(environment).getId())
           )
           .build()
       )
@@ -268,7 +268,8 @@ public class TravelTimeResource {
       routingRequest.journey().access(),
       null,
       false,
-      traveltimeRequest.maxAccessDuration
+      traveltimeRequest.maxAccessDuration,
+      graph.getNearbyStopCache()
     );
     return new AccessEgressMapper().mapNearbyStops(accessStops, false);
   }
@@ -0,0 +1,71 @@
+package org.opentripplanner.ext.traveltime.matrix;
+
+import gnu.trove.list.array.TIntArrayList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The egress from the transit stops to the targets of a travel time matrix. The stops are grouped
+ * in clusters, and the egress duration to each target is the same for all stops in a cluster. A
+ * stop which is not part of a cluster has no egress.
+ */
+public class StopClusterEgress {
+
+  private static final int NO_CLUSTER = -1;
+
+  private final int[] clusterByStop;
+  private final List<TIntArrayList> targetsByCluster = new ArrayList<>();
+  private final List<TIntArrayList> durationsByCluster = new ArrayList<>();
+
+  public StopClusterEgress(int nStops) {
+    this.clusterByStop = new int[nStops];
+    Arrays.fill(clusterByStop, NO_CLUSTER);
+  }
+
+  /**
+   * Add a new cluster with the given stops, and return the index of the cluster.
+   */
+  public int addCluster(int... stopIndexes) {
+    int cluster = targetsByCluster.size();
+    for (int stopIndex : stopIndexes) {
+      clusterByStop[stopIndex] = cluster;
+    }
+    targetsByCluster.add(new TIntArrayList());
+    durationsByCluster.add(new TIntArrayList());
+    return cluster;
+  }
+
+  public void addEgress(int cluster, int targetIndex, int durationInSeconds) {
+    targetsByCluster.get(cluster).add(targetIndex);
+    durationsByCluster.get(cluster).add(durationInSeconds);
+  }
+
+  public int nStops() {
+    return clusterByStop.length;
+  }
+
+  public int nClusters() {
+    return targetsByCluster.size();
+  }
+
+  /**
+   * Return the cluster of the given stop, or a negative number if the stop is not part of a
+   * cluster.
+   */
+  public int cluster(int stopIndex) {
+    return clusterByStop[stopIndex];
+  }
+
+  public int nEgress(int cluster) {
+    return targetsByCluster.get(cluster).size();
+  }
+
+  public int targetIndex(int cluster, int egressIndex) {
+    return targetsByCluster.get(cluster).get(egressIndex);
+  }
+
+  public int durationInSeconds(int cluster, int egressIndex) {
+    return durationsByCluster.get(cluster).get(egressIndex);
+  }
+}
@@ -0,0 +1,180 @@
+package org.opentripplanner.ext.traveltime.matrix;
+
+import gnu.trove.list.array.TIntArrayList;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.request.StreetRequest;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.linking.DisposableEdgeCollection;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.StreetSearchBuilder;
+import org.opentripplanner.street.search.state.State;
+import org.opentripplanner.street.search.strategy.DominanceFunctions;
+import org.opentripplanner.transit.model.site.RegularStop;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * Compute the walking egress from the transit stops to the targets of a travel time matrix.
+ * Instead of one egress search from each target to the stops around it, the stops are grouped
+ * in clusters (all stops in a station, or a single stop not in a station), and one street search
+ * is done from each cluster to all the targets around it. With thousands of targets, there are
+ * usually a lot fewer clusters within reach than targets.
+ * <p>
+ * Only clusters with a stop within the max egress duration, at walking speed as the crow flies,
+ * of a target are searched. The egress duration of a cluster is the duration from the closest
+ * stop in the cluster, which is a good approximation since the stops in a station are close to
+ * each other.
+ */
+public class StopClusterEgressSearch {
+
+  private final Graph graph;
+  private final TransitService transitService;
+  private final RouteRequest request;
+  private final Duration maxEgressDuration;
+
+  public StopClusterEgressSearch(
+    Graph graph,
+    TransitService transitService,
+    RouteRequest request,
+    Duration maxEgressDuration
+  ) {
+    this.graph = graph;
+    this.transitService = transitService;
+    this.request = request;
+    this.maxEgressDuration = maxEgressDuration;
+  }
+
+  /**
+   * @param nStops the number of stops in the transit data, the size of the stop index.
+   */
+  public StopClusterEgress search(List<TravelTimeMatrixTarget> targets, int nStops) {
+    Map<Object, Cluster> clusters = findClusters(targets);
+    var egress = new StopClusterEgress(nStops);
+
+    Set<DisposableEdgeCollection> tempEdges = new HashSet<>();
+    try {
+      var targetVertices = linkTargets(targets, tempEdges);
+
+      for (Cluster cluster : clusters.values()) {
+        int clusterIndex = egress.addCluster(
+          cluster.stops.stream().mapToInt(StopLocation::getIndex).toArray()
+        );
+        searchCluster(cluster, targetVertices, clusterIndex, egress);
+      }
+    } finally {
+      tempEdges.forEach(DisposableEdgeCollection::disposeEdges);
+    }
+    return egress;
+  }
+
+  /* private methods */
+
+  private Map<Object, Cluster> findClusters(List<TravelTimeMatrixTarget> targets) {
+    double maxDistance = maxEgressDuration.toSeconds() * request.preferences().walk().speed();
+    Map<Object, Cluster> clusters = new LinkedHashMap<>();
+
+    for (int i = 0; i < targets.size(); ++i) {
+      var target = targets.get(i);
+      var envelope = SphericalDistanceLibrary.bounds(
+        target.lat(),
+        target.lon(),
+        maxDistance,
+        maxDistance
+      );
+      for (RegularStop stop : transitService.findRegularStop(envelope)) {
+        var station = stop.isPartOfStation() ? stop.getParentStation() : null;
+        var key = station == null ? stop : station;
+        var cluster = clusters.computeIfAbsent(
+          key,
+          k -> new Cluster(station == null ? List.of(stop) : station.getChildStops())
+        );
+        if (cluster.targets.isEmpty() || cluster.targets.get(cluster.targets.size() - 1) != i) {
+          cluster.targets.add(i);
+        }
+      }
+    }
+    return clusters;
+  }
+
+  private List<Set<Vertex>> linkTargets(
+    List<TravelTimeMatrixTarget> targets,
+    Set<DisposableEdgeCollection> tempEdges
+  ) {
+    var streetIndex = graph.getStreetIndex();
+    List<Set<Vertex>> targetVertices = new ArrayList<>(targets.size());
+    for (TravelTimeMatrixTarget target : targets) {
+      var vertices = streetIndex.getVerticesForLocation(
+        new GenericLocation(target.lat(), target.lon()),
+        StreetMode.WALK,
+        true,
+        tempEdges
+      );
+      targetVertices.add(vertices == null ? Set.of() : vertices);
+    }
+    return targetVertices;
+  }
+
+  private void searchCluster(
+    Cluster cluster,
+    List<Set<Vertex>> targetVertices,
+    int clusterIndex,
+    StopClusterEgress egress
+  ) {
+    Set<Vertex> stopVertices = cluster.stops
+      .stream()
+      .map(stop -> graph.getStopVertexForStopId(stop.getId()))
+      .filter(Objects::nonNull)
+      .collect(Collectors.toSet());
+
+    if (stopVertices.isEmpty()) {
+      return;
+    }
+
+    var spt = StreetSearchBuilder
+      .of()
+      .setSkipEdgeStrategy(new DurationSkipEdgeStrategy(maxEgressDuration))
+      .setDominanceFunction(new DominanceFunctions.EarliestArrival())
+      .setRequest(request)
+      .setStreetRequest(new StreetRequest(StreetMode.WALK))
+      .setFrom(stopVertices)
+      .getShortestPathTree();
+
+    for (int i = 0; i < cluster.targets.size(); ++i) {
+      int targetIndex = cluster.targets.get(i);
+      long duration = Long.MAX_VALUE;
+      for (Vertex vertex : targetVertices.get(targetIndex)) {
+        State state = spt.getState(vertex);
+        if (state != null) {
+          duration = Math.min(duration, state.getElapsedTimeSeconds());
+        }
+      }
+      if (duration != Long.MAX_VALUE) {
+        egress.addEgress(clusterIndex, targetIndex, (int) duration);
+      }
+    }
+  }
+
+  private static class Cluster {
+
+    private final Collection<? extends StopLocation> stops;
+    private final TIntArrayList targets = new TIntArrayList();
+
+    private Cluster(Collection<? extends StopLocation> stops) {
+      this.stops = stops;
+    }
+  }
+}
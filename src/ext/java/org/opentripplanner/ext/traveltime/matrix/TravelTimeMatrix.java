@@ -0,0 +1,116 @@
+package org.opentripplanner.ext.traveltime.matrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.opentripplanner.raptor.api.response.RaptorIterationListener;
+import org.opentripplanner.raptor.api.response.StopArrivals;
+
+/**
+ * Collect the travel time from the origin to each target for each Range Raptor iteration (minute)
+ * in the search-window. The travel time of an iteration is the best stop arrival time plus the
+ * egress duration from the stop cluster to the target, minus the iteration departure time.
+ * Travel times longer than the max duration are unreachable.
+ * <p>
+ * The min, median and max travel time is computed over all iterations, an iteration where the
+ * target is not reached counts as an infinite travel time.
+ */
+public class TravelTimeMatrix implements RaptorIterationListener {
+
+  /** The travel time of an unreached target in the result. */
+  public static final int UNREACHED = -1;
+
+  private static final int NOT_SET = Integer.MAX_VALUE;
+
+  private final StopClusterEgress egress;
+  private final int nTargets;
+  private final int maxDurationInSeconds;
+  private final int[] clusterArrivalTimes;
+  private final List<int[]> travelTimesByIteration = new ArrayList<>();
+
+  public TravelTimeMatrix(StopClusterEgress egress, int nTargets, int maxDurationInSeconds) {
+    this.egress = egress;
+    this.nTargets = nTargets;
+    this.maxDurationInSeconds = maxDurationInSeconds;
+    this.clusterArrivalTimes = new int[egress.nClusters()];
+  }
+
+  @Override
+  public void iterationComplete(int iterationDepartureTime, StopArrivals arrivals) {
+    Arrays.fill(clusterArrivalTimes, NOT_SET);
+
+    for (int stop = 0; stop < egress.nStops(); ++stop) {
+      int cluster = egress.cluster(stop);
+      if (cluster >= 0 && arrivals.reached(stop)) {
+        clusterArrivalTimes[cluster] =
+          Math.min(clusterArrivalTimes[cluster], arrivals.bestArrivalTime(stop));
+      }
+    }
+
+    int[] travelTimes = new int[nTargets];
+    Arrays.fill(travelTimes, NOT_SET);
+
+    for (int cluster = 0; cluster < clusterArrivalTimes.length; ++cluster) {
+      if (clusterArrivalTimes[cluster] == NOT_SET) {
+        continue;
+      }
+      int duration = clusterArrivalTimes[cluster] - iterationDepartureTime;
+      for (int i = 0; i < egress.nEgress(cluster); ++i) {
+        int target = egress.targetIndex(cluster, i);
+        int travelTime = duration + egress.durationInSeconds(cluster, i);
+        if (travelTime <= maxDurationInSeconds && travelTime < travelTimes[target]) {
+          travelTimes[target] = travelTime;
+        }
+      }
+    }
+    travelTimesByIteration.add(travelTimes);
+  }
+
+  public int nTargets() {
+    return nTargets;
+  }
+
+  public int nIterations() {
+    return travelTimesByIteration.size();
+  }
+
+  /**
+   * The shortest travel time in seconds to the given target, or {@link #UNREACHED}.
+   */
+  public int min(int targetIndex) {
+    return percentile(targetIndex, 0);
+  }
+
+  /**
+   * The median travel time in seconds to the given target, or {@link #UNREACHED} if the target is
+   * not reached in at least half of the iterations. The lower median is used for an even number
+   * of iterations.
+   */
+  public int median(int targetIndex) {
+    return percentile(targetIndex, 50);
+  }
+
+  /**
+   * The longest travel time in seconds to the given target, or {@link #UNREACHED} if the target is
+   * not reached in all iterations.
+   */
+  public int max(int targetIndex) {
+    return percentile(targetIndex, 100);
+  }
+
+  /* private methods */
+
+  private int percentile(int targetIndex, int percentile) {
+    if (travelTimesByIteration.isEmpty()) {
+      return UNREACHED;
+    }
+    int[] travelTimes = new int[travelTimesByIteration.size()];
+    for (int i = 0; i < travelTimes.length; ++i) {
+      travelTimes[i] = travelTimesByIteration.get(i)[targetIndex];
+    }
+    Arrays.sort(travelTimes);
+
+    int value = travelTimes[(travelTimes.length - 1) * percentile / 100];
+    return value == NOT_SET ? UNREACHED : value;
+  }
+}
@@ -0,0 +1,190 @@
+package org.opentripplanner.ext.traveltime.matrix;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.opentripplanner.api.common.LocationStringParser;
+import org.opentripplanner.api.parameter.QualifiedModeSet;
+import org.opentripplanner.framework.time.DurationUtils;
+import org.opentripplanner.framework.time.ServiceDateUtils;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.street.AccessEgressRouter;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.DefaultAccessEgress;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.AccessEgressMapper;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RaptorRoutingRequestTransitData;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RouteRequestTransitDataProviderFilter;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.standalone.api.OtpServerRequestContext;
+import org.opentripplanner.street.search.TemporaryVerticesContainer;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * Compute the travel time from one origin to many targets, for each minute in a search-window.
+ * The targets are posted as a JSON array of {@link TravelTimeMatrixTarget}, and the result is the
+ * min, median and max travel time to each target over the search-window, as CSV or binary, see
+ * {@link TravelTimeMatrixWriter}.
+ * <p>
+ * The transit search is a standard Range Raptor search, and the egress is searched once for each
+ * stop cluster, see {@link StopClusterEgressSearch}. A target is only reached through a stop, the
+ * direct street path from the origin is not included.
+ */
+@Path("/traveltime/matrix")
+public class TravelTimeMatrixResource {
+
+  private final RouteRequest routingRequest;
+  private final RaptorRoutingRequestTransitData requestTransitDataProvider;
+  private final Instant startTime;
+  private final ZonedDateTime startOfTime;
+  private final Duration searchWindow;
+  private final Duration maxDuration;
+  private final RaptorService<TripSchedule> raptorService;
+  private final Graph graph;
+  private final TransitService transitService;
+
+  public TravelTimeMatrixResource(
+    @Context OtpServerRequestContext serverContext,
+    @QueryParam("location") String location,
+    @QueryParam("time") String time,
+    @QueryParam("searchWindow") @DefaultValue("60m") String searchWindow,
+    @QueryParam("maxDuration") @DefaultValue("90m") String maxDuration,
+    @QueryParam("modes") String modes
+  ) {
+    this.graph = serverContext.graph();
+    this.transitService = serverContext.transitService();
+    routingRequest = serverContext.defaultRouteRequest();
+    routingRequest.setFrom(LocationStringParser.fromOldStyleString(location));
+    if (modes != null) {
+      routingRequest.journey().setModes(new QualifiedModeSet(modes).getRequestModes());
+    }
+
+    this.searchWindow = DurationUtils.duration(searchWindow);
+    this.maxDuration = DurationUtils.duration(maxDuration);
+    startTime = time == null ? Instant.now() : Instant.parse(time);
+    routingRequest.setDateTime(startTime);
+    Instant endTime = startTime.plus(this.searchWindow).plus(this.maxDuration);
+
+    ZoneId zoneId = transitService.getTimeZone();
+    LocalDate startDate = LocalDate.ofInstant(startTime, zoneId);
+    LocalDate endDate = LocalDate.ofInstant(endTime, zoneId);
+    startOfTime = ServiceDateUtils.asStartOfService(startDate, zoneId);
+
+    requestTransitDataProvider =
+      new RaptorRoutingRequestTransitData(
+        transitService.getRealtimeTransitLayer(),
+        startOfTime,
+        0,
+        (int) Period.between(startDate, endDate).get(ChronoUnit.DAYS),
+        new RouteRequestTransitDataProviderFilter(routingRequest),
+        routingRequest
+      );
+
+    raptorService = new RaptorService<>(serverContext.raptorConfig());
+  }
+
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(TravelTimeMatrixWriter.TEXT_CSV)
+  public StreamingOutput getCsv(List<TravelTimeMatrixTarget> targets) {
+    var matrix = route(targets);
+    return out -> TravelTimeMatrixWriter.writeCsv(targets, matrix, out);
+  }
+
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_OCTET_STREAM)
+  public StreamingOutput getBinary(List<TravelTimeMatrixTarget> targets) {
+    var matrix = route(targets);
+    return out -> TravelTimeMatrixWriter.writeBinary(matrix, out);
+  }
+
+  /* private methods */
+
+  private TravelTimeMatrix route(List<TravelTimeMatrixTarget> targets) {
+    if (targets == null || targets.isEmpty()) {
+      throw new BadRequestException("At least one target is required");
+    }
+    var egress = new StopClusterEgressSearch(
+      graph,
+      transitService,
+      routingRequest,
+      routingRequest.preferences().street().maxAccessEgressDuration().valueOf(StreetMode.WALK)
+    )
+      .search(targets, requestTransitDataProvider.numberOfStops());
+
+    var matrix = new TravelTimeMatrix(egress, targets.size(), (int) maxDuration.toSeconds());
+    int earliestDepartureTime = ServiceDateUtils.secondsSinceStartOfTime(startOfTime, startTime);
+
+    var request = new RaptorRequestBuilder<TripSchedule>()
+      .profile(RaptorProfile.BEST_TIME)
+      .searchParams()
+      .earliestDepartureTime(earliestDepartureTime)
+      .latestArrivalTime(
+        earliestDepartureTime + (int) searchWindow.plus(maxDuration).toSeconds()
+      )
+      .searchWindow(searchWindow)
+      .addAccessPaths(getAccess())
+      .timetable(false)
+      .allowEmptyEgressPaths(true)
+      .constrainedTransfers(false) // TODO: Not compatible with best times
+      .build();
+
+    raptorService.route(request, requestTransitDataProvider, matrix);
+    return matrix;
+  }
+
+  private Collection<DefaultAccessEgress> getAccess() {
+    final RouteRequest accessRequest = routingRequest.clone();
+    final Duration maxAccessDuration = routingRequest
+      .preferences()
+      .street()
+      .maxAccessEgressDuration()
+      .valueOf(routingRequest.journey().access().mode());
+
+    accessRequest.withPreferences(preferences ->
+      preferences.withStreet(it -> it.withMaxAccessEgressDuration(maxAccessDuration, Map.of()))
+    );
+
+    try (
+      var temporaryVertices = new TemporaryVerticesContainer(
+        graph,
+        accessRequest,
+        accessRequest.journey().access().mode(),
+        StreetMode.NOT_SET
+      )
+    ) {
+      var accessStops = AccessEgressRouter.streetSearch(
+        accessRequest,
+        temporaryVertices,
+        transitService,
+        routingRequest.journey().access(),
+        null,
+        false,
+        maxAccessDuration,
+        graph.getNearbyStopCache()
+      );
+      return new AccessEgressMapper().mapNearbyStops(accessStops, false);
+    }
+  }
+}
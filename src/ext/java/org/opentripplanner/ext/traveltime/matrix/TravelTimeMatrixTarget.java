@@ -0,0 +1,7 @@
+package org.opentripplanner.ext.traveltime.matrix;
+
+/**
+ * A target point of a travel time matrix request, for example a stop, a POI or a census centroid.
+ * The id is passed through to the result, it is not used by OTP.
+ */
+public record TravelTimeMatrixTarget(String id, double lat, double lon) {}
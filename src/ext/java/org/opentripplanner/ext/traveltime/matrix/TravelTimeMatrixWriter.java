@@ -0,0 +1,75 @@
+package org.opentripplanner.ext.traveltime.matrix;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Write the min, median and max travel time in seconds to each target of a travel time matrix.
+ * The targets are written in the same order as in the request, and an unreached target has the
+ * travel time {@link TravelTimeMatrix#UNREACHED}.
+ */
+public class TravelTimeMatrixWriter {
+
+  public static final String TEXT_CSV = "text/csv";
+
+  private static final String CSV_HEADER = "id,min,median,max\n";
+
+  private TravelTimeMatrixWriter() {}
+
+  /**
+   * Write the matrix as CSV with the header {@code id,min,median,max} and one line per target.
+   */
+  public static void writeCsv(
+    List<TravelTimeMatrixTarget> targets,
+    TravelTimeMatrix matrix,
+    OutputStream out
+  ) throws IOException {
+    Writer writer = new OutputStreamWriter(new BufferedOutputStream(out), StandardCharsets.UTF_8);
+    writer.write(CSV_HEADER);
+    for (int i = 0; i < targets.size(); ++i) {
+      writer
+        .append(escapeCsv(targets.get(i).id()))
+        .append(',')
+        .append(Integer.toString(matrix.min(i)))
+        .append(',')
+        .append(Integer.toString(matrix.median(i)))
+        .append(',')
+        .append(Integer.toString(matrix.max(i)))
+        .append('\n');
+    }
+    writer.flush();
+  }
+
+  /**
+   * Write the matrix as big-endian 32-bit integers: the number of targets, followed by the min,
+   * median and max travel time of each target. The target ids are not included.
+   */
+  public static void writeBinary(TravelTimeMatrix matrix, OutputStream out) throws IOException {
+    var data = new DataOutputStream(new BufferedOutputStream(out));
+    data.writeInt(matrix.nTargets());
+    for (int i = 0; i < matrix.nTargets(); ++i) {
+      data.writeInt(matrix.min(i));
+      data.writeInt(matrix.median(i));
+      data.writeInt(matrix.max(i));
+    }
+    data.flush();
+  }
+
+  /* private methods */
+
+  private static String escapeCsv(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+      return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    return value;
+  }
+}
@@ -0,0 +1,45 @@
+package org.opentripplanner.api.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Write server-sent events to a response stream, with the data serialized as JSON. Each event is
+ * flushed when it is written, so the client receives it right away. See
+ * https://html.spec.whatwg.org/multipage/server-sent-events.html
+ * <p>
+ * The JSON is written on one line, so each event has exactly one data line. The events may be
+ * sent from more than one thread.
+ */
+public class ServerSentEventWriter {
+
+  public static final String MEDIA_TYPE = "text/event-stream";
+
+  private final OutputStream out;
+  private final ObjectWriter writer;
+
+  public ServerSentEventWriter(OutputStream out, ObjectMapper mapper) {
+    this.out = out;
+    this.writer = mapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+  }
+
+  /**
+   * Send an event with the given name and the data serialized as JSON.
+   *
+   * @throws UncheckedIOException if the event can not be written, e.g. the client disconnected.
+   */
+  public synchronized void send(String event, Object data) {
+    try {
+      var text = "event: " + event + "\ndata: " + writer.writeValueAsString(data) + "\n\n";
+      out.write(text.getBytes(StandardCharsets.UTF_8));
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
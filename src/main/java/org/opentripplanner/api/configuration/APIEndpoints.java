@@ -1,8 +1,10 @@
 package org.opentripplanner.api.configuration;
 
+import static org.opentripplanner.framework.application.OTPFeature.APIBatchPlan;
 import static org.opentripplanner.framework.application.OTPFeature.APIBikeRental;
 import static org.opentripplanner.framework.application.OTPFeature.APIGraphInspectorTile;
 import static org.opentripplanner.framework.application.OTPFeature.APIServerInfo;
+import static org.opentripplanner.framework.application.OTPFeature.APITransitModelReload;
 import static org.opentripplanner.framework.application.OTPFeature.APIUpdaterStatus;
 import static org.opentripplanner.framework.application.OTPFeature.ActuatorAPI;
 import static org.opentripplanner.framework.application.OTPFeature.ReportApi;
@@ -17,12 +19,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import org.opentripplanner.api.resource.BatchPlannerResource;
 import org.opentripplanner.api.resource.BikeRental;
 import org.opentripplanner.api.resource.GraphInspectorTileResource;
 import org.opentripplanner.api.resource.GraphInspectorVectorTileResource;
 import org.opentripplanner.api.resource.PlannerResource;
 import org.opentripplanner.api.resource.Routers;
 import org.opentripplanner.api.resource.ServerInfo;
+import org.opentripplanner.api.resource.TransitModelReloadResource;
 import org.opentripplanner.api.resource.UpdaterStatusResource;
 import org.opentripplanner.ext.actuator.ActuatorAPI;
 import org.opentripplanner.ext.geocoder.GeocoderResource;
@@ -31,6 +35,7 @@ import org.opentripplanner.ext.parkAndRideApi.ParkAndRideResource;
 import org.opentripplanner.ext.reportapi.resource.ReportResource;
 import org.opentripplanner.ext.transmodelapi.TransmodelAPI;
 import org.opentripplanner.ext.traveltime.TravelTimeResource;
+import org.opentripplanner.ext.traveltime.matrix.TravelTimeMatrixResource;
 import org.opentripplanner.ext.vectortiles.VectorTilesResource;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.index.IndexAPI;
@@ -55,6 +60,8 @@ public class APIEndpoints {
     addIfEnabled(APIGraphInspectorTile, GraphInspectorTileResource.class);
     addIfEnabled(APIGraphInspectorTile, GraphInspectorVectorTileResource.class);
     addIfEnabled(APIUpdaterStatus, UpdaterStatusResource.class);
+    addIfEnabled(APITransitModelReload, TransitModelReloadResource.class);
+    addIfEnabled(APIBatchPlan, BatchPlannerResource.class);
 
     // Sandbox extension APIs
     addIfEnabled(ActuatorAPI, ActuatorAPI.class);
@@ -65,6 +72,7 @@ public class APIEndpoints {
     addIfEnabled(SandboxAPIParkAndRideApi, ParkAndRideResource.class);
     addIfEnabled(SandboxAPIGeocoder, GeocoderResource.class);
     addIfEnabled(SandboxAPITravelTime, TravelTimeResource.class);
+    addIfEnabled(SandboxAPITravelTime, TravelTimeMatrixResource.class);
   }
 
   /**
@@ -1,8 +1,12 @@
 package org.opentripplanner.api.mapping;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import org.opentripplanner.api.model.ApiItinerary;
 import org.opentripplanner.api.model.ApiTripPlan;
+import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.model.plan.TripPlan;
 
 public class TripPlanMapper {
@@ -27,4 +31,8 @@ public class TripPlanMapper {
     api.itineraries = itineraryMapper.mapItineraries(domain.itineraries);
     return api;
   }
+
+  public List<ApiItinerary> mapItineraries(Collection<Itinerary> domain) {
+    return itineraryMapper.mapItineraries(domain);
+  }
 }
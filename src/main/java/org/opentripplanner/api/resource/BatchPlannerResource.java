@@ -0,0 +1,113 @@
+package org.opentripplanner.api.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.Providers;
+import java.util.List;
+import org.opentripplanner.api.common.LocationStringParser;
+import org.opentripplanner.api.common.Message;
+import org.opentripplanner.api.common.RoutingResource;
+import org.opentripplanner.api.common.ServerSentEventWriter;
+import org.opentripplanner.api.mapping.PlannerErrorMapper;
+import org.opentripplanner.api.mapping.TripPlanMapper;
+import org.opentripplanner.api.mapping.TripSearchMetadataMapper;
+import org.opentripplanner.api.model.error.PlannerError;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RouteBatchRequest;
+import org.opentripplanner.routing.api.response.BatchRoutingResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plan trips from many origins to many destinations in one request. The parameters are the same
+ * as for the {@link PlannerResource}, except that the {@code fromPlace} and {@code toPlace}
+ * parameters may be repeated. A trip is planned from each {@code fromPlace} to each
+ * {@code toPlace}, with the same preferences. The transit data and the access/egress street
+ * searches are shared by all the searches, so this is a lot faster than planning each trip alone.
+ * <p>
+ * The response is a stream of server-sent events, one {@code plan} event for each
+ * origin-destination pair, in the order the searches complete. Each event contains the index of
+ * the origin and the destination in the request. If the batch fails, an {@code error} event is
+ * sent, and the stream is closed.
+ */
+@Path("routers/{ignoreRouterId}/plan/batch")
+public class BatchPlannerResource extends RoutingResource {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BatchPlannerResource.class);
+
+  /**
+   * @deprecated The support for multiple routers are removed from OTP2. See
+   * https://github.com/opentripplanner/OpenTripPlanner/issues/2760
+   */
+  @Deprecated
+  @PathParam("ignoreRouterId")
+  private String ignoreRouterId;
+
+  @GET
+  @Produces(ServerSentEventWriter.MEDIA_TYPE)
+  public StreamingOutput plan(@Context UriInfo uriInfo, @Context Providers providers) {
+    MultivaluedMap<String, String> queryParameters = uriInfo.getQueryParameters();
+
+    var request = new RouteBatchRequest(
+      super.buildRequest(queryParameters),
+      mapPlaces(queryParameters, "fromPlace"),
+      mapPlaces(queryParameters, "toPlace")
+    );
+    var tripPlanMapper = new TripPlanMapper(request.routeRequest().locale(), showIntermediateStops);
+    ObjectMapper mapper = providers
+      .getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE)
+      .getContext(BatchTripPlannerResponse.class);
+
+    return out -> {
+      var events = new ServerSentEventWriter(out, mapper);
+      try {
+        serverContext
+          .routingService()
+          .route(request, it -> events.send("plan", mapResponse(it, tripPlanMapper)));
+      } catch (Exception e) {
+        LOG.error("System error", e);
+        events.send("error", new PlannerError(Message.SYSTEM_ERROR));
+      }
+    };
+  }
+
+  /* private methods */
+
+  private static List<GenericLocation> mapPlaces(
+    MultivaluedMap<String, String> queryParameters,
+    String name
+  ) {
+    var places = queryParameters.get(name);
+    if (places == null || places.isEmpty()) {
+      throw new BadRequestException("At least one " + name + " is required");
+    }
+    return places.stream().map(LocationStringParser::fromOldStyleString).toList();
+  }
+
+  private static BatchTripPlannerResponse mapResponse(
+    BatchRoutingResponse batchResponse,
+    TripPlanMapper tripPlanMapper
+  ) {
+    var res = batchResponse.response();
+    var response = new BatchTripPlannerResponse(
+      batchResponse.originIndex(),
+      batchResponse.destinationIndex()
+    );
+    response.setPlan(tripPlanMapper.mapTripPlan(res.getTripPlan()));
+    response.setMetadata(TripSearchMetadataMapper.mapTripSearchMetadata(res.getMetadata()));
+    if (!res.getRoutingErrors().isEmpty()) {
+      // The api can only return one error message, so the first one is mapped
+      response.setError(PlannerErrorMapper.mapMessage(res.getRoutingErrors().get(0)));
+    }
+    return response;
+  }
+}
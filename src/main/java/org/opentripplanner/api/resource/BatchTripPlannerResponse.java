@@ -0,0 +1,58 @@
+package org.opentripplanner.api.resource;
+
+import org.opentripplanner.api.model.ApiTripPlan;
+import org.opentripplanner.api.model.ApiTripSearchMetadata;
+import org.opentripplanner.api.model.error.PlannerError;
+
+/**
+ * The trip planner response of one origin-destination pair of a batch plan request, will be
+ * serialized into JSON by Jersey.
+ */
+public class BatchTripPlannerResponse {
+
+  private final int fromPlaceIndex;
+  private final int toPlaceIndex;
+  private ApiTripPlan plan;
+  private ApiTripSearchMetadata metadata;
+  private PlannerError error = null;
+
+  public BatchTripPlannerResponse(int fromPlaceIndex, int toPlaceIndex) {
+    this.fromPlaceIndex = fromPlaceIndex;
+    this.toPlaceIndex = toPlaceIndex;
+  }
+
+  /** The index of the origin in the list of {@code fromPlace} parameters of the request. */
+  public int getFromPlaceIndex() {
+    return fromPlaceIndex;
+  }
+
+  /** The index of the destination in the list of {@code toPlace} parameters of the request. */
+  public int getToPlaceIndex() {
+    return toPlaceIndex;
+  }
+
+  public ApiTripPlan getPlan() {
+    return plan;
+  }
+
+  public void setPlan(ApiTripPlan plan) {
+    this.plan = plan;
+  }
+
+  public ApiTripSearchMetadata getMetadata() {
+    return metadata;
+  }
+
+  public void setMetadata(ApiTripSearchMetadata metadata) {
+    this.metadata = metadata;
+  }
+
+  /** The error (if any) that this response raised. */
+  public PlannerError getError() {
+    return error;
+  }
+
+  public void setError(PlannerError error) {
+    this.error = error;
+  }
+}
@@ -1,20 +1,29 @@
 package org.opentripplanner.api.resource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.Providers;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import org.glassfish.grizzly.http.server.Request;
 import org.opentripplanner.api.common.Message;
 import org.opentripplanner.api.common.RoutingResource;
+import org.opentripplanner.api.common.ServerSentEventWriter;
 import org.opentripplanner.api.mapping.PlannerErrorMapper;
 import org.opentripplanner.api.mapping.TripPlanMapper;
 import org.opentripplanner.api.mapping.TripSearchMetadataMapper;
+import org.opentripplanner.api.model.ApiItinerary;
 import org.opentripplanner.api.model.error.PlannerError;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.routing.api.request.RouteRequest;
@@ -30,6 +39,12 @@ import org.slf4j.LoggerFactory;
  * allows multiple web services to have the same set of query parameters. In order for inheritance
  * to work, the REST resources are request-scoped (constructed at each request) rather than
  * singleton-scoped (a single instance existing for the lifetime of the OTP server).
+ * <p>
+ * A client accepting {@code text/event-stream} receives the plan as server-sent events. An
+ * {@code itineraries} event is sent with the itineraries of each of the direct street, direct flex
+ * and transit searches as soon as the search is done, and a {@code plan} event with the complete
+ * response at the end. The itineraries of the {@code itineraries} events are not filtered, the
+ * client should replace them with the itineraries of the {@code plan} event.
  */
 @Path("routers/{ignoreRouterId}/plan")
 // final element needed here rather than on method to distinguish from routers API
@@ -51,6 +66,47 @@ public class PlannerResource extends RoutingResource {
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   public TripPlannerResponse plan(@Context UriInfo uriInfo, @Context Request grizzlyRequest) {
+    return plan(uriInfo, grizzlyRequest, null);
+  }
+
+  /**
+   * The event stream has a lower quality than JSON, so a client accepting any media type, or not
+   * sending an Accept header, gets JSON.
+   */
+  @GET
+  @Produces(ServerSentEventWriter.MEDIA_TYPE + ";qs=0.5")
+  public StreamingOutput planAsEventStream(
+    @Context UriInfo uriInfo,
+    @Context Request grizzlyRequest,
+    @Context Providers providers
+  ) {
+    ObjectMapper mapper = providers
+      .getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE)
+      .getContext(TripPlannerResponse.class);
+
+    return out -> {
+      var events = new ServerSentEventWriter(out, mapper);
+      var response = plan(
+        uriInfo,
+        grizzlyRequest,
+        itineraries -> {
+          try {
+            events.send("itineraries", itineraries);
+          } catch (UncheckedIOException e) {
+            // The client is gone, the routing is not aborted
+            LOG.debug("Failed to send itineraries: {}", e.getMessage());
+          }
+        }
+      );
+      events.send("plan", response);
+    };
+  }
+
+  private TripPlannerResponse plan(
+    UriInfo uriInfo,
+    Request grizzlyRequest,
+    @Nullable Consumer<List<ApiItinerary>> partialResultListener
+  ) {
     /*
      * TODO: add Lang / Locale parameter, and thus get localized content (Messages & more...)
      * TODO: from/to inputs should be converted / geocoded / etc... here, and maybe send coords
@@ -67,12 +123,20 @@ public class PlannerResource extends RoutingResource {
       /* Fill in request fields from query parameters via shared superclass method, catching any errors. */
       request = super.buildRequest(uriInfo.getQueryParameters());
 
+      // TODO VIA (Leonard) - we should store the default showIntermediateStops somewhere
+      TripPlanMapper tripPlanMapper = new TripPlanMapper(request.locale(), showIntermediateStops);
+
       // Route
-      res = serverContext.routingService().route(request);
+      if (partialResultListener == null) {
+        res = serverContext.routingService().route(request);
+      } else {
+        res =
+          serverContext
+            .routingService()
+            .route(request, it -> partialResultListener.accept(tripPlanMapper.mapItineraries(it)));
+      }
 
       // Map to API
-      // TODO VIA (Leonard) - we should store the default showIntermediateStops somewhere
-      TripPlanMapper tripPlanMapper = new TripPlanMapper(request.locale(), showIntermediateStops);
       response.setPlan(tripPlanMapper.mapTripPlan(res.getTripPlan()));
       if (res.getPreviousPageCursor() != null) {
         response.setPreviousPageCursor(res.getPreviousPageCursor().encode());
@@ -14,7 +14,8 @@ import org.opentripplanner.standalone.api.OtpServerRequestContext;
 
 /**
  * This REST API endpoint returns some meta-info about a router. OTP2 does no longer support
- * remotely loading, reloading, and evicting graphs on a running server (Supported in OTP1).
+ * remotely loading and evicting graphs on a running server (Supported in OTP1). A newly built
+ * graph can be reloaded using the {@link TransitModelReloadResource}, if enabled.
  * <p>
  * The HTTP verbs are used as follows:
  * <p>
@@ -0,0 +1,61 @@
+package org.opentripplanner.api.resource;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.opentripplanner.standalone.server.TransitModelReloader;
+
+/**
+ * Reload a newly built graph and transit model into the running server, without a restart. The
+ * graph is read from the same location as the graph loaded at startup. The reload is done in the
+ * background, see {@link TransitModelReloader}.
+ * <p>
+ * This is an admin endpoint, it is disabled by default and should not be exposed to the public.
+ */
+@Path("/routers/{ignoreRouterId}/reload")
+@Produces(MediaType.TEXT_PLAIN)
+public class TransitModelReloadResource {
+
+  private final TransitModelReloader reloader;
+
+  public TransitModelReloadResource(
+    @Context TransitModelReloader reloader,
+    /**
+     * @deprecated The support for multiple routers are removed from OTP2.
+     * See https://github.com/opentripplanner/OpenTripPlanner/issues/2760
+     */
+    @Deprecated @PathParam("ignoreRouterId") String ignoreRouterId
+  ) {
+    this.reloader = reloader;
+  }
+
+  /** Start reloading the graph, unless a reload is already in progress. */
+  @POST
+  public Response reload() {
+    if (!reloader.isSupported()) {
+      return Response
+        .status(Response.Status.CONFLICT)
+        .entity("Reloading a graph in the mapped file format is not supported.\n")
+        .build();
+    }
+    if (!reloader.reloadInBackground()) {
+      return Response
+        .status(Response.Status.CONFLICT)
+        .entity("A reload is already in progress.\n")
+        .build();
+    }
+    return Response.status(Response.Status.ACCEPTED).entity("Reloading graph.\n").build();
+  }
+
+  /** Return the status of the reload, the log contains the details. */
+  @GET
+  public Response status() {
+    var status = reloader.isReloading() ? "Reloading graph.\n" : "No reload in progress.\n";
+    return Response.status(Response.Status.OK).entity(status).build();
+  }
+}
@@ -0,0 +1,139 @@
+package org.opentripplanner.api.support;
+
+import graphql.schema.DataFetchingEnvironment;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.opentripplanner.model.TripTimeOnDate;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.service.vehiclepositions.VehiclePositionService;
+import org.opentripplanner.service.vehiclepositions.model.RealtimeVehiclePosition;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.timetable.Trip;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * Per request DataLoaders for the transit lookups which are repeated for many entities in a
+ * GraphQL response, like the pattern of a trip or the alerts of a route. The loaders collect the
+ * keys requested by all data fetchers on the same level of the query, and look up each distinct
+ * key once. The result is cached for the rest of the request.
+ * <p>
+ * A new registry must be created for each GraphQL execution, since the cached values are not
+ * updated with realtime data. The registry is shared by the legacy GraphQL and Transmodel APIs.
+ */
+public class TransitDataLoaders {
+
+  private static final String TRIPS = "trips";
+  private static final String PATTERN_FOR_TRIP = "patternForTrip";
+  private static final String STOP_TIMES_FOR_TRIP = "stopTimesForTrip";
+  private static final String ROUTE_ALERTS = "routeAlerts";
+  private static final String STOP_ALERTS = "stopAlerts";
+  private static final String TRIP_ALERTS = "tripAlerts";
+  private static final String VEHICLE_POSITIONS = "vehiclePositions";
+
+  private TransitDataLoaders() {}
+
+  public static DataLoaderRegistry createRegistry(
+    TransitService transitService,
+    VehiclePositionService vehiclePositionService
+  ) {
+    var alertService = transitService.getTransitAlertService();
+    var registry = new DataLoaderRegistry();
+    registry.register(TRIPS, dataLoader(transitService::getTripForId));
+    registry.register(
+      PATTERN_FOR_TRIP,
+      dataLoader((Trip trip) -> transitService.getPatternForTrip(trip))
+    );
+    registry.register(
+      STOP_TIMES_FOR_TRIP,
+      dataLoader((Trip trip) -> stopTimesForTrip(transitService, trip))
+    );
+    registry.register(ROUTE_ALERTS, dataLoader(alertService::getRouteAlerts));
+    registry.register(
+      STOP_ALERTS,
+      dataLoader((FeedScopedId stopId) -> alertService.getStopAlerts(stopId))
+    );
+    registry.register(
+      TRIP_ALERTS,
+      dataLoader((FeedScopedId tripId) -> alertService.getTripAlerts(tripId, null))
+    );
+    registry.register(VEHICLE_POSITIONS, dataLoader(vehiclePositionService::getVehiclePositions));
+    return registry;
+  }
+
+  public static CompletableFuture<Trip> trip(DataFetchingEnvironment env, FeedScopedId tripId) {
+    return env.<FeedScopedId, Trip>getDataLoader(TRIPS).load(tripId);
+  }
+
+  public static CompletableFuture<TripPattern> patternForTrip(
+    DataFetchingEnvironment env,
+    Trip trip
+  ) {
+    return env.<Trip, TripPattern>getDataLoader(PATTERN_FOR_TRIP).load(trip);
+  }
+
+  /**
+   * The scheduled stop times of the trip, or an empty list if the trip has no pattern.
+   */
+  public static CompletableFuture<List<TripTimeOnDate>> stopTimesForTrip(
+    DataFetchingEnvironment env,
+    Trip trip
+  ) {
+    return env.<Trip, List<TripTimeOnDate>>getDataLoader(STOP_TIMES_FOR_TRIP).load(trip);
+  }
+
+  public static CompletableFuture<Collection<TransitAlert>> routeAlerts(
+    DataFetchingEnvironment env,
+    FeedScopedId routeId
+  ) {
+    return env.<FeedScopedId, Collection<TransitAlert>>getDataLoader(ROUTE_ALERTS).load(routeId);
+  }
+
+  public static CompletableFuture<Collection<TransitAlert>> stopAlerts(
+    DataFetchingEnvironment env,
+    FeedScopedId stopId
+  ) {
+    return env.<FeedScopedId, Collection<TransitAlert>>getDataLoader(STOP_ALERTS).load(stopId);
+  }
+
+  public static CompletableFuture<Collection<TransitAlert>> tripAlerts(
+    DataFetchingEnvironment env,
+    FeedScopedId tripId
+  ) {
+    return env.<FeedScopedId, Collection<TransitAlert>>getDataLoader(TRIP_ALERTS).load(tripId);
+  }
+
+  public static CompletableFuture<List<RealtimeVehiclePosition>> vehiclePositions(
+    DataFetchingEnvironment env,
+    TripPattern pattern
+  ) {
+    return env
+      .<TripPattern, List<RealtimeVehiclePosition>>getDataLoader(VEHICLE_POSITIONS)
+      .load(pattern);
+  }
+
+  /* private methods */
+
+  private static List<TripTimeOnDate> stopTimesForTrip(TransitService transitService, Trip trip) {
+    TripPattern pattern = transitService.getPatternForTrip(trip);
+    if (pattern == null) {
+      return List.of();
+    }
+    return TripTimeOnDate.fromTripTimes(pattern.getScheduledTimetable(), trip);
+  }
+
+  /**
+   * The transit services are in memory, so the batch is resolved by looking up each key. The
+   * DataLoader makes sure each distinct key is only looked up once per request.
+   */
+  private static <K, V> DataLoader<K, V> dataLoader(Function<K, V> lookup) {
+    return DataLoaderFactory.newDataLoader(keys ->
+      CompletableFuture.completedFuture(keys.stream().map(lookup).toList())
+    );
+  }
+}
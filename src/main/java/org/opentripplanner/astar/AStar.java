@@ -5,9 +5,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
-import org.opentripplanner.astar.model.BinHeap;
 import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.astar.model.MinPriorityQueue;
+import org.opentripplanner.astar.model.PriorityQueueType;
 import org.opentripplanner.astar.model.ShortestPathTree;
 import org.opentripplanner.astar.spi.AStarEdge;
 import org.opentripplanner.astar.spi.AStarState;
@@ -45,7 +47,7 @@ public class AStar<
   private final Duration timeout;
 
   private final ShortestPathTree<State, Edge, Vertex> spt;
-  private final BinHeap<State> pq;
+  private final MinPriorityQueue<State> pq;
   private final List<State> targetAcceptedStates;
 
   private State u;
@@ -61,7 +63,10 @@ public class AStar<
     SearchTerminationStrategy<State> terminationStrategy,
     DominanceFunction<State> dominanceFunction,
     Duration timeout,
-    Collection<State> initialStates
+    Collection<State> initialStates,
+    PriorityQueueType priorityQueueType,
+    ToIntFunction<Vertex> vertexIndex,
+    int vertexIndexSize
   ) {
     this.heuristic = heuristic;
     this.skipEdgeStrategy = skipEdgeStrategy;
@@ -72,10 +77,14 @@ public class AStar<
     this.terminationStrategy = terminationStrategy;
     this.timeout = timeout;
 
-    this.spt = new ShortestPathTree<>(dominanceFunction);
+    this.spt =
+      vertexIndex == null
+        ? new ShortestPathTree<>(dominanceFunction)
+        : new ShortestPathTree<>(dominanceFunction, vertexIndex, vertexIndexSize);
 
     // Initialized with a reasonable size, see #4445
-    this.pq = new BinHeap<>(1000);
+    this.pq = priorityQueueType.create(1000);
+    this.spt.setDominatedStateListener(pq::remove);
     this.nVisited = 0;
     this.targetAcceptedStates = new ArrayList<>();
 
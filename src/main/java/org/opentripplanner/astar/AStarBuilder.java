@@ -6,7 +6,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.ToIntFunction;
 import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.astar.model.PriorityQueueType;
 import org.opentripplanner.astar.model.ShortestPathTree;
 import org.opentripplanner.astar.spi.AStarEdge;
 import org.opentripplanner.astar.spi.AStarState;
@@ -36,6 +38,9 @@ public abstract class AStarBuilder<
   private Duration timeout;
   private Edge originBackEdge;
   private Collection<State> initialStates;
+  private PriorityQueueType priorityQueueType = PriorityQueueType.BINARY_HEAP;
+  private ToIntFunction<Vertex> vertexIndex;
+  private int vertexIndexSize;
 
   protected AStarBuilder() {}
 
@@ -113,6 +118,25 @@ public abstract class AStarBuilder<
     return builder;
   }
 
+  /** The priority queue used by the search, the default is a binary heap. */
+  public Builder setPriorityQueueType(PriorityQueueType priorityQueueType) {
+    this.priorityQueueType = priorityQueueType;
+    return builder;
+  }
+
+  /**
+   * Store the states of the shortest path tree in an array indexed by the given dense vertex
+   * index, instead of in a hash map. Vertices with a negative index or an index greater or equal
+   * to the {@code vertexIndexSize} are stored in a hash map, this can be used for temporary
+   * vertices. The array is allocated for each search, so this is only faster if a large part of
+   * the vertices are visited.
+   */
+  public Builder setVertexIndex(ToIntFunction<Vertex> vertexIndex, int vertexIndexSize) {
+    this.vertexIndex = vertexIndex;
+    this.vertexIndexSize = vertexIndexSize;
+    return builder;
+  }
+
   public ShortestPathTree<State, Edge, Vertex> getShortestPathTree() {
     return build().getShortestPathTree();
   }
@@ -152,7 +176,10 @@ public abstract class AStarBuilder<
       terminationStrategy,
       Optional.ofNullable(dominanceFunction).orElseGet(this::createDefaultDominanceFunction),
       timeout,
-      initialStates
+      initialStates,
+      priorityQueueType,
+      vertexIndex,
+      vertexIndexSize
     );
   }
 
@@ -0,0 +1,116 @@
+package org.opentripplanner.astar.model;
+
+import com.google.common.collect.Iterators;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * A map where the values are stored in an array indexed by a dense integer index of the key. This
+ * avoids hashing the key and the entry object allocation of a hash map. Keys without an index (the
+ * index function returns a negative value) or with an index outside the array are kept in an
+ * {@link IdentityHashMap}. This is used for temporary vertices, which are not part of the graph.
+ * <p>
+ * Keys are compared by identity, null values and removing entries is not supported.
+ */
+class DenseIndexMap<K, V> extends AbstractMap<K, V> {
+
+  private final ToIntFunction<K> index;
+  private final Object[] values;
+  private final List<K> indexedKeys = new ArrayList<>();
+  private final Map<K, V> others = new IdentityHashMap<>();
+
+  DenseIndexMap(ToIntFunction<K> index, int size) {
+    this.index = index;
+    this.values = new Object[size];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    int i = index.applyAsInt((K) key);
+    return inRange(i) ? (V) values[i] : others.get(key);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V put(K key, V value) {
+    int i = index.applyAsInt(key);
+    if (!inRange(i)) {
+      return others.put(key, value);
+    }
+    V old = (V) values[i];
+    if (old == null) {
+      indexedKeys.add(key);
+    }
+    values[i] = value;
+    return old;
+  }
+
+  @Override
+  public int size() {
+    return indexedKeys.size() + others.size();
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<K> iterator() {
+        return Iterators.concat(indexedKeys.iterator(), others.keySet().iterator());
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return containsKey(o);
+      }
+
+      @Override
+      public int size() {
+        return DenseIndexMap.this.size();
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<K, V>> iterator() {
+        Iterator<K> keys = keySet().iterator();
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return keys.hasNext();
+          }
+
+          @Override
+          public Entry<K, V> next() {
+            K key = keys.next();
+            return new SimpleImmutableEntry<>(key, get(key));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return DenseIndexMap.this.size();
+      }
+    };
+  }
+
+  private boolean inRange(int i) {
+    return i >= 0 && i < values.length;
+  }
+}
@@ -0,0 +1,279 @@
+package org.opentripplanner.astar.model;
+
+import java.util.Arrays;
+
+/**
+ * An indexed d-ary (d=4) min heap. Each element in the heap is stored in a slot in an open
+ * addressing identity hash table, and the heap itself is an {@code int[]} of slot numbers. The
+ * table keeps track of the heap position of each element, so an element can be found in constant
+ * time, and its key changed or the element removed in O(log n) time. The {@link BinHeap#rekey}
+ * does a linear scan over all elements to do the same.
+ * <p>
+ * All data is kept in primitive arrays, there is no allocation after the queue has grown to its
+ * working size. The 4-ary heap is shallower than a binary heap, and the children of a node is
+ * next to each other in memory, which make it faster than a binary heap when there are many more
+ * inserts/decrease-key operations than extract-min operations, as in a street search.
+ * <p>
+ * An element can only be in the queue once, elements are compared by identity.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE.
+ */
+public class IndexedDaryHeap<T> implements MinPriorityQueue<T> {
+
+  private static final int D = 4;
+
+  /* The hash table, indexed by slot. An empty slot has a null element. */
+  private Object[] elements;
+  private double[] keys;
+  private int[] positions;
+  private int mask;
+
+  /* The heap, the slot of the element at each heap position. */
+  private int[] heap;
+  private int size = 0;
+
+  public IndexedDaryHeap() {
+    this(1000);
+  }
+
+  public IndexedDaryHeap(int capacity) {
+    // Keep the load factor of the hash table at or below 0.5
+    allocate(Integer.highestOneBit(Math.max(16, 2 * capacity - 1)) << 1);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean empty() {
+    return size == 0;
+  }
+
+  public boolean contains(T e) {
+    return find(e) >= 0;
+  }
+
+  /**
+   * Add an element to the queue. If the element is already in the queue its key is changed, the
+   * same way as {@link #rekey(Object, double)} does it.
+   */
+  @Override
+  public void insert(T e, double p) {
+    int slot = find(e);
+    if (slot >= 0) {
+      changeKey(slot, p);
+      return;
+    }
+    if (2 * (size + 1) > elements.length) {
+      rehash(2 * elements.length);
+    }
+    slot = hash(e);
+    while (elements[slot] != null) {
+      slot = (slot + 1) & mask;
+    }
+    elements[slot] = e;
+    keys[slot] = p;
+    heap[size] = slot;
+    positions[slot] = size;
+    ++size;
+    siftUp(size - 1);
+  }
+
+  @Override
+  public T extract_min() {
+    if (size == 0) {
+      return null;
+    }
+    T e = elementAt(heap[0]);
+    removeAt(0);
+    return e;
+  }
+
+  public T peek_min() {
+    return size == 0 ? null : elementAt(heap[0]);
+  }
+
+  @Override
+  public double peek_min_key() {
+    if (size == 0) {
+      throw new IllegalStateException("An empty queue does not have a minimum key.");
+    }
+    return keys[heap[0]];
+  }
+
+  /**
+   * Change the key of an element already in the queue, both decreasing and increasing the key is
+   * supported. Nothing is done if the element is not in the queue.
+   */
+  public void rekey(T e, double p) {
+    int slot = find(e);
+    if (slot >= 0) {
+      changeKey(slot, p);
+    }
+  }
+
+  @Override
+  public boolean remove(T e) {
+    int slot = find(e);
+    if (slot < 0) {
+      return false;
+    }
+    removeAt(positions[slot]);
+    return true;
+  }
+
+  /** Empties the queue. */
+  public void reset() {
+    Arrays.fill(elements, null);
+    size = 0;
+  }
+
+  /* private methods */
+
+  @SuppressWarnings("unchecked")
+  private T elementAt(int slot) {
+    return (T) elements[slot];
+  }
+
+  private int hash(Object e) {
+    int h = System.identityHashCode(e) * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private int find(Object e) {
+    for (int slot = hash(e); elements[slot] != null; slot = (slot + 1) & mask) {
+      if (elements[slot] == e) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  private void changeKey(int slot, double p) {
+    double old = keys[slot];
+    keys[slot] = p;
+    if (p < old) {
+      siftUp(positions[slot]);
+    } else if (p > old) {
+      siftDown(positions[slot]);
+    }
+  }
+
+  private void removeAt(int pos) {
+    int slot = heap[pos];
+    --size;
+    if (pos < size) {
+      int last = heap[size];
+      heap[pos] = last;
+      positions[last] = pos;
+      siftDown(pos);
+      siftUp(positions[last]);
+    }
+    deleteSlot(slot);
+  }
+
+  private void siftUp(int pos) {
+    int slot = heap[pos];
+    double key = keys[slot];
+    while (pos > 0) {
+      int parent = (pos - 1) / D;
+      int parentSlot = heap[parent];
+      if (keys[parentSlot] <= key) {
+        break;
+      }
+      heap[pos] = parentSlot;
+      positions[parentSlot] = pos;
+      pos = parent;
+    }
+    heap[pos] = slot;
+    positions[slot] = pos;
+  }
+
+  private void siftDown(int pos) {
+    int slot = heap[pos];
+    double key = keys[slot];
+    while (true) {
+      int first = D * pos + 1;
+      if (first >= size) {
+        break;
+      }
+      int end = Math.min(first + D, size);
+      int minChild = first;
+      for (int c = first + 1; c < end; ++c) {
+        if (keys[heap[c]] < keys[heap[minChild]]) {
+          minChild = c;
+        }
+      }
+      int childSlot = heap[minChild];
+      if (keys[childSlot] >= key) {
+        break;
+      }
+      heap[pos] = childSlot;
+      positions[childSlot] = pos;
+      pos = minChild;
+    }
+    heap[pos] = slot;
+    positions[slot] = pos;
+  }
+
+  /**
+   * Remove an element from the hash table. This uses backward shift deletion, the following
+   * elements in the same probe sequence are moved back to fill the hole. The heap is updated
+   * with the new slot of each moved element.
+   */
+  private void deleteSlot(int hole) {
+    elements[hole] = null;
+    int slot = hole;
+    while (true) {
+      slot = (slot + 1) & mask;
+      Object e = elements[slot];
+      if (e == null) {
+        return;
+      }
+      int home = hash(e);
+      // The element can only move back if its home slot is not in the range (hole, slot]
+      boolean inRange = hole <= slot
+        ? (hole < home && home <= slot)
+        : (hole < home || home <= slot);
+      if (inRange) {
+        continue;
+      }
+      elements[hole] = e;
+      keys[hole] = keys[slot];
+      positions[hole] = positions[slot];
+      heap[positions[hole]] = hole;
+      elements[slot] = null;
+      hole = slot;
+    }
+  }
+
+  private void rehash(int tableSize) {
+    Object[] oldElements = elements;
+    double[] oldKeys = keys;
+    int[] oldHeap = heap;
+    allocate(tableSize);
+
+    for (int pos = 0; pos < size; ++pos) {
+      int oldSlot = oldHeap[pos];
+      Object e = oldElements[oldSlot];
+      int slot = hash(e);
+      while (elements[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      elements[slot] = e;
+      keys[slot] = oldKeys[oldSlot];
+      positions[slot] = pos;
+      heap[pos] = slot;
+    }
+  }
+
+  private void allocate(int tableSize) {
+    elements = new Object[tableSize];
+    keys = new double[tableSize];
+    positions = new int[tableSize];
+    mask = tableSize - 1;
+    heap = new int[tableSize / 2];
+  }
+}
@@ -0,0 +1,32 @@
+package org.opentripplanner.astar.model;
+
+/**
+ * A min priority queue of elements with a {@code double} key, used by the A* search to find the
+ * next state to explore.
+ */
+public interface MinPriorityQueue<T> {
+  int size();
+
+  boolean empty();
+
+  /** Add an element to the queue. */
+  void insert(T e, double p);
+
+  /** Remove and return the element with the lowest key, or {@code null} if the queue is empty. */
+  T extract_min();
+
+  /** @throws IllegalStateException if the queue is empty */
+  double peek_min_key();
+
+  /**
+   * Remove the given element from the queue, if the implementation supports it. The A* search
+   * calls this when a state is dominated. Queues which do not keep track of the element positions
+   * ignore this and return {@code false}, the dominated state is then dropped when it comes out of
+   * the queue, see {@link ShortestPathTree#visit(org.opentripplanner.astar.spi.AStarState)}.
+   *
+   * @return {@code true} if the element was removed.
+   */
+  default boolean remove(T e) {
+    return false;
+  }
+}
@@ -0,0 +1,25 @@
+package org.opentripplanner.astar.model;
+
+/**
+ * The priority queue implementation used by the A* search.
+ */
+public enum PriorityQueueType {
+  /**
+   * A binary heap, see {@link BinHeap}. Dominated states are left in the queue and skipped when
+   * they are extracted.
+   */
+  BINARY_HEAP,
+
+  /**
+   * An indexed 4-ary heap, see {@link IndexedDaryHeap}. Dominated states are removed from the
+   * queue, so the queue only contains states which may be part of an optimal path.
+   */
+  INDEXED_DARY_HEAP;
+
+  public <T> MinPriorityQueue<T> create(int capacity) {
+    return switch (this) {
+      case BINARY_HEAP -> new BinHeap<>(capacity);
+      case INDEXED_DARY_HEAP -> new IndexedDaryHeap<>(capacity);
+    };
+  }
+}
@@ -11,6 +11,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 import org.opentripplanner.astar.spi.AStarEdge;
 import org.opentripplanner.astar.spi.AStarState;
 import org.opentripplanner.astar.spi.AStarVertex;
@@ -46,6 +48,9 @@ public class ShortestPathTree<
 
   private final Map<Vertex, List<State>> stateSets;
 
+  /** Called when a state is dominated by a new state and removed from the tree. */
+  private Consumer<State> dominatedStateListener = null;
+
   /** Indicates that the search timed out or was otherwise aborted. */
   private boolean aborted = false;
 
@@ -55,6 +60,20 @@ public class ShortestPathTree<
     stateSets = new IdentityHashMap<>(10_000);
   }
 
+  /**
+   * Create a tree where the states are stored in an array indexed by the given dense vertex index,
+   * instead of in a hash map. Vertices without an index (a negative value) or with an index
+   * greater or equal to the {@code vertexIndexSize} are stored in a hash map.
+   */
+  public ShortestPathTree(
+    DominanceFunction<State> dominanceFunction,
+    ToIntFunction<Vertex> vertexIndex,
+    int vertexIndexSize
+  ) {
+    this.dominanceFunction = dominanceFunction;
+    this.stateSets = new DenseIndexMap<>(vertexIndex, vertexIndexSize);
+  }
+
   /** @return a list of GraphPaths, sometimes empty but never null. */
   public List<GraphPath<State, Edge, Vertex>> getPaths(Vertex dest) {
     List<? extends State> stateList = getStates(dest);
@@ -149,6 +168,9 @@ public class ShortestPathTree<
       }
       if (dominanceFunction.betterOrEqualAndComparable(newState, oldState)) {
         it.remove();
+        if (dominatedStateListener != null) {
+          dominatedStateListener.accept(oldState);
+        }
       }
     }
 
@@ -208,7 +230,9 @@ public class ShortestPathTree<
    * Many shortest path algorithms will decrease the key of a vertex in the priority queue when it
    * is updated, but we store states in the queue rather than vertices, and states do not get
    * updated or change their weight.
-   * TODO consider just removing states from the priority queue.
+   * <p>
+   * The {@link PriorityQueueType#INDEXED_DARY_HEAP} supports removing states, and the A* search
+   * then removes dominated states from the queue, see {@link #setDominatedStateListener(Consumer)}.
    * <p>
    * When the Fibonacci heap was replaced with a binary heap, the decrease-key operation was
    * removed for the same reason: both improve theoretical run time complexity, at the cost of
@@ -240,6 +264,14 @@ public class ShortestPathTree<
     return allStates;
   }
 
+  /**
+   * Set a listener which is notified each time a state is dominated and removed from the tree.
+   * The A* search use this to remove the dominated state from the priority queue.
+   */
+  public void setDominatedStateListener(Consumer<State> dominatedStateListener) {
+    this.dominatedStateListener = dominatedStateListener;
+  }
+
   public void setAborted() {
     aborted = true;
   }
@@ -22,6 +22,16 @@ public enum OTPFeature {
     "Enable the inspector  endpoint for graph information for inspection/debugging purpose."
   ),
   APIUpdaterStatus(true, false, "Enable endpoint for graph updaters status."),
+  APITransitModelReload(
+    false,
+    false,
+    "Enable the endpoint to reload a newly built graph into a running server."
+  ),
+  APIBatchPlan(
+    false,
+    false,
+    "Enable the endpoint to plan trips from many origins to many destinations in one request."
+  ),
   ConsiderPatternsForDirectTransfers(
     true,
     false,
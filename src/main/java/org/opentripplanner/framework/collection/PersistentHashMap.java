@@ -0,0 +1,494 @@
+package org.opentripplanner.framework.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * An immutable hash map where all modifications return a new version, sharing all untouched
+ * structure with the previous version. The map is implemented as a hash array mapped trie (HAMT),
+ * so a lookup, an insert or a removal only visit/copy at most 7 small nodes. This makes it cheap to
+ * keep many versions of a large map alive, for example when a realtime buffer is committed to a
+ * read-only snapshot after each batch of updates.
+ * <p>
+ * Null keys and null values are not allowed.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE.
+ */
+public final class PersistentHashMap<K, V> {
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+  @Nullable
+  private final Node root;
+
+  private final int size;
+
+  private PersistentHashMap(@Nullable Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <K, V> PersistentHashMap<K, V> empty() {
+    return (PersistentHashMap<K, V>) EMPTY;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    return root == null ? null : (V) root.find(0, hash(key), key);
+  }
+
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Return a new map with the given key mapped to the given value. If the key is already mapped
+   * to the same value (identity), {@code this} is returned.
+   */
+  public PersistentHashMap<K, V> put(K key, V value) {
+    Objects.requireNonNull(key);
+    Objects.requireNonNull(value);
+    var added = new boolean[1];
+    Node base = root == null ? BitmapNode.EMPTY : root;
+    Node newRoot = base.put(0, hash(key), key, value, added);
+    if (newRoot == root) {
+      return this;
+    }
+    return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  /**
+   * Return a new map without the given key. If the key does not exist, {@code this} is returned.
+   */
+  public PersistentHashMap<K, V> remove(Object key) {
+    if (root == null) {
+      return this;
+    }
+    Node newRoot = root.remove(0, hash(key), key);
+    if (newRoot == root) {
+      return this;
+    }
+    return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    if (root != null) {
+      root.forEach((BiConsumer<Object, Object>) action);
+    }
+  }
+
+  /** Return a list of all keys in the map. The order is undefined. */
+  public List<K> keys() {
+    var keys = new ArrayList<K>(size);
+    forEach((k, v) -> keys.add(k));
+    return keys;
+  }
+
+  /**
+   * Return an unmodifiable {@link Set} view of the keys. The map is immutable, so the view never
+   * changes. Iterating over the view walks the trie, the keys are not copied.
+   */
+  public Set<K> keySet() {
+    return new KeySetView<>(this);
+  }
+
+  /**
+   * Return an unmodifiable {@link Map} view of this map. Lookups are done in the trie, while
+   * iterating over the map creates a list of all entries.
+   */
+  public Map<K, V> asMap() {
+    return new MapView<>(this);
+  }
+
+  @Override
+  public String toString() {
+    return asMap().toString();
+  }
+
+  /* private methods */
+
+  private static int hash(Object key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  private static int bitpos(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  private static Node createNode(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+    int h1 = hash(k1);
+    if (h1 == h2) {
+      return new CollisionNode(h1, new Object[] { k1, v1, k2, v2 });
+    }
+    var added = new boolean[1];
+    return BitmapNode.EMPTY.put(shift, h1, k1, v1, added).put(shift, h2, k2, v2, added);
+  }
+
+  private interface Node {
+    @Nullable
+    Object find(int shift, int hash, Object key);
+
+    Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+    /** Return {@code null} if the node is empty after the key is removed. */
+    @Nullable
+    Node remove(int shift, int hash, Object key);
+
+    /** The keys and values as pairs. A {@code null} key is followed by a sub-node. */
+    Object[] entries();
+
+    void forEach(BiConsumer<Object, Object> action);
+  }
+
+  /**
+   * A node with up to 32 entries. Each entry use two slots in the array, either a key and a value,
+   * or {@code null} and a sub-node.
+   */
+  private static final class BitmapNode implements Node {
+
+    private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    private final int bitmap;
+    private final Object[] array;
+
+    private BitmapNode(int bitmap, Object[] array) {
+      this.bitmap = bitmap;
+      this.array = array;
+    }
+
+    @Override
+    public Object find(int shift, int hash, Object key) {
+      int bit = bitpos(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+      int i = 2 * index(bit);
+      Object k = array[i];
+      Object v = array[i + 1];
+      if (k == null) {
+        return ((Node) v).find(shift + BITS, hash, key);
+      }
+      return key.equals(k) ? v : null;
+    }
+
+    @Override
+    public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+      int bit = bitpos(hash, shift);
+      int i = 2 * index(bit);
+
+      if ((bitmap & bit) == 0) {
+        added[0] = true;
+        Object[] newArray = new Object[array.length + 2];
+        System.arraycopy(array, 0, newArray, 0, i);
+        newArray[i] = key;
+        newArray[i + 1] = value;
+        System.arraycopy(array, i, newArray, i + 2, array.length - i);
+        return new BitmapNode(bitmap | bit, newArray);
+      }
+
+      Object k = array[i];
+      Object v = array[i + 1];
+      if (k == null) {
+        Node node = ((Node) v).put(shift + BITS, hash, key, value, added);
+        return node == v ? this : withEntry(i, null, node);
+      }
+      if (key.equals(k)) {
+        return v == value ? this : withEntry(i, k, value);
+      }
+      added[0] = true;
+      return withEntry(i, null, createNode(shift + BITS, k, v, hash, key, value));
+    }
+
+    @Override
+    public Node remove(int shift, int hash, Object key) {
+      int bit = bitpos(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int i = 2 * index(bit);
+      Object k = array[i];
+      Object v = array[i + 1];
+
+      if (k == null) {
+        Node node = ((Node) v).remove(shift + BITS, hash, key);
+        if (node == v) {
+          return this;
+        }
+        if (node != null) {
+          return withEntry(i, null, node);
+        }
+      } else if (!key.equals(k)) {
+        return this;
+      }
+
+      if (bitmap == bit) {
+        return null;
+      }
+      Object[] newArray = new Object[array.length - 2];
+      System.arraycopy(array, 0, newArray, 0, i);
+      System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+      return new BitmapNode(bitmap ^ bit, newArray);
+    }
+
+    @Override
+    public void forEach(BiConsumer<Object, Object> action) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (array[i] == null) {
+          ((Node) array[i + 1]).forEach(action);
+        } else {
+          action.accept(array[i], array[i + 1]);
+        }
+      }
+    }
+
+    @Override
+    public Object[] entries() {
+      return array;
+    }
+
+    private int index(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private BitmapNode withEntry(int i, Object key, Object value) {
+      Object[] newArray = array.clone();
+      newArray[i] = key;
+      newArray[i + 1] = value;
+      return new BitmapNode(bitmap, newArray);
+    }
+  }
+
+  /** A node for keys with the same hash code, the keys and values are stored as pairs. */
+  private static final class CollisionNode implements Node {
+
+    private final int hash;
+    private final Object[] array;
+
+    private CollisionNode(int hash, Object[] array) {
+      this.hash = hash;
+      this.array = array;
+    }
+
+    @Override
+    public Object find(int shift, int hash, Object key) {
+      if (hash != this.hash) {
+        return null;
+      }
+      int i = indexOf(key);
+      return i < 0 ? null : array[i + 1];
+    }
+
+    @Override
+    public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+      if (hash != this.hash) {
+        // Push this node down one level, and add the new key next to it
+        return new BitmapNode(bitpos(this.hash, shift), new Object[] { null, this })
+          .put(shift, hash, key, value, added);
+      }
+      int i = indexOf(key);
+      if (i >= 0) {
+        if (array[i + 1] == value) {
+          return this;
+        }
+        Object[] newArray = array.clone();
+        newArray[i + 1] = value;
+        return new CollisionNode(hash, newArray);
+      }
+      added[0] = true;
+      Object[] newArray = new Object[array.length + 2];
+      System.arraycopy(array, 0, newArray, 0, array.length);
+      newArray[array.length] = key;
+      newArray[array.length + 1] = value;
+      return new CollisionNode(hash, newArray);
+    }
+
+    @Override
+    public Node remove(int shift, int hash, Object key) {
+      if (hash != this.hash) {
+        return this;
+      }
+      int i = indexOf(key);
+      if (i < 0) {
+        return this;
+      }
+      if (array.length == 2) {
+        return null;
+      }
+      Object[] newArray = new Object[array.length - 2];
+      System.arraycopy(array, 0, newArray, 0, i);
+      System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+      return new CollisionNode(hash, newArray);
+    }
+
+    @Override
+    public void forEach(BiConsumer<Object, Object> action) {
+      for (int i = 0; i < array.length; i += 2) {
+        action.accept(array[i], array[i + 1]);
+      }
+    }
+
+    @Override
+    public Object[] entries() {
+      return array;
+    }
+
+    private int indexOf(Object key) {
+      for (int i = 0; i < array.length; i += 2) {
+        if (key.equals(array[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * Iterate over the keys depth first, keeping the path from the root to the current node. The
+   * trie has at most 7 levels of bitmap nodes, with a collision node below the last level.
+   */
+  private static final class KeyIterator<K> implements Iterator<K> {
+
+    private static final int MAX_DEPTH = 8;
+
+    private final Object[][] path = new Object[MAX_DEPTH][];
+    private final int[] index = new int[MAX_DEPTH];
+    private int depth = -1;
+    private Object next;
+
+    private KeyIterator(@Nullable Node root) {
+      if (root != null) {
+        push(root);
+        advance();
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public K next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      var key = (K) next;
+      advance();
+      return key;
+    }
+
+    private void push(Node node) {
+      ++depth;
+      path[depth] = node.entries();
+      index[depth] = 0;
+    }
+
+    private void advance() {
+      while (depth >= 0) {
+        Object[] entries = path[depth];
+        int i = index[depth];
+        if (i == entries.length) {
+          --depth;
+          continue;
+        }
+        index[depth] = i + 2;
+        if (entries[i] != null) {
+          next = entries[i];
+          return;
+        }
+        push((Node) entries[i + 1]);
+      }
+      next = null;
+    }
+  }
+
+  private static final class KeySetView<K> extends AbstractSet<K> {
+
+    private final PersistentHashMap<K, ?> map;
+
+    private KeySetView(PersistentHashMap<K, ?> map) {
+      this.map = map;
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+      return new KeyIterator<>(map.root);
+    }
+
+    @Override
+    public boolean contains(Object key) {
+      return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return map.size();
+    }
+  }
+
+  private static final class MapView<K, V> extends AbstractMap<K, V> {
+
+    private final PersistentHashMap<K, V> map;
+
+    private MapView(PersistentHashMap<K, V> map) {
+      this.map = map;
+    }
+
+    @Override
+    public V get(Object key) {
+      return map.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return map.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          var entries = new ArrayList<Entry<K, V>>(map.size());
+          map.forEach((k, v) -> entries.add(new SimpleImmutableEntry<>(k, v)));
+          return entries.iterator();
+        }
+
+        @Override
+        public int size() {
+          return map.size();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package org.opentripplanner.framework.graphql;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.micrometer.core.instrument.search.Search;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A bounded cache of parsed and validated GraphQL documents, keyed by the SHA-256 hash of the
+ * query. Clients usually send the same few queries with different variables, so parsing and
+ * validating the query is done only once for each query text.
+ * <p>
+ * Automatic persisted queries, as defined by Apollo, are also supported. A client may send only
+ * the hash in the {@code extensions.persistedQuery.sha256Hash} request field. If the hash is not
+ * in the cache, a {@code PersistedQueryNotFound} error is returned, and the client must repeat the
+ * request with both the query and the hash.
+ */
+public class GraphQLDocumentCache extends ApolloPersistedQuerySupport {
+
+  private static final int MAX_SIZE = 1000;
+
+  private final Cache<Object, PreparsedDocumentEntry> cache;
+
+  public GraphQLDocumentCache() {
+    this(CacheBuilder.newBuilder().maximumSize(MAX_SIZE).recordStats().build());
+  }
+
+  private GraphQLDocumentCache(Cache<Object, PreparsedDocumentEntry> cache) {
+    super(new BoundedPersistedQueryCache(cache));
+    this.cache = cache;
+  }
+
+  /**
+   * Return {@code true} if the request extensions contain a persisted query, in which case the
+   * query text of the request is optional.
+   */
+  public static boolean isPersistedQuery(Map<String, Object> extensions) {
+    return extensions != null && extensions.get("persistedQuery") instanceof Map;
+  }
+
+  /**
+   * Report the size, hits, misses and evictions of the cache to the given registry. The meters of
+   * a cache previously bound with the same name and tags are removed, so the metrics follow the
+   * new cache if it replaces an old one.
+   */
+  public void bindMetrics(MeterRegistry registry, String cacheName, Iterable<Tag> tags) {
+    Search
+      .in(registry)
+      .tag("cache", cacheName)
+      .tags(tags)
+      .meters()
+      .forEach(registry::remove);
+    GuavaCacheMetrics.monitor(registry, cache, cacheName, tags);
+  }
+
+  @Override
+  protected Optional<Object> getPersistedQueryId(ExecutionInput executionInput) {
+    Optional<Object> persistedQueryId = super.getPersistedQueryId(executionInput);
+    if (persistedQueryId.isPresent()) {
+      return persistedQueryId.map(id -> id.toString().toLowerCase());
+    }
+    String query = executionInput.getQuery();
+    if (query == null || query.isBlank() || PERSISTED_QUERY_MARKER.equals(query)) {
+      return Optional.empty();
+    }
+    return Optional.of(Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString());
+  }
+
+  private static class BoundedPersistedQueryCache implements PersistedQueryCache {
+
+    private final Cache<Object, PreparsedDocumentEntry> cache;
+
+    private BoundedPersistedQueryCache(Cache<Object, PreparsedDocumentEntry> cache) {
+      this.cache = cache;
+    }
+
+    @Override
+    public PreparsedDocumentEntry getPersistedQueryDocument(
+      Object persistedQueryId,
+      ExecutionInput executionInput,
+      PersistedQueryCacheMiss onCacheMiss
+    ) {
+      String query = executionInput.getQuery();
+      try {
+        return cache.get(
+          persistedQueryId,
+          () -> onCacheMiss.apply(PERSISTED_QUERY_MARKER.equals(query) ? null : query)
+        );
+      } catch (ExecutionException | UncheckedExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+}
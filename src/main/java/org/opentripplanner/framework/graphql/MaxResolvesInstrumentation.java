@@ -0,0 +1,70 @@
+package org.opentripplanner.framework.graphql;
+
+import graphql.ExecutionResult;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.validation.ValidationError;
+import java.util.List;
+
+/**
+ * Limit the query complexity, the number of fields resolved, of each execution. Unlike
+ * {@link MaxQueryComplexityInstrumentation} the limit is not part of the instrumentation, it is
+ * read from the {@link graphql.GraphQLContext} of the execution input using the
+ * {@link #MAX_RESOLVES} key. This allows one GraphQL instance to serve all requests, whatever
+ * limit the client asks for.
+ */
+public class MaxResolvesInstrumentation extends SimplePerformantInstrumentation {
+
+  /**
+   * The key of the request specific max resolves value, an {@link Integer}, in the GraphQL
+   * context.
+   */
+  public static final String MAX_RESOLVES = "maxResolves";
+
+  private final int defaultMaxResolves;
+
+  /**
+   * @param defaultMaxResolves The limit used if the GraphQL context has no max resolves value.
+   */
+  public MaxResolvesInstrumentation(int defaultMaxResolves) {
+    this.defaultMaxResolves = defaultMaxResolves;
+  }
+
+  @Override
+  public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+    Integer maxResolves = parameters.getExecutionInput().getGraphQLContext().get(MAX_RESOLVES);
+    var delegate = new MaxQueryComplexityInstrumentation(
+      maxResolves == null ? defaultMaxResolves : maxResolves
+    );
+    return new State(delegate, delegate.createState(parameters));
+  }
+
+  @Override
+  public InstrumentationContext<List<ValidationError>> beginValidation(
+    InstrumentationValidationParameters parameters,
+    InstrumentationState state
+  ) {
+    var s = (State) state;
+    return s.delegate().beginValidation(parameters, s.delegateState());
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+    InstrumentationExecuteOperationParameters parameters,
+    InstrumentationState state
+  ) {
+    var s = (State) state;
+    return s.delegate().beginExecuteOperation(parameters, s.delegateState());
+  }
+
+  private record State(
+    MaxQueryComplexityInstrumentation delegate,
+    InstrumentationState delegateState
+  )
+    implements InstrumentationState {}
+}
@@ -156,6 +156,13 @@ public class GraphBuilder implements Runnable {
       graphBuilder.addModuleOptional(factory.dataOverlayFactory());
     }
 
+    // Landmarks from a loaded street graph are not valid if the graph is changed, so these are
+    // always created at the end of the build. This must be the last module changing the streets.
+    graph.setStreetLandmarks(null);
+    if (config.streetLandmarkCount > 0) {
+      graphBuilder.addModule(factory.streetLandmarkModule());
+    }
+
     graphBuilder.addModule(factory.calculateWorldEnvelopeModule());
 
     return graphBuilder;
@@ -175,6 +182,8 @@ public class GraphBuilder implements Runnable {
       load.buildGraph();
     }
 
+    graph.assignDenseIndexes();
+
     new SummarizeDataImportIssues(issueStore.listIssues()).summarize();
 
     validate();
@@ -0,0 +1,57 @@
+package org.opentripplanner.graph_builder.issue.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssue;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.graph_builder.issue.api.Issue;
+
+/**
+ * Collect the issues of a task running in parallel with other tasks, and add them to the real
+ * issue store later. If the issues of each task are added in a fixed order, the issue report is
+ * the same no matter in which order the tasks complete. After the issues are forwarded, new issues
+ * are added directly to the real issue store.
+ * <p>
+ * THREAD SAFETY - The implementation is not thread safe, use one instance for each task, and
+ * forward the issues after the task is complete.
+ */
+public class BufferedDataImportIssueStore implements DataImportIssueStore {
+
+  private final List<DataImportIssue> issues = new ArrayList<>();
+  private DataImportIssueStore target = null;
+
+  @Override
+  public void add(DataImportIssue issue) {
+    if (target == null) {
+      issues.add(issue);
+    } else {
+      target.add(issue);
+    }
+  }
+
+  @Override
+  public void add(String type, String message) {
+    add(Issue.issue(type, message));
+  }
+
+  @Override
+  public void add(String type, String message, Object... arguments) {
+    add(Issue.issue(type, message, arguments));
+  }
+
+  /** List the issues not forwarded yet. */
+  @Override
+  public List<DataImportIssue> listIssues() {
+    return issues;
+  }
+
+  /**
+   * Add all issues collected so far to the given store, and add any issues added later directly to
+   * it.
+   */
+  public void forwardTo(DataImportIssueStore issueStore) {
+    issues.forEach(issueStore::add);
+    issues.clear();
+    target = issueStore;
+  }
+}
@@ -0,0 +1,57 @@
+package org.opentripplanner.graph_builder.module;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.GraphAdjacency;
+import org.opentripplanner.street.search.landmark.LandmarkTable;
+import org.opentripplanner.street.search.landmark.LandmarkTableBuilder;
+import org.opentripplanner.street.search.landmark.StreetLandmarks;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+
+/**
+ * Pre-calculate the landmark weights used by the direct street search for car and bike with the
+ * default routing preferences. The landmarks are based on the dense vertex indexes, so this must
+ * run after all other modules adding or removing street vertices.
+ *
+ * @see org.opentripplanner.street.search.strategy.LandmarkRemainingWeightHeuristic
+ */
+public class StreetLandmarkModule implements GraphBuilderModule {
+
+  private static final List<StreetMode> MODES = List.of(StreetMode.CAR, StreetMode.BIKE);
+
+  private final Graph graph;
+  private final int numberOfLandmarks;
+
+  public StreetLandmarkModule(Graph graph, int numberOfLandmarks) {
+    this.graph = graph;
+    this.numberOfLandmarks = numberOfLandmarks;
+  }
+
+  @Override
+  public void buildGraph() {
+    graph.assignDenseIndexes();
+    var adjacency = GraphAdjacency.of(graph);
+
+    List<LandmarkTable> tables = new ArrayList<>();
+    for (StreetMode mode : MODES) {
+      var request = StreetSearchRequest.of().withMode(mode).build();
+      var table = new LandmarkTableBuilder(adjacency, request, numberOfLandmarks).build();
+      if (table != null) {
+        tables.add(table);
+      }
+    }
+    graph.setStreetLandmarks(new StreetLandmarks(tables));
+  }
+
+  @Override
+  public void checkInputs() {
+    if (numberOfLandmarks < 1) {
+      throw new IllegalArgumentException(
+        "The number of street landmarks must be positive: " + numberOfLandmarks
+      );
+    }
+  }
+}
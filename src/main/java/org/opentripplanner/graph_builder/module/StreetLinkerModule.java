@@ -11,6 +11,7 @@ import org.opentripplanner.graph_builder.issues.ParkAndRideEntranceRemoved;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.linking.LinkingDirection;
+import org.opentripplanner.routing.linking.PartitionedVertexLinker;
 import org.opentripplanner.routing.vehicle_parking.VehicleParking;
 import org.opentripplanner.routing.vehicle_parking.VehicleParkingHelper;
 import org.opentripplanner.street.model.edge.StreetTransitEntranceLink;
@@ -39,6 +40,13 @@ import org.slf4j.LoggerFactory;
 public class StreetLinkerModule implements GraphBuilderModule {
 
   private static final Logger LOG = LoggerFactory.getLogger(StreetLinkerModule.class);
+
+  /**
+   * The street edges to link the stops and entrances to are found in parallel, see
+   * {@link PartitionedVertexLinker}.
+   */
+  private static final int LINKING_THREADS = Runtime.getRuntime().availableProcessors();
+
   private final Graph graph;
   private final TransitModel transitModel;
   private final DataImportIssueStore issueStore;
@@ -107,6 +115,7 @@ public class StreetLinkerModule implements GraphBuilderModule {
       );
     }
 
+    List<TransitStopVertex> stopsToLink = new ArrayList<>();
     for (TransitStopVertex tStop : vertices) {
       // Stops with pathways do not need to be connected to the street network, since there are explicit entraces defined for that
       if (tStop.hasPathways()) {
@@ -116,31 +125,30 @@ public class StreetLinkerModule implements GraphBuilderModule {
       if (tStop.getDegreeOut() + tStop.getDegreeIn() > 0) {
         continue;
       }
-      TraverseModeSet modes = new TraverseModeSet(TraverseMode.WALK);
-
-      if (OTPFeature.FlexRouting.isOn()) {
-        // If regular stops are used for flex trips, they also need to be connected to car routable
-        // street edges.
-        if (stopLocationsUsedForFlexTrips.contains(tStop.getStop())) {
-          modes = new TraverseModeSet(TraverseMode.WALK, TraverseMode.CAR);
-        }
-      }
-
-      graph
-        .getLinker()
-        .linkVertexPermanently(
-          tStop,
-          modes,
-          LinkingDirection.BOTH_WAYS,
-          (vertex, streetVertex) ->
-            List.of(
-              new StreetTransitStopLink((TransitStopVertex) vertex, streetVertex),
-              new StreetTransitStopLink(streetVertex, (TransitStopVertex) vertex)
-            )
-        );
-      //noinspection Convert2MethodRef
-      progress.step(m -> LOG.info(m));
+      stopsToLink.add(tStop);
     }
+
+    final Set<StopLocation> flexStopLocations = stopLocationsUsedForFlexTrips;
+    new PartitionedVertexLinker(graph.getLinker(), LINKING_THREADS)
+      .linkVerticesPermanently(
+        stopsToLink,
+        tStop -> {
+          // If regular stops are used for flex trips, they also need to be connected to car
+          // routable street edges.
+          if (OTPFeature.FlexRouting.isOn() && flexStopLocations.contains(tStop.getStop())) {
+            return new TraverseModeSet(TraverseMode.WALK, TraverseMode.CAR);
+          }
+          return new TraverseModeSet(TraverseMode.WALK);
+        },
+        LinkingDirection.BOTH_WAYS,
+        (vertex, streetVertex) ->
+          List.of(
+            new StreetTransitStopLink((TransitStopVertex) vertex, streetVertex),
+            new StreetTransitStopLink(streetVertex, (TransitStopVertex) vertex)
+          ),
+        //noinspection Convert2MethodRef
+        () -> progress.step(m -> LOG.info(m))
+      );
     LOG.info(progress.completeMessage());
   }
 
@@ -181,20 +189,18 @@ public class StreetLinkerModule implements GraphBuilderModule {
 
   private void linkTransitEntrances(Graph graph) {
     LOG.info("Linking transit entrances to graph...");
-    for (TransitEntranceVertex tEntrance : graph.getVerticesOfType(TransitEntranceVertex.class)) {
-      graph
-        .getLinker()
-        .linkVertexPermanently(
-          tEntrance,
-          new TraverseModeSet(TraverseMode.WALK),
-          LinkingDirection.BOTH_WAYS,
-          (vertex, streetVertex) ->
-            List.of(
-              new StreetTransitEntranceLink((TransitEntranceVertex) vertex, streetVertex),
-              new StreetTransitEntranceLink(streetVertex, (TransitEntranceVertex) vertex)
-            )
-        );
-    }
+    new PartitionedVertexLinker(graph.getLinker(), LINKING_THREADS)
+      .linkVerticesPermanently(
+        graph.getVerticesOfType(TransitEntranceVertex.class),
+        tEntrance -> new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BOTH_WAYS,
+        (vertex, streetVertex) ->
+          List.of(
+            new StreetTransitEntranceLink((TransitEntranceVertex) vertex, streetVertex),
+            new StreetTransitEntranceLink(streetVertex, (TransitEntranceVertex) vertex)
+          ),
+        () -> {}
+      );
   }
 
   private void linkVehicleParks(Graph graph, DataImportIssueStore issueStore) {
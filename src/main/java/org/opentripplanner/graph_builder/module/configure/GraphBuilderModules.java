@@ -19,6 +19,7 @@ import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.issue.report.DataImportIssueReporter;
 import org.opentripplanner.graph_builder.issue.service.DefaultDataImportIssueStore;
 import org.opentripplanner.graph_builder.module.DirectTransferGenerator;
+import org.opentripplanner.graph_builder.module.StreetLandmarkModule;
 import org.opentripplanner.graph_builder.module.StreetLinkerModule;
 import org.opentripplanner.graph_builder.module.islandpruning.PruneIslands;
 import org.opentripplanner.graph_builder.module.ned.DegreeGridNEDTileSource;
@@ -131,6 +132,12 @@ public class GraphBuilderModules {
     return new StreetLinkerModule(graph, transitModel, issueStore, config.areaVisibility);
   }
 
+  @Provides
+  @Singleton
+  static StreetLandmarkModule provideStreetLandmarkModule(BuildConfig config, Graph graph) {
+    return new StreetLandmarkModule(graph, config.streetLandmarkCount);
+  }
+
   @Provides
   @Singleton
   static PruneIslands providePruneIslands(
@@ -16,6 +16,7 @@ import org.opentripplanner.graph_builder.model.GraphBuilderModule;
 import org.opentripplanner.graph_builder.module.StreetLinkerModule;
 import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.GraphAdjacency;
 import org.opentripplanner.routing.graph.index.StreetIndex;
 import org.opentripplanner.routing.linking.VertexLinker;
 import org.opentripplanner.street.model.StreetTraversalPermission;
@@ -167,8 +168,11 @@ public class PruneIslands implements GraphBuilderModule {
     ArrayList<Subgraph> islands = new ArrayList<>();
     int count;
 
+    /* the graph is not changed until the islands are processed, iterate over a compact snapshot */
+    GraphAdjacency adjacency = GraphAdjacency.of(graph);
+
     /* establish vertex neighbourhood without currently relevant noThruTrafficEdges */
-    collectNeighbourVertices(neighborsForVertex, traverseMode, false);
+    collectNeighbourVertices(adjacency, neighborsForVertex, traverseMode, false);
 
     /* associate each connected vertex with a subgraph */
     count = collectSubGraphs(neighborsForVertex, subgraphs, null, null);
@@ -177,7 +181,7 @@ public class PruneIslands implements GraphBuilderModule {
     /* Expand vertex neighbourhood with relevant noThruTrafficEdges
        Note that we can reuse the original neighbour map here
        and simply process a smaller set of noThruTrafficEdges */
-    collectNeighbourVertices(neighborsForVertex, traverseMode, true);
+    collectNeighbourVertices(adjacency, neighborsForVertex, traverseMode, true);
 
     /* Next: generate subgraphs without considering access limitations */
     count = collectSubGraphs(neighborsForVertex, extgraphs, null, islands);
@@ -303,6 +307,7 @@ public class PruneIslands implements GraphBuilderModule {
   }
 
   private void collectNeighbourVertices(
+    GraphAdjacency adjacency,
     Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
     TraverseMode traverseMode,
     boolean shouldMatchNoThruType
@@ -317,12 +322,14 @@ public class PruneIslands implements GraphBuilderModule {
 
     StreetSearchRequest request = StreetSearchRequest.of().withMode(streetMode).build();
 
-    for (Vertex gv : graph.getVertices()) {
+    for (int v = 0; v < adjacency.vertexIndexSize(); ++v) {
+      Vertex gv = adjacency.vertex(v);
       if (!(gv instanceof StreetVertex)) {
         continue;
       }
       State s0 = new State(gv, request);
-      for (Edge e : gv.getOutgoing()) {
+      for (int i = adjacency.outgoingStart(v); i < adjacency.outgoingEnd(v); ++i) {
+        Edge e = adjacency.edge(i);
         if (
           !(
             e instanceof StreetEdge ||
@@ -0,0 +1,133 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import org.opentripplanner.openstreetmap.model.OSMNode;
+
+/**
+ * Most nodes only carry a location, and a node object with its hash map entry uses about ten times
+ * the memory of the id and coordinates. This store keeps the coordinates of untagged nodes as
+ * fixed-point values in off-heap arrays sorted by id, and only nodes with tags as objects. A new
+ * node instance is created each time an untagged node is looked up.
+ * <p>
+ * The coordinates are stored in units of 10<sup>-7</sup> degrees, the precision of the OSM data,
+ * and converted back exactly as the PBF parser does. Nodes with coordinates that do not survive
+ * the round trip, like the virtual nodes created when intersecting areas, are kept as objects.
+ * The OSM provider is not kept for untagged nodes, it is only used to look up tag based
+ * properties.
+ * <p>
+ * The nodes are added in runs, one for each OSM file. A run is sorted when the store is read from,
+ * and the nodes in a PBF file are normally already sorted. Nodes are looked up with a binary search
+ * in each run. If a run is not sorted, and the same node occurs more than once in the run, it is
+ * not defined which of them is kept. In valid OSM data a node occurs once in each file.
+ */
+class CompactOsmNodeStore implements OsmNodeStore {
+
+  private static final double FIXED_POINT_SCALE = 1e7;
+
+  /** The PBF parser calculates the coordinates from a value in nano degrees */
+  private static final long NANO_DEGREES_PER_UNIT = 100;
+
+  private final TLongObjectMap<OSMNode> nodesWithTags = new TLongObjectHashMap<>();
+  private final List<OffHeapNodeArray> sortedRuns = new ArrayList<>();
+  private OffHeapNodeArray currentRun = new OffHeapNodeArray();
+
+  @Override
+  public void add(OSMNode node) {
+    long id = node.getId();
+    // Duplicates in the current run are removed when it is sorted
+    if (nodesWithTags.containsKey(id) || containsSorted(id)) {
+      return;
+    }
+    long lat = toFixedPoint(node.lat);
+    long lon = toFixedPoint(node.lon);
+
+    if (node.getTags() != null || !isExact(lat, node.lat) || !isExact(lon, node.lon)) {
+      nodesWithTags.put(id, node);
+    } else {
+      currentRun.add(id, (int) lat, (int) lon);
+    }
+  }
+
+  @Override
+  public OSMNode get(long id) {
+    var node = nodesWithTags.get(id);
+    if (node != null) {
+      return node;
+    }
+    sortCurrentRun();
+    for (OffHeapNodeArray run : sortedRuns) {
+      long index = run.indexOf(id);
+      if (index >= 0) {
+        node = new OSMNode();
+        node.setId(id);
+        node.lat = fromFixedPoint(run.lat(index));
+        node.lon = fromFixedPoint(run.lon(index));
+        return node;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean contains(long id) {
+    if (nodesWithTags.containsKey(id)) {
+      return true;
+    }
+    sortCurrentRun();
+    return containsSorted(id);
+  }
+
+  @Override
+  public int size() {
+    sortCurrentRun();
+    long size = nodesWithTags.size();
+    for (OffHeapNodeArray run : sortedRuns) {
+      size += run.size();
+    }
+    return Math.toIntExact(size);
+  }
+
+  /* private methods */
+
+  /**
+   * Only the sorted runs are searched, the current run is not sorted before it is complete.
+   */
+  private boolean containsSorted(long id) {
+    for (OffHeapNodeArray run : sortedRuns) {
+      if (run.indexOf(id) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void sortCurrentRun() {
+    if (currentRun.isEmpty()) {
+      return;
+    }
+    // If the same node is also kept as an object, the object is used
+    currentRun.sortAndRemoveDuplicates(nodesWithTags::containsKey);
+    sortedRuns.add(currentRun);
+    currentRun = new OffHeapNodeArray();
+  }
+
+  private static long toFixedPoint(double degrees) {
+    return Math.round(degrees * FIXED_POINT_SCALE);
+  }
+
+  /** Same calculation as in the PBF parser, so the result is exactly the same */
+  private static double fromFixedPoint(long value) {
+    return (value * NANO_DEGREES_PER_UNIT) * .000000001;
+  }
+
+  private static boolean isExact(long fixedPoint, double degrees) {
+    return (
+      fixedPoint >= Integer.MIN_VALUE &&
+      fixedPoint <= Integer.MAX_VALUE &&
+      fromFixedPoint(fixedPoint) == degrees
+    );
+  }
+}
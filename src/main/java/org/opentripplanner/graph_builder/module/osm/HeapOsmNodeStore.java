@@ -0,0 +1,33 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.opentripplanner.openstreetmap.model.OSMNode;
+
+/**
+ * Keep all nodes as objects in a hash map.
+ */
+class HeapOsmNodeStore implements OsmNodeStore {
+
+  private final TLongObjectMap<OSMNode> nodesById = new TLongObjectHashMap<>();
+
+  @Override
+  public void add(OSMNode node) {
+    nodesById.putIfAbsent(node.getId(), node);
+  }
+
+  @Override
+  public OSMNode get(long id) {
+    return nodesById.get(id);
+  }
+
+  @Override
+  public boolean contains(long id) {
+    return nodesById.containsKey(id);
+  }
+
+  @Override
+  public int size() {
+    return nodesById.size();
+  }
+}
@@ -58,8 +58,8 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
 
   private final DataImportIssueStore issueStore;
 
-  /* Map of all nodes used in ways/areas keyed by their OSM ID */
-  private final TLongObjectMap<OSMNode> nodesById = new TLongObjectHashMap<>();
+  /* All nodes used in ways/areas keyed by their OSM ID */
+  private final OsmNodeStore nodesById;
 
   /* Map of all bike parking nodes, keyed by their OSM ID */
   private final TLongObjectMap<OSMNode> bikeParkingNodes = new TLongObjectHashMap<>();
@@ -131,8 +131,17 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
   private final Set<String> boardingAreaRefTags;
 
   public OSMDatabase(DataImportIssueStore issueStore, Set<String> boardingAreaRefTags) {
+    this(issueStore, boardingAreaRefTags, OsmNodeStoreType.HEAP);
+  }
+
+  public OSMDatabase(
+    DataImportIssueStore issueStore,
+    Set<String> boardingAreaRefTags,
+    OsmNodeStoreType nodeStoreType
+  ) {
     this.issueStore = issueStore;
     this.boardingAreaRefTags = boardingAreaRefTags;
+    this.nodesById = nodeStoreType.create();
   }
 
   public OSMNode getNode(Long nodeId) {
@@ -229,10 +238,7 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
       return;
     }
 
-    if (nodesById.containsKey(node.getId())) {
-      return;
-    }
-    nodesById.put(node.getId(), node);
+    nodesById.add(node);
   }
 
   @Override
@@ -661,7 +667,7 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
     node.setId(virtualNodeId);
     virtualNodeId--;
     waysNodeIds.add(node.getId());
-    nodesById.put(node.getId(), node);
+    nodesById.add(node);
     return node;
   }
 
@@ -710,7 +716,7 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
       TLongIterator longIterator = way.getNodeRefs().iterator();
       while (longIterator.hasNext()) {
         long nodeRef = longIterator.next();
-        if (!nodesById.containsKey(nodeRef)) {
+        if (!nodesById.contains(nodeRef)) {
           continue AREA;
         }
       }
@@ -765,7 +771,7 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
         TLongIterator wayNodeIterator = way.getNodeRefs().iterator();
         while (wayNodeIterator.hasNext()) {
           long nodeId = wayNodeIterator.next();
-          if (nodesById.containsKey(nodeId)) {
+          if (nodesById.contains(nodeId)) {
             MapUtils.addToMapSet(areasForNode, nodeId, way);
           } else {
             // this area is missing some nodes, perhaps because it is on
@@ -1113,7 +1119,7 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
         } else {
           issueStore.add(new TooManyAreasInRelation(relation));
         }
-      } else if ("node".equals(member.getType()) && nodesById.containsKey(member.getRef())) {
+      } else if ("node".equals(member.getType()) && nodesById.contains(member.getRef())) {
         platformsNodes.add(nodesById.get(member.getRef()));
       }
     }
@@ -0,0 +1,175 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * An array of node ids and fixed-point coordinates, stored outside the heap in chunks of direct
+ * byte buffers. Each entry is 16 bytes: the id, the latitude and the longitude. The chunks make it
+ * possible to store more entries than fit in one buffer, and the array grows without copying.
+ * <p>
+ * Entries are appended in any order. Call {@link #sortAndRemoveDuplicates(LongPredicate)} before
+ * searching with {@link #indexOf(long)}.
+ */
+class OffHeapNodeArray {
+
+  private static final int ENTRY_SIZE = 16;
+  private static final int LAT_OFFSET = 8;
+  private static final int LON_OFFSET = 12;
+
+  /** 256k entries, 4 MB per chunk */
+  private static final int CHUNK_BITS = 18;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+  private long size = 0;
+  private boolean sorted = true;
+
+  /**
+   * Add an entry. An entry with the same id as the last entry is ignored.
+   */
+  void add(long id, int lat, int lon) {
+    if (size > 0) {
+      long lastId = id(size - 1);
+      if (id == lastId) {
+        return;
+      }
+      if (id < lastId) {
+        sorted = false;
+      }
+    }
+    if ((size >>> CHUNK_BITS) == chunks.size()) {
+      chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE * ENTRY_SIZE).order(ByteOrder.nativeOrder()));
+    }
+    set(size++, id, lat, lon);
+  }
+
+  long size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  long id(long index) {
+    return chunk(index).getLong(offset(index));
+  }
+
+  int lat(long index) {
+    return chunk(index).getInt(offset(index) + LAT_OFFSET);
+  }
+
+  int lon(long index) {
+    return chunk(index).getInt(offset(index) + LON_OFFSET);
+  }
+
+  /**
+   * Sort the entries by id in place, and remove entries with the same id as the previous entry
+   * and entries matching the given predicate. Unused chunks are released. The sort is not stable,
+   * so if the same id is added more than once, it is not defined which entry is kept.
+   */
+  void sortAndRemoveDuplicates(LongPredicate remove) {
+    if (!sorted) {
+      heapSort();
+      sorted = true;
+    }
+    long n = 0;
+    for (long i = 0; i < size; ++i) {
+      long id = id(i);
+      if ((n > 0 && id(n - 1) == id) || remove.test(id)) {
+        continue;
+      }
+      if (n != i) {
+        set(n, id, lat(i), lon(i));
+      }
+      ++n;
+    }
+    size = n;
+    while (chunks.size() > ((size + CHUNK_MASK) >>> CHUNK_BITS)) {
+      chunks.remove(chunks.size() - 1);
+    }
+  }
+
+  /**
+   * Binary search for the given id, the array must be sorted. Return the index of the entry, or
+   * -1 if not found.
+   */
+  long indexOf(long id) {
+    long low = 0;
+    long high = size - 1;
+    while (low <= high) {
+      long mid = (low + high) >>> 1;
+      long midId = id(mid);
+      if (midId < id) {
+        low = mid + 1;
+      } else if (midId > id) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /* private methods */
+
+  private ByteBuffer chunk(long index) {
+    return chunks.get((int) (index >>> CHUNK_BITS));
+  }
+
+  private static int offset(long index) {
+    return ((int) index & CHUNK_MASK) * ENTRY_SIZE;
+  }
+
+  private void set(long index, long id, int lat, int lon) {
+    var chunk = chunk(index);
+    int offset = offset(index);
+    chunk.putLong(offset, id);
+    chunk.putInt(offset + LAT_OFFSET, lat);
+    chunk.putInt(offset + LON_OFFSET, lon);
+  }
+
+  private void swap(long i, long j) {
+    long id = id(i);
+    int lat = lat(i);
+    int lon = lon(i);
+    set(i, id(j), lat(j), lon(j));
+    set(j, id, lat, lon);
+  }
+
+  /**
+   * Heap sort does not need any extra memory, so the array can be sorted in place even if it is
+   * larger than the heap.
+   */
+  private void heapSort() {
+    for (long i = size / 2 - 1; i >= 0; --i) {
+      siftDown(i, size);
+    }
+    for (long end = size - 1; end > 0; --end) {
+      swap(0, end);
+      siftDown(0, end);
+    }
+  }
+
+  private void siftDown(long root, long end) {
+    while (true) {
+      long child = 2 * root + 1;
+      if (child >= end) {
+        return;
+      }
+      if (child + 1 < end && id(child + 1) > id(child)) {
+        ++child;
+      }
+      if (id(root) >= id(child)) {
+        return;
+      }
+      swap(root, child);
+      root = child;
+    }
+  }
+}
@@ -93,6 +93,10 @@ public class OpenStreetMapModule implements GraphBuilderModule {
    */
   public boolean banDiscouragedWalking = false;
   public boolean banDiscouragedBiking = false;
+  /**
+   * How the OSM nodes are kept in memory while the graph is built.
+   */
+  public OsmNodeStoreType nodeStore = OsmNodeStoreType.HEAP;
 
   public OpenStreetMapModule(
     Collection<OpenStreetMapProvider> providers,
@@ -123,11 +127,12 @@ public class OpenStreetMapModule implements GraphBuilderModule {
     this.banDiscouragedWalking = config.banDiscouragedWalking;
     this.banDiscouragedBiking = config.banDiscouragedBiking;
     this.maxAreaNodes = config.maxAreaNodes;
+    this.nodeStore = config.osmNodeStore;
   }
 
   @Override
   public void buildGraph() {
-    OSMDatabase osmdb = new OSMDatabase(issueStore, boardingAreaRefTags);
+    OSMDatabase osmdb = new OSMDatabase(issueStore, boardingAreaRefTags, nodeStore);
     Handler handler = new Handler(graph, osmdb);
     for (OpenStreetMapProvider provider : providers) {
       LOG.info("Gathering OSM from provider: {}", provider);
@@ -0,0 +1,27 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import javax.annotation.Nullable;
+import org.opentripplanner.openstreetmap.model.OSMNode;
+
+/**
+ * The nodes used by ways and areas, keyed by their OSM id.
+ *
+ * @see OsmNodeStoreType
+ */
+public interface OsmNodeStore {
+  /**
+   * Add the node, unless a node with the same id is already added.
+   */
+  void add(OSMNode node);
+
+  /**
+   * Return the node with the given id or {@code null} if it does not exist. The returned instance
+   * may be created on each call, use the id or {@link OSMNode#equals(Object)} to compare nodes.
+   */
+  @Nullable
+  OSMNode get(long id);
+
+  boolean contains(long id);
+
+  int size();
+}
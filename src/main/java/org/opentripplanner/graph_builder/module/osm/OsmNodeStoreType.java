@@ -0,0 +1,24 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+/**
+ * How the nodes are kept in memory while the street graph is built from OSM.
+ */
+public enum OsmNodeStoreType {
+  /**
+   * All nodes are kept as objects on the heap.
+   */
+  HEAP,
+
+  /**
+   * The coordinates of nodes without tags are kept as fixed-point values in off-heap arrays
+   * sorted by id. Only nodes with tags are kept as objects.
+   */
+  COMPACT;
+
+  OsmNodeStore create() {
+    return switch (this) {
+      case HEAP -> new HeapOsmNodeStore();
+      case COMPACT -> new CompactOsmNodeStore();
+    };
+  }
+}
@@ -1,14 +1,22 @@
 package org.opentripplanner.gtfs.graphbuilder;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.awt.Color;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.onebusaway.csv_entities.EntityHandler;
 import org.onebusaway.gtfs.impl.GtfsRelationalDaoImpl;
 import org.onebusaway.gtfs.model.Agency;
@@ -33,7 +41,9 @@ import org.onebusaway.gtfs.services.GtfsMutableRelationalDao;
 import org.opentripplanner.ext.fares.impl.DefaultFareServiceFactory;
 import org.opentripplanner.ext.flex.FlexTripsMapper;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.time.DurationUtils;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.graph_builder.issue.service.BufferedDataImportIssueStore;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
 import org.opentripplanner.graph_builder.module.AddTransitModelEntitiesToGraph;
 import org.opentripplanner.graph_builder.module.GtfsFeedId;
@@ -67,8 +77,8 @@ public class GtfsModule implements GraphBuilderModule {
   );
 
   private static final Logger LOG = LoggerFactory.getLogger(GtfsModule.class);
-  private final EntityHandler counter = new EntityCounter();
-  private final Set<String> agencyIdsSeen = new HashSet<>();
+  private static final int DEFAULT_LOADER_THREADS = Runtime.getRuntime().availableProcessors();
+
   /**
    * @see BuildConfig#transitServiceStart
    * @see BuildConfig#transitServiceEnd
@@ -80,7 +90,7 @@ public class GtfsModule implements GraphBuilderModule {
   private final TransitModel transitModel;
   private final Graph graph;
   private final DataImportIssueStore issueStore;
-  private int nextAgencyId = 1; // used for generating agency IDs to resolve ID conflicts
+  private final int loaderThreads;
 
   public GtfsModule(
     List<GtfsBundle> bundles,
@@ -89,6 +99,29 @@ public class GtfsModule implements GraphBuilderModule {
     DataImportIssueStore issueStore,
     ServiceDateInterval transitPeriodLimit,
     FareServiceFactory fareServiceFactory
+  ) {
+    this(
+      bundles,
+      transitModel,
+      graph,
+      issueStore,
+      transitPeriodLimit,
+      fareServiceFactory,
+      DEFAULT_LOADER_THREADS
+    );
+  }
+
+  /**
+   * @param loaderThreads The number of feeds read and mapped in parallel.
+   */
+  public GtfsModule(
+    List<GtfsBundle> bundles,
+    TransitModel transitModel,
+    Graph graph,
+    DataImportIssueStore issueStore,
+    ServiceDateInterval transitPeriodLimit,
+    FareServiceFactory fareServiceFactory,
+    int loaderThreads
   ) {
     this.gtfsBundles = bundles;
     this.transitModel = transitModel;
@@ -96,6 +129,7 @@ public class GtfsModule implements GraphBuilderModule {
     this.issueStore = issueStore;
     this.transitPeriodLimit = transitPeriodLimit;
     this.fareServiceFactory = fareServiceFactory;
+    this.loaderThreads = loaderThreads;
   }
 
   public GtfsModule(
@@ -120,77 +154,47 @@ public class GtfsModule implements GraphBuilderModule {
 
     boolean hasTransit = false;
 
+    ExecutorService executor = loaderThreads > 1 ? createExecutor(loaderThreads) : null;
+    Deque<Future<MappedFeed>> pending = new ArrayDeque<>();
     try {
-      for (GtfsBundle gtfsBundle : gtfsBundles) {
-        GtfsMutableRelationalDao gtfsDao = loadBundle(gtfsBundle);
-        GTFSToOtpTransitServiceMapper mapper = new GTFSToOtpTransitServiceMapper(
-          gtfsBundle.getFeedId().getId(),
-          issueStore,
-          gtfsBundle.discardMinTransferTimes(),
-          gtfsDao,
-          gtfsBundle.stationTransferPreference()
-        );
-        mapper.mapStopTripAndRouteDataIntoBuilder();
-
-        OtpTransitServiceBuilder builder = mapper.getBuilder();
-        var fareRulesService = mapper.getFareRulesService();
-
-        builder.limitServiceDays(transitPeriodLimit);
+      // The feeds are read and mapped in parallel, and then added to the transit model one by one
+      // in the configured order. Bundles with the same feed id are read one at a time, since they
+      // share the agency ids.
+      Map<String, AgencyIds> agencyIdsByFeedId = new HashMap<>();
+      Map<String, Future<MappedFeed>> lastFeedByFeedId = new HashMap<>();
 
-        calendarServiceData.add(builder.buildCalendarServiceData());
+      for (GtfsBundle gtfsBundle : gtfsBundles) {
+        String feedId = gtfsBundle.getFeedId().getId();
+        AgencyIds agencyIds = agencyIdsByFeedId.computeIfAbsent(feedId, it -> new AgencyIds());
 
-        if (OTPFeature.FlexRouting.isOn()) {
-          builder.getFlexTripsById().addAll(FlexTripsMapper.createFlexTrips(builder, issueStore));
+        if (executor == null) {
+          hasTransit |= addFeedToTransitModel(mapFeed(gtfsBundle, agencyIds), calendarServiceData);
+          continue;
         }
+        Future<MappedFeed> previous = lastFeedByFeedId.get(feedId);
+        Future<MappedFeed> feed = executor.submit(() -> {
+          if (previous != null) {
+            awaitQuietly(previous);
+          }
+          return mapFeed(gtfsBundle, agencyIds);
+        });
+        lastFeedByFeedId.put(feedId, feed);
+        pending.add(feed);
 
-        validateAndInterpolateStopTimesForEachTrip(
-          builder.getStopTimesSortedByTrip(),
-          issueStore,
-          gtfsBundle.removeRepeatedStops()
-        );
-
-        // We need to run this after the cleaning of the data, as stop indices might have changed
-        mapper.mapAndAddTransfersToBuilder();
-
-        GeometryProcessor geometryProcessor = new GeometryProcessor(
-          builder,
-          gtfsBundle.getMaxStopToShapeSnapDistance(),
-          issueStore
-        );
-
-        // NB! The calls below have side effects - the builder state is updated!
-        createTripPatterns(
-          graph,
-          transitModel,
-          builder,
-          calendarServiceData.getServiceIds(),
-          geometryProcessor,
-          issueStore
-        );
-
-        OtpTransitService otpTransitService = builder.build();
-
-        // if this or previously processed gtfs bundle has transit that has not been filtered out
-        hasTransit = hasTransit || otpTransitService.hasActiveTransit();
-
-        addTransitModelToGraph(graph, transitModel, gtfsBundle, otpTransitService);
-
-        if (gtfsBundle.blockBasedInterlining()) {
-          new InterlineProcessor(
-            transitModel.getTransferService(),
-            builder.getStaySeatedNotAllowed(),
-            gtfsBundle.maxInterlineDistance(),
-            issueStore
-          )
-            .run(otpTransitService.getTripPatterns());
+        if (pending.size() >= loaderThreads) {
+          hasTransit |= addFeedToTransitModel(await(pending.poll()), calendarServiceData);
         }
-
-        fareServiceFactory.processGtfs(fareRulesService, otpTransitService);
-        graph.setFareService(fareServiceFactory.makeFareService());
+      }
+      while (!pending.isEmpty()) {
+        hasTransit |= addFeedToTransitModel(await(pending.poll()), calendarServiceData);
       }
     } catch (IOException e) {
       throw new RuntimeException(e);
     } finally {
+      if (executor != null) {
+        pending.forEach(it -> it.cancel(true));
+        executor.shutdownNow();
+      }
       // Note the close method of each bundle should NOT throw an exception, so this
       // code should be safe without the try/catch block.
       gtfsBundles.forEach(GtfsBundle::close);
@@ -210,6 +214,111 @@ public class GtfsModule implements GraphBuilderModule {
 
   /* Private Methods */
 
+  /**
+   * Read the feed and map it into its own transit service builder, and validate and interpolate the
+   * stop times. This is done in parallel for all feeds, so nothing outside the feed is changed, and
+   * the issues are kept until the feed is added to the transit model.
+   */
+  private MappedFeed mapFeed(GtfsBundle gtfsBundle, AgencyIds agencyIds) throws IOException {
+    long startTime = System.currentTimeMillis();
+    var feedIssueStore = new BufferedDataImportIssueStore();
+
+    GtfsMutableRelationalDao gtfsDao = loadBundle(gtfsBundle, agencyIds);
+    GTFSToOtpTransitServiceMapper mapper = new GTFSToOtpTransitServiceMapper(
+      gtfsBundle.getFeedId().getId(),
+      feedIssueStore,
+      gtfsBundle.discardMinTransferTimes(),
+      gtfsDao,
+      gtfsBundle.stationTransferPreference()
+    );
+    mapper.mapStopTripAndRouteDataIntoBuilder();
+
+    OtpTransitServiceBuilder builder = mapper.getBuilder();
+
+    builder.limitServiceDays(transitPeriodLimit);
+
+    CalendarServiceData calendarServiceData = builder.buildCalendarServiceData();
+
+    if (OTPFeature.FlexRouting.isOn()) {
+      builder.getFlexTripsById().addAll(FlexTripsMapper.createFlexTrips(builder, feedIssueStore));
+    }
+
+    validateAndInterpolateStopTimesForEachTrip(
+      builder.getStopTimesSortedByTrip(),
+      feedIssueStore,
+      gtfsBundle.removeRepeatedStops()
+    );
+
+    // We need to run this after the cleaning of the data, as stop indices might have changed
+    mapper.mapAndAddTransfersToBuilder();
+
+    return new MappedFeed(
+      gtfsBundle,
+      mapper,
+      calendarServiceData,
+      feedIssueStore,
+      System.currentTimeMillis() - startTime
+    );
+  }
+
+  /**
+   * Add a mapped feed to the transit model and the graph. The feeds are added one at a time in the
+   * configured order. Return {@code true} if the feed has transit that is not filtered out.
+   */
+  private boolean addFeedToTransitModel(MappedFeed feed, CalendarServiceData calendarServiceData) {
+    long startTime = System.currentTimeMillis();
+    GtfsBundle gtfsBundle = feed.bundle();
+    OtpTransitServiceBuilder builder = feed.mapper().getBuilder();
+    var fareRulesService = feed.mapper().getFareRulesService();
+
+    // Report the issues in the same order as if the feeds were loaded one by one
+    feed.issueStore().forwardTo(issueStore);
+
+    calendarServiceData.add(feed.calendarServiceData());
+
+    GeometryProcessor geometryProcessor = new GeometryProcessor(
+      builder,
+      gtfsBundle.getMaxStopToShapeSnapDistance(),
+      issueStore
+    );
+
+    // NB! The calls below have side effects - the builder state is updated!
+    createTripPatterns(
+      graph,
+      transitModel,
+      builder,
+      calendarServiceData.getServiceIds(),
+      geometryProcessor,
+      issueStore
+    );
+
+    OtpTransitService otpTransitService = builder.build();
+
+    addTransitModelToGraph(graph, transitModel, gtfsBundle, otpTransitService);
+
+    if (gtfsBundle.blockBasedInterlining()) {
+      new InterlineProcessor(
+        transitModel.getTransferService(),
+        builder.getStaySeatedNotAllowed(),
+        gtfsBundle.maxInterlineDistance(),
+        issueStore
+      )
+        .run(otpTransitService.getTripPatterns());
+    }
+
+    fareServiceFactory.processGtfs(fareRulesService, otpTransitService);
+    graph.setFareService(fareServiceFactory.makeFareService());
+
+    LOG.info(
+      "GTFS feed {} read and mapped in {}, added to the transit model in {}.",
+      gtfsBundle.getFeedId().getId(),
+      DurationUtils.msToSecondsStr(feed.mapTimeMs()),
+      DurationUtils.msToSecondsStr(System.currentTimeMillis() - startTime)
+    );
+
+    return otpTransitService.hasActiveTransit();
+  }
+
   /**
    * This method has side effects, the {@code stopTimesByTrip} is updated.
    */
@@ -268,7 +377,8 @@ public class GtfsModule implements GraphBuilderModule {
     );
   }
 
-  private GtfsMutableRelationalDao loadBundle(GtfsBundle gtfsBundle) throws IOException {
+  private GtfsMutableRelationalDao loadBundle(GtfsBundle gtfsBundle, AgencyIds agencyIds)
+    throws IOException {
     StoreImpl store = new StoreImpl(new GtfsRelationalDaoImpl());
     store.open();
     LOG.info("reading {}", gtfsBundle.toString());
@@ -281,7 +391,7 @@ public class GtfsModule implements GraphBuilderModule {
     reader.setInternStrings(true);
     reader.setDefaultAgencyId(gtfsFeedId.getId());
 
-    if (LOG.isDebugEnabled()) reader.addEntityHandler(counter);
+    if (LOG.isDebugEnabled()) reader.addEntityHandler(new EntityCounter());
 
     for (Class<?> entityClass : reader.getEntityClasses()) {
       if (skipEntityClass(entityClass)) {
@@ -300,12 +410,12 @@ public class GtfsModule implements GraphBuilderModule {
           LOG.info("This Agency has the ID {}", agencyId);
           // Somehow, when the agency's id field is missing, OBA replaces it with the agency's name.
           // TODO Figure out how and why this is happening.
-          if (agencyId == null || agencyIdsSeen.contains(gtfsFeedId.getId() + agencyId)) {
+          if (agencyId == null || agencyIds.seen.contains(gtfsFeedId.getId() + agencyId)) {
             // Loop in case generated name is already in use.
             String generatedAgencyId = null;
-            while (generatedAgencyId == null || agencyIdsSeen.contains(generatedAgencyId)) {
-              generatedAgencyId = "F" + nextAgencyId;
-              nextAgencyId++;
+            while (generatedAgencyId == null || agencyIds.seen.contains(generatedAgencyId)) {
+              generatedAgencyId = "F" + agencyIds.nextId;
+              agencyIds.nextId++;
             }
             LOG.warn(
               "The agency ID '{}' was already seen, or I think it's bad. Replacing with '{}'.",
@@ -316,7 +426,7 @@ public class GtfsModule implements GraphBuilderModule {
             agency.setId(generatedAgencyId);
             agencyId = generatedAgencyId;
           }
-          if (agencyId != null) agencyIdsSeen.add(gtfsFeedId.getId() + agencyId);
+          if (agencyId != null) agencyIds.seen.add(gtfsFeedId.getId() + agencyId);
         }
       }
     }
@@ -409,6 +519,62 @@ public class GtfsModule implements GraphBuilderModule {
     route.setTextColor(textColor);
   }
 
+  private static ExecutorService createExecutor(int threads) {
+    var threadFactory = new ThreadFactoryBuilder()
+      .setNameFormat("GtfsLoader-%d")
+      .setDaemon(true)
+      .build();
+    return Executors.newFixedThreadPool(threads, threadFactory);
+  }
+
+  private static MappedFeed await(Future<MappedFeed> feed) throws IOException {
+    try {
+      return feed.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading GTFS feeds", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException io) {
+        throw io;
+      }
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Wait for a feed to complete, a failure is reported when the feed is added to the transit
+   * model.
+   */
+  private static void awaitQuietly(Future<MappedFeed> feed) throws InterruptedException {
+    try {
+      feed.get();
+    } catch (ExecutionException | CancellationException ignore) {}
+  }
+
+  /**
+   * A feed read and mapped into its own builder, not yet added to the transit model.
+   */
+  private record MappedFeed(
+    GtfsBundle bundle,
+    GTFSToOtpTransitServiceMapper mapper,
+    CalendarServiceData calendarServiceData,
+    BufferedDataImportIssueStore issueStore,
+    long mapTimeMs
+  ) {}
+
+  /**
+   * The agency ids seen, used to resolve id conflicts. The ids are kept for each feed id, since
+   * only bundles with the same feed id can have conflicting agency ids.
+   */
+  private static class AgencyIds {
+
+    private final Set<String> seen = new HashSet<>();
+    private int nextId = 1;
+  }
+
   private static class StoreImpl implements GenericMutableDao {
 
     private final GtfsMutableRelationalDao dao;
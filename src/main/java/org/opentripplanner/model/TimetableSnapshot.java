@@ -1,19 +1,17 @@
 package org.opentripplanner.model;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.SetMultimap;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import org.opentripplanner.framework.collection.PersistentHashMap;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.TransitLayerUpdater;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.framework.Result;
@@ -56,36 +54,33 @@ public class TimetableSnapshot {
    * Route) for which we have an updated Timetable. The keys include both TripPatterns from the
    * scheduled GTFS, and TripPatterns added by realtime messages and tracked by the
    * TripPatternCache. Note that the keys will not include all scheduled TripPatterns, only those
-   * for which we've got an update. We use a HashMap rather than a Map so we can clone it. If this
-   * turns out to be slow/spacious we can use an array with integer pattern indexes. The SortedSet
-   * members are copy-on-write.
-   * FIXME: this could be made into a flat hashtable with compound keys.
+   * for which we've got an update. The map is persistent, so a commit shares all untouched
+   * structure with the buffer instead of copying it. The SortedSet members are copy-on-write.
    */
-  private HashMap<TripPattern, SortedSet<Timetable>> timetables = new HashMap();
+  private PersistentHashMap<TripPattern, SortedSet<Timetable>> timetables = PersistentHashMap.empty();
 
   /**
    * <p>
    * Map containing the current trip pattern given a trip id and a service date, if it has been
    * changed from the scheduled pattern with an update, for which the stopPattern is different.
    * </p>
-   * <p>
-   * This is a HashMap and not a Map so the clone function is available.
    */
-  private HashMap<TripIdAndServiceDate, TripPattern> realtimeAddedTripPattern = new HashMap<>();
+  private PersistentHashMap<TripIdAndServiceDate, TripPattern> realtimeAddedTripPattern = PersistentHashMap.empty();
 
-  private HashMap<FeedScopedId, TripOnServiceDate> realtimeAddedTripOnServiceDate = new HashMap<>();
-  private HashMap<TripIdAndServiceDate, TripOnServiceDate> realtimeAddedTripOnServiceDateByTripIdAndServiceDate = new HashMap<>();
+  private PersistentHashMap<FeedScopedId, TripOnServiceDate> realtimeAddedTripOnServiceDate = PersistentHashMap.empty();
+  private PersistentHashMap<TripIdAndServiceDate, TripOnServiceDate> realtimeAddedTripOnServiceDateByTripIdAndServiceDate = PersistentHashMap.empty();
 
   /**
    * This maps contains all of the new or updated TripPatterns added by realtime data indexed on
    * stop. This has to be kept in order for them to be included in the stop times api call on a
    * specific stop.
    * <p>
-   * This is a SetMultimap, so that each pattern can only be added once.
+   * The sets are copy-on-write, so that each pattern can only be added once and the sets can be
+   * shared with committed snapshots.
    * <p>
    * TODO Find a generic way to keep all realtime indexes.
    */
-  private SetMultimap<StopLocation, TripPattern> patternsForStop = HashMultimap.create();
+  private PersistentHashMap<StopLocation, Set<TripPattern>> patternsForStop = PersistentHashMap.empty();
 
   /**
    * Boolean value indicating that timetable snapshot is read only if true. Once it is true, it
@@ -207,7 +202,7 @@ public class TimetableSnapshot {
       }
       if (old.getServiceDate() != null) sortedTimetables.remove(old);
       sortedTimetables.add(tt);
-      timetables.put(pattern, sortedTimetables);
+      timetables = timetables.put(pattern, sortedTimetables);
       dirtyTimetables.add(tt);
       dirty = true;
     }
@@ -227,7 +222,7 @@ public class TimetableSnapshot {
       // Remember this pattern for the added trip id and service date
       FeedScopedId tripId = updatedTripTimes.getTrip().getId();
       TripIdAndServiceDate tripIdAndServiceDate = new TripIdAndServiceDate(tripId, serviceDate);
-      realtimeAddedTripPattern.put(tripIdAndServiceDate, pattern);
+      realtimeAddedTripPattern = realtimeAddedTripPattern.put(tripIdAndServiceDate, pattern);
     }
 
     // To make these trip patterns visible for departureRow searches.
@@ -239,12 +234,15 @@ public class TimetableSnapshot {
   }
 
   /**
-   * This produces a small delay of typically around 50ms, which is almost entirely due to the
-   * indexing step. Cloning the map is much faster (2ms). It is perhaps better to index timetables
-   * as they are changed to avoid experiencing all this lag at once, but we want to avoid
+   * Create a read-only snapshot of the current state. All maps are persistent, so the committed
+   * snapshot share the structure with this buffer, and the cost of a commit is independent of the
+   * size of the snapshot. The updates applied since the last commit have already paid for copying
+   * the changed parts of the maps.
+   * <p>
+   * If a {@link TransitLayerUpdater} is given, the dirty timetables are indexed in the transit
+   * layer. The indexing is proportional to the number of dirty timetables, we want to avoid
    * re-indexing when receiving multiple updates for the same timetable in rapid succession. This
-   * compromise is expressed by the maxSnapshotFrequency property of StoptimeUpdater. The indexing
-   * could be made much more efficient as well.
+   * compromise is expressed by the maxSnapshotFrequency property of StoptimeUpdater.
    *
    * @return an immutable copy of this TimetableSnapshot with all updates applied
    */
@@ -252,7 +250,6 @@ public class TimetableSnapshot {
     return commit(null, false);
   }
 
-  @SuppressWarnings("unchecked")
   public TimetableSnapshot commit(TransitLayerUpdater transitLayerUpdater, boolean force) {
     if (readOnly) {
       throw new ConcurrentModificationException("This TimetableSnapshot is read-only.");
@@ -262,22 +259,20 @@ public class TimetableSnapshot {
     if (!force && !this.isDirty()) {
       return null;
     }
-    ret.timetables = (HashMap<TripPattern, SortedSet<Timetable>>) this.timetables.clone();
-    ret.realtimeAddedTripPattern =
-      (HashMap<TripIdAndServiceDate, TripPattern>) this.realtimeAddedTripPattern.clone();
+    ret.timetables = this.timetables;
+    ret.realtimeAddedTripPattern = this.realtimeAddedTripPattern;
 
     if (transitLayerUpdater != null) {
-      transitLayerUpdater.update(dirtyTimetables, timetables);
+      transitLayerUpdater.update(dirtyTimetables, timetables.asMap());
     }
 
-    ret.realtimeAddedTripOnServiceDate =
-      (HashMap<FeedScopedId, TripOnServiceDate>) this.realtimeAddedTripOnServiceDate.clone();
+    ret.realtimeAddedTripOnServiceDate = this.realtimeAddedTripOnServiceDate;
     ret.realtimeAddedTripOnServiceDateByTripIdAndServiceDate =
-      (HashMap<TripIdAndServiceDate, TripOnServiceDate>) this.realtimeAddedTripOnServiceDateByTripIdAndServiceDate.clone();
+      this.realtimeAddedTripOnServiceDateByTripIdAndServiceDate;
     this.dirtyTimetables.clear();
     this.dirty = false;
 
-    ret.setPatternsForStop(HashMultimap.create(this.patternsForStop));
+    ret.patternsForStop = this.patternsForStop;
 
     ret.readOnly = true; // mark the snapshot as henceforth immutable
     return ret;
@@ -307,7 +302,8 @@ public class TimetableSnapshot {
    * trip times from the timetable the trip has been added to.
    */
   public void removeLastAddedTripPattern(FeedScopedId feedScopedTripId, LocalDate serviceDate) {
-    realtimeAddedTripPattern.remove(new TripIdAndServiceDate(feedScopedTripId, serviceDate));
+    realtimeAddedTripPattern =
+      realtimeAddedTripPattern.remove(new TripIdAndServiceDate(feedScopedTripId, serviceDate));
   }
 
   /**
@@ -319,8 +315,7 @@ public class TimetableSnapshot {
     }
 
     boolean modified = false;
-    for (Iterator<TripPattern> it = timetables.keySet().iterator(); it.hasNext();) {
-      TripPattern pattern = it.next();
+    for (TripPattern pattern : timetables.keys()) {
       SortedSet<Timetable> sortedTimetables = timetables.get(pattern);
       SortedSet<Timetable> toKeepTimetables = new TreeSet<>(new SortedTimetableComparator());
       for (Timetable timetable : sortedTimetables) {
@@ -332,22 +327,16 @@ public class TimetableSnapshot {
       }
 
       if (toKeepTimetables.isEmpty()) {
-        it.remove();
-      } else {
-        timetables.put(pattern, toKeepTimetables);
+        timetables = timetables.remove(pattern);
+      } else if (toKeepTimetables.size() != sortedTimetables.size()) {
+        timetables = timetables.put(pattern, toKeepTimetables);
       }
     }
 
     // Also remove last added trip pattern for days that are purged
-    for (
-      Iterator<Entry<TripIdAndServiceDate, TripPattern>> iterator = realtimeAddedTripPattern
-        .entrySet()
-        .iterator();
-      iterator.hasNext();
-    ) {
-      TripIdAndServiceDate tripIdAndServiceDate = iterator.next().getKey();
+    for (TripIdAndServiceDate tripIdAndServiceDate : realtimeAddedTripPattern.keys()) {
       if (serviceDate.compareTo(tripIdAndServiceDate.serviceDate()) >= 0) {
-        iterator.remove();
+        realtimeAddedTripPattern = realtimeAddedTripPattern.remove(tripIdAndServiceDate);
         modified = true;
       }
     }
@@ -368,27 +357,26 @@ public class TimetableSnapshot {
   }
 
   public Collection<TripPattern> getPatternsForStop(StopLocation stop) {
-    return patternsForStop.get(stop);
-  }
-
-  public void setPatternsForStop(SetMultimap<StopLocation, TripPattern> patternsForStop) {
-    this.patternsForStop = patternsForStop;
+    Set<TripPattern> patterns = patternsForStop.get(stop);
+    return patterns == null ? Set.of() : patterns;
   }
 
   public void addLastAddedTripOnServiceDate(TripOnServiceDate tripOnServiceDate) {
-    realtimeAddedTripOnServiceDate.put(tripOnServiceDate.getId(), tripOnServiceDate);
-    realtimeAddedTripOnServiceDateByTripIdAndServiceDate.put(
-      tripOnServiceDate.getTripIdAndServiceDate(),
-      tripOnServiceDate
-    );
+    realtimeAddedTripOnServiceDate =
+      realtimeAddedTripOnServiceDate.put(tripOnServiceDate.getId(), tripOnServiceDate);
+    realtimeAddedTripOnServiceDateByTripIdAndServiceDate =
+      realtimeAddedTripOnServiceDateByTripIdAndServiceDate.put(
+        tripOnServiceDate.getTripIdAndServiceDate(),
+        tripOnServiceDate
+      );
   }
 
-  public HashMap<FeedScopedId, TripOnServiceDate> getRealtimeAddedTripOnServiceDate() {
-    return realtimeAddedTripOnServiceDate;
+  public Map<FeedScopedId, TripOnServiceDate> getRealtimeAddedTripOnServiceDate() {
+    return realtimeAddedTripOnServiceDate.asMap();
   }
 
-  public HashMap<TripIdAndServiceDate, TripOnServiceDate> getRealtimeAddedTripOnServiceDateByTripIdAndServiceDate() {
-    return realtimeAddedTripOnServiceDateByTripIdAndServiceDate;
+  public Map<TripIdAndServiceDate, TripOnServiceDate> getRealtimeAddedTripOnServiceDateByTripIdAndServiceDate() {
+    return realtimeAddedTripOnServiceDateByTripIdAndServiceDate.asMap();
   }
 
   /**
@@ -398,7 +386,13 @@ public class TimetableSnapshot {
    * @return true if the timetable changed as a result of the call
    */
   protected boolean clearTimetable(String feedId) {
-    return timetables.keySet().removeIf(tripPattern -> feedId.equals(tripPattern.getFeedId()));
+    var original = timetables;
+    for (TripPattern tripPattern : original.keys()) {
+      if (feedId.equals(tripPattern.getFeedId())) {
+        timetables = timetables.remove(tripPattern);
+      }
+    }
+    return timetables != original;
   }
 
   /**
@@ -408,11 +402,13 @@ public class TimetableSnapshot {
    * @return true if the realtimeAddedTripPattern changed as a result of the call
    */
   protected boolean clearRealtimeAddedTripPattern(String feedId) {
-    return realtimeAddedTripPattern
-      .keySet()
-      .removeIf(realtimeAddedTripPattern ->
-        feedId.equals(realtimeAddedTripPattern.tripId().getFeedId())
-      );
+    var original = realtimeAddedTripPattern;
+    for (TripIdAndServiceDate tripIdAndServiceDate : original.keys()) {
+      if (feedId.equals(tripIdAndServiceDate.tripId().getFeedId())) {
+        realtimeAddedTripPattern = realtimeAddedTripPattern.remove(tripIdAndServiceDate);
+      }
+    }
+    return realtimeAddedTripPattern != original;
   }
 
   /**
@@ -423,7 +419,12 @@ public class TimetableSnapshot {
       //TODO - SIRI: Add pattern to index?
 
       for (var stop : tripPattern.getStops()) {
-        patternsForStop.put(stop, tripPattern);
+        Set<TripPattern> patterns = patternsForStop.get(stop);
+        if (patterns == null || !patterns.contains(tripPattern)) {
+          Set<TripPattern> copy = patterns == null ? new HashSet<>() : new HashSet<>(patterns);
+          copy.add(tripPattern);
+          patternsForStop = patternsForStop.put(stop, Collections.unmodifiableSet(copy));
+        }
       }
     }
   }
@@ -1,9 +1,7 @@
 package org.opentripplanner.netex;
 
-import jakarta.xml.bind.JAXBException;
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.List;
 import java.util.Set;
 import org.opentripplanner.datastore.api.CompositeDataSource;
 import org.opentripplanner.datastore.api.DataSource;
@@ -13,12 +11,12 @@ import org.opentripplanner.netex.config.NetexFeedParameters;
 import org.opentripplanner.netex.index.NetexEntityIndex;
 import org.opentripplanner.netex.loader.GroupEntries;
 import org.opentripplanner.netex.loader.NetexDataSourceHierarchy;
+import org.opentripplanner.netex.loader.NetexParallelParser;
 import org.opentripplanner.netex.loader.NetexXmlParser;
 import org.opentripplanner.netex.loader.parser.NetexDocumentParser;
 import org.opentripplanner.netex.mapping.NetexMapper;
 import org.opentripplanner.netex.validation.Validator;
 import org.opentripplanner.transit.model.framework.Deduplicator;
-import org.rutebanken.netex.model.PublicationDeliveryStructure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,12 +28,16 @@ import org.slf4j.LoggerFactory;
  * keeping an index of entities to enable linking. The convention is documented here {@link
  * NetexFeedParameters#sharedFilePattern()} and here {@link NetexDataSourceHierarchy}.
  * <p>
+ * The independent files in each group are parsed in parallel, see {@link NetexParallelParser}.
+ * <p>
  * This class is also responsible for logging progress and exception handling.
  */
 public class NetexBundle implements Closeable {
 
   private static final Logger LOG = LoggerFactory.getLogger(NetexBundle.class);
 
+  private static final int DEFAULT_PARSER_THREADS = Runtime.getRuntime().availableProcessors();
+
   private final CompositeDataSource source;
 
   private final NetexDataSourceHierarchy hierarchy;
@@ -45,13 +47,15 @@ public class NetexBundle implements Closeable {
   private final double maxStopToShapeSnapDistance;
   private final boolean noTransfersOnIsolatedStops;
   private final boolean ignoreFareFrame;
+  private final int parserThreads;
   /** The NeTEx entities loaded from the input files and passed on to the mapper. */
   private NetexEntityIndex index = new NetexEntityIndex();
   /** Report errors to issue store */
   private DataImportIssueStore issueStore;
   /** maps the NeTEx XML document to OTP transit model. */
   private NetexMapper mapper;
-  private NetexXmlParser xmlParser;
+  /** parses the NeTEx XML documents and populates the index */
+  private NetexParallelParser parser;
 
   public NetexBundle(
     String feedId,
@@ -61,6 +65,31 @@ public class NetexBundle implements Closeable {
     double maxStopToShapeSnapDistance,
     boolean noTransfersOnIsolatedStops,
     boolean ignoreFareFrame
+  ) {
+    this(
+      feedId,
+      source,
+      hierarchy,
+      ferryIdsNotAllowedForBicycle,
+      maxStopToShapeSnapDistance,
+      noTransfersOnIsolatedStops,
+      ignoreFareFrame,
+      DEFAULT_PARSER_THREADS
+    );
+  }
+
+  /**
+   * @param parserThreads The number of threads used to parse the independent files of a group.
+   */
+  public NetexBundle(
+    String feedId,
+    CompositeDataSource source,
+    NetexDataSourceHierarchy hierarchy,
+    Set<String> ferryIdsNotAllowedForBicycle,
+    double maxStopToShapeSnapDistance,
+    boolean noTransfersOnIsolatedStops,
+    boolean ignoreFareFrame,
+    int parserThreads
   ) {
     this.feedId = feedId;
     this.source = source;
@@ -69,6 +98,7 @@ public class NetexBundle implements Closeable {
     this.maxStopToShapeSnapDistance = maxStopToShapeSnapDistance;
     this.noTransfersOnIsolatedStops = noTransfersOnIsolatedStops;
     this.ignoreFareFrame = ignoreFareFrame;
+    this.parserThreads = parserThreads;
   }
 
   /** load the bundle, map it to the OTP transit model and return */
@@ -83,8 +113,7 @@ public class NetexBundle implements Closeable {
     // Store result in a mutable OTP Transit Model
     OtpTransitServiceBuilder transitBuilder = new OtpTransitServiceBuilder(issueStore);
 
-    // init parser and mapper
-    xmlParser = new NetexXmlParser();
+    // init mapper
     mapper =
       new NetexMapper(
         transitBuilder,
@@ -97,7 +126,12 @@ public class NetexBundle implements Closeable {
       );
 
     // Load data
-    loadFileEntries();
+    parser = new NetexParallelParser(new NetexXmlParser(), ignoreFareFrame, parserThreads);
+    try {
+      loadFileEntries();
+    } finally {
+      parser.close();
+    }
 
     return transitBuilder;
   }
@@ -127,12 +161,20 @@ public class NetexBundle implements Closeable {
         // Load shared group files
         loadFilesThenMapToOtpTransitModel("shared group file", group.sharedEntries());
 
-        for (DataSource entry : group.independentEntries()) {
-          scopeInputData(() -> {
-            // Load each independent file in group
-            loadFilesThenMapToOtpTransitModel("group file", List.of(entry));
-          });
-        }
+        // Load each independent file in group, the files are parsed in parallel into a new
+        // index each, and then validated and mapped in order
+        parser.parseEach(
+          "group file",
+          group.independentEntries(),
+          index,
+          fileIndex -> {
+            index = fileIndex;
+            mapper = mapper.push();
+            validateThenMapToOtpTransitModel();
+            mapper = mapper.pop();
+            index = index.pop();
+          }
+        );
       });
     }
     mapper.finishUp();
@@ -163,25 +205,16 @@ public class NetexBundle implements Closeable {
   ) {
     for (DataSource entry : entries) {
       // Load entry and store it in the index
-      loadSingeFileEntry(fileDescription, entry);
+      parser.parse(fileDescription, entry, index);
     }
+    validateThenMapToOtpTransitModel();
+  }
 
+  private void validateThenMapToOtpTransitModel() {
     // Validate input data, and remove invalid data
     Validator.validate(index, issueStore);
 
     // map current NeTEx objects into the OTP Transit Model
     mapper.mapNetexToOtp(index.readOnlyView());
   }
-
-  /** Load a single entry and store it in the index for later */
-  private void loadSingeFileEntry(String fileDescription, DataSource entry) {
-    try {
-      LOG.info("reading entity {}: {}", fileDescription, entry.name());
-
-      PublicationDeliveryStructure doc = xmlParser.parseXmlDoc(entry.asInputStream());
-      NetexDocumentParser.parseAndPopulateIndex(index, doc, ignoreFareFrame);
-    } catch (JAXBException e) {
-      throw new RuntimeException(e.getMessage(), e);
-    }
-  }
 }
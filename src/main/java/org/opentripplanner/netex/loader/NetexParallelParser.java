@@ -0,0 +1,140 @@
+package org.opentripplanner.netex.loader;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.xml.bind.JAXBException;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.opentripplanner.datastore.api.DataSource;
+import org.opentripplanner.netex.index.NetexEntityIndex;
+import org.opentripplanner.netex.loader.parser.NetexDocumentParser;
+import org.rutebanken.netex.model.PublicationDeliveryStructure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parse NeTEx files and populate the {@link NetexEntityIndex}. Files which are independent of
+ * each other, like the line files in a group, are parsed on a pool of worker threads. Each file is
+ * parsed into its own child index of the group index, and the indexes are handed back to the
+ * calling thread in the same order as the files. The validation and mapping of a file is therefore
+ * done in exactly the same order as with a single thread, and the issues reported are the same.
+ * <p>
+ * The parent index must not be modified while the independent files are parsed, the workers read
+ * from it, for example to resolve the time zone. The number of files parsed ahead is bounded, so
+ * only a few indexes are kept in memory at the same time. With one thread all files are parsed on
+ * the calling thread.
+ */
+public class NetexParallelParser implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(NetexParallelParser.class);
+
+  private static final int MAX_PENDING_FILES_PER_THREAD = 2;
+
+  private final NetexXmlParser xmlParser;
+  private final boolean ignoreFareFrame;
+  private final int maxPendingFiles;
+
+  @Nullable
+  private final ExecutorService executor;
+
+  public NetexParallelParser(NetexXmlParser xmlParser, boolean ignoreFareFrame, int threads) {
+    this.xmlParser = xmlParser;
+    this.ignoreFareFrame = ignoreFareFrame;
+    this.maxPendingFiles = threads * MAX_PENDING_FILES_PER_THREAD;
+
+    if (threads > 1) {
+      var threadFactory = new ThreadFactoryBuilder()
+        .setNameFormat("NetexParser-%d")
+        .setDaemon(true)
+        .build();
+      this.executor = Executors.newFixedThreadPool(threads, threadFactory);
+    } else {
+      this.executor = null;
+    }
+  }
+
+  /** Parse a single file on the calling thread and store the entities in the given index. */
+  public void parse(String fileDescription, DataSource entry, NetexEntityIndex index) {
+    try {
+      LOG.info("reading entity {}: {}", fileDescription, entry.name());
+
+      PublicationDeliveryStructure doc = xmlParser.parseXmlDoc(entry.asInputStream());
+      NetexDocumentParser.parseAndPopulateIndex(index, doc, ignoreFareFrame);
+    } catch (JAXBException e) {
+      throw new RuntimeException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Parse each of the independent files into a new child of the given parent index. The handler is
+   * called on the calling thread with the child index of each file, in the order of the entries.
+   */
+  public void parseEach(
+    String fileDescription,
+    Iterable<DataSource> entries,
+    NetexEntityIndex parent,
+    Consumer<NetexEntityIndex> handler
+  ) {
+    if (executor == null) {
+      for (DataSource entry : entries) {
+        handler.accept(parseIntoChild(fileDescription, entry, parent));
+      }
+      return;
+    }
+
+    Deque<Future<NetexEntityIndex>> pending = new ArrayDeque<>();
+    try {
+      for (DataSource entry : entries) {
+        pending.add(executor.submit(() -> parseIntoChild(fileDescription, entry, parent)));
+        if (pending.size() >= maxPendingFiles) {
+          handler.accept(await(pending.poll()));
+        }
+      }
+      while (!pending.isEmpty()) {
+        handler.accept(await(pending.poll()));
+      }
+    } finally {
+      // Only files left after a failure are cancelled
+      pending.forEach(it -> it.cancel(true));
+    }
+  }
+
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /* private methods */
+
+  private NetexEntityIndex parseIntoChild(
+    String fileDescription,
+    DataSource entry,
+    NetexEntityIndex parent
+  ) {
+    var index = parent.push();
+    parse(fileDescription, entry, index);
+    return index;
+  }
+
+  private static NetexEntityIndex await(Future<NetexEntityIndex> file) {
+    try {
+      return file.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while parsing NeTEx files", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
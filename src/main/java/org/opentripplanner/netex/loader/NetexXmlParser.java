@@ -7,14 +7,23 @@ import jakarta.xml.bind.Unmarshaller;
 import java.io.InputStream;
 import org.rutebanken.netex.model.PublicationDeliveryStructure;
 
-/** Simple wrapper to perform typesafe xml parsing and simple error handling. */
+/**
+ * Simple wrapper to perform typesafe xml parsing and simple error handling.
+ * <p>
+ * THREAD SAFETY - The JAXB context is shared, and each thread gets its own unmarshaller, so one
+ * instance can be used to parse documents on many threads at the same time.
+ */
 public class NetexXmlParser {
 
-  /** used to parse the XML. */
-  private final Unmarshaller unmarshaller;
+  /** Creating the context is expensive, it is thread safe and shared. */
+  private final JAXBContext context;
+
+  /** used to parse the XML, an unmarshaller is not thread safe. */
+  private final ThreadLocal<Unmarshaller> unmarshaller;
 
   public NetexXmlParser() {
-    this.unmarshaller = createUnmarshaller();
+    this.context = createContext();
+    this.unmarshaller = ThreadLocal.withInitial(this::createUnmarshaller);
   }
 
   /**
@@ -24,15 +33,15 @@ public class NetexXmlParser {
     JAXBElement<PublicationDeliveryStructure> root;
 
     //noinspection unchecked
-    root = (JAXBElement<PublicationDeliveryStructure>) unmarshaller.unmarshal(stream);
+    root = (JAXBElement<PublicationDeliveryStructure>) unmarshaller.get().unmarshal(stream);
 
     return root.getValue();
   }
 
-  /** factory method for unmarshaller */
-  private static Unmarshaller createUnmarshaller() {
+  /** factory method for the JAXB context */
+  private static JAXBContext createContext() {
     try {
-      return JAXBContext.newInstance(PublicationDeliveryStructure.class).createUnmarshaller();
+      return JAXBContext.newInstance(PublicationDeliveryStructure.class);
     } catch (JAXBException e) {
       // This is a programming error - not expected!
       // We abort early and also allow for this to happen in the constructor;
@@ -40,4 +49,14 @@ public class NetexXmlParser {
       throw new RuntimeException(e);
     }
   }
+
+  /** factory method for unmarshaller */
+  private Unmarshaller createUnmarshaller() {
+    try {
+      return context.createUnmarshaller();
+    } catch (JAXBException e) {
+      // This is a programming error - not expected!
+      throw new RuntimeException(e);
+    }
+  }
 }
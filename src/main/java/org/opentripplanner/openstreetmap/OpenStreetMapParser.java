@@ -1,9 +1,9 @@
 package org.opentripplanner.openstreetmap;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
 import org.openstreetmap.osmosis.osmbinary.BinaryParser;
 import org.openstreetmap.osmosis.osmbinary.Osmformat;
 import org.opentripplanner.openstreetmap.api.OSMProvider;
@@ -15,33 +15,40 @@ import org.opentripplanner.openstreetmap.model.OSMWay;
 import org.opentripplanner.openstreetmap.spi.OSMDatabase;
 
 /**
- * Parser for the OpenStreetMap PBF Format.
+ * Parser for the OpenStreetMap PBF Format. A parser instance decodes the entities of one PBF block
+ * for the given phase. The entities are kept until they are added to the database with
+ * {@link #addTo(OSMDatabase)}, this allows the blocks to be decoded in parallel.
  *
+ * @see PbfBlockReader
  * @since 0.4
  */
 class OpenStreetMapParser extends BinaryParser {
 
-  private final OSMDatabase osmdb;
-  private final Map<String, String> stringTable = new HashMap<>();
+  private final ConcurrentMap<String, String> stringTable;
   private final OSMProvider provider;
-  private OsmParserPhase parsePhase;
-
-  public OpenStreetMapParser(OSMDatabase osmdb, OSMProvider provider) {
-    this.osmdb = Objects.requireNonNull(osmdb);
+  private final OsmParserPhase parsePhase;
+
+  private final List<OSMRelation> osmRelations = new ArrayList<>();
+  private final List<OSMWay> osmWays = new ArrayList<>();
+  private final List<OSMNode> osmNodes = new ArrayList<>();
+
+  public OpenStreetMapParser(
+    OsmParserPhase parsePhase,
+    OSMProvider provider,
+    ConcurrentMap<String, String> stringTable
+  ) {
+    this.parsePhase = Objects.requireNonNull(parsePhase);
     this.provider = Objects.requireNonNull(provider);
+    this.stringTable = Objects.requireNonNull(stringTable);
   }
 
   // The strings are already being pulled from a string table in the PBF file,
   // but there appears to be a separate string table per 8k-entry PBF file block.
   // String.intern grinds to a halt on large PBF files (as it did on GTFS import), so
-  // we implement our own.
+  // we implement our own. The table is shared by the parsers of all blocks.
   public String internalize(String s) {
-    String fromTable = stringTable.get(s);
-    if (fromTable == null) {
-      stringTable.put(s, s);
-      return s;
-    }
-    return fromTable;
+    String fromTable = stringTable.putIfAbsent(s, s);
+    return fromTable == null ? s : fromTable;
   }
 
   @Override
@@ -50,10 +57,12 @@ class OpenStreetMapParser extends BinaryParser {
   }
 
   /**
-   * Set the phase to be parsed
+   * Add the parsed entities to the database, in the same order as in the block.
    */
-  public void setPhase(OsmParserPhase phase) {
-    this.parsePhase = phase;
+  public void addTo(OSMDatabase osmdb) {
+    osmRelations.forEach(osmdb::addRelation);
+    osmWays.forEach(osmdb::addWay);
+    osmNodes.forEach(osmdb::addNode);
   }
 
   @Override
@@ -99,7 +108,7 @@ class OpenStreetMapParser extends BinaryParser {
         tmp.addMember(relMember);
       }
 
-      osmdb.addRelation(tmp);
+      osmRelations.add(tmp);
     }
   }
 
@@ -144,7 +153,7 @@ class OpenStreetMapParser extends BinaryParser {
         j++; // Skip over the '0' delimiter.
       }
 
-      osmdb.addNode(tmp);
+      osmNodes.add(tmp);
     }
   }
 
@@ -171,7 +180,7 @@ class OpenStreetMapParser extends BinaryParser {
         tmp.addTag(tag);
       }
 
-      osmdb.addNode(tmp);
+      osmNodes.add(tmp);
     }
   }
 
@@ -201,7 +210,7 @@ class OpenStreetMapParser extends BinaryParser {
         lastId = j + lastId;
       }
 
-      osmdb.addWay(tmp);
+      osmWays.add(tmp);
     }
   }
 
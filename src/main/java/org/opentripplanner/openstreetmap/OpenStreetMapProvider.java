@@ -5,7 +5,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.ZoneId;
-import org.openstreetmap.osmosis.osmbinary.file.BlockInputStream;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.datastore.api.FileType;
 import org.opentripplanner.datastore.file.FileDataSource;
@@ -28,8 +27,11 @@ public class OpenStreetMapProvider implements OSMProvider {
 
   private static final Logger LOG = LoggerFactory.getLogger(OpenStreetMapProvider.class);
 
+  private static final int DEFAULT_PARSER_THREADS = Runtime.getRuntime().availableProcessors();
+
   private final DataSource source;
   private final boolean cacheDataInMem;
+  private final int parserThreads;
 
   private final ZoneId zoneId;
 
@@ -42,7 +44,18 @@ public class OpenStreetMapProvider implements OSMProvider {
 
   /** For tests */
   public OpenStreetMapProvider(File file, boolean cacheDataInMem) {
-    this(new FileDataSource(file, FileType.OSM), OsmTagMapperSource.DEFAULT, null, cacheDataInMem);
+    this(file, cacheDataInMem, DEFAULT_PARSER_THREADS);
+  }
+
+  /** For tests and benchmarks */
+  public OpenStreetMapProvider(File file, boolean cacheDataInMem, int parserThreads) {
+    this(
+      new FileDataSource(file, FileType.OSM),
+      OsmTagMapperSource.DEFAULT,
+      null,
+      cacheDataInMem,
+      parserThreads
+    );
   }
 
   public OpenStreetMapProvider(
@@ -50,6 +63,20 @@ public class OpenStreetMapProvider implements OSMProvider {
     OsmTagMapperSource tagMapperSource,
     ZoneId zoneId,
     boolean cacheDataInMem
+  ) {
+    this(dataSource, tagMapperSource, zoneId, cacheDataInMem, DEFAULT_PARSER_THREADS);
+  }
+
+  /**
+   * @param parserThreads The number of threads used to decompress and parse the PBF blocks, see
+   *                      {@link PbfBlockReader}.
+   */
+  public OpenStreetMapProvider(
+    DataSource dataSource,
+    OsmTagMapperSource tagMapperSource,
+    ZoneId zoneId,
+    boolean cacheDataInMem,
+    int parserThreads
   ) {
     this.source = dataSource;
     this.zoneId = zoneId;
@@ -57,19 +84,18 @@ public class OpenStreetMapProvider implements OSMProvider {
     this.wayPropertySet = new WayPropertySet();
     osmTagMapper.populateProperties(wayPropertySet);
     this.cacheDataInMem = cacheDataInMem;
+    this.parserThreads = parserThreads;
   }
 
   public void readOSM(OSMDatabase osmdb) {
-    try {
-      OpenStreetMapParser parser = new OpenStreetMapParser(osmdb, this);
-
-      parsePhase(parser, OsmParserPhase.Relations);
+    try (PbfBlockReader reader = new PbfBlockReader(this, parserThreads)) {
+      parsePhase(reader, osmdb, OsmParserPhase.Relations);
       osmdb.doneFirstPhaseRelations();
 
-      parsePhase(parser, OsmParserPhase.Ways);
+      parsePhase(reader, osmdb, OsmParserPhase.Ways);
       osmdb.doneSecondPhaseWays();
 
-      parsePhase(parser, OsmParserPhase.Nodes);
+      parsePhase(reader, osmdb, OsmParserPhase.Nodes);
       osmdb.doneThirdPhaseNodes();
     } catch (Exception ex) {
       throw new IllegalStateException("error loading OSM from path " + source.path(), ex);
@@ -82,6 +108,7 @@ public class OpenStreetMapProvider implements OSMProvider {
       .of(OpenStreetMapProvider.class)
       .addObj("source", source)
       .addBool("cacheDataInMem", cacheDataInMem)
+      .addNum("parserThreads", parserThreads)
       .toString();
   }
 
@@ -98,21 +125,10 @@ public class OpenStreetMapProvider implements OSMProvider {
     return ProgressTracker.track("Parse OSM " + phase, 1000, size, inputStream, m -> LOG.info(m));
   }
 
-  private void parsePhase(OpenStreetMapParser parser, OsmParserPhase phase) throws IOException {
-    parser.setPhase(phase);
-    BlockInputStream in = null;
-    try {
-      in = new BlockInputStream(createInputStream(phase), parser);
-      in.process();
-    } finally {
-      // Close
-      try {
-        if (in != null) {
-          in.close();
-        }
-      } catch (Exception e) {
-        LOG.error(e.getMessage(), e);
-      }
+  private void parsePhase(PbfBlockReader reader, OSMDatabase osmdb, OsmParserPhase phase)
+    throws IOException {
+    try (InputStream in = createInputStream(phase)) {
+      reader.parsePhase(in, phase, osmdb);
     }
   }
 
@@ -0,0 +1,199 @@
+package org.opentripplanner.openstreetmap;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import javax.annotation.Nullable;
+import org.openstreetmap.osmosis.osmbinary.Fileformat;
+import org.openstreetmap.osmosis.osmbinary.Osmformat;
+import org.opentripplanner.openstreetmap.api.OSMProvider;
+import org.opentripplanner.openstreetmap.spi.OSMDatabase;
+
+/**
+ * Read the blocks of a PBF file and decode them on a pool of worker threads. The file is read
+ * sequentially by the calling thread, while each block is decompressed and parsed by a worker.
+ * The decoded blocks are added to the {@link OSMDatabase} by the calling thread in file order, so
+ * the database is populated in exactly the same order as with a single thread.
+ * <p>
+ * The number of blocks in flight is bounded, this limits the memory used if the database is slower
+ * than the workers. With one thread the blocks are decoded on the calling thread.
+ */
+class PbfBlockReader implements Closeable {
+
+  /** The limits set by the PBF format specification */
+  private static final int MAX_HEADER_SIZE = 64 * 1024;
+  private static final int MAX_BLOB_SIZE = 32 * 1024 * 1024;
+
+  private static final int MAX_PENDING_BLOCKS_PER_THREAD = 4;
+
+  private static final String OSM_HEADER = "OSMHeader";
+  private static final String OSM_DATA = "OSMData";
+
+  private final OSMProvider provider;
+  private final int maxPendingBlocks;
+
+  /** Shared by the parsers of all blocks and phases, see {@link OpenStreetMapParser#internalize} */
+  private final ConcurrentMap<String, String> stringTable = new ConcurrentHashMap<>();
+
+  @Nullable
+  private final ExecutorService executor;
+
+  PbfBlockReader(OSMProvider provider, int threads) {
+    this.provider = provider;
+    this.maxPendingBlocks = threads * MAX_PENDING_BLOCKS_PER_THREAD;
+
+    if (threads > 1) {
+      var threadFactory = new ThreadFactoryBuilder()
+        .setNameFormat("OsmParser-%d")
+        .setDaemon(true)
+        .build();
+      this.executor = Executors.newFixedThreadPool(threads, threadFactory);
+    } else {
+      this.executor = null;
+    }
+  }
+
+  /**
+   * Read all blocks in the input and add the entities of the given phase to the database.
+   */
+  void parsePhase(InputStream input, OsmParserPhase phase, OSMDatabase osmdb) throws IOException {
+    var in = new DataInputStream(input);
+
+    if (executor == null) {
+      for (RawBlock block = readBlock(in); block != null; block = readBlock(in)) {
+        decode(block, phase).addTo(osmdb);
+      }
+      return;
+    }
+
+    Deque<Future<OpenStreetMapParser>> pending = new ArrayDeque<>();
+    try {
+      for (RawBlock block = readBlock(in); block != null; block = readBlock(in)) {
+        var it = block;
+        pending.add(executor.submit(() -> decode(it, phase)));
+        if (pending.size() >= maxPendingBlocks) {
+          await(pending.poll()).addTo(osmdb);
+        }
+      }
+      while (!pending.isEmpty()) {
+        await(pending.poll()).addTo(osmdb);
+      }
+    } finally {
+      // Only blocks left after a failure are cancelled
+      pending.forEach(it -> it.cancel(true));
+    }
+  }
+
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /* private methods */
+
+  /**
+   * Read the next block header and the blob following it, without decompressing the blob.
+   * Return {@code null} at the end of the input.
+   */
+  @Nullable
+  private static RawBlock readBlock(DataInputStream in) throws IOException {
+    int headerSize;
+    try {
+      headerSize = in.readInt();
+    } catch (EOFException e) {
+      return null;
+    }
+    if (headerSize < 0 || headerSize > MAX_HEADER_SIZE) {
+      throw new IOException("Invalid PBF block header size: " + headerSize);
+    }
+    var header = Fileformat.BlobHeader.parseFrom(readBytes(in, headerSize));
+
+    int blobSize = header.getDatasize();
+    if (blobSize < 0 || blobSize > MAX_BLOB_SIZE) {
+      throw new IOException("Invalid PBF block size: " + blobSize);
+    }
+    return new RawBlock(header.getType(), readBytes(in, blobSize));
+  }
+
+  private static byte[] readBytes(DataInputStream in, int size) throws IOException {
+    byte[] bytes = new byte[size];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private OpenStreetMapParser decode(RawBlock block, OsmParserPhase phase) throws IOException {
+    var parser = new OpenStreetMapParser(phase, provider, stringTable);
+    switch (block.type()) {
+      case OSM_HEADER -> parser.parse(Osmformat.HeaderBlock.parseFrom(uncompress(block)));
+      case OSM_DATA -> parser.parse(Osmformat.PrimitiveBlock.parseFrom(uncompress(block)));
+      default -> {
+        // Unknown block types should be skipped according to the PBF specification
+      }
+    }
+    return parser;
+  }
+
+  private static byte[] uncompress(RawBlock block) throws IOException {
+    var blob = Fileformat.Blob.parseFrom(block.blob());
+
+    if (blob.hasRaw()) {
+      return blob.getRaw().toByteArray();
+    }
+    if (!blob.hasZlibData()) {
+      throw new IOException(
+        "Unsupported compression in PBF block of type " + block.type() + ", only zlib is supported."
+      );
+    }
+
+    byte[] data = new byte[blob.getRawSize()];
+    var inflater = new Inflater();
+    try {
+      inflater.setInput(blob.getZlibData().asReadOnlyByteBuffer());
+      int size = inflater.inflate(data);
+      // The end of the stream is not always seen when the output is filled, check that the
+      // remaining input does not contain more data
+      if (size != data.length || (!inflater.finished() && inflater.inflate(new byte[1]) > 0)) {
+        throw new IOException("Corrupt zlib data in PBF block of type " + block.type());
+      }
+      return data;
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt zlib data in PBF block of type " + block.type(), e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static OpenStreetMapParser await(Future<OpenStreetMapParser> block) throws IOException {
+    try {
+      return block.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while parsing OSM data", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException io) {
+        throw io;
+      }
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private record RawBlock(String type, byte[] blob) {}
+}
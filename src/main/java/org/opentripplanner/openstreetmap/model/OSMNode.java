@@ -71,6 +71,26 @@ public class OSMNode extends OSMWithTags {
     );
   }
 
+  /**
+   * Nodes are equal if they have the same id, a node store may return a new instance each time a
+   * node is looked up.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return id == ((OSMNode) o).id;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(id);
+  }
+
   @Override
   public String getOpenStreetMapLink() {
     return String.format("https://www.openstreetmap.org/node/%d", getId());
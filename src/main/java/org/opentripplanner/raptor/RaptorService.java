@@ -1,11 +1,13 @@
 package org.opentripplanner.raptor;
 
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.response.RaptorIterationListener;
 import org.opentripplanner.raptor.api.response.RaptorResponse;
 import org.opentripplanner.raptor.configure.RaptorConfig;
-import org.opentripplanner.raptor.service.DefaultStopArrivals;
+import org.opentripplanner.raptor.rangeraptor.internalapi.DefaultStopArrivals;
 import org.opentripplanner.raptor.service.HeuristicSearchTask;
 import org.opentripplanner.raptor.service.RangeRaptorDynamicSearch;
 import org.opentripplanner.raptor.spi.RaptorTransitDataProvider;
@@ -37,7 +39,7 @@ public class RaptorService<T extends RaptorTripSchedule> {
     if (request.isDynamicSearch()) {
       response = new RangeRaptorDynamicSearch<>(config, transitData, request).route();
     } else {
-      response = routeUsingStdWorker(transitData, request);
+      response = routeUsingStdWorker(transitData, request, null);
     }
     if (LOG.isDebugEnabled()) {
       var pathsAsText = response
@@ -50,6 +52,27 @@ public class RaptorService<T extends RaptorTripSchedule> {
     return response;
   }
 
+  /**
+   * Route a standard (single-criteria) Range Raptor search, and notify the given listener when
+   * each iteration is complete. This can be used to compute the travel time from the origin to
+   * all stops for each minute in the search-window, e.g. to compute a travel time matrix.
+   * <p>
+   * The request must not be a dynamic search, use the {@code BEST_TIME} profile with a fixed
+   * search-window.
+   */
+  public RaptorResponse<T> route(
+    RaptorRequest<T> request,
+    RaptorTransitDataProvider<T> transitData,
+    RaptorIterationListener iterationListener
+  ) {
+    if (request.isDynamicSearch()) {
+      throw new IllegalArgumentException(
+        "An iteration listener is not supported for a dynamic search: " + request
+      );
+    }
+    return routeUsingStdWorker(transitData, request, iterationListener);
+  }
+
   /**
    * TODO Add back the possibility to compare heuristics using a test - like the SpeedTest,
    *      but maybe better to make a separate test.
@@ -73,9 +96,10 @@ public class RaptorService<T extends RaptorTripSchedule> {
 
   private RaptorResponse<T> routeUsingStdWorker(
     RaptorTransitDataProvider<T> transitData,
-    RaptorRequest<T> request
+    RaptorRequest<T> request,
+    @Nullable RaptorIterationListener iterationListener
   ) {
-    var worker = config.createStdWorker(transitData, request);
+    var worker = config.createStdWorker(transitData, request, iterationListener);
     var result = worker.route();
     var arrivals = new DefaultStopArrivals(result);
     return new RaptorResponse<>(result.extractPaths(), arrivals, request, request);
@@ -15,6 +15,16 @@ public enum Optimization {
    */
   PARALLEL,
 
+  /**
+   * Split the search-window into sub-ranges and run the Range Raptor iterations of each sub-range
+   * in parallel, using the search thread pool. The paths found in each sub-range are merged into
+   * one pareto set. This uses more resources, but a search with a long search-window should be
+   * faster.
+   * <p>
+   * This only apply to: forward multi-criteria search without relaxed cost at the destination.
+   */
+  PARALLEL_SEARCH_WINDOW,
+
   /**
    * This optimization use heuristics at each stop calculate an optimistic estimate for all criteria
    * at the destination. Then this "vector" is checked if it qualify in the existing set of pareto
@@ -134,6 +134,10 @@ public class RaptorRequest<T extends RaptorTripSchedule> {
     return optimizationEnabled(Optimization.PARALLEL);
   }
 
+  public boolean runSearchWindowInParallel() {
+    return optimizationEnabled(Optimization.PARALLEL_SEARCH_WINDOW);
+  }
+
   public RaptorTimers performanceTimers() {
     return performanceTimers;
   }
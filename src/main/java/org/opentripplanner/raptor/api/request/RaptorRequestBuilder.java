@@ -145,6 +145,10 @@ public class RaptorRequestBuilder<T extends RaptorTripSchedule> {
       // Run search in parallel
       name += "-LL";
     }
+    if (Optimization.PARALLEL_SEARCH_WINDOW.isOneOf(optimizations)) {
+      // Run the search-window sub-ranges in parallel
+      name += "-PW";
+    }
     if (Optimization.PARETO_CHECK_AGAINST_DESTINATION.isOneOf(optimizations)) {
       // Heuristic to prune on pareto optimal Destination arrivals
       name += "-DP";
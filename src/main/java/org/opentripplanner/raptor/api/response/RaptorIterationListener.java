@@ -0,0 +1,23 @@
+package org.opentripplanner.raptor.api.response;
+
+/**
+ * Listen to the result of each Range Raptor iteration. Range Raptor runs one iteration for each
+ * minute in the search-window, starting with the latest departure time. The stop arrivals of an
+ * iteration are the best arrivals for departing at the iteration departure time or later, so the
+ * travel time from the origin to a stop is the difference between the best arrival time at the
+ * stop and the iteration departure time. In a reverse search the iteration "departure" time is
+ * the latest arrival time at the destination.
+ * <p>
+ * This is only supported for the standard (single-criteria) profiles, see
+ * {@link org.opentripplanner.raptor.RaptorService#route(
+ * org.opentripplanner.raptor.api.request.RaptorRequest,
+ * org.opentripplanner.raptor.spi.RaptorTransitDataProvider, RaptorIterationListener)}.
+ */
+@FunctionalInterface
+public interface RaptorIterationListener {
+  /**
+   * Called when an iteration is complete. The stop arrivals are only valid during this call, the
+   * state is updated by the next iteration. Make a copy of the values needed later.
+   */
+  void iterationComplete(int iterationDepartureTime, StopArrivals arrivals);
+}
@@ -1,11 +1,13 @@
 package org.opentripplanner.raptor.configure;
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.request.RaptorRequest;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
+import org.opentripplanner.raptor.api.response.RaptorIterationListener;
 import org.opentripplanner.raptor.rangeraptor.DefaultRangeRaptorWorker;
 import org.opentripplanner.raptor.rangeraptor.context.SearchContext;
 import org.opentripplanner.raptor.rangeraptor.internalapi.Heuristics;
@@ -47,9 +49,22 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
   public RaptorWorker<T> createStdWorker(
     RaptorTransitDataProvider<T> transitData,
     RaptorRequest<T> request
+  ) {
+    return createStdWorker(transitData, request, null);
+  }
+
+  /**
+   * Create a standard worker, the given listener (if not null) is notified when each Range Raptor
+   * iteration is complete.
+   */
+  public RaptorWorker<T> createStdWorker(
+    RaptorTransitDataProvider<T> transitData,
+    RaptorRequest<T> request,
+    @Nullable RaptorIterationListener iterationListener
   ) {
     SearchContext<T> context = context(transitData, request);
-    return new StdRangeRaptorConfig<>(context).createSearch((s, w) -> createWorker(context, s, w));
+    return new StdRangeRaptorConfig<>(context)
+      .createSearch((s, w) -> createWorker(context, s, w), iterationListener);
   }
 
   public RaptorWorker<T> createMcWorker(
@@ -62,6 +77,13 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
       .createWorker(heuristics, (s, w) -> createWorker(context, s, w));
   }
 
+  public RaptorWorkerResult<T> mergeMcResults(
+    RaptorRequest<T> request,
+    List<RaptorWorkerResult<T>> results
+  ) {
+    return McRangeRaptorConfig.mergeResults(request, results);
+  }
+
   public RaptorWorker<T> createHeuristicSearch(
     RaptorTransitDataProvider<T> transitData,
     RaptorRequest<T> request
@@ -87,6 +109,14 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
     return threadPool;
   }
 
+  public int threadPoolSize() {
+    return tuningParameters.searchThreadPoolSize();
+  }
+
+  public int iterationDepartureStepInSeconds() {
+    return tuningParameters.iterationDepartureStepInSeconds();
+  }
+
   public void shutdown() {
     if (threadPool != null) {
       threadPool.shutdown();
@@ -1,8 +1,6 @@
-package org.opentripplanner.raptor.service;
+package org.opentripplanner.raptor.rangeraptor.internalapi;
 
 import org.opentripplanner.raptor.api.response.StopArrivals;
-import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorkerResult;
-import org.opentripplanner.raptor.rangeraptor.internalapi.SingleCriteriaStopArrivals;
 
 /**
  * Cache results and extract information lazy when accessed.
@@ -0,0 +1,43 @@
+package org.opentripplanner.raptor.rangeraptor.lifecycle;
+
+import org.opentripplanner.raptor.api.response.RaptorIterationListener;
+import org.opentripplanner.raptor.rangeraptor.internalapi.DefaultStopArrivals;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorkerResult;
+import org.opentripplanner.raptor.rangeraptor.internalapi.WorkerLifeCycle;
+
+/**
+ * Notify a {@link RaptorIterationListener} with the stop arrivals of the worker state when each
+ * Range Raptor iteration is complete.
+ */
+public final class IterationListenerAdapter {
+
+  private final RaptorIterationListener listener;
+  private final RaptorWorkerResult<?> results;
+  private int iterationDepartureTime;
+
+  private IterationListenerAdapter(
+    RaptorIterationListener listener,
+    RaptorWorkerResult<?> results
+  ) {
+    this.listener = listener;
+    this.results = results;
+  }
+
+  /**
+   * Subscribe the listener to the life-cycle events. This should be done after the worker state
+   * is created, so the state is updated before the listener is notified.
+   */
+  public static void subscribe(
+    WorkerLifeCycle lifeCycle,
+    RaptorWorkerResult<?> results,
+    RaptorIterationListener listener
+  ) {
+    var adapter = new IterationListenerAdapter(listener, results);
+    lifeCycle.onSetupIteration(time -> adapter.iterationDepartureTime = time);
+    lifeCycle.onIterationComplete(adapter::iterationComplete);
+  }
+
+  private void iterationComplete() {
+    listener.iterationComplete(iterationDepartureTime, new DefaultStopArrivals(results));
+  }
+}
@@ -0,0 +1,82 @@
+package org.opentripplanner.raptor.rangeraptor.multicriteria;
+
+import static org.opentripplanner.raptor.rangeraptor.path.PathParetoSetComparators.paretoComparator;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.path.RaptorPath;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorkerResult;
+import org.opentripplanner.raptor.rangeraptor.internalapi.SingleCriteriaStopArrivals;
+import org.opentripplanner.raptor.util.paretoset.ParetoSet;
+
+/**
+ * Merge the results of multi-criteria workers routing consecutive sub-ranges of the same
+ * search-window. The paths are merged into one pareto set, using the same comparator as the
+ * destination arrivals of a worker. The results must be added in the order the iterations are
+ * performed by a single worker.
+ */
+public class McMergedWorkerResult<T extends RaptorTripSchedule> implements RaptorWorkerResult<T> {
+
+  private final List<RaptorWorkerResult<T>> results;
+  private final ParetoSet<RaptorPath<T>> paths;
+
+  public McMergedWorkerResult(List<RaptorWorkerResult<T>> results, RaptorRequest<T> request) {
+    this.results = results;
+    this.paths =
+      new ParetoSet<>(paretoComparator(request.searchParams(), true, request.searchDirection()));
+
+    for (RaptorWorkerResult<T> it : results) {
+      paths.addAll(it.extractPaths());
+    }
+  }
+
+  @Override
+  public Collection<RaptorPath<T>> extractPaths() {
+    return paths;
+  }
+
+  @Override
+  public SingleCriteriaStopArrivals extractBestOverallArrivals() {
+    return merge(RaptorWorkerResult::extractBestOverallArrivals);
+  }
+
+  @Override
+  public SingleCriteriaStopArrivals extractBestTransitArrivals() {
+    return merge(RaptorWorkerResult::extractBestTransitArrivals);
+  }
+
+  @Override
+  public SingleCriteriaStopArrivals extractBestNumberOfTransfers() {
+    return merge(RaptorWorkerResult::extractBestNumberOfTransfers);
+  }
+
+  /**
+   * The multi-criteria stop arrivals return the smallest value for all criteria, so we do the
+   * same across the sub-ranges.
+   */
+  private SingleCriteriaStopArrivals merge(
+    Function<RaptorWorkerResult<T>, SingleCriteriaStopArrivals> extract
+  ) {
+    var arrivals = results.stream().map(extract).toList();
+
+    return new SingleCriteriaStopArrivals() {
+      @Override
+      public boolean isReached(int stop) {
+        return arrivals.stream().anyMatch(it -> it.isReached(stop));
+      }
+
+      @Override
+      public int value(int stop) {
+        return arrivals
+          .stream()
+          .filter(it -> it.isReached(stop))
+          .mapToInt(it -> it.value(stop))
+          .min()
+          .orElseThrow();
+      }
+    };
+  }
+}
@@ -143,6 +143,10 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
       alightStop
     );
 
+    if (rejectNewArrival(ride.prevArrival(), alightStop, stopArrivalTime, costTransit)) {
+      return;
+    }
+
     arrivalsCache.add(
       new TransitStopArrival<>(
         ride.prevArrival(),
@@ -183,7 +187,11 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
     for (AbstractStopArrival<T> it : fromArrivals) {
       int arrivalTime = it.arrivalTime() + transferTimeInSeconds;
 
-      if (!exceedsTimeLimit(arrivalTime)) {
+      if (exceedsTimeLimit(arrivalTime)) {
+        continue;
+      }
+      int cost = it.cost() + transfer.generalizedCost();
+      if (!rejectNewArrival(it, transfer.stop(), arrivalTime, cost)) {
         arrivalsCache.add(new TransferStopArrival<>(it, transfer, arrivalTime));
       }
     }
@@ -203,6 +211,20 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
     arrivals.addStopArrival(arrival);
   }
 
+  /**
+   * Test the destination heuristic before a new arrival is created, the arrival is tested again
+   * when it is committed. The travel duration is calculated the same way as in the arrival.
+   */
+  private boolean rejectNewArrival(
+    AbstractStopArrival<T> previous,
+    int stop,
+    int arrivalTime,
+    int cost
+  ) {
+    int travelDuration = previous.travelDuration() + (arrivalTime - previous.arrivalTime());
+    return heuristics.rejectNewArrivalBasedOnHeuristic(stop, arrivalTime, travelDuration, cost);
+  }
+
   private boolean exceedsTimeLimit(int time) {
     return transitCalculator.exceedsTimeLimit(time);
   }
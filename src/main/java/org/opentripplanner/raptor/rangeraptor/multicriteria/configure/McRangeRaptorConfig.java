@@ -1,12 +1,16 @@
 package org.opentripplanner.raptor.rangeraptor.multicriteria.configure;
 
+import java.util.List;
 import java.util.function.BiFunction;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
 import org.opentripplanner.raptor.rangeraptor.context.SearchContext;
 import org.opentripplanner.raptor.rangeraptor.internalapi.Heuristics;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorker;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorkerResult;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorkerState;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RoutingStrategy;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.McMergedWorkerResult;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.McRangeRaptorWorkerState;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.McStopArrivals;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.MultiCriteriaRoutingStrategy;
@@ -42,6 +46,17 @@ public class McRangeRaptorConfig<T extends RaptorTripSchedule> {
     return createWorker.apply(state, createTransitWorkerStrategy(state));
   }
 
+  /**
+   * Merge the results of workers routing consecutive sub-ranges of the search-window of the given
+   * request. The results must be in the same order as the iterations are performed.
+   */
+  public static <T extends RaptorTripSchedule> RaptorWorkerResult<T> mergeResults(
+    RaptorRequest<T> request,
+    List<RaptorWorkerResult<T>> results
+  ) {
+    return new McMergedWorkerResult<>(results, request);
+  }
+
   /* private factory methods */
 
   private RoutingStrategy<T> createTransitWorkerStrategy(McRangeRaptorWorkerState<T> state) {
@@ -83,6 +98,7 @@ public class McRangeRaptorConfig<T extends RaptorTripSchedule> {
         heuristics,
         context.roundProvider(),
         createDestinationArrivalPaths(),
+        context.searchParams().relaxCostAtDestination().isPresent(),
         context.debugFactory()
       );
     }
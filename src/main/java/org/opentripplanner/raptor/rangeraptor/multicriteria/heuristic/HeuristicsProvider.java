@@ -20,22 +20,25 @@ public final class HeuristicsProvider<T extends RaptorTripSchedule> {
   private final Heuristics heuristics;
   private final RoundProvider roundProvider;
   private final DestinationArrivalPaths<T> paths;
+  private final boolean relaxedCostAtDestination;
   private final HeuristicAtStop[] stops;
   private final DebugHandlerFactory<T> debugHandlerFactory;
 
   public HeuristicsProvider() {
-    this(null, null, null, null);
+    this(null, null, null, false, null);
   }
 
   public HeuristicsProvider(
     Heuristics heuristics,
     RoundProvider roundProvider,
     DestinationArrivalPaths<T> paths,
+    boolean relaxedCostAtDestination,
     DebugHandlerFactory<T> debugHandlerFactory
   ) {
     this.heuristics = heuristics;
     this.roundProvider = roundProvider;
     this.paths = paths;
+    this.relaxedCostAtDestination = relaxedCostAtDestination;
     this.stops = heuristics == null ? null : new HeuristicAtStop[heuristics.size()];
     this.debugHandlerFactory = debugHandlerFactory;
   }
@@ -60,6 +63,34 @@ public final class HeuristicsProvider<T extends RaptorTripSchedule> {
     return rejected;
   }
 
+  /**
+   * Same as {@link #rejectDestinationArrivalBasedOnHeuristic(AbstractStopArrival)}, but for a stop
+   * arrival which is not created yet. Most arrivals are rejected, so testing them before they are
+   * created avoids most of the stop arrival allocations. The arrival is tested again when it is
+   * added.
+   * <p>
+   * The destination arrivals only get better during a round, so an arrival rejected here would
+   * also be rejected when it is added. This does not hold when the cost is relaxed at the
+   * destination, because the relaxed comparison is not transitive. In that case, and if the stop
+   * is debugged, {@code false} is returned.
+   */
+  public boolean rejectNewArrivalBasedOnHeuristic(
+    int stop,
+    int arrivalTime,
+    int travelDuration,
+    int cost
+  ) {
+    if (
+      heuristics == null ||
+      relaxedCostAtDestination ||
+      paths.isEmpty() ||
+      debugHandlerFactory.isDebugStopArrival(stop)
+    ) {
+      return false;
+    }
+    return !qualify(stop, arrivalTime, travelDuration, cost);
+  }
+
   /* private methods */
 
   private void debugRejectByOptimization(AbstractStopArrival<T> arrival) {
@@ -5,13 +5,16 @@ import static org.opentripplanner.raptor.rangeraptor.path.PathParetoSetComparato
 
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.response.RaptorIterationListener;
 import org.opentripplanner.raptor.rangeraptor.context.SearchContext;
 import org.opentripplanner.raptor.rangeraptor.internalapi.Heuristics;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorker;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorkerResult;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorkerState;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RoutingStrategy;
+import org.opentripplanner.raptor.rangeraptor.lifecycle.IterationListenerAdapter;
 import org.opentripplanner.raptor.rangeraptor.path.DestinationArrivalPaths;
 import org.opentripplanner.raptor.rangeraptor.path.configure.PathConfig;
 import org.opentripplanner.raptor.rangeraptor.standard.ArrivalTimeRoutingStrategy;
@@ -56,8 +59,22 @@ public class StdRangeRaptorConfig<T extends RaptorTripSchedule> {
 
   public RaptorWorker<T> createSearch(
     BiFunction<RaptorWorkerState<T>, RoutingStrategy<T>, RaptorWorker<T>> createWorker
+  ) {
+    return createSearch(createWorker, null);
+  }
+
+  /**
+   * Create a search, and notify the given listener (if not null) when each Range Raptor
+   * iteration is complete.
+   */
+  public RaptorWorker<T> createSearch(
+    BiFunction<RaptorWorkerState<T>, RoutingStrategy<T>, RaptorWorker<T>> createWorker,
+    @Nullable RaptorIterationListener iterationListener
   ) {
     StdRangeRaptorWorkerState<T> state = createState();
+    if (iterationListener != null) {
+      IterationListenerAdapter.subscribe(ctx.lifeCycle(), state.results(), iterationListener);
+    }
     return createWorker.apply(state, createWorkerStrategy(state));
   }
 
@@ -0,0 +1,162 @@
+package org.opentripplanner.raptor.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.request.SearchParams;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.raptor.rangeraptor.internalapi.Heuristics;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorker;
+import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorkerResult;
+import org.opentripplanner.raptor.spi.RaptorTransitDataProvider;
+
+/**
+ * Run a forward multi-criteria Range Raptor search with the search-window split into sub-ranges of
+ * consecutive iterations. Each sub-range is routed by its own worker with its own state, the first
+ * sub-range on the calling thread and the others on the Raptor thread pool. The paths found are
+ * merged into one pareto set, using the same comparator as the destination arrivals of a worker,
+ * see {@link RaptorConfig#mergeMcResults(RaptorRequest, List)}.
+ * <p>
+ * The paths are merged in the order the iterations are performed by a single worker. A worker only
+ * keep the state of the iterations in its own sub-range, so it may find paths which a single worker
+ * would have pruned at an intermediate stop. The pareto set filters these paths out again.
+ * <p>
+ * See {@link org.opentripplanner.raptor.api.request.Optimization#PARALLEL_SEARCH_WINDOW}.
+ */
+public class ParallelSearchWindowWorker<T extends RaptorTripSchedule> implements RaptorWorker<T> {
+
+  private final RaptorConfig<T> config;
+  private final RaptorTransitDataProvider<T> transitData;
+  private final RaptorRequest<T> request;
+  private final Heuristics heuristics;
+
+  public ParallelSearchWindowWorker(
+    RaptorConfig<T> config,
+    RaptorTransitDataProvider<T> transitData,
+    RaptorRequest<T> request,
+    Heuristics heuristics
+  ) {
+    this.config = config;
+    this.transitData = transitData;
+    this.request = request;
+    this.heuristics = heuristics;
+  }
+
+  @Override
+  public RaptorWorkerResult<T> route() {
+    var subRequests = splitSearchWindow(
+      request,
+      config.threadPoolSize(),
+      config.iterationDepartureStepInSeconds()
+    );
+
+    if (subRequests.size() == 1) {
+      return routeSubRange(request);
+    }
+
+    List<Future<RaptorWorkerResult<T>>> futures = new ArrayList<>();
+    for (RaptorRequest<T> subRequest : subRequests.subList(1, subRequests.size())) {
+      futures.add(config.threadPool().submit(() -> routeSubRange(subRequest)));
+    }
+
+    List<RaptorWorkerResult<T>> results = new ArrayList<>();
+    try {
+      results.add(routeSubRange(subRequests.get(0)));
+      for (Future<RaptorWorkerResult<T>> future : futures) {
+        results.add(await(future));
+      }
+    } finally {
+      // A worker does not respond to interrupts, so instead of cancelling the sub-ranges we wait
+      // for all of them to complete. No worker of this search is running when it returns.
+      futures.forEach(ParallelSearchWindowWorker::awaitCompletion);
+    }
+    return config.mergeMcResults(request, results);
+  }
+
+  /**
+   * Split the search-window of the given request into at most {@code maxSubRanges} sub-ranges.
+   * The requests returned are in the same order as the iterations are performed by a single
+   * worker, and together they perform exactly the same iterations.
+   * <p>
+   * Only forward searches are split. A reverse search keeps the state of the iterations with the
+   * earliest arrival times when routing the later ones, and this may prune paths a sub-range
+   * would find. Hence, the result would not be the same as the result of a single worker.
+   */
+  static <T extends RaptorTripSchedule> List<RaptorRequest<T>> splitSearchWindow(
+    RaptorRequest<T> request,
+    int maxSubRanges,
+    int iterationStep
+  ) {
+    SearchParams s = request.searchParams();
+
+    if (request.searchDirection().isInReverse() || !s.isEarliestDepartureTimeSet()) {
+      return List.of(request);
+    }
+
+    int searchWindow = s.searchWindowInSeconds();
+    int nIterations = searchWindow / iterationStep;
+    int nSubRanges = Math.min(maxSubRanges, nIterations);
+
+    if (nSubRanges <= 1) {
+      return List.of(request);
+    }
+
+    List<RaptorRequest<T>> result = new ArrayList<>();
+    int lastIteration = 0;
+
+    for (int i = 0; i < nSubRanges; ++i) {
+      // Iterations are numbered from 1, starting with the latest departure time
+      int firstIteration = lastIteration + 1;
+      lastIteration += nIterations / nSubRanges + (i < nIterations % nSubRanges ? 1 : 0);
+
+      result.add(
+        request
+          .mutate()
+          .searchParams()
+          .earliestDepartureTime(
+            s.earliestDepartureTime() + searchWindow - lastIteration * iterationStep
+          )
+          .searchWindowInSeconds((lastIteration - firstIteration + 1) * iterationStep)
+          .build()
+      );
+    }
+    return result;
+  }
+
+  /* private methods */
+
+  private RaptorWorkerResult<T> routeSubRange(RaptorRequest<T> subRequest) {
+    return config.createMcWorker(transitData, subRequest, heuristics).route();
+  }
+
+  private static <R> R await(Future<R> future) {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while routing the search-window", e);
+    }
+  }
+
+  /**
+   * Wait for the sub-range to complete, a failure is ignored. The failure of the first failed
+   * sub-range is already thrown by {@link #await(Future)}.
+   */
+  private static void awaitCompletion(Future<?> future) {
+    try {
+      future.get();
+    } catch (ExecutionException ignore) {
+      // Reported by await
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -18,6 +18,7 @@ import org.opentripplanner.raptor.api.request.SearchParams;
 import org.opentripplanner.raptor.api.request.SearchParamsBuilder;
 import org.opentripplanner.raptor.api.response.RaptorResponse;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.raptor.rangeraptor.internalapi.DefaultStopArrivals;
 import org.opentripplanner.raptor.rangeraptor.internalapi.Heuristics;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RaptorWorker;
 import org.opentripplanner.raptor.rangeraptor.transit.RaptorSearchWindowCalculator;
@@ -133,7 +134,17 @@ public class RangeRaptorDynamicSearch<T extends RaptorTripSchedule> {
 
     // Create worker
     if (request.profile().is(MULTI_CRITERIA)) {
-      raptorWorker = config.createMcWorker(transitData, request, getDestinationHeuristics());
+      if (isItPossibleToRunSearchWindowInParallel(request)) {
+        raptorWorker =
+          new ParallelSearchWindowWorker<>(
+            config,
+            transitData,
+            request,
+            getDestinationHeuristics()
+          );
+      } else {
+        raptorWorker = config.createMcWorker(transitData, request, getDestinationHeuristics());
+      }
     } else {
       raptorWorker = config.createStdWorker(transitData, request);
     }
@@ -162,6 +173,18 @@ public class RangeRaptorDynamicSearch<T extends RaptorTripSchedule> {
     );
   }
 
+  /**
+   * The relaxed cost comparator used at the destination is not transitive, so merging the paths
+   * of the sub-ranges may not give the same result as a single-threaded search.
+   */
+  private boolean isItPossibleToRunSearchWindowInParallel(RaptorRequest<T> request) {
+    return (
+      config.isMultiThreaded() &&
+      request.runSearchWindowInParallel() &&
+      request.searchParams().relaxCostAtDestination().isEmpty()
+    );
+  }
+
   /**
    * @throws DestinationNotReachedException if destination is not reached
    */
@@ -171,7 +194,14 @@ public class RangeRaptorDynamicSearch<T extends RaptorTripSchedule> {
       revHeuristics.withRequest(originalRequest);
 
       Future<?> f = config.threadPool().submit(fwdHeuristics::run);
-      revHeuristics.run();
+      try {
+        revHeuristics.run();
+      } catch (RuntimeException e) {
+        // The forward search does not respond to interrupts, wait for it to complete so it is not
+        // still running when the request fails.
+        awaitCompletion(f);
+        throw e;
+      }
       f.get();
       LOG.debug(
         "Route using RangeRaptor - " + "REVERSE and FORWARD heuristic search performed in parallel."
@@ -187,6 +217,19 @@ public class RangeRaptorDynamicSearch<T extends RaptorTripSchedule> {
     }
   }
 
+  /**
+   * Wait for the task to complete, a failure is ignored.
+   */
+  private static void awaitCompletion(Future<?> task) {
+    try {
+      task.get();
+    } catch (ExecutionException ignore) {
+      // The failure of the other task is reported
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   /**
    * @throws DestinationNotReachedException if destination is not reached
    */
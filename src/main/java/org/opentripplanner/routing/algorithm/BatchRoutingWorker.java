@@ -0,0 +1,152 @@
+package org.opentripplanner.routing.algorithm;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.opentripplanner.framework.time.ServiceDateUtils;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.BatchTransitData;
+import org.opentripplanner.routing.api.request.RouteBatchRequest;
+import org.opentripplanner.routing.api.response.BatchRoutingResponse;
+import org.opentripplanner.standalone.api.OtpServerRequestContext;
+
+/**
+ * Route a batch request from each origin to each destination. The transit data and the
+ * access/egress of each origin and destination are created once for the batch, see
+ * {@link BatchTransitData}. Each origin-destination pair is routed by a {@link RoutingWorker},
+ * and the pairs are routed on the Raptor thread pool, if it exists.
+ * <p>
+ * This class has a request scope, hence the "Worker" name.
+ */
+public class BatchRoutingWorker {
+
+  private final RouteBatchRequest request;
+  private final OtpServerRequestContext serverContext;
+  private final ZoneId zoneId;
+
+  public BatchRoutingWorker(
+    OtpServerRequestContext serverContext,
+    RouteBatchRequest request,
+    ZoneId zoneId
+  ) {
+    this.request = request;
+    this.serverContext = serverContext;
+    this.zoneId = zoneId;
+  }
+
+  /**
+   * Route all origin-destination pairs, and pass the response of each pair to the given listener
+   * when it is done. The responses are not passed in any particular order, and the listener is
+   * called from the threads doing the searches, so it must be thread-safe.
+   */
+  public void route(Consumer<BatchRoutingResponse> responseListener) {
+    var transitData = createTransitData();
+    ExecutorService threadPool = serverContext.raptorConfig().threadPool();
+
+    List<Future<?>> futures = new ArrayList<>();
+    var aborted = new AtomicBoolean(false);
+    try {
+      for (int i = 0; i < request.origins().size(); ++i) {
+        for (int j = 0; j < request.destinations().size(); ++j) {
+          int originIndex = i;
+          int destinationIndex = j;
+          Runnable task = () -> {
+            if (!aborted.get()) {
+              responseListener.accept(route(transitData, originIndex, destinationIndex));
+            }
+          };
+
+          if (threadPool == null) {
+            task.run();
+          } else {
+            futures.add(threadPool.submit(task));
+          }
+        }
+      }
+      for (Future<?> future : futures) {
+        await(future);
+      }
+    } finally {
+      // The searches do not respond to interrupts, so the tasks are not cancelled. The tasks not
+      // started are skipped, and the running tasks are waited for, so the listener is not called
+      // after this method returns.
+      aborted.set(true);
+      futures.forEach(BatchRoutingWorker::awaitCompletion);
+    }
+  }
+
+  /* private methods */
+
+  /**
+   * The transit data is not created if there is no transit search, the transit search of each
+   * pair will return the same routing error as a single search.
+   */
+  @Nullable
+  private BatchTransitData createTransitData() {
+    var routeRequest = request.routeRequest();
+
+    if (
+      !routeRequest.journey().transit().enabled() ||
+      !serverContext.transitService().transitFeedCovers(routeRequest.dateTime())
+    ) {
+      return null;
+    }
+
+    return BatchTransitData.create(
+      request,
+      serverContext,
+      ServiceDateUtils.asStartOfService(routeRequest.dateTime(), zoneId),
+      RoutingWorker.createAdditionalSearchDays(
+        serverContext.raptorTuningParameters(),
+        zoneId,
+        routeRequest
+      )
+    );
+  }
+
+  private BatchRoutingResponse route(
+    @Nullable BatchTransitData transitData,
+    int originIndex,
+    int destinationIndex
+  ) {
+    var worker = new RoutingWorker(
+      serverContext,
+      request.routeRequest(originIndex, destinationIndex),
+      zoneId,
+      transitData == null ? null : transitData.input(originIndex, destinationIndex)
+    );
+    return new BatchRoutingResponse(originIndex, destinationIndex, worker.route());
+  }
+
+  private static void await(Future<?> future) {
+    try {
+      future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while routing the batch", e);
+    }
+  }
+
+  /**
+   * Wait for the task to complete, a failure is ignored.
+   */
+  private static void awaitCompletion(Future<?> task) {
+    try {
+      task.get();
+    } catch (ExecutionException ignore) {
+      // The first failure is reported by route()
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -11,6 +11,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.time.ServiceDateUtils;
 import org.opentripplanner.model.plan.Itinerary;
@@ -18,11 +20,13 @@ import org.opentripplanner.model.plan.PagingSearchWindowAdjuster;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.api.request.SearchParams;
 import org.opentripplanner.routing.algorithm.filterchain.ItineraryListFilterChain;
+import org.opentripplanner.routing.algorithm.filterchain.comparator.SortOrderComparator;
 import org.opentripplanner.routing.algorithm.mapping.RouteRequestToFilterChainMapper;
 import org.opentripplanner.routing.algorithm.mapping.RoutingResponseMapper;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.AdditionalSearchDays;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.FilterTransitWhenDirectModeIsEmpty;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.TransitRouter;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.TransitSearchInput;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.street.DirectFlexRouter;
 import org.opentripplanner.routing.algorithm.raptoradapter.router.street.DirectStreetRouter;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuningParameters;
@@ -62,10 +66,28 @@ public class RoutingWorker {
    */
   private final ZonedDateTime transitSearchTimeZero;
   private final AdditionalSearchDays additionalSearchDays;
+
+  @Nullable
+  private final TransitSearchInput transitSearchInput;
+
   private SearchParams raptorSearchParamsUsed = null;
   private Itinerary firstRemovedItinerary = null;
+  private Consumer<List<Itinerary>> partialResultListener = null;
 
   public RoutingWorker(OtpServerRequestContext serverContext, RouteRequest request, ZoneId zoneId) {
+    this(serverContext, request, zoneId, null);
+  }
+
+  /**
+   * @param transitSearchInput the transit data and access/egress to use in the transit search,
+   *                           if created before the search. See {@link TransitRouter}.
+   */
+  public RoutingWorker(
+    OtpServerRequestContext serverContext,
+    RouteRequest request,
+    ZoneId zoneId,
+    @Nullable TransitSearchInput transitSearchInput
+  ) {
     request.applyPageCursor();
     this.request = request;
     this.serverContext = serverContext;
@@ -82,6 +104,22 @@ public class RoutingWorker {
       );
     this.additionalSearchDays =
       createAdditionalSearchDays(serverContext.raptorTuningParameters(), zoneId, request);
+    this.transitSearchInput = transitSearchInput;
+  }
+
+  /**
+   * Route and pass the itineraries of the direct street, direct flex and transit search to the
+   * given listener as soon as each of the searches is done, before the complete result is
+   * filtered and returned. The itineraries passed to the listener are sorted, but not filtered or
+   * decorated (fares, alerts). Hence, they are not final, some of them may be removed from the
+   * result returned.
+   * <p>
+   * If {@link OTPFeature#ParallelRouting} is enabled the listener is called from the threads
+   * doing the searches, and it must be thread-safe.
+   */
+  public RoutingResponse route(Consumer<List<Itinerary>> partialResultListener) {
+    this.partialResultListener = partialResultListener;
+    return route();
   }
 
   public RoutingResponse route() {
@@ -178,6 +216,20 @@ public class RoutingWorker {
     );
   }
 
+  /**
+   * Sort the itineraries of one search and pass them to the partial result listener, if set. The
+   * itinerary filters are not applied, they flag and decorate the itineraries, and would change
+   * the final result.
+   */
+  private void publishPartialResult(List<Itinerary> result) {
+    if (partialResultListener == null || result.isEmpty()) {
+      return;
+    }
+    var itineraries = new ArrayList<>(result);
+    itineraries.sort(SortOrderComparator.comparator(request.itinerariesSortOrder()));
+    partialResultListener.accept(itineraries);
+  }
+
   private static double minBikeParkingDistance(RouteRequest request) {
     var modes = request.journey().modes();
     boolean hasBikePark = List
@@ -191,7 +243,7 @@ public class RoutingWorker {
     return minBikeParkingDistance;
   }
 
-  private static AdditionalSearchDays createAdditionalSearchDays(
+  static AdditionalSearchDays createAdditionalSearchDays(
     RaptorTuningParameters raptorTuningParameters,
     ZoneId zoneId,
     RouteRequest request
@@ -237,7 +289,9 @@ public class RoutingWorker {
   ) {
     debugTimingAggregator.startedDirectStreetRouter();
     try {
-      itineraries.addAll(DirectStreetRouter.route(serverContext, request));
+      var result = DirectStreetRouter.route(serverContext, request);
+      itineraries.addAll(result);
+      publishPartialResult(result);
     } catch (RoutingValidationException e) {
       routingErrors.addAll(e.getRoutingErrors());
     } finally {
@@ -255,7 +309,9 @@ public class RoutingWorker {
 
     debugTimingAggregator.startedDirectFlexRouter();
     try {
-      itineraries.addAll(DirectFlexRouter.route(serverContext, request, additionalSearchDays));
+      var result = DirectFlexRouter.route(serverContext, request, additionalSearchDays);
+      itineraries.addAll(result);
+      publishPartialResult(result);
     } catch (RoutingValidationException e) {
       routingErrors.addAll(e.getRoutingErrors());
     } finally {
@@ -271,10 +327,12 @@ public class RoutingWorker {
         serverContext,
         transitSearchTimeZero,
         additionalSearchDays,
-        debugTimingAggregator
+        debugTimingAggregator,
+        transitSearchInput
       );
       raptorSearchParamsUsed = transitResults.getSearchParams();
       itineraries.addAll(transitResults.getItineraries());
+      publishPartialResult(transitResults.getItineraries());
     } catch (RoutingValidationException e) {
       routingErrors.addAll(e.getRoutingErrors());
     } finally {
@@ -0,0 +1,128 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.DefaultAccessEgress;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RaptorRoutingRequestTransitData;
+import org.opentripplanner.routing.api.request.RouteBatchRequest;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.error.RoutingValidationException;
+import org.opentripplanner.routing.framework.DebugTimingAggregator;
+import org.opentripplanner.standalone.api.OtpServerRequestContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The transit data and access/egress of the transit searches of a batch request. The transit data
+ * is created once for the batch, and the access of each origin and the egress of each destination
+ * is searched once, not once for each origin-destination pair.
+ * <p>
+ * An origin or destination which can not be linked to the street network gets no access or
+ * egress. The routing error is reported by the direct street search of each pair.
+ */
+public class BatchTransitData {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BatchTransitData.class);
+
+  private final TransitLayer transitLayer;
+  private final RaptorRoutingRequestTransitData transitData;
+  private final List<Collection<DefaultAccessEgress>> accesses;
+  private final List<Collection<DefaultAccessEgress>> egresses;
+
+  private BatchTransitData(
+    TransitLayer transitLayer,
+    RaptorRoutingRequestTransitData transitData,
+    List<Collection<DefaultAccessEgress>> accesses,
+    List<Collection<DefaultAccessEgress>> egresses
+  ) {
+    this.transitLayer = transitLayer;
+    this.transitData = transitData;
+    this.accesses = accesses;
+    this.egresses = egresses;
+  }
+
+  public static BatchTransitData create(
+    RouteBatchRequest request,
+    OtpServerRequestContext serverContext,
+    ZonedDateTime transitSearchTimeZero,
+    AdditionalSearchDays additionalSearchDays
+  ) {
+    Function<RouteRequest, TransitRouter> routerFactory = routeRequest ->
+      new TransitRouter(
+        routeRequest,
+        serverContext,
+        transitSearchTimeZero,
+        additionalSearchDays,
+        new DebugTimingAggregator(),
+        null
+      );
+
+    var router = routerFactory.apply(request.routeRequest());
+    var transitLayer = router.transitLayer();
+    var transitData = router.createRequestTransitDataProvider(transitLayer);
+
+    var accesses = searchAccessEgress(request.origins(), false, request, routerFactory);
+    var egresses = searchAccessEgress(request.destinations(), true, request, routerFactory);
+
+    return new BatchTransitData(transitLayer, transitData, accesses, egresses);
+  }
+
+  public TransitSearchInput input(int originIndex, int destinationIndex) {
+    return new TransitSearchInput(
+      transitLayer,
+      transitData,
+      new AccessEgresses(accesses.get(originIndex), egresses.get(destinationIndex))
+    );
+  }
+
+  /* private methods */
+
+  private static List<Collection<DefaultAccessEgress>> searchAccessEgress(
+    List<GenericLocation> locations,
+    boolean isEgress,
+    RouteBatchRequest request,
+    Function<RouteRequest, TransitRouter> routerFactory
+  ) {
+    var tasks = new ArrayList<CompletableFuture<Collection<DefaultAccessEgress>>>();
+
+    for (GenericLocation location : locations) {
+      var routeRequest = request.routeRequest().clone();
+      routeRequest.setFrom(isEgress ? new GenericLocation(null, null) : location);
+      routeRequest.setTo(isEgress ? location : new GenericLocation(null, null));
+      var router = routerFactory.apply(routeRequest);
+
+      if (OTPFeature.ParallelRouting.isOn()) {
+        tasks.add(CompletableFuture.supplyAsync(() -> searchAccessEgress(router, isEgress)));
+      } else {
+        tasks.add(CompletableFuture.completedFuture(searchAccessEgress(router, isEgress)));
+      }
+    }
+
+    try {
+      return tasks.stream().map(CompletableFuture::join).toList();
+    } catch (CompletionException e) {
+      RoutingValidationException.unwrapAndRethrowCompletionException(e);
+      throw e;
+    }
+  }
+
+  private static Collection<DefaultAccessEgress> searchAccessEgress(
+    TransitRouter router,
+    boolean isEgress
+  ) {
+    try {
+      return router.getAccessOrEgress(isEgress);
+    } catch (RoutingValidationException e) {
+      LOG.debug("No {} for batch location: {}", isEgress ? "egress" : "access", e.getMessage());
+      return List.of();
+    }
+  }
+}
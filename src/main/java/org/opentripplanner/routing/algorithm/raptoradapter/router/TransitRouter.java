@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import javax.annotation.Nullable;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.raptor.RaptorService;
@@ -42,18 +43,23 @@ public class TransitRouter {
   private final ZonedDateTime transitSearchTimeZero;
   private final AdditionalSearchDays additionalSearchDays;
 
-  private TransitRouter(
+  @Nullable
+  private final TransitSearchInput input;
+
+  TransitRouter(
     RouteRequest request,
     OtpServerRequestContext serverContext,
     ZonedDateTime transitSearchTimeZero,
     AdditionalSearchDays additionalSearchDays,
-    DebugTimingAggregator debugTimingAggregator
+    DebugTimingAggregator debugTimingAggregator,
+    @Nullable TransitSearchInput input
   ) {
     this.request = request;
     this.serverContext = serverContext;
     this.transitSearchTimeZero = transitSearchTimeZero;
     this.additionalSearchDays = additionalSearchDays;
     this.debugTimingAggregator = debugTimingAggregator;
+    this.input = input;
   }
 
   public static TransitRouterResult route(
@@ -62,13 +68,37 @@ public class TransitRouter {
     ZonedDateTime transitSearchTimeZero,
     AdditionalSearchDays additionalSearchDays,
     DebugTimingAggregator debugTimingAggregator
+  ) {
+    return route(
+      request,
+      serverContext,
+      transitSearchTimeZero,
+      additionalSearchDays,
+      debugTimingAggregator,
+      null
+    );
+  }
+
+  /**
+   * Route with the transit data and access/egress of the given input, if not {@code null},
+   * instead of creating them for this search. A search with an input is part of a batch of
+   * searches run on the Raptor thread pool, so the Raptor search is not run in parallel.
+   */
+  public static TransitRouterResult route(
+    RouteRequest request,
+    OtpServerRequestContext serverContext,
+    ZonedDateTime transitSearchTimeZero,
+    AdditionalSearchDays additionalSearchDays,
+    DebugTimingAggregator debugTimingAggregator,
+    @Nullable TransitSearchInput input
   ) {
     var transitRouter = new TransitRouter(
       request,
       serverContext,
       transitSearchTimeZero,
       additionalSearchDays,
-      debugTimingAggregator
+      debugTimingAggregator,
+      input
     );
     return transitRouter.route();
   }
@@ -84,11 +114,11 @@ public class TransitRouter {
       );
     }
 
-    var transitLayer = request.preferences().transit().ignoreRealtimeUpdates()
-      ? serverContext.transitService().getTransitLayer()
-      : serverContext.transitService().getRealtimeTransitLayer();
+    var transitLayer = input == null ? transitLayer() : input.transitLayer();
 
-    var requestTransitDataProvider = createRequestTransitDataProvider(transitLayer);
+    var requestTransitDataProvider = input == null
+      ? createRequestTransitDataProvider(transitLayer)
+      : input.transitData();
 
     debugTimingAggregator.finishedPatternFiltering();
 
@@ -103,7 +133,7 @@ public class TransitRouter {
     var raptorRequest = RaptorRequestMapper.mapRequest(
       request,
       transitSearchTimeZero,
-      serverContext.raptorConfig().isMultiThreaded(),
+      input == null && serverContext.raptorConfig().isMultiThreaded(),
       accessEgresses.getAccesses(),
       accessEgresses.getEgresses(),
       serverContext.meterRegistry()
@@ -150,7 +180,36 @@ public class TransitRouter {
     return new TransitRouterResult(itineraries, transitResponse.requestUsed().searchParams());
   }
 
+  TransitLayer transitLayer() {
+    return request.preferences().transit().ignoreRealtimeUpdates()
+      ? serverContext.transitService().getTransitLayer()
+      : serverContext.transitService().getRealtimeTransitLayer();
+  }
+
+  /**
+   * Search for the access or the egress of the request only. The location at the other end of
+   * the request is not used, and may be unspecified.
+   */
+  Collection<DefaultAccessEgress> getAccessOrEgress(boolean isEgress) {
+    try (
+      var temporaryVertices = new TemporaryVerticesContainer(
+        serverContext.graph(),
+        request,
+        request.journey().access().mode(),
+        request.journey().egress().mode()
+      )
+    ) {
+      return getAccessEgresses(new AccessEgressMapper(), temporaryVertices, isEgress);
+    }
+  }
+
   private AccessEgresses getAccessEgresses() {
+    if (input != null) {
+      var accessEgresses = input.accessEgresses();
+      verifyAccessEgress(accessEgresses.getAccesses(), accessEgresses.getEgresses());
+      return accessEgresses;
+    }
+
     var accessEgressMapper = new AccessEgressMapper();
     var accessList = new ArrayList<DefaultAccessEgress>();
     var egressList = new ArrayList<DefaultAccessEgress>();
@@ -218,7 +277,8 @@ public class TransitRouter {
       streetRequest,
       serverContext.dataOverlayContext(accessRequest),
       isEgress,
-      accessRequest.preferences().street().maxAccessEgressDuration().valueOf(streetRequest.mode())
+      accessRequest.preferences().street().maxAccessEgressDuration().valueOf(streetRequest.mode()),
+      serverContext.graph().getNearbyStopCache()
     );
 
     var results = new ArrayList<>(accessEgressMapper.mapNearbyStops(nearbyStops, isEgress));
@@ -241,9 +301,7 @@ public class TransitRouter {
     return results;
   }
 
-  private RaptorRoutingRequestTransitData createRequestTransitDataProvider(
-    TransitLayer transitLayer
-  ) {
+  RaptorRoutingRequestTransitData createRequestTransitDataProvider(TransitLayer transitLayer) {
     return new RaptorRoutingRequestTransitData(
       transitLayer,
       transitSearchTimeZero,
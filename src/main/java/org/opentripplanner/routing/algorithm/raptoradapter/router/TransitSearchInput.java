@@ -0,0 +1,38 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router;
+
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RaptorRoutingRequestTransitData;
+
+/**
+ * The transit data and access/egress of a transit search, created before the search. This is
+ * used to share the transit data and the access/egress searches between the searches of a batch,
+ * see {@link BatchTransitData}.
+ */
+public class TransitSearchInput {
+
+  private final TransitLayer transitLayer;
+  private final RaptorRoutingRequestTransitData transitData;
+  private final AccessEgresses accessEgresses;
+
+  TransitSearchInput(
+    TransitLayer transitLayer,
+    RaptorRoutingRequestTransitData transitData,
+    AccessEgresses accessEgresses
+  ) {
+    this.transitLayer = transitLayer;
+    this.transitData = transitData;
+    this.accessEgresses = accessEgresses;
+  }
+
+  TransitLayer transitLayer() {
+    return transitLayer;
+  }
+
+  RaptorRoutingRequestTransitData transitData() {
+    return transitData;
+  }
+
+  AccessEgresses accessEgresses() {
+    return accessEgresses;
+  }
+}
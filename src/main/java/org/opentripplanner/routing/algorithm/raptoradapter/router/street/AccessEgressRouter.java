@@ -3,11 +3,15 @@ package org.opentripplanner.routing.algorithm.raptoradapter.router.street;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.opentripplanner.ext.dataoverlay.routing.DataOverlayContext;
+import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.graph_builder.module.NearbyStopFinder;
+import org.opentripplanner.model.GenericLocation;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.request.StreetRequest;
 import org.opentripplanner.routing.graphfinder.NearbyStop;
+import org.opentripplanner.routing.graphfinder.NearbyStopCache;
 import org.opentripplanner.street.search.TemporaryVerticesContainer;
 import org.opentripplanner.transit.service.TransitService;
 import org.slf4j.Logger;
@@ -25,9 +29,52 @@ public class AccessEgressRouter {
   /**
    * @param fromTarget whether to route from or towards the point provided in the routing request
    *                   (access or egress)
+   * @param cache      the result is cached here if possible, {@code null} to disable caching
    * @return Transfer objects by access/egress stop
    */
   public static Collection<NearbyStop> streetSearch(
+    RouteRequest request,
+    TemporaryVerticesContainer verticesContainer,
+    TransitService transitService,
+    StreetRequest streetRequest,
+    DataOverlayContext dataOverlayContext,
+    boolean fromTarget,
+    Duration durationLimit,
+    @Nullable NearbyStopCache cache
+  ) {
+    GenericLocation location = fromTarget ? request.to() : request.from();
+
+    if (cache == null || !isCacheable(location, streetRequest, dataOverlayContext)) {
+      return findNearbyStops(
+        request,
+        verticesContainer,
+        transitService,
+        streetRequest,
+        dataOverlayContext,
+        fromTarget,
+        durationLimit
+      );
+    }
+    return cache.get(
+      location,
+      request,
+      streetRequest,
+      fromTarget,
+      durationLimit,
+      () ->
+        findNearbyStops(
+          request,
+          verticesContainer,
+          transitService,
+          streetRequest,
+          dataOverlayContext,
+          fromTarget,
+          durationLimit
+        )
+    );
+  }
+
+  private static List<NearbyStop> findNearbyStops(
     RouteRequest request,
     TemporaryVerticesContainer verticesContainer,
     TransitService transitService,
@@ -53,4 +100,23 @@ public class AccessEgressRouter {
 
     return nearbyStopList;
   }
+
+  /**
+   * The street search can not be cached if it depends on the time of the request (the opening hours
+   * of parking facilities), data overlay or the transit filters used by the vehicle-to-stop
+   * heuristics.
+   */
+  private static boolean isCacheable(
+    GenericLocation location,
+    StreetRequest streetRequest,
+    DataOverlayContext dataOverlayContext
+  ) {
+    return (
+      location != null &&
+      location.isSpecified() &&
+      dataOverlayContext == null &&
+      !streetRequest.mode().includesParking() &&
+      OTPFeature.VehicleToStopHeuristics.isOff()
+    );
+  }
 }
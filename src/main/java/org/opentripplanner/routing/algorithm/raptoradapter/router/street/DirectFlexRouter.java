@@ -39,7 +39,8 @@ public class DirectFlexRouter {
         request.journey().direct(),
         serverContext.dataOverlayContext(request),
         false,
-        serverContext.flexConfig().maxAccessWalkDuration()
+        serverContext.flexConfig().maxAccessWalkDuration(),
+        serverContext.graph().getNearbyStopCache()
       );
       Collection<NearbyStop> egressStops = AccessEgressRouter.streetSearch(
         request,
@@ -48,7 +49,8 @@ public class DirectFlexRouter {
         request.journey().direct(),
         serverContext.dataOverlayContext(request),
         true,
-        serverContext.flexConfig().maxEgressWalkDuration()
+        serverContext.flexConfig().maxEgressWalkDuration(),
+        serverContext.graph().getNearbyStopCache()
       );
 
       FlexRouter flexRouter = new FlexRouter(
@@ -41,7 +41,8 @@ public class DirectStreetRouter {
       GraphPathFinder gpFinder = new GraphPathFinder(
         serverContext.traverseVisitor(),
         serverContext.streetRoutingTimeout(),
-        serverContext.dataOverlayContext(request)
+        serverContext.dataOverlayContext(request),
+        serverContext.graph().getStreetLandmarks()
       );
       List<GraphPath<State, Edge, Vertex>> paths = gpFinder.graphPathFinderEntryPoint(
         directRequest,
@@ -38,7 +38,8 @@ public class FlexAccessEgressRouter {
         new StreetRequest(StreetMode.WALK),
         dataOverlayContext,
         false,
-        serverContext.flexConfig().maxAccessWalkDuration()
+        serverContext.flexConfig().maxAccessWalkDuration(),
+        serverContext.graph().getNearbyStopCache()
       )
       : List.of();
 
@@ -50,7 +51,8 @@ public class FlexAccessEgressRouter {
         new StreetRequest(StreetMode.WALK),
         dataOverlayContext,
         true,
-        serverContext.flexConfig().maxEgressWalkDuration()
+        serverContext.flexConfig().maxEgressWalkDuration(),
+        serverContext.graph().getNearbyStopCache()
       )
       : List.of();
 
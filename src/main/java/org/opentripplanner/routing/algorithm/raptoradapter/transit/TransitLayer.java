@@ -4,16 +4,17 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
+import org.opentripplanner.framework.collection.PersistentHashMap;
 import org.opentripplanner.model.transfer.TransferService;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtransfer.ConstrainedTransfersForPatterns;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtransfer.TransferForPatternByStopPos;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.constrainedtransfer.TransferIndexGenerator;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.RaptorRequestTransferCache;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.request.TripPatternForDatesCache;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.service.StopModel;
@@ -23,8 +24,12 @@ public class TransitLayer {
   /**
    * Transit data required for routing, indexed by each local date(Graph TimeZone) it runs through.
    * A Trip "runs through" a date if any of its arrivals or departures is happening on that date.
+   * <p>
+   * The map and the collections are immutable, so a copy of the transit layer shares them with the
+   * original. The {@link #replaceTripPatternsForDate(LocalDate, Collection)} creates a new version
+   * of the map, sharing all untouched dates.
    */
-  private final HashMap<LocalDate, List<TripPatternForDate>> tripPatternsRunningOnDate;
+  private PersistentHashMap<LocalDate, Collection<TripPatternForDate>> tripPatternsRunningOnDate;
 
   /**
    * Index of outer list is from stop index, inner list index has no specific meaning. To stop index
@@ -50,9 +55,15 @@ public class TransitLayer {
   private final int[] stopBoardAlightCosts;
 
   /**
-   * Makes a shallow copy of the TransitLayer, except for the tripPatternsForDate, where a shallow
-   * copy of the HashMap is made. This is sufficient, as the TransitLayerUpdater will replace entire
-   * keys and their values in the map.
+   * The trip patterns merged for a range of search days. The cache is NOT copied to a new transit
+   * layer, the new layer start with an empty cache.
+   */
+  private final TripPatternForDatesCache tripPatternForDatesCache;
+
+  /**
+   * Makes a shallow copy of the TransitLayer. The tripPatternsForDate map is persistent, so the copy
+   * and the original share it until the TransitLayerUpdater replace the trip patterns for a date in
+   * the copy. This makes the copy O(1). The {@link TripPatternForDatesCache} is not copied.
    */
   public TransitLayer(TransitLayer transitLayer) {
     this(
@@ -79,7 +90,31 @@ public class TransitLayer {
     TransferIndexGenerator transferIndexGenerator,
     int[] stopBoardAlightCosts
   ) {
-    this.tripPatternsRunningOnDate = new HashMap<>(tripPatternsRunningOnDate);
+    this(
+      toPersistentMap(tripPatternsRunningOnDate),
+      transfersByStopIndex,
+      transferService,
+      stopModel,
+      transitDataZoneId,
+      transferCache,
+      constrainedTransfers,
+      transferIndexGenerator,
+      stopBoardAlightCosts
+    );
+  }
+
+  private TransitLayer(
+    PersistentHashMap<LocalDate, Collection<TripPatternForDate>> tripPatternsRunningOnDate,
+    List<List<Transfer>> transfersByStopIndex,
+    TransferService transferService,
+    StopModel stopModel,
+    ZoneId transitDataZoneId,
+    RaptorRequestTransferCache transferCache,
+    ConstrainedTransfersForPatterns constrainedTransfers,
+    TransferIndexGenerator transferIndexGenerator,
+    int[] stopBoardAlightCosts
+  ) {
+    this.tripPatternsRunningOnDate = tripPatternsRunningOnDate;
     this.transfersByStopIndex = transfersByStopIndex;
     this.transferService = transferService;
     this.stopModel = stopModel;
@@ -88,6 +123,7 @@ public class TransitLayer {
     this.constrainedTransfers = constrainedTransfers;
     this.transferIndexGenerator = transferIndexGenerator;
     this.stopBoardAlightCosts = stopBoardAlightCosts;
+    this.tripPatternForDatesCache = new TripPatternForDatesCache(this);
   }
 
   @Nullable
@@ -96,7 +132,8 @@ public class TransitLayer {
   }
 
   public Collection<TripPatternForDate> getTripPatternsForDate(LocalDate date) {
-    return tripPatternsRunningOnDate.getOrDefault(date, List.of());
+    var tripPatterns = tripPatternsRunningOnDate.get(date);
+    return tripPatterns == null ? List.of() : tripPatterns;
   }
 
   /**
@@ -114,7 +151,7 @@ public class TransitLayer {
   }
 
   public List<TripPatternForDate> getTripPatternsRunningOnDateCopy(LocalDate runningPeriodDate) {
-    List<TripPatternForDate> tripPatternForDate = tripPatternsRunningOnDate.get(runningPeriodDate);
+    var tripPatternForDate = tripPatternsRunningOnDate.get(runningPeriodDate);
     return tripPatternForDate != null ? new ArrayList<>(tripPatternForDate) : new ArrayList<>();
   }
 
@@ -146,6 +183,10 @@ public class TransitLayer {
     return constrainedTransfers != null ? constrainedTransfers.reverse() : null;
   }
 
+  public TripPatternForDatesCache getTripPatternForDatesCache() {
+    return tripPatternForDatesCache;
+  }
+
   public TransferIndexGenerator getTransferIndexGenerator() {
     return transferIndexGenerator;
   }
@@ -155,17 +196,34 @@ public class TransitLayer {
   }
 
   /**
-   * Replaces all the TripPatternForDates for a single date. This is an atomic operation according
-   * to the HashMap implementation.
+   * Replaces all the TripPatternForDates for a single date, if the date exist. The given collection
+   * must not be modified after this call. Only the path to the given date in the persistent map is
+   * copied, all other dates are shared with the transit layer this instance was copied from. The
+   * {@link TripPatternForDatesCache} is invalidated.
+   * <p>
+   * This must only be called before the transit layer is published.
    */
   public void replaceTripPatternsForDate(
     LocalDate date,
-    List<TripPatternForDate> tripPatternForDates
+    Collection<TripPatternForDate> tripPatternForDates
   ) {
-    this.tripPatternsRunningOnDate.replace(date, tripPatternForDates);
+    if (tripPatternsRunningOnDate.containsKey(date)) {
+      this.tripPatternsRunningOnDate = tripPatternsRunningOnDate.put(date, tripPatternForDates);
+      this.tripPatternForDatesCache.invalidate();
+    }
   }
 
   public void setConstrainedTransfers(ConstrainedTransfersForPatterns constrainedTransfers) {
     this.constrainedTransfers = constrainedTransfers;
   }
+
+  private static PersistentHashMap<LocalDate, Collection<TripPatternForDate>> toPersistentMap(
+    Map<LocalDate, List<TripPatternForDate>> tripPatternsRunningOnDate
+  ) {
+    PersistentHashMap<LocalDate, Collection<TripPatternForDate>> map = PersistentHashMap.empty();
+    for (var e : tripPatternsRunningOnDate.entrySet()) {
+      map = map.put(e.getKey(), List.copyOf(e.getValue()));
+    }
+    return map;
+  }
 }
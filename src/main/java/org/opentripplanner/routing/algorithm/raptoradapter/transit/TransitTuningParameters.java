@@ -46,6 +46,11 @@ public interface TransitTuningParameters {
       return 5;
     }
 
+    @Override
+    public int accessEgressCacheMaxSize() {
+      return 0;
+    }
+
     @Override
     public List<Duration> pagingSearchWindowAdjustments() {
       return PAGING_SEARCH_WINDOW_ADJUSTMENTS;
@@ -71,6 +76,14 @@ public interface TransitTuningParameters {
    */
   int transferCacheMaxSize();
 
+  /**
+   * The maximum number of access/egress street search results to cache. The cache is disabled if
+   * zero.
+   *
+   * @see org.opentripplanner.routing.graphfinder.NearbyStopCache
+   */
+  int accessEgressCacheMaxSize();
+
   /**
    * This parameter is used to reduce the number of pages a client have to step through for a
    * journey where there are few alternatives/low frequency. This also work well to adjust for
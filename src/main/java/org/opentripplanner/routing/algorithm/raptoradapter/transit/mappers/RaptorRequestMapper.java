@@ -1,6 +1,7 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers;
 
 import static org.opentripplanner.raptor.api.request.Optimization.PARALLEL;
+import static org.opentripplanner.raptor.api.request.Optimization.PARALLEL_SEARCH_WINDOW;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
@@ -107,7 +108,7 @@ public class RaptorRequestMapper {
       .ifPresent(searchParams::relaxCostAtDestination);
 
     for (Optimization optimization : preferences.transit().raptor().optimizations()) {
-      if (optimization.is(PARALLEL)) {
+      if (optimization.is(PARALLEL) || optimization.is(PARALLEL_SEARCH_WINDOW)) {
         if (isMultiThreadedEnbled) {
           builder.enableOptimization(optimization);
         }
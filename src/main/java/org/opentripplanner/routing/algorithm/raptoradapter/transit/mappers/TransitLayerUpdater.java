@@ -4,7 +4,6 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
 import gnu.trove.set.TIntSet;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -13,6 +12,7 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.stream.Collectors;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.collection.PersistentHashMap;
 import org.opentripplanner.model.Timetable;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
@@ -25,11 +25,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Update the TransitLayer from a set of TimeTables. A shallow copy is made of the TransitLayer
- * (this also includes a shallow copy of the TripPatternsForDate map). TripPatterns are matched on
- * id and replaced by their updated versions. The realtime TransitLayer is then switched out with
- * the updated copy in an atomic operation. This ensures that any TransitLayer that is referenced
- * from the Graph is never changed.
+ * Update the TransitLayer from a set of TimeTables. A shallow copy is made of the TransitLayer,
+ * the TripPatternsForDate map is persistent and shared with the copy. TripPatterns are matched on
+ * id and replaced by their updated versions. Only the dates where a TripPatternForDate is
+ * changed get a new version, and the new version share all unchanged entries with the previous
+ * version. The new version is published as a key set view, without copying it - so the cost of an
+ * update is proportional to the number of changes, not the size of the transit layer. The realtime
+ * TransitLayer is then switched out with the updated copy in an atomic operation. This ensures
+ * that any TransitLayer that is referenced from the Graph is never changed.
  */
 public class TransitLayerUpdater {
 
@@ -51,7 +54,12 @@ public class TransitLayerUpdater {
    */
   private final Map<TripIdAndServiceDate, TripPatternForDate> tripPatternsForTripIdAndServiceDateCache = new HashMap<>();
 
-  private final Map<LocalDate, Set<TripPatternForDate>> tripPatternsRunningOnDateMapCache = new HashMap<>();
+  /**
+   * The current version of the trip patterns running on each date. Each set is a persistent map
+   * with every pattern mapped to itself. The key set view is published in the transit layer
+   * without copying it, a version is never changed.
+   */
+  private final Map<LocalDate, PersistentHashMap<TripPatternForDate, TripPatternForDate>> tripPatternsRunningOnDateMapCache = new HashMap<>();
 
   public TransitLayerUpdater(
     TransitModel transitModel,
@@ -153,13 +161,12 @@ public class TransitLayerUpdater {
     // Now loop through all running period dates of old and new TripPatternsForDate and update
     // the tripPatternsByRunningPeriodDate accordingly
     for (LocalDate date : datesToBeUpdated) {
-      tripPatternsRunningOnDateMapCache.computeIfAbsent(
+      var patternsForDate = tripPatternsRunningOnDateMapCache.computeIfAbsent(
         date,
-        p -> new HashSet<>(realtimeTransitLayer.getTripPatternsRunningOnDateCopy(date))
+        p -> toPersistentSet(realtimeTransitLayer.getTripPatternsForDate(date))
       );
 
       // Remove old cached tripPatterns where tripTimes are no longer running
-      Set<TripPatternForDate> patternsForDate = tripPatternsRunningOnDateMapCache.get(date);
 
       for (Map.Entry<TripPattern, Collection<TripPatternForDate>> entry : oldTripPatternsForDate
         .asMap()
@@ -168,7 +175,7 @@ public class TransitLayerUpdater {
           // Remove old TripPatternForDate for this date if it was valid on this date
           if (oldTripPatternForDate != null) {
             if (oldTripPatternForDate.getRunningPeriodDates().contains(date)) {
-              patternsForDate.remove(oldTripPatternForDate);
+              patternsForDate = patternsForDate.remove(oldTripPatternForDate);
             }
           }
         }
@@ -190,7 +197,7 @@ public class TransitLayerUpdater {
               .orElse(false);
 
             if (toRemove) {
-              patternsForDate.remove(tripPatternForDate);
+              patternsForDate = patternsForDate.remove(tripPatternForDate);
             }
           } else {
             LOG.warn("Could not fetch timetable for {}", pattern);
@@ -205,13 +212,14 @@ public class TransitLayerUpdater {
           // Add new TripPatternForDate for this date if it mapped correctly and is valid on this date
           if (newTripPatternForDate != null) {
             if (newTripPatternForDate.getRunningPeriodDates().contains(date)) {
-              patternsForDate.add(newTripPatternForDate);
+              patternsForDate = patternsForDate.put(newTripPatternForDate, newTripPatternForDate);
             }
           }
         }
       }
 
-      realtimeTransitLayer.replaceTripPatternsForDate(date, new ArrayList<>(patternsForDate));
+      tripPatternsRunningOnDateMapCache.put(date, patternsForDate);
+      realtimeTransitLayer.replaceTripPatternsForDate(date, patternsForDate.keySet());
     }
 
     if (transferIndexGenerator != null) {
@@ -228,4 +236,14 @@ public class TransitLayerUpdater {
       System.currentTimeMillis() - startTime
     );
   }
+
+  private static PersistentHashMap<TripPatternForDate, TripPatternForDate> toPersistentSet(
+    Collection<TripPatternForDate> tripPatterns
+  ) {
+    PersistentHashMap<TripPatternForDate, TripPatternForDate> set = PersistentHashMap.empty();
+    for (TripPatternForDate it : tripPatterns) {
+      set = set.put(it, it);
+    }
+    return set;
+  }
 }
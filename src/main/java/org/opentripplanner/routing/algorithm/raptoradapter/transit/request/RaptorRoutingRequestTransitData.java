@@ -43,10 +43,18 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
   private final TransferService transferService;
 
   /**
-   * Active route indices by stop index
+   * Route indices by stop index. This is shared between requests and NOT filtered, use the
+   * {@link #activeTripPatterns} to filter it.
    */
   private final List<int[]> activeTripPatternsPerStop;
 
+  /**
+   * The route indices of all trip patterns included by the request filter, {@code null} if all
+   * patterns in {@link #activeTripPatternsPerStop} are included.
+   */
+  @Nullable
+  private final BitSet activeTripPatterns;
+
   /**
    * Trip patterns by route index
    */
@@ -83,6 +91,12 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
     this.transitLayer = transitLayer;
     this.transitSearchTimeZero = transitSearchTimeZero;
 
+    // The merged trip patterns for the search days are shared between requests, only the
+    // request specific filtering is done here.
+    var tripPatternsForSearchDays = transitLayer
+      .getTripPatternForDatesCache()
+      .get(transitSearchTimeZero, additionalPastSearchDays, additionalFutureSearchDays);
+
     // Delegate to the creator to construct the needed data structures. The code is messy so
     // it is nice to NOT have it in the class. It isolate this code to only be available at
     // the time of construction
@@ -90,13 +104,16 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
       transitLayer,
       transitSearchTimeZero
     );
-    List<TripPatternForDates> tripPatterns = transitDataCreator.createTripPatterns(
-      additionalPastSearchDays,
-      additionalFutureSearchDays,
+    List<TripPatternForDates> tripPatterns = RaptorRoutingRequestTransitDataCreator.filterTripPatterns(
+      tripPatternsForSearchDays,
       filter
     );
     this.patternIndex = transitDataCreator.createPatternIndex(tripPatterns);
-    this.activeTripPatternsPerStop = transitDataCreator.createTripPatternsPerStop(tripPatterns);
+    this.activeTripPatternsPerStop = tripPatternsForSearchDays.tripPatternsPerStop();
+    this.activeTripPatterns =
+      tripPatterns.size() == tripPatternsForSearchDays.numberOfTripPatterns()
+        ? null
+        : transitDataCreator.createActiveTripPatterns(tripPatterns);
     this.transferIndex = transitLayer.getRaptorTransfersForRequest(request);
 
     this.forwardConstrainedTransfers = transitLayer.getForwardConstrainedTransfers();
@@ -150,6 +167,9 @@ public class RaptorRoutingRequestTransitData implements RaptorTransitDataProvide
         activeTripPatternsForGivenStops.set(i);
       }
     }
+    if (activeTripPatterns != null) {
+      activeTripPatternsForGivenStops.and(activeTripPatterns);
+    }
 
     return new BitSetIterator(activeTripPatternsForGivenStops);
   }
@@ -9,11 +9,13 @@ import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 import org.opentripplanner.framework.time.DurationUtils;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
@@ -82,16 +84,27 @@ class RaptorRoutingRequestTransitDataCreator {
     return Arrays.asList(result);
   }
 
+  public BitSet createActiveTripPatterns(List<TripPatternForDates> tripPatterns) {
+    BitSet result = new BitSet(RoutingTripPattern.indexCounter());
+    for (var pattern : tripPatterns) {
+      result.set(pattern.getTripPattern().patternIndex());
+    }
+    return result;
+  }
+
   /**
    * This method merges several list of TripPatterns for several consecutive dates into a single
    * list of TripPatternsForDates. The purpose of doing this is so that TripSchedules for several
    * dates are combined by TripPattern instead of having their own TripPattern. This is to improve
    * performance for searching, as each TripPattern is searched only once per round.
+   * <p>
+   * The boarding and alighting restrictions are the default restrictions of the TripPattern, the
+   * request specific restrictions are applied in {@link #filterTripPatterns(TripPatternsForSearchDays,
+   * TransitDataProviderFilter)}.
    */
   static List<TripPatternForDates> merge(
     ZonedDateTime transitSearchTimeZero,
-    List<TripPatternForDate> patternForDateList,
-    TransitDataProviderFilter filter
+    List<TripPatternForDate> patternForDateList
   ) {
     // Group TripPatternForDate objects by TripPattern.
     // This is done in a loop to increase performance.
@@ -135,8 +148,8 @@ class RaptorRoutingRequestTransitDataCreator {
           tripPattern,
           patternsSorted,
           offsets,
-          filter.filterAvailableStops(tripPattern, tripPattern.getBoardingPossible()),
-          filter.filterAvailableStops(tripPattern, tripPattern.getAlightingPossible())
+          tripPattern.getBoardingPossible(),
+          tripPattern.getAlightingPossible()
         )
       );
     }
@@ -144,48 +157,185 @@ class RaptorRoutingRequestTransitDataCreator {
     return combinedList;
   }
 
-  List<TripPatternForDates> createTripPatterns(
+  /**
+   * Create the merged trip patterns for the search days, without applying any request filters.
+   * The result is cached and shared between requests, see {@link TripPatternForDatesCache}.
+   */
+  TripPatternsForSearchDays createTripPatternsForSearchDays(
     int additionalPastSearchDays,
-    int additionalFutureSearchDays,
-    TransitDataProviderFilter filter
+    int additionalFutureSearchDays
   ) {
     List<TripPatternForDate> tripPatternForDates = getTripPatternsForDateRange(
       additionalPastSearchDays,
-      additionalFutureSearchDays,
-      filter
+      additionalFutureSearchDays
+    );
+    List<TripPatternForDates> tripPatterns = merge(transitSearchTimeZero, tripPatternForDates);
+    return new TripPatternsForSearchDays(
+      tripPatterns,
+      createPatternIndex(tripPatterns),
+      createTripPatternsPerStop(tripPatterns)
     );
+  }
 
-    return merge(transitSearchTimeZero, tripPatternForDates, filter);
+  /**
+   * Apply the request filter to the shared, unfiltered trip patterns. Trip patterns which are not
+   * changed by the filter are reused, only patterns where one or more trips are removed are
+   * merged again. Patterns where only the boarding/alighting restrictions change share the
+   * timetable with the unfiltered pattern.
+   * <p>
+   * The pattern filter and the trip attribute filters are computed as bitwise operations on the
+   * precomputed sets in {@link TripPatternAttributeIndex} and {@link TripPatternForDates}. The
+   * trip times predicate is only evaluated for each trip if the filter require it, or if the
+   * pattern is frequency based.
+   */
+  static List<TripPatternForDates> filterTripPatterns(
+    TripPatternsForSearchDays tripPatternsForSearchDays,
+    TransitDataProviderFilter filter
+  ) {
+    Predicate<TripTimes> tripTimesWithSubmodesPredicate = tripTimes ->
+      filter.tripTimesPredicate(tripTimes, filter.hasSubModeFilters());
+    Predicate<TripTimes> tripTimesWithoutSubmodesPredicate = tripTimes ->
+      filter.tripTimesPredicate(tripTimes, false);
+
+    BitSet includedPatterns = filter.filterTripPatterns(
+      tripPatternsForSearchDays.attributeIndex()
+    );
+    List<TripPatternForDates> result = new ArrayList<>(includedPatterns.cardinality());
+
+    for (TripPatternForDates patternForDates : tripPatternsForSearchDays.tripPatterns()) {
+      if (!includedPatterns.get(patternForDates.patternIndex())) {
+        continue;
+      }
+      final RoutingTripPattern tripPattern = patternForDates.getTripPattern();
+      boolean withSubModeFilters =
+        filter.hasSubModeFilters() && tripPattern.getPattern().getContainsMultipleModes();
+
+      // Frequency based trips are not part of the precomputed trip attributes
+      boolean frequencyBased = patternForDates.useCustomizedTripSearch();
+      BitSet includedTrips = frequencyBased ? null : filter.filterTrips(patternForDates);
+
+      Predicate<TripTimes> tripTimesPredicate = null;
+      if (frequencyBased || filter.requireTripTimesPredicate(withSubModeFilters)) {
+        tripTimesPredicate =
+          withSubModeFilters ? tripTimesWithSubmodesPredicate : tripTimesWithoutSubmodesPredicate;
+      }
+
+      final int nDates = patternForDates.numberOfTripPatternForDates();
+      List<TripPatternForDate> filteredDates = new ArrayList<>(nDates);
+      TIntArrayList filteredOffsets = new TIntArrayList(nDates);
+      boolean tripsRemoved = false;
+      int firstTripIndex = 0;
+
+      for (int i = 0; i < nDates; ++i) {
+        TripPatternForDate it = patternForDates.tripPatternForDate(i);
+        TripPatternForDate filtered = filterTrips(
+          it,
+          includedTrips,
+          firstTripIndex,
+          tripTimesPredicate
+        );
+        firstTripIndex += it.numberOfTripSchedules();
+
+        if (filtered != it) {
+          tripsRemoved = true;
+        }
+        if (filtered != null) {
+          filteredDates.add(filtered);
+          filteredOffsets.add(patternForDates.tripPatternForDateOffsets(i));
+        }
+      }
+
+      BitSet boardingPossible = filter.filterAvailableStops(
+        tripPattern,
+        tripPattern.getBoardingPossible()
+      );
+      BitSet alightingPossible = filter.filterAvailableStops(
+        tripPattern,
+        tripPattern.getAlightingPossible()
+      );
+
+      if (!tripsRemoved) {
+        result.add(patternForDates.newWithFilteredStops(boardingPossible, alightingPossible));
+      } else if (!filteredDates.isEmpty()) {
+        result.add(
+          new TripPatternForDates(
+            tripPattern,
+            filteredDates.toArray(new TripPatternForDate[0]),
+            filteredOffsets.toArray(),
+            boardingPossible,
+            alightingPossible
+          )
+        );
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Filter the trips for one date. The {@code includedTrips} is indexed by the trip index in the
+   * merged pattern, the trips for the given date start at {@code firstTripIndex}. The predicate
+   * is optional, and evaluated for the trips included by the bitset.
+   *
+   * @return the given {@code tripPatternForDate} if no trips are removed, and {@code null} if
+   * all trips are removed.
+   */
+  @Nullable
+  private static TripPatternForDate filterTrips(
+    TripPatternForDate tripPatternForDate,
+    @Nullable BitSet includedTrips,
+    int firstTripIndex,
+    @Nullable Predicate<TripTimes> tripTimesPredicate
+  ) {
+    if (includedTrips == null) {
+      return tripTimesPredicate == null
+        ? tripPatternForDate
+        : tripPatternForDate.newWithFilteredTripTimes(tripTimesPredicate);
+    }
+
+    final int nTrips = tripPatternForDate.numberOfTripSchedules();
+    final int end = firstTripIndex + nTrips;
+
+    if (includedTrips.nextClearBit(firstTripIndex) >= end) {
+      // All trips are included by the precomputed attributes
+      return filterTrips(tripPatternForDate, null, firstTripIndex, tripTimesPredicate);
+    }
+
+    List<TripTimes> tripTimes = new ArrayList<>(nTrips);
+    for (
+      int i = includedTrips.nextSetBit(firstTripIndex);
+      i >= 0 && i < end;
+      i = includedTrips.nextSetBit(i + 1)
+    ) {
+      TripTimes it = tripPatternForDate.getTripTimes(i - firstTripIndex);
+      if (tripTimesPredicate == null || tripTimesPredicate.test(it)) {
+        tripTimes.add(it);
+      }
+    }
+    if (tripTimes.isEmpty()) {
+      return null;
+    }
+    return new TripPatternForDate(
+      tripPatternForDate.getTripPattern(),
+      tripTimes,
+      List.of(),
+      tripPatternForDate.getLocalDate()
+    );
   }
 
   private static List<TripPatternForDate> filterActiveTripPatterns(
     TransitLayer transitLayer,
     LocalDate date,
-    boolean firstDay,
-    TransitDataProviderFilter filter
+    boolean firstDay
   ) {
     // On the first search day we want to add both TripPatternsForDate objects that start that day
     // and any previous day, while on subsequent search days we only want to add the
     // TripPatternForDate objects that start on that particular day. This is to prevent duplicates.
     // This was previously a stream, but was unrolled for improved performance.
-
-    Predicate<TripTimes> tripTimesWithSubmodesPredicate = tripTimes ->
-      filter.tripTimesPredicate(tripTimes, filter.hasSubModeFilters());
-    Predicate<TripTimes> tripTimesWithoutSubmodesPredicate = tripTimes ->
-      filter.tripTimesPredicate(tripTimes, false);
     Collection<TripPatternForDate> tripPatternsForDate = transitLayer.getTripPatternsForDate(date);
     List<TripPatternForDate> result = new ArrayList<>(tripPatternsForDate.size());
     for (TripPatternForDate p : tripPatternsForDate) {
       if (firstDay || p.getStartOfRunningPeriod().equals(date)) {
-        if (filter.tripPatternPredicate(p)) {
-          var tripTimesPredicate = p.getTripPattern().getPattern().getContainsMultipleModes()
-            ? tripTimesWithSubmodesPredicate
-            : tripTimesWithoutSubmodesPredicate;
-          TripPatternForDate tripPatternForDate = p.newWithFilteredTripTimes(tripTimesPredicate);
-          if (tripPatternForDate != null) {
-            result.add(tripPatternForDate);
-          }
-        }
+        result.add(p);
       }
     }
     return result;
@@ -193,8 +343,7 @@ class RaptorRoutingRequestTransitDataCreator {
 
   private List<TripPatternForDate> getTripPatternsForDateRange(
     int additionalPastSearchDays,
-    int additionalFutureSearchDays,
-    TransitDataProviderFilter filter
+    int additionalFutureSearchDays
   ) {
     List<TripPatternForDate> tripPatternForDates = new ArrayList<>();
     long start = System.currentTimeMillis();
@@ -202,7 +351,7 @@ class RaptorRoutingRequestTransitDataCreator {
     // This filters trips by the search date as well as additional dates before and after
     for (int d = -additionalPastSearchDays; d <= additionalFutureSearchDays; ++d) {
       tripPatternForDates.addAll(
-        filterActiveTripPatterns(transitLayer, departureDate.plusDays(d), d == 0, filter)
+        filterActiveTripPatterns(transitLayer, departureDate.plusDays(d), d == 0)
       );
     }
 
@@ -3,6 +3,7 @@ package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.StreetMode;
@@ -142,6 +143,53 @@ public class RouteRequestTransitDataProviderFilter implements TransitDataProvide
     return true;
   }
 
+  @Override
+  public BitSet filterTripPatterns(TripPatternAttributeIndex index) {
+    return index.matchAny(filters);
+  }
+
+  @Override
+  @Nullable
+  public BitSet filterTrips(TripPatternForDates tripPattern) {
+    boolean wheelchairAccessibleOnly =
+      wheelchairEnabled && wheelchairPreferences.trip().onlyConsiderAccessible();
+
+    if (
+      !requireBikesAllowed &&
+      !wheelchairAccessibleOnly &&
+      includePlannedCancellations &&
+      includeRealtimeCancellations
+    ) {
+      return null;
+    }
+
+    BitSet trips = new BitSet(tripPattern.numberOfTripSchedules());
+    trips.set(0, tripPattern.numberOfTripSchedules());
+
+    if (requireBikesAllowed) {
+      trips.and(tripPattern.bikesAllowedTrips());
+    }
+    if (wheelchairAccessibleOnly) {
+      trips.and(tripPattern.wheelchairAccessibleTrips());
+    }
+    if (!includePlannedCancellations) {
+      trips.andNot(tripPattern.plannedCancellations());
+    }
+    if (!includeRealtimeCancellations) {
+      trips.andNot(tripPattern.realtimeCancellations());
+    }
+    return trips;
+  }
+
+  /**
+   * Banned trips and sub-mode filters are not part of the precomputed trip attributes, so the
+   * trip times predicate is only needed if any of these are used.
+   */
+  @Override
+  public boolean requireTripTimesPredicate(boolean withFilters) {
+    return !bannedTrips.isEmpty() || withFilters;
+  }
+
   @Override
   public BitSet filterAvailableStops(RoutingTripPattern tripPattern, BitSet boardingPossible) {
     // if the user wants wheelchair-accessible routes and the configuration requires us to only
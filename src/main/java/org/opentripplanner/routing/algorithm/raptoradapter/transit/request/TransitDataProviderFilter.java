@@ -1,6 +1,7 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
 import java.util.BitSet;
+import javax.annotation.Nullable;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
 import org.opentripplanner.transit.model.network.RoutingTripPattern;
 import org.opentripplanner.transit.model.timetable.TripTimes;
@@ -22,6 +23,34 @@ public interface TransitDataProviderFilter {
 
   boolean tripTimesPredicate(TripTimes tripTimes, boolean withFilters);
 
+  /**
+   * Return the trip patterns allowed by this filter as a set of pattern indexes. The default
+   * implementation evaluates the {@link #tripPatternPredicate(TripPatternForDate)} for each
+   * pattern, implementations should use the precomputed sets in the index if possible.
+   */
+  default BitSet filterTripPatterns(TripPatternAttributeIndex index) {
+    return index.matchPredicate(this::tripPatternPredicate);
+  }
+
+  /**
+   * Return the trips allowed by this filter as a set of trip indexes, using the precomputed trip
+   * attributes in the given pattern. {@code null} is returned if all trips are allowed. This does
+   * not need to include checks which can not be done with the precomputed attributes, if so the
+   * {@link #requireTripTimesPredicate(boolean)} must return {@code true}.
+   */
+  @Nullable
+  default BitSet filterTrips(TripPatternForDates tripPattern) {
+    return null;
+  }
+
+  /**
+   * Return {@code true} if the {@link #tripTimesPredicate(TripTimes, boolean)} must be evaluated
+   * for each trip, in addition to the {@link #filterTrips(TripPatternForDates)}.
+   */
+  default boolean requireTripTimesPredicate(boolean withFilters) {
+    return true;
+  }
+
   /**
    * Check if boarding/alighting is possible at each stop. If the values differ from the default
    * input values, create a clone of the bitset and subtract the unavailable stops.
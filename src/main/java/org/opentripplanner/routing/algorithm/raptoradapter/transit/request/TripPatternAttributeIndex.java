@@ -0,0 +1,166 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
+import org.opentripplanner.routing.api.request.request.filter.AllowAllTransitFilter;
+import org.opentripplanner.routing.api.request.request.filter.SelectRequest;
+import org.opentripplanner.routing.api.request.request.filter.TransitFilter;
+import org.opentripplanner.routing.api.request.request.filter.TransitFilterRequest;
+import org.opentripplanner.transit.model.basic.SubMode;
+import org.opentripplanner.transit.model.basic.TransitMode;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.model.network.Route;
+import org.opentripplanner.transit.model.network.TripPattern;
+
+/**
+ * Precomputed sets of trip patterns, indexed by the pattern attributes used in the request
+ * filters - mode/sub-mode, agency, route and group-of-routes. Each set is a {@link BitSet} of
+ * pattern indexes. This allows us to compile the request {@link TransitFilter}s into a few
+ * bitwise operations, instead of evaluating the filter predicates for each pattern in each
+ * request.
+ * <p>
+ * The index is created for each {@link TripPatternsForSearchDays} and shared between requests.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE - ALL RETURNED BITSETS ARE COPIES.
+ */
+class TripPatternAttributeIndex {
+
+  private final List<TripPatternForDates> tripPatterns;
+  private final BitSet allPatterns = new BitSet();
+  private final BitSet patternsWithMultipleModes = new BitSet();
+  private final Map<ModeKey, BitSet> patternsByMode = new HashMap<>();
+  private final Map<FeedScopedId, BitSet> patternsByAgency = new HashMap<>();
+  private final Map<FeedScopedId, BitSet> patternsByRoute = new HashMap<>();
+  private final Map<FeedScopedId, BitSet> patternsByGroupOfRoutes = new HashMap<>();
+
+  TripPatternAttributeIndex(Collection<TripPatternForDates> tripPatterns) {
+    this.tripPatterns = List.copyOf(tripPatterns);
+
+    for (TripPatternForDates it : this.tripPatterns) {
+      int index = it.patternIndex();
+      TripPattern pattern = it.getTripPattern().getPattern();
+      Route route = pattern.getRoute();
+
+      allPatterns.set(index);
+      if (pattern.getContainsMultipleModes()) {
+        patternsWithMultipleModes.set(index);
+      } else {
+        add(patternsByMode, new ModeKey(pattern.getMode(), pattern.getNetexSubmode()), index);
+      }
+      add(patternsByAgency, route.getAgency().getId(), index);
+      add(patternsByRoute, route.getId(), index);
+      for (var groupOfRoutes : route.getGroupsOfRoutes()) {
+        add(patternsByGroupOfRoutes, groupOfRoutes.getId(), index);
+      }
+    }
+  }
+
+  /** Return all patterns in the index. */
+  BitSet allPatterns() {
+    return (BitSet) allPatterns.clone();
+  }
+
+  /**
+   * Return the patterns matching at least one of the given filters. This is the same as calling
+   * {@link TransitFilter#matchTripPattern(TripPattern)} for each pattern, but filters of a known
+   * type is computed using the precomputed sets.
+   */
+  BitSet matchAny(TransitFilter[] filters) {
+    BitSet result = new BitSet();
+    for (TransitFilter filter : filters) {
+      result.or(match(filter));
+    }
+    return result;
+  }
+
+  /**
+   * Return the patterns matching the given predicate. This is used for filters which can not be
+   * compiled into bitwise operations.
+   */
+  BitSet matchPredicate(Predicate<TripPatternForDate> predicate) {
+    BitSet result = new BitSet();
+    for (TripPatternForDates it : tripPatterns) {
+      // The trip pattern predicate only depends on the pattern, not the date
+      if (predicate.test(it.tripPatternForDate(0))) {
+        result.set(it.patternIndex());
+      }
+    }
+    return result;
+  }
+
+  /* private methods */
+
+  private BitSet match(TransitFilter filter) {
+    if (filter instanceof AllowAllTransitFilter) {
+      return allPatterns();
+    }
+    if (filter instanceof TransitFilterRequest request) {
+      return match(request);
+    }
+    return matchPredicate(it -> filter.matchTripPattern(it.getTripPattern().getPattern()));
+  }
+
+  private BitSet match(TransitFilterRequest request) {
+    BitSet result;
+    if (request.select().isEmpty()) {
+      result = allPatterns();
+    } else {
+      result = new BitSet();
+      for (SelectRequest select : request.select()) {
+        result.or(match(select));
+      }
+    }
+    for (SelectRequest not : request.not()) {
+      result.andNot(match(not));
+    }
+    return result;
+  }
+
+  private BitSet match(SelectRequest select) {
+    BitSet result = allPatterns();
+
+    var modeFilter = select.transportModeFilter();
+    if (modeFilter != null) {
+      // Patterns with multiple modes are filtered on the trip level
+      BitSet modes = (BitSet) patternsWithMultipleModes.clone();
+      for (var e : patternsByMode.entrySet()) {
+        if (modeFilter.match(e.getKey().mode(), e.getKey().subMode())) {
+          modes.or(e.getValue());
+        }
+      }
+      result.and(modes);
+    }
+    if (!select.agencies().isEmpty()) {
+      result.and(union(patternsByAgency, select.agencies()));
+    }
+    if (!select.routes().isEmpty()) {
+      result.and(union(patternsByRoute, select.routes()));
+    }
+    if (!select.groupOfRoutes().isEmpty()) {
+      result.and(union(patternsByGroupOfRoutes, select.groupOfRoutes()));
+    }
+    return result;
+  }
+
+  private static BitSet union(Map<FeedScopedId, BitSet> patternsById, List<FeedScopedId> ids) {
+    BitSet result = new BitSet();
+    for (FeedScopedId id : ids) {
+      BitSet patterns = patternsById.get(id);
+      if (patterns != null) {
+        result.or(patterns);
+      }
+    }
+    return result;
+  }
+
+  private static <K> void add(Map<K, BitSet> index, K key, int patternIndex) {
+    index.computeIfAbsent(key, k -> new BitSet()).set(patternIndex);
+  }
+
+  private record ModeKey(TransitMode mode, SubMode subMode) {}
+}
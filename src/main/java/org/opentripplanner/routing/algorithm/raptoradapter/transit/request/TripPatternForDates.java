@@ -16,6 +16,7 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.frequency.TripFrequencyAlightSearch;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.frequency.TripFrequencyBoardSearch;
 import org.opentripplanner.transit.model.basic.Accessibility;
+import org.opentripplanner.transit.model.network.BikeAccess;
 import org.opentripplanner.transit.model.network.Route;
 import org.opentripplanner.transit.model.network.RoutingTripPattern;
 
@@ -55,6 +56,16 @@ public class TripPatternForDates
 
   private final Accessibility[] wheelchairBoardings;
 
+  /**
+   * Trip attributes used by the request filters, indexed by trip index. These are precomputed, so
+   * the filters can be applied using bitwise operations, see
+   * {@link TransitDataProviderFilter#filterTrips(TripPatternForDates)}.
+   */
+  private final BitSet bikesAllowedTrips;
+  private final BitSet wheelchairAccessibleTrips;
+  private final BitSet plannedCancellations;
+  private final BitSet realtimeCancellations;
+
   // bit arrays with boarding/alighting information for all stops on trip pattern,
   // potentially filtered by wheelchair accessibility
   private final BitSet boardingPossible;
@@ -85,6 +96,10 @@ public class TripPatternForDates
     this.isFrequencyBased = hasFrequencies;
 
     wheelchairBoardings = new Accessibility[numberOfTripSchedules];
+    this.bikesAllowedTrips = new BitSet(numberOfTripSchedules);
+    this.wheelchairAccessibleTrips = new BitSet(numberOfTripSchedules);
+    this.plannedCancellations = new BitSet(numberOfTripSchedules);
+    this.realtimeCancellations = new BitSet(numberOfTripSchedules);
 
     final int nStops = tripPattern.numberOfStopsInPattern();
     this.arrivalTimes = new int[nStops * numberOfTripSchedules];
@@ -94,6 +109,14 @@ public class TripPatternForDates
       int offset = this.offsets[d];
       for (var trip : this.tripPatternForDates[d].tripTimes()) {
         wheelchairBoardings[i] = trip.getWheelchairAccessibility();
+        wheelchairAccessibleTrips.set(i, wheelchairBoardings[i] == Accessibility.POSSIBLE);
+        bikesAllowedTrips.set(
+          i,
+          RouteRequestTransitDataProviderFilter.bikeAccessForTrip(trip.getTrip()) ==
+          BikeAccess.ALLOWED
+        );
+        plannedCancellations.set(i, trip.getTrip().getNetexAlteration().isCanceledOrReplaced());
+        realtimeCancellations.set(i, trip.isCanceled());
         for (int s = 0; s < nStops; s++) {
           this.arrivalTimes[s * numberOfTripSchedules + i] = trip.getArrivalTime(s) + offset;
           this.departureTimes[s * numberOfTripSchedules + i] = trip.getDepartureTime(s) + offset;
@@ -103,10 +126,74 @@ public class TripPatternForDates
     }
   }
 
+  /**
+   * Create a copy sharing the timetable with the original, but with the given boarding and
+   * alighting restrictions.
+   */
+  private TripPatternForDates(
+    TripPatternForDates original,
+    BitSet boardingPossible,
+    BitSet alightingPossible
+  ) {
+    this.tripPattern = original.tripPattern;
+    this.tripPatternForDates = original.tripPatternForDates;
+    this.offsets = original.offsets;
+    this.numberOfTripSchedules = original.numberOfTripSchedules;
+    this.isFrequencyBased = original.isFrequencyBased;
+    this.arrivalTimes = original.arrivalTimes;
+    this.departureTimes = original.departureTimes;
+    this.wheelchairBoardings = original.wheelchairBoardings;
+    this.bikesAllowedTrips = original.bikesAllowedTrips;
+    this.wheelchairAccessibleTrips = original.wheelchairAccessibleTrips;
+    this.plannedCancellations = original.plannedCancellations;
+    this.realtimeCancellations = original.realtimeCancellations;
+    this.boardingPossible = boardingPossible;
+    this.alightingPossible = alightingPossible;
+  }
+
   public RoutingTripPattern getTripPattern() {
     return tripPattern;
   }
 
+  /**
+   * Return a copy with the given boarding/alighting restrictions. The timetable is shared with
+   * this instance, so this is cheap compared with creating a new instance. If the restrictions
+   * are the same, {@code this} is returned.
+   */
+  TripPatternForDates newWithFilteredStops(BitSet boardingPossible, BitSet alightingPossible) {
+    if (
+      this.boardingPossible.equals(boardingPossible) &&
+      this.alightingPossible.equals(alightingPossible)
+    ) {
+      return this;
+    }
+    return new TripPatternForDates(this, boardingPossible, alightingPossible);
+  }
+
+  int numberOfTripPatternForDates() {
+    return tripPatternForDates.length;
+  }
+
+  /** Trips where bikes are allowed, indexed by trip index. Do not modify the returned set. */
+  BitSet bikesAllowedTrips() {
+    return bikesAllowedTrips;
+  }
+
+  /** Wheelchair accessible trips, indexed by trip index. Do not modify the returned set. */
+  BitSet wheelchairAccessibleTrips() {
+    return wheelchairAccessibleTrips;
+  }
+
+  /** Trips with a planned cancellation, indexed by trip index. Do not modify the returned set. */
+  BitSet plannedCancellations() {
+    return plannedCancellations;
+  }
+
+  /** Trips cancelled in realtime, indexed by trip index. Do not modify the returned set. */
+  BitSet realtimeCancellations() {
+    return realtimeCancellations;
+  }
+
   /* Support for frequency based routing */
 
   public IntIterator tripPatternForDatesIndexIterator(boolean ascendingOnDate) {
@@ -207,14 +294,17 @@ public class TripPatternForDates
     return (int index) -> departureTimes[base + index];
   }
 
-  public IntUnaryOperator getArrivalTimesForTrip(int index) {
-    return (int stopPositionInPattern) ->
-      arrivalTimes[stopPositionInPattern * numberOfTripSchedules + index];
+  /**
+   * Read the arrival time for the given trip and stop position directly from the timetable, this
+   * is used by the {@link TripScheduleWithOffset} flyweight.
+   */
+  int arrivalTime(int tripIndex, int stopPositionInPattern) {
+    return arrivalTimes[stopPositionInPattern * numberOfTripSchedules + tripIndex];
   }
 
-  public IntUnaryOperator getDepartureTimesForTrip(int index) {
-    return (int stopPositionInPattern) ->
-      departureTimes[stopPositionInPattern * numberOfTripSchedules + index];
+  /** See {@link #arrivalTime(int, int)} */
+  int departureTime(int tripIndex, int stopPositionInPattern) {
+    return departureTimes[stopPositionInPattern * numberOfTripSchedules + tripIndex];
   }
 
   @Override
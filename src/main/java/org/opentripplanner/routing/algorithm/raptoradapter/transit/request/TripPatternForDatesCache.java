@@ -0,0 +1,76 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nonnull;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer;
+
+/**
+ * Cache the merged {@link TripPatternForDates} for a range of search days. Creating these is
+ * expensive, and the result only depends on the transit data, the search date and the number of
+ * days to include - not on the request. Each {@link TransitLayer} has its own cache, so when the
+ * {@code TransitLayerUpdater} publish a new realtime transit layer the cache is effectively
+ * invalidated, the new layer start with an empty cache.
+ * <p>
+ * The number of distinct keys is small, there is usually one for each service date searched and
+ * a few combinations of additional search days. Each entry holds a copy of all trip times for
+ * the search days, so the cache is kept small.
+ */
+public class TripPatternForDatesCache {
+
+  private static final int MAXIMUM_SIZE = 6;
+
+  private final LoadingCache<CacheKey, TripPatternsForSearchDays> cache;
+
+  public TripPatternForDatesCache(TransitLayer transitLayer) {
+    this.cache =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).build(cacheLoader(transitLayer));
+  }
+
+  TripPatternsForSearchDays get(
+    ZonedDateTime transitSearchTimeZero,
+    int additionalPastSearchDays,
+    int additionalFutureSearchDays
+  ) {
+    try {
+      return cache.get(
+        new CacheKey(transitSearchTimeZero, additionalPastSearchDays, additionalFutureSearchDays)
+      );
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to get item from trip pattern cache", e);
+    }
+  }
+
+  /**
+   * Remove all cached entries. This must be called if the trip patterns in the transit layer are
+   * changed.
+   */
+  public void invalidate() {
+    cache.invalidateAll();
+  }
+
+  private static CacheLoader<CacheKey, TripPatternsForSearchDays> cacheLoader(
+    TransitLayer transitLayer
+  ) {
+    return new CacheLoader<>() {
+      @Override
+      @Nonnull
+      public TripPatternsForSearchDays load(@Nonnull CacheKey key) {
+        return new RaptorRoutingRequestTransitDataCreator(transitLayer, key.transitSearchTimeZero)
+          .createTripPatternsForSearchDays(
+            key.additionalPastSearchDays,
+            key.additionalFutureSearchDays
+          );
+      }
+    };
+  }
+
+  private record CacheKey(
+    ZonedDateTime transitSearchTimeZero,
+    int additionalPastSearchDays,
+    int additionalFutureSearchDays
+  ) {}
+}
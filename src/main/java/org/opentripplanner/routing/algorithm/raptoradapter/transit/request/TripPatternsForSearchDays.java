@@ -0,0 +1,68 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import java.util.List;
+import org.opentripplanner.framework.tostring.ToStringBuilder;
+
+/**
+ * All trip patterns running on a range of consecutive search days, merged into {@link
+ * TripPatternForDates}. This is created once for each search-day-range and {@link
+ * org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitLayer} instance, and shared
+ * between all requests. The request specific filtering is done on top of this, see {@link
+ * RaptorRoutingRequestTransitDataCreator}.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE - DO NOT MODIFY THE LIST/ARRAYS RETURNED.
+ */
+class TripPatternsForSearchDays {
+
+  private final List<TripPatternForDates> tripPatterns;
+  private final List<TripPatternForDates> patternIndex;
+  private final List<int[]> tripPatternsPerStop;
+  private final TripPatternAttributeIndex attributeIndex;
+
+  TripPatternsForSearchDays(
+    List<TripPatternForDates> tripPatterns,
+    List<TripPatternForDates> patternIndex,
+    List<int[]> tripPatternsPerStop
+  ) {
+    this.tripPatterns = List.copyOf(tripPatterns);
+    this.patternIndex = patternIndex;
+    this.tripPatternsPerStop = tripPatternsPerStop;
+    this.attributeIndex = new TripPatternAttributeIndex(this.tripPatterns);
+  }
+
+  /**
+   * All trip patterns running on the search days. The trip patterns are NOT filtered, the
+   * boarding and alighting restrictions are the default restrictions for the pattern.
+   */
+  List<TripPatternForDates> tripPatterns() {
+    return tripPatterns;
+  }
+
+  /** The {@link #tripPatterns()} indexed by the pattern index. */
+  List<TripPatternForDates> patternIndex() {
+    return patternIndex;
+  }
+
+  /** Pattern indexes for all patterns visiting a stop, indexed by the stop index. */
+  List<int[]> tripPatternsPerStop() {
+    return tripPatternsPerStop;
+  }
+
+  /** The {@link #tripPatterns()} indexed by the attributes used by the request filters. */
+  TripPatternAttributeIndex attributeIndex() {
+    return attributeIndex;
+  }
+
+  int numberOfTripPatterns() {
+    return tripPatterns.size();
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder
+      .of(TripPatternsForSearchDays.class)
+      .addNum("nPatterns", tripPatterns.size())
+      .addNum("nStops", tripPatternsPerStop.size())
+      .toString();
+  }
+}
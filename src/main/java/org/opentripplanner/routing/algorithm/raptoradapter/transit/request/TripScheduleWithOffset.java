@@ -1,7 +1,6 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
 import java.time.LocalDate;
-import java.util.function.IntUnaryOperator;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
 import org.opentripplanner.raptor.api.model.RaptorTripPattern;
 import org.opentripplanner.raptor.spi.IntIterator;
@@ -15,15 +14,15 @@ import org.opentripplanner.transit.model.timetable.TripTimes;
  * This represents a single trip within a TripPattern, but with a time offset in seconds. This is
  * used to represent a trip on a subsequent service day than the first one in the date range used.
  * <p>
- * Use flyweight pattern, reusing TripPatternForDates data
+ * Use flyweight pattern, reusing TripPatternForDates data. The arrival and departure times are
+ * read directly from the stop-major timetable in the pattern, so creating an instance is cheap.
+ * Raptor only create instances for boarded trips.
  */
 public final class TripScheduleWithOffset implements TripSchedule {
 
   private final TripPatternForDates pattern;
   private final int sortIndex;
   private final int tripIndexForDates;
-  private final IntUnaryOperator arrivalTimes;
-  private final IntUnaryOperator departureTimes;
 
   // Computed when needed later for RaptorPathToItineraryMapper
   private TripTimes tripTimes = null;
@@ -34,12 +33,8 @@ public final class TripScheduleWithOffset implements TripSchedule {
     this.tripIndexForDates = tripIndexForDates;
     this.pattern = pattern;
 
-    // get arrival/departures lambda
-    this.arrivalTimes = pattern.getArrivalTimesForTrip(tripIndexForDates);
-    this.departureTimes = pattern.getDepartureTimesForTrip(tripIndexForDates);
-
     // Trip times are sorted based on the arrival times at stop 0,
-    this.sortIndex = arrivalTimes.applyAsInt(0);
+    this.sortIndex = pattern.arrivalTime(tripIndexForDates, 0);
   }
 
   @Override
@@ -49,12 +44,12 @@ public final class TripScheduleWithOffset implements TripSchedule {
 
   @Override
   public int arrival(int stopPosInPattern) {
-    return this.arrivalTimes.applyAsInt(stopPosInPattern);
+    return pattern.arrivalTime(tripIndexForDates, stopPosInPattern);
   }
 
   @Override
   public int departure(int stopPosInPattern) {
-    return this.departureTimes.applyAsInt(stopPosInPattern);
+    return pattern.departureTime(tripIndexForDates, stopPosInPattern);
   }
 
   @Override
@@ -1,12 +1,35 @@
 package org.opentripplanner.routing.api;
 
+import java.util.List;
+import java.util.function.Consumer;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.routing.api.request.RouteBatchRequest;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.RouteViaRequest;
+import org.opentripplanner.routing.api.response.BatchRoutingResponse;
 import org.opentripplanner.routing.api.response.RoutingResponse;
 import org.opentripplanner.routing.api.response.ViaRoutingResponse;
 
 public interface RoutingService {
   RoutingResponse route(RouteRequest request);
 
+  /**
+   * Route and pass partial results to the given listener before the response is returned. The
+   * partial results are not filtered, the response contains the final set of itineraries. The
+   * default implementation does not produce any partial results.
+   */
+  default RoutingResponse route(
+    RouteRequest request,
+    Consumer<List<Itinerary>> partialResultListener
+  ) {
+    return route(request);
+  }
+
   ViaRoutingResponse route(RouteViaRequest request);
+
+  /**
+   * Route from each origin to each destination of the batch request, and pass the response of
+   * each pair to the given listener as soon as it is done. The listener must be thread-safe.
+   */
+  void route(RouteBatchRequest request, Consumer<BatchRoutingResponse> responseListener);
 }
@@ -0,0 +1,36 @@
+package org.opentripplanner.routing.api.request;
+
+import java.util.List;
+import org.opentripplanner.model.GenericLocation;
+
+/**
+ * Trip planning request from each of a list of origins to each of a list of destinations. All the
+ * searches use the same route request, except for the from and to location, which is ignored.
+ */
+public record RouteBatchRequest(
+  RouteRequest routeRequest,
+  List<GenericLocation> origins,
+  List<GenericLocation> destinations
+) {
+  public RouteBatchRequest {
+    if (origins == null || origins.isEmpty()) {
+      throw new IllegalArgumentException("origins must not be empty");
+    }
+    if (destinations == null || destinations.isEmpty()) {
+      throw new IllegalArgumentException("destinations must not be empty");
+    }
+    origins = List.copyOf(origins);
+    destinations = List.copyOf(destinations);
+  }
+
+  /**
+   * Create a new route request from the origin to the destination with the given indexes. The
+   * request is a copy, and can be modified by the search.
+   */
+  public RouteRequest routeRequest(int originIndex, int destinationIndex) {
+    var request = routeRequest.clone();
+    request.setFrom(origins.get(originIndex));
+    request.setTo(destinations.get(destinationIndex));
+    return request;
+  }
+}
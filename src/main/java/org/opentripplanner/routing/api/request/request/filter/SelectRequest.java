@@ -103,6 +103,10 @@ public class SelectRequest implements Serializable {
     return agencies;
   }
 
+  public List<FeedScopedId> groupOfRoutes() {
+    return groupOfRoutes;
+  }
+
   public List<FeedScopedId> routes() {
     return routes;
   }
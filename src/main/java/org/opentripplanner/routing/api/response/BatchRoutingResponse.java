@@ -0,0 +1,12 @@
+package org.opentripplanner.routing.api.response;
+
+/**
+ * The response of one origin-destination pair of a
+ * {@link org.opentripplanner.routing.api.request.RouteBatchRequest}. The indexes refer to the
+ * origins and destinations of the request.
+ */
+public record BatchRoutingResponse(
+  int originIndex,
+  int destinationIndex,
+  RoutingResponse response
+) {}
@@ -4,7 +4,9 @@ import com.google.common.annotations.VisibleForTesting;
 import jakarta.inject.Inject;
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +25,7 @@ import org.opentripplanner.framework.geometry.GeometryUtils;
 import org.opentripplanner.model.calendar.openinghours.OpeningHoursCalendarService;
 import org.opentripplanner.routing.fares.FareService;
 import org.opentripplanner.routing.graph.index.StreetIndex;
+import org.opentripplanner.routing.graphfinder.NearbyStopCache;
 import org.opentripplanner.routing.linking.VertexLinker;
 import org.opentripplanner.routing.services.notes.StreetNotesService;
 import org.opentripplanner.routing.vehicle_parking.VehicleParkingService;
@@ -31,6 +34,7 @@ import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.edge.StreetEdge;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.landmark.StreetLandmarks;
 import org.opentripplanner.transit.model.framework.Deduplicator;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.service.StopModel;
@@ -50,6 +54,9 @@ public class Graph implements Serializable {
   /* Ideally we could just get rid of vertex labels, but they're used in tests and graph building. */
   private final Map<String, Vertex> vertices = new ConcurrentHashMap<>();
 
+  /** The next free vertex index, see {@link Vertex#getIndex()}. */
+  private int vertexIndexSize = 0;
+
   public final transient Deduplicator deduplicator;
 
   public final Instant buildTime = Instant.now();
@@ -59,6 +66,14 @@ public class Graph implements Serializable {
 
   private transient StreetIndex streetIndex;
 
+  /** Cache for the access/egress street search, {@code null} if caching is not enabled. */
+  @Nullable
+  private transient NearbyStopCache nearbyStopCache;
+
+  /** Pre-calculated landmarks for the street search, {@code null} if not created. */
+  @Nullable
+  private StreetLandmarks streetLandmarks;
+
   //ConvexHull of all the graph vertices. Generated at Graph build time.
   private Geometry convexHull = null;
 
@@ -146,6 +161,9 @@ public class Graph implements Serializable {
    *           - and create factory methods for each type of Vertex in the VertexCollection.
    */
   public void addVertex(Vertex v) {
+    if (v.getIndex() < 0) {
+      v.setIndex(nextVertexIndex());
+    }
     Vertex old = vertices.put(v.getLabel(), v);
     if (old != null) {
       if (old == v) {
@@ -242,6 +260,39 @@ public class Graph implements Serializable {
     return env;
   }
 
+  /**
+   * All vertices in the graph have an index less than the returned value. Vertices removed from the
+   * graph keep their index, so this may be larger than the number of vertices.
+   */
+  public synchronized int getVertexIndexSize() {
+    return vertexIndexSize;
+  }
+
+  /**
+   * Renumber all vertices and edges in the graph, so the vertex indexes are in the range
+   * {@code [0, countVertices())} and the edge indexes in the range {@code [0, countEdges())}. The
+   * vertices keep their relative order, and the outgoing edges of each vertex get consecutive
+   * indexes in the order of the vertices. This is done at the end of the graph build, after all
+   * vertices and edges are added and pruned. See {@link GraphAdjacency}.
+   * <p>
+   * This method is not thread-safe, the graph can not be used for routing while the indexes are
+   * assigned.
+   */
+  public void assignDenseIndexes() {
+    var sorted = new ArrayList<>(getVertices());
+    sorted.sort(Comparator.comparingInt(Vertex::getIndex));
+    for (int i = 0; i < sorted.size(); ++i) {
+      sorted.get(i).setIndex(i);
+    }
+    synchronized (this) {
+      vertexIndexSize = sorted.size();
+    }
+    var adjacency = GraphAdjacency.of(this);
+    for (int e = 0; e < adjacency.edgeCount(); ++e) {
+      adjacency.edge(e).setIndex(e);
+    }
+  }
+
   public int countVertices() {
     return vertices.size();
   }
@@ -275,6 +326,34 @@ public class Graph implements Serializable {
     LOG.info("Index street model complete.");
   }
 
+  @Nullable
+  public NearbyStopCache getNearbyStopCache() {
+    return nearbyStopCache;
+  }
+
+  public void setNearbyStopCache(@Nullable NearbyStopCache nearbyStopCache) {
+    this.nearbyStopCache = nearbyStopCache;
+  }
+
+  @Nullable
+  public StreetLandmarks getStreetLandmarks() {
+    return streetLandmarks;
+  }
+
+  public void setStreetLandmarks(@Nullable StreetLandmarks streetLandmarks) {
+    this.streetLandmarks = streetLandmarks;
+  }
+
+  /**
+   * Remove all cached street search results. This must be called by realtime updaters changing the
+   * street graph.
+   */
+  public void invalidateNearbyStopCache() {
+    if (nearbyStopCache != null) {
+      nearbyStopCache.invalidateAll();
+    }
+  }
+
   @Nullable
   public OpeningHoursCalendarService getOpeningHoursCalendarService() {
     return this.openingHoursCalendarService;
@@ -378,4 +457,8 @@ public class Graph implements Serializable {
       index(stopModel);
     }
   }
+
+  private synchronized int nextVertexIndex() {
+    return vertexIndexSize++;
+  }
 }
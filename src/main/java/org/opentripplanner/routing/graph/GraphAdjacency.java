@@ -0,0 +1,155 @@
+package org.opentripplanner.routing.graph;
+
+import java.util.Collection;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+/**
+ * An immutable snapshot of the graph edges in compressed sparse row (CSR) format. Vertices are
+ * identified by their dense {@link Vertex#getIndex()}, and edges by their position in the
+ * outgoing edge array. The outgoing edges of vertex {@code v} are the edges in the range
+ * {@code [outgoingStart(v), outgoingEnd(v))}, and the incoming edges are listed in the same way
+ * in a separate array of edge positions. The from/to vertex of each edge is available as an
+ * {@code int}, so connectivity can be analysed without touching the vertex and edge objects.
+ * <p>
+ * After {@link Graph#assignDenseIndexes()} the edge positions are the same as the
+ * {@link Edge#getIndex()}.
+ * <p>
+ * The snapshot is NOT updated when the graph changes, edges added to or removed from the graph
+ * after the snapshot is created are not reflected here. Edges to or from vertices which are not
+ * part of the graph (temporary vertices) are not included.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE.
+ */
+public final class GraphAdjacency {
+
+  /** Vertices by index, {@code null} for indexes not in use. */
+  private final Vertex[] vertices;
+
+  /** Edges sorted by from vertex index, in the order of the vertex outgoing edges. */
+  private final Edge[] edges;
+  private final int[] fromVertex;
+  private final int[] toVertex;
+  private final int[] outgoingOffsets;
+  private final int[] incomingOffsets;
+  private final int[] incomingEdges;
+
+  private GraphAdjacency(Collection<Vertex> graphVertices, int vertexIndexSize) {
+    this.vertices = new Vertex[vertexIndexSize];
+    for (Vertex v : graphVertices) {
+      // Skip vertices added to the graph while the snapshot is created
+      if (v.getIndex() < vertexIndexSize) {
+        vertices[v.getIndex()] = v;
+      }
+    }
+
+    // Count the edges to allocate the arrays and calculate the offsets
+    this.outgoingOffsets = new int[vertexIndexSize + 1];
+    this.incomingOffsets = new int[vertexIndexSize + 1];
+    for (int v = 0; v < vertexIndexSize; ++v) {
+      if (vertices[v] == null) {
+        continue;
+      }
+      for (Edge e : vertices[v].getOutgoing()) {
+        int to = indexOf(e.getToVertex());
+        if (to >= 0) {
+          ++outgoingOffsets[v + 1];
+          ++incomingOffsets[to + 1];
+        }
+      }
+    }
+    for (int v = 0; v < vertexIndexSize; ++v) {
+      outgoingOffsets[v + 1] += outgoingOffsets[v];
+      incomingOffsets[v + 1] += incomingOffsets[v];
+    }
+
+    int nEdges = outgoingOffsets[vertexIndexSize];
+    this.edges = new Edge[nEdges];
+    this.fromVertex = new int[nEdges];
+    this.toVertex = new int[nEdges];
+    this.incomingEdges = new int[nEdges];
+
+    int[] nextIncoming = new int[vertexIndexSize];
+    int e = 0;
+    for (int v = 0; v < vertexIndexSize; ++v) {
+      if (vertices[v] == null) {
+        continue;
+      }
+      for (Edge edge : vertices[v].getOutgoing()) {
+        int to = indexOf(edge.getToVertex());
+        if (to >= 0) {
+          edges[e] = edge;
+          fromVertex[e] = v;
+          toVertex[e] = to;
+          incomingEdges[incomingOffsets[to] + nextIncoming[to]++] = e;
+          ++e;
+        }
+      }
+    }
+  }
+
+  /** Create a snapshot of the current graph. */
+  public static GraphAdjacency of(Graph graph) {
+    return new GraphAdjacency(graph.getVertices(), graph.getVertexIndexSize());
+  }
+
+  /** All vertex indexes are less than the returned value. */
+  public int vertexIndexSize() {
+    return vertices.length;
+  }
+
+  public int edgeCount() {
+    return edges.length;
+  }
+
+  /** Return the vertex with the given index, or {@code null} if the index is not in use. */
+  public Vertex vertex(int vertexIndex) {
+    return vertices[vertexIndex];
+  }
+
+  public Edge edge(int edge) {
+    return edges[edge];
+  }
+
+  public int fromVertex(int edge) {
+    return fromVertex[edge];
+  }
+
+  public int toVertex(int edge) {
+    return toVertex[edge];
+  }
+
+  /** The first outgoing edge of the given vertex. */
+  public int outgoingStart(int vertexIndex) {
+    return outgoingOffsets[vertexIndex];
+  }
+
+  /** One past the last outgoing edge of the given vertex. */
+  public int outgoingEnd(int vertexIndex) {
+    return outgoingOffsets[vertexIndex + 1];
+  }
+
+  /** The start of the incoming edges for the given vertex, see {@link #incomingEdge(int)}. */
+  public int incomingStart(int vertexIndex) {
+    return incomingOffsets[vertexIndex];
+  }
+
+  /** One past the last incoming edge of the given vertex, see {@link #incomingEdge(int)}. */
+  public int incomingEnd(int vertexIndex) {
+    return incomingOffsets[vertexIndex + 1];
+  }
+
+  /**
+   * Return the incoming edge at position {@code i}, where {@code i} is in the range
+   * {@code [incomingStart(v), incomingEnd(v))} for a vertex {@code v}.
+   */
+  public int incomingEdge(int i) {
+    return incomingEdges[i];
+  }
+
+  /** Return the index of the given vertex, or -1 if the vertex is not in this snapshot. */
+  private int indexOf(Vertex v) {
+    int i = v.getIndex();
+    return i >= 0 && i < vertices.length && vertices[i] == v ? i : -1;
+  }
+}
@@ -0,0 +1,20 @@
+package org.opentripplanner.routing.graph;
+
+/**
+ * The format used when saving the graph to file. The format is detected when the graph is loaded,
+ * so a server can load graphs saved in both formats.
+ */
+public enum GraphFileFormat {
+  /**
+   * The graph and transit model is serialized with Kryo as one stream.
+   */
+  KRYO,
+
+  /**
+   * The object model is serialized with Kryo, while the landmark table weights are saved in a flat
+   * section of the file, which is memory-mapped when the graph is loaded. Currently the landmark
+   * tables are the only mapped structure, the rest of the graph is read into the heap as in
+   * {@link #KRYO}. The graph must be loaded from a local uncompressed file.
+   */
+  MAPPED,
+}
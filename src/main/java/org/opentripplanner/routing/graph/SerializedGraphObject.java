@@ -6,6 +6,7 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -13,7 +14,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import javax.annotation.Nullable;
 import org.opentripplanner.datastore.api.DataSource;
@@ -24,6 +27,7 @@ import org.opentripplanner.framework.logging.ProgressTracker;
 import org.opentripplanner.model.projectinfo.GraphFileHeader;
 import org.opentripplanner.model.projectinfo.OtpProjectInfo;
 import org.opentripplanner.routing.graph.kryosupport.KryoBuilder;
+import org.opentripplanner.routing.graph.mapped.MappedGraphFile;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeRepository;
 import org.opentripplanner.standalone.config.BuildConfig;
 import org.opentripplanner.standalone.config.RouterConfig;
@@ -82,7 +86,7 @@ public class SerializedGraphObject implements Serializable {
     RouterConfig routerConfig
   ) {
     this.graph = graph;
-    this.edges = graph.getEdges();
+    this.edges = sortEdgesByIndex(graph.getEdges());
     this.transitModel = transitModel;
     this.worldEnvelopeRepository = worldEnvelopeRepository;
     this.buildConfig = buildConfig;
@@ -109,12 +113,30 @@ public class SerializedGraphObject implements Serializable {
   }
 
   public static SerializedGraphObject load(DataSource source) {
-    return load(source.asInputStream(), source.path());
+    return load(source.asInputStream(), source.path(), localFile(source));
+  }
+
+  /**
+   * Return {@code true} if the graph exists and is saved in the
+   * {@link GraphFileFormat#MAPPED} format. A graph loaded from a mapped file keeps parts of the
+   * file memory-mapped while it is in use, so the file must not be overwritten.
+   */
+  public static boolean isMappedGraphFile(DataSource source) {
+    if (!source.exists()) {
+      return false;
+    }
+    try (var in = new BufferedInputStream(source.asInputStream())) {
+      in.skipNBytes(GraphFileHeader.headerLength());
+      return isMappedGraphFile(in);
+    } catch (IOException e) {
+      LOG.warn("Unable to read the graph file format: {}", source.path(), e);
+      return false;
+    }
   }
 
   public static SerializedGraphObject load(File file) {
     try {
-      return load(new FileInputStream(file), file.getAbsolutePath());
+      return load(new FileInputStream(file), file.getAbsolutePath(), file);
     } catch (FileNotFoundException e) {
       LOG.error("Graph file not found: " + file, e);
       throw new OtpAppException(e.getMessage());
@@ -127,23 +149,66 @@ public class SerializedGraphObject implements Serializable {
    * This method will reconstruct all those edge lists after deserialization.
    */
   public void reconstructEdgeLists() {
+    // Count the edges for each vertex first, adding the edges one by one copy the edge array
+    // for each edge added.
+    int n = graph.getVertexIndexSize();
+    Vertex[] vertices = new Vertex[n];
     for (Vertex v : graph.getVertices()) {
-      v.initEdgeLists();
+      vertices[v.getIndex()] = v;
+    }
+    int[] nOutgoing = new int[n];
+    int[] nIncoming = new int[n];
+    for (Edge e : edges) {
+      countEdge(vertices, nOutgoing, e.getFromVertex());
+      countEdge(vertices, nIncoming, e.getToVertex());
+    }
+    Edge[][] outgoing = new Edge[n][];
+    Edge[][] incoming = new Edge[n][];
+    for (int i = 0; i < n; ++i) {
+      if (vertices[i] != null) {
+        outgoing[i] = new Edge[nOutgoing[i]];
+        incoming[i] = new Edge[nIncoming[i]];
+        nOutgoing[i] = 0;
+        nIncoming[i] = 0;
+      }
     }
     for (Edge e : edges) {
       Vertex fromVertex = e.getFromVertex();
       Vertex toVertex = e.getToVertex();
-      fromVertex.addOutgoing(e);
-      toVertex.addIncoming(e);
+      if (isGraphVertex(vertices, fromVertex)) {
+        int i = fromVertex.getIndex();
+        outgoing[i][nOutgoing[i]++] = e;
+      } else {
+        fromVertex.addOutgoing(e);
+      }
+      if (isGraphVertex(vertices, toVertex)) {
+        int i = toVertex.getIndex();
+        incoming[i][nIncoming[i]++] = e;
+      } else {
+        toVertex.addIncoming(e);
+      }
+    }
+    for (int i = 0; i < n; ++i) {
+      if (vertices[i] != null) {
+        vertices[i].initEdgeLists(outgoing[i], incoming[i]);
+      }
     }
   }
 
   /**
-   * Save this object to the target it the target data source is not {@code null}.
+   * Save this object to the target it the target data source is not {@code null}. The file format
+   * is set in the build config.
    */
   public void save(@Nullable DataSource target) {
+    save(target, buildConfig.graphFileFormat);
+  }
+
+  /**
+   * Save this object to the target it the target data source is not {@code null}.
+   */
+  public void save(@Nullable DataSource target, GraphFileFormat format) {
     if (target != null) {
-      save(target.asOutputStream(), target.name(), target.size());
+      save(target.asOutputStream(), target.name(), target.size(), format);
     } else {
       LOG.info("Not saving graph to disk, as requested.");
     }
@@ -151,19 +216,75 @@ public class SerializedGraphObject implements Serializable {
 
   /* private methods */
 
-  private static SerializedGraphObject load(InputStream inputStream, String sourceDescription) {
+  /**
+   * Edges may reference vertices which are not in the graph, for example if a vertex is replaced
+   * by another vertex with the same label. The edge lists of these are not counted.
+   */
+  private static boolean isGraphVertex(Vertex[] vertices, Vertex v) {
+    int i = v.getIndex();
+    return i >= 0 && i < vertices.length && vertices[i] == v;
+  }
+
+  private static void countEdge(Vertex[] vertices, int[] count, Vertex v) {
+    if (isGraphVertex(vertices, v)) {
+      ++count[v.getIndex()];
+    }
+  }
+
+  /**
+   * Sort the edges by index, so the edges are added to the vertex edge lists in the same order
+   * when the graph is loaded. The edge indexes then match the {@link GraphAdjacency} after the
+   * graph is loaded.
+   */
+  private static List<Edge> sortEdgesByIndex(Collection<Edge> edges) {
+    var list = new ArrayList<>(edges);
+    list.sort(Comparator.comparingInt(Edge::getIndex));
+    return list;
+  }
+
+  /**
+   * The mapped graph file format can only be loaded from a local uncompressed file, return the file
+   * if the data source is one.
+   */
+  @Nullable
+  private static File localFile(DataSource source) {
+    var uri = source.uri();
+    if (!"file".equals(uri.getScheme()) || source.name().endsWith(".gz")) {
+      return null;
+    }
+    return new File(uri);
+  }
+
+  private static SerializedGraphObject load(
+    InputStream inputStream,
+    String sourceDescription,
+    @Nullable File file
+  ) {
     // TODO store version information, halt load if versions mismatch
     try (inputStream) {
       LOG.info("Reading graph from '{}'", sourceDescription);
-      Input input = new Input(inputStream);
+      var in = new BufferedInputStream(inputStream);
 
       validateGraphSerializationId(
-        input.readBytes(GraphFileHeader.headerLength()),
+        in.readNBytes(GraphFileHeader.headerLength()),
         sourceDescription
       );
 
       Kryo kryo = KryoBuilder.create();
-      SerializedGraphObject serObj = (SerializedGraphObject) kryo.readClassAndObject(input);
+      SerializedGraphObject serObj;
+
+      if (isMappedGraphFile(in)) {
+        if (file == null) {
+          throw new OtpAppException(
+            "The graph is saved in the mapped file format, this can only be loaded from a " +
+            "local uncompressed file. Graph: " +
+            sourceDescription
+          );
+        }
+        serObj = (SerializedGraphObject) MappedGraphFile.read(file, kryo);
+      } else {
+        serObj = (SerializedGraphObject) kryo.readClassAndObject(new Input(in));
+      }
       SubMode.deserializeSubModeCache(serObj.allTransitSubModes);
       StopLocation.initIndexCounter(serObj.stopLocationCounter);
       RoutingTripPattern.initIndexCounter(serObj.routingTripPatternCounter);
@@ -198,6 +319,16 @@ public class SerializedGraphObject implements Serializable {
     }
   }
 
+  /**
+   * Check the bytes following the header without consuming them.
+   */
+  private static boolean isMappedGraphFile(BufferedInputStream in) throws IOException {
+    in.mark(MappedGraphFile.magicLength());
+    byte[] magic = in.readNBytes(MappedGraphFile.magicLength());
+    in.reset();
+    return MappedGraphFile.isMagic(magic);
+  }
+
   @SuppressWarnings("Convert2MethodRef")
   private static OutputStream wrapOutputStreamWithProgressTracker(
     OutputStream outputStream,
@@ -231,14 +362,25 @@ public class SerializedGraphObject implements Serializable {
     }
   }
 
-  private void save(OutputStream outputStream, String graphName, long size) {
-    LOG.info("Writing graph {}  ...", graphName);
+  private void save(
+    OutputStream outputStream,
+    String graphName,
+    long size,
+    GraphFileFormat format
+  ) {
+    LOG.info("Writing graph {} in {} format ...", graphName, format);
     outputStream = wrapOutputStreamWithProgressTracker(outputStream, size);
     Kryo kryo = KryoBuilder.create();
-    Output output = new Output(outputStream);
-    output.write(OtpProjectInfo.projectInfo().graphFileHeaderInfo.header());
-    kryo.writeClassAndObject(output, this);
-    output.close();
+    byte[] header = OtpProjectInfo.projectInfo().graphFileHeaderInfo.header();
+
+    if (format == GraphFileFormat.MAPPED) {
+      MappedGraphFile.write(outputStream, header, kryo, this);
+    } else {
+      Output output = new Output(outputStream);
+      output.write(header);
+      kryo.writeClassAndObject(output, this);
+      output.close();
+    }
     LOG.info("Graph written: {}", graphName);
     // Summarize serialized classes and associated serializers to stdout:
     // ((InstanceCountingClassResolver) kryo.getClassResolver()).summarize();
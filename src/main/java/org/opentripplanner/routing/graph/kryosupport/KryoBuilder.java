@@ -21,6 +21,8 @@ import org.opentripplanner.kryo.RouterConfigSerializer;
 import org.opentripplanner.kryo.UnmodifiableCollectionsSerializer;
 import org.opentripplanner.standalone.config.BuildConfig;
 import org.opentripplanner.standalone.config.RouterConfig;
+import org.opentripplanner.street.search.landmark.LandmarkTable;
+import org.opentripplanner.street.search.landmark.LandmarkTableSerializer;
 
 public final class KryoBuilder {
 
@@ -64,6 +66,9 @@ public final class KryoBuilder {
     kryo.register(RouterConfig.class, new RouterConfigSerializer());
     kryo.register(BuildConfig.class, new BuildConfigSerializer());
 
+    // The landmark weights may be memory-mapped, see MappedGraphFile
+    kryo.register(LandmarkTable.class, new LandmarkTableSerializer());
+
     UnmodifiableCollectionsSerializer.registerSerializers(kryo);
     // Instantiation strategy: how should Kryo make new instances of objects when they are deserialized?
     // The default strategy requires every class you serialize, even in your dependencies, to have a zero-arg
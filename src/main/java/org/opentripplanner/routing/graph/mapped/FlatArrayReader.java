@@ -0,0 +1,57 @@
+package org.opentripplanner.routing.graph.mapped;
+
+import com.esotericsoftware.kryo.Kryo;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import javax.annotation.Nullable;
+
+/**
+ * Access the arrays in the flat array section of a {@link MappedGraphFile}. Each array is
+ * memory-mapped read-only, so the data is paged in by the operating system when it is used, and
+ * not copied into the heap. The mapping stays valid after the file is closed.
+ */
+public final class FlatArrayReader {
+
+  static final String KRYO_CONTEXT_KEY = FlatArrayReader.class.getName();
+
+  private final FileChannel channel;
+  private final long sectionOffset;
+  private final long sectionLength;
+
+  FlatArrayReader(FileChannel channel, long sectionOffset, long sectionLength) {
+    this.channel = channel;
+    this.sectionOffset = sectionOffset;
+    this.sectionLength = sectionLength;
+  }
+
+  /**
+   * Return the reader if the given Kryo instance is reading a mapped graph file, {@code null} if
+   * the arrays are part of the object stream.
+   */
+  @Nullable
+  public static FlatArrayReader of(Kryo kryo) {
+    return (FlatArrayReader) kryo.getContext().get(KRYO_CONTEXT_KEY);
+  }
+
+  /**
+   * Map the float array at the given offset, see {@link FlatArrayWriter#add(float[])}.
+   */
+  public FloatBuffer floats(long offset, int length) {
+    long lengthBytes = length * (long) Float.BYTES;
+    if (offset < 0 || offset + lengthBytes > sectionLength) {
+      throw new IllegalStateException(
+        "Array outside the flat array section. Offset: " + offset + ", length: " + length
+      );
+    }
+    try {
+      return channel
+        .map(FileChannel.MapMode.READ_ONLY, sectionOffset + offset, lengthBytes)
+        .order(MappedGraphFile.BYTE_ORDER)
+        .asFloatBuffer();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
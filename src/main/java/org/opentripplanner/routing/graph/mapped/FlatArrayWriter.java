@@ -0,0 +1,69 @@
+package org.opentripplanner.routing.graph.mapped;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Collect the arrays written to the flat array section of a {@link MappedGraphFile}. A Kryo
+ * serializer adds an array and writes the returned offset to the object stream instead of the
+ * array. The arrays are written after the object stream, each array is aligned to 8 bytes.
+ */
+public final class FlatArrayWriter {
+
+  static final String KRYO_CONTEXT_KEY = FlatArrayWriter.class.getName();
+
+  private static final int CHUNK_SIZE_BYTES = 1 << 16;
+
+  private final List<float[]> arrays = new ArrayList<>();
+  private long size = 0;
+
+  FlatArrayWriter() {}
+
+  /**
+   * Return the writer if the given Kryo instance is writing a mapped graph file, {@code null} if
+   * the arrays should be written to the object stream.
+   */
+  @Nullable
+  public static FlatArrayWriter of(Kryo kryo) {
+    return (FlatArrayWriter) kryo.getContext().get(KRYO_CONTEXT_KEY);
+  }
+
+  /**
+   * Add the array to the section, the array must not be changed until the file is written.
+   *
+   * @return the offset of the array in the section, pass this to {@link FlatArrayReader#floats}
+   */
+  public long add(float[] array) {
+    long offset = size;
+    arrays.add(array);
+    size += align(array.length * (long) Float.BYTES);
+    return offset;
+  }
+
+  void writeTo(Output output) {
+    var buffer = ByteBuffer.allocate(CHUNK_SIZE_BYTES).order(MappedGraphFile.BYTE_ORDER);
+    FloatBuffer floats = buffer.asFloatBuffer();
+
+    for (float[] array : arrays) {
+      for (int i = 0; i < array.length; i += floats.capacity()) {
+        int n = Math.min(floats.capacity(), array.length - i);
+        floats.clear();
+        floats.put(array, i, n);
+        output.writeBytes(buffer.array(), 0, n * Float.BYTES);
+      }
+      long length = array.length * (long) Float.BYTES;
+      for (long i = length; i < align(length); ++i) {
+        output.writeByte(0);
+      }
+    }
+  }
+
+  static long align(long size) {
+    return (size + 7) & ~7L;
+  }
+}
@@ -0,0 +1,127 @@
+package org.opentripplanner.routing.graph.mapped;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.opentripplanner.framework.application.OtpAppException;
+
+/**
+ * Read and write the {@link org.opentripplanner.routing.graph.GraphFileFormat#MAPPED} graph file
+ * format. The file has these sections:
+ * <ol>
+ *   <li>The OTP graph file header, see
+ *   {@link org.opentripplanner.model.projectinfo.GraphFileHeader}</li>
+ *   <li>The {@link #MAGIC} bytes identifying the format</li>
+ *   <li>The Kryo object stream</li>
+ *   <li>The flat array section, see {@link FlatArrayWriter}. Aligned to 8 bytes.</li>
+ *   <li>A fixed size trailer with the offset and length of the object stream and the flat array
+ *   section, followed by the {@link #MAGIC} bytes.</li>
+ * </ol>
+ * Serializers for classes with large primitive arrays write these to the flat array section, and
+ * map them with the {@link FlatArrayReader} when the file is read. Currently only the
+ * {@link org.opentripplanner.street.search.landmark.LandmarkTable} weights are written this way.
+ */
+public final class MappedGraphFile {
+
+  /**
+   * Kryo never writes a zero byte first for a non-null object, so the magic bytes can not be
+   * mistaken for the start of a Kryo graph file.
+   */
+  private static final byte[] MAGIC = { 0, 'O', 'T', 'P', 'M', 'A', 'P', '1' };
+
+  static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  private static final int TRAILER_LENGTH = 4 * Long.BYTES + MAGIC.length;
+
+  private MappedGraphFile() {}
+
+  public static int magicLength() {
+    return MAGIC.length;
+  }
+
+  /**
+   * Return {@code true} if the bytes following the graph file header identify a mapped graph
+   * file.
+   */
+  public static boolean isMagic(byte[] bytes) {
+    return Arrays.equals(bytes, MAGIC);
+  }
+
+  /**
+   * Write the header and the root object to the output stream, the stream is closed.
+   */
+  public static void write(OutputStream outputStream, byte[] header, Kryo kryo, Object root) {
+    var flatArrays = new FlatArrayWriter();
+    kryo.getContext().put(FlatArrayWriter.KRYO_CONTEXT_KEY, flatArrays);
+
+    try (Output output = new Output(outputStream)) {
+      output.writeBytes(header);
+      output.writeBytes(MAGIC);
+
+      long objectsOffset = output.total();
+      kryo.writeClassAndObject(output, root);
+      long objectsLength = output.total() - objectsOffset;
+
+      while (output.total() != FlatArrayWriter.align(output.total())) {
+        output.writeByte(0);
+      }
+      long arraysOffset = output.total();
+      flatArrays.writeTo(output);
+      long arraysLength = output.total() - arraysOffset;
+
+      var trailer = ByteBuffer.allocate(TRAILER_LENGTH);
+      trailer.putLong(objectsOffset);
+      trailer.putLong(objectsLength);
+      trailer.putLong(arraysOffset);
+      trailer.putLong(arraysLength);
+      trailer.put(MAGIC);
+      output.writeBytes(trailer.array());
+    } finally {
+      kryo.getContext().remove(FlatArrayWriter.KRYO_CONTEXT_KEY);
+    }
+  }
+
+  /**
+   * Read the root object from the file. The header must be validated by the caller.
+   */
+  public static Object read(File file, Kryo kryo) throws IOException {
+    try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      if (channel.size() < TRAILER_LENGTH) {
+        throw new OtpAppException("The mapped graph file is truncated: " + file);
+      }
+      var trailer = ByteBuffer.allocate(TRAILER_LENGTH);
+      channel.read(trailer, channel.size() - TRAILER_LENGTH);
+      trailer.flip();
+
+      long objectsOffset = trailer.getLong();
+      long objectsLength = trailer.getLong();
+      long arraysOffset = trailer.getLong();
+      long arraysLength = trailer.getLong();
+      byte[] magic = new byte[MAGIC.length];
+      trailer.get(magic);
+
+      if (!isMagic(magic) || objectsOffset + objectsLength > arraysOffset) {
+        throw new OtpAppException("The mapped graph file is truncated or corrupt: " + file);
+      }
+
+      var flatArrays = new FlatArrayReader(channel, arraysOffset, arraysLength);
+      kryo.getContext().put(FlatArrayReader.KRYO_CONTEXT_KEY, flatArrays);
+      try {
+        channel.position(objectsOffset);
+        var input = new Input(Channels.newInputStream(channel));
+        return kryo.readClassAndObject(input);
+      } finally {
+        kryo.getContext().remove(FlatArrayReader.KRYO_CONTEXT_KEY);
+      }
+    }
+  }
+}
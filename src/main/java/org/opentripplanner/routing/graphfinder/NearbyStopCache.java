@@ -0,0 +1,244 @@
+package org.opentripplanner.routing.graphfinder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.BikePreferences;
+import org.opentripplanner.routing.api.request.preference.CarPreferences;
+import org.opentripplanner.routing.api.request.preference.StreetPreferences;
+import org.opentripplanner.routing.api.request.preference.VehicleRentalPreferences;
+import org.opentripplanner.routing.api.request.preference.WalkPreferences;
+import org.opentripplanner.routing.api.request.preference.WheelchairPreferences;
+import org.opentripplanner.routing.api.request.request.StreetRequest;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.TurnRestriction;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+/**
+ * A bounded cache of the stops found by the access/egress street search. The result of the
+ * street search does not depend on the time of the request, so the same stops can be returned for
+ * all requests from (or to) the same location with the same street mode and street-relevant
+ * request options. The location is snapped to a grid of about one meter, see
+ * {@link #COORDINATE_RESOLUTION}.
+ * <p>
+ * The exception is turn restrictions which are only active at some times, like "no left turn
+ * 7-9 on weekdays". Searches using a mode which such a turn restriction applies to are not
+ * cached, see {@link #forGraph(Graph, int)}.
+ * <p>
+ * The least recently used entries are evicted when the cache is full. The cache records hit and
+ * miss statistics, these are available as metrics through {@link #getCache()}. The cache must be
+ * invalidated, using {@link #invalidateAll()}, when a realtime update changes the street graph,
+ * like the availability of rental vehicles.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE.
+ */
+public class NearbyStopCache {
+
+  /** The coordinates are rounded to 5 decimals, which is about one meter. */
+  private static final double COORDINATE_RESOLUTION = 1e5;
+
+  private final Cache<CacheKey, List<NearbyStop>> cache;
+
+  /** The modes of the turn restrictions which are only active at some times. */
+  private final Set<TraverseMode> timeDependentTurnRestrictionModes;
+
+  public NearbyStopCache(int maximumSize) {
+    this(maximumSize, Set.of());
+  }
+
+  NearbyStopCache(int maximumSize, Set<TraverseMode> timeDependentTurnRestrictionModes) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    this.timeDependentTurnRestrictionModes = Set.copyOf(timeDependentTurnRestrictionModes);
+  }
+
+  /**
+   * Create a cache for the given graph. Searches using a mode which a time-dependent turn
+   * restriction in the graph applies to are not cached, since the result depends on the time of
+   * the request.
+   */
+  public static NearbyStopCache forGraph(Graph graph, int maximumSize) {
+    var modes = EnumSet.noneOf(TraverseMode.class);
+    for (StreetEdge edge : graph.getStreetEdges()) {
+      for (TurnRestriction turnRestriction : edge.getTurnRestrictions()) {
+        if (turnRestriction.time != null) {
+          modes.addAll(turnRestriction.modes.getModes());
+        }
+      }
+    }
+    return new NearbyStopCache(maximumSize, modes);
+  }
+
+  public Cache<?, ?> getCache() {
+    return cache;
+  }
+
+  /**
+   * Return the cached stops for the given search, or perform the search using the given
+   * {@code streetSearch} if not in the cache.
+   *
+   * @param location the origin of the access search, or the destination of the egress search
+   */
+  public List<NearbyStop> get(
+    GenericLocation location,
+    RouteRequest request,
+    StreetRequest streetRequest,
+    boolean fromTarget,
+    Duration durationLimit,
+    Supplier<List<NearbyStop>> streetSearch
+  ) {
+    if (dependsOnTime(streetRequest.mode())) {
+      return streetSearch.get();
+    }
+    var key = new CacheKey(
+      LocationKey.of(location),
+      fromTarget,
+      durationLimit,
+      new StreetRelevantOptions(request, streetRequest.mode())
+    );
+    try {
+      return cache.get(key, () -> List.copyOf(streetSearch.get()));
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Failed to get item from nearby stop cache", e);
+    }
+  }
+
+  /**
+   * Remove all entries from the cache. This should be called every time the street graph is
+   * updated.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private boolean dependsOnTime(StreetMode mode) {
+    var modes = timeDependentTurnRestrictionModes;
+    return (
+      (mode.includesWalking() && modes.contains(TraverseMode.WALK)) ||
+      (
+        mode.includesBiking() &&
+        (modes.contains(TraverseMode.BICYCLE) || modes.contains(TraverseMode.SCOOTER))
+      ) ||
+      (mode.includesDriving() && modes.contains(TraverseMode.CAR))
+    );
+  }
+
+  private record CacheKey(
+    LocationKey location,
+    boolean fromTarget,
+    Duration durationLimit,
+    StreetRelevantOptions options
+  ) {}
+
+  /**
+   * The label is part of the key, since it is used as the name of the first/last place in the
+   * itinerary.
+   */
+  private record LocationKey(String label, FeedScopedId stopId, long lat, long lng) {
+
+    private static LocationKey of(GenericLocation location) {
+      return new LocationKey(
+        location.label,
+        location.stopId,
+        round(location.lat),
+        round(location.lng)
+      );
+    }
+
+    private static long round(Double value) {
+      return value == null ? Long.MIN_VALUE : Math.round(value * COORDINATE_RESOLUTION);
+    }
+  }
+
+  /**
+   * This contains an extract of the parameters which may influence the street search. Preferences
+   * for modes not part of the street mode are ignored.
+   */
+  private static class StreetRelevantOptions {
+
+    private final StreetMode mode;
+    private final boolean wheelchair;
+    private final WalkPreferences walk;
+    private final BikePreferences bike;
+    private final CarPreferences car;
+    private final StreetPreferences street;
+    private final WheelchairPreferences wheelchairPreferences;
+    private final VehicleRentalPreferences rental;
+    private final Set<String> allowedRentalNetworks;
+    private final Set<String> bannedRentalNetworks;
+    private final boolean allowArrivingInRentedVehicleAtDestination;
+
+    private StreetRelevantOptions(RouteRequest request, StreetMode mode) {
+      this.mode = mode;
+      this.wheelchair = request.wheelchair();
+
+      var preferences = request.preferences();
+      this.walk = preferences.walk();
+      this.bike = mode.includesBiking() ? preferences.bike() : BikePreferences.DEFAULT;
+      this.car = mode.includesDriving() ? preferences.car() : CarPreferences.DEFAULT;
+      this.street = preferences.street();
+      this.wheelchairPreferences =
+        wheelchair ? preferences.wheelchair() : WheelchairPreferences.DEFAULT;
+
+      var rentalRequest = request.journey().rental();
+      boolean renting = mode.includesRenting();
+      this.rental = renting ? preferences.rental() : VehicleRentalPreferences.DEFAULT;
+      this.allowedRentalNetworks =
+        renting ? Set.copyOf(rentalRequest.allowedNetworks()) : Set.of();
+      this.bannedRentalNetworks = renting ? Set.copyOf(rentalRequest.bannedNetworks()) : Set.of();
+      this.allowArrivingInRentedVehicleAtDestination =
+        renting && rentalRequest.allowArrivingInRentedVehicleAtDestination();
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+        mode,
+        wheelchair,
+        walk,
+        bike,
+        car,
+        street,
+        wheelchairPreferences,
+        rental,
+        allowedRentalNetworks,
+        bannedRentalNetworks,
+        allowArrivingInRentedVehicleAtDestination
+      );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof StreetRelevantOptions that)) {
+        return false;
+      }
+      return (
+        mode == that.mode &&
+        wheelchair == that.wheelchair &&
+        allowArrivingInRentedVehicleAtDestination ==
+        that.allowArrivingInRentedVehicleAtDestination &&
+        Objects.equals(walk, that.walk) &&
+        Objects.equals(bike, that.bike) &&
+        Objects.equals(car, that.car) &&
+        Objects.equals(street, that.street) &&
+        Objects.equals(wheelchairPreferences, that.wheelchairPreferences) &&
+        Objects.equals(rental, that.rental) &&
+        Objects.equals(allowedRentalNetworks, that.allowedRentalNetworks) &&
+        Objects.equals(bannedRentalNetworks, that.bannedRentalNetworks)
+      );
+    }
+  }
+}
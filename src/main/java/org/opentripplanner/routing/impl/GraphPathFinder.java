@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Set;
 import javax.annotation.Nullable;
 import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.astar.spi.RemainingWeightHeuristic;
 import org.opentripplanner.astar.spi.TraverseVisitor;
 import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
 import org.opentripplanner.astar.strategy.PathComparator;
@@ -19,9 +20,11 @@ import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.StreetSearchBuilder;
 import org.opentripplanner.street.search.TemporaryVerticesContainer;
+import org.opentripplanner.street.search.landmark.StreetLandmarks;
 import org.opentripplanner.street.search.state.State;
 import org.opentripplanner.street.search.strategy.DominanceFunctions;
 import org.opentripplanner.street.search.strategy.EuclideanRemainingWeightHeuristic;
+import org.opentripplanner.street.search.strategy.LandmarkRemainingWeightHeuristic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +61,9 @@ public class GraphPathFinder {
 
   private final DataOverlayContext dataOverlayContext;
 
+  @Nullable
+  private final StreetLandmarks streetLandmarks;
+
   public GraphPathFinder(
     @Nullable TraverseVisitor<State, Edge> traverseVisitor,
     Duration streetRoutingTimeout
@@ -69,10 +75,24 @@ public class GraphPathFinder {
     @Nullable TraverseVisitor<State, Edge> traverseVisitor,
     Duration streetRoutingTimeout,
     @Nullable DataOverlayContext dataOverlayContext
+  ) {
+    this(traverseVisitor, streetRoutingTimeout, dataOverlayContext, null);
+  }
+
+  /**
+   * @param streetLandmarks if the graph has landmarks matching the request, these are used for the
+   *                        remaining weight heuristic.
+   */
+  public GraphPathFinder(
+    @Nullable TraverseVisitor<State, Edge> traverseVisitor,
+    Duration streetRoutingTimeout,
+    @Nullable DataOverlayContext dataOverlayContext,
+    @Nullable StreetLandmarks streetLandmarks
   ) {
     this.traverseVisitor = traverseVisitor;
     this.streetRoutingTimeout = streetRoutingTimeout;
     this.dataOverlayContext = dataOverlayContext;
+    this.streetLandmarks = streetLandmarks;
   }
 
   /**
@@ -88,7 +108,7 @@ public class GraphPathFinder {
 
     StreetSearchBuilder aStar = StreetSearchBuilder
       .of()
-      .setHeuristic(new EuclideanRemainingWeightHeuristic())
+      .setHeuristic(createHeuristic(request))
       .setSkipEdgeStrategy(
         new DurationSkipEdgeStrategy(
           preferences.maxDirectDuration().valueOf(request.journey().direct().mode())
@@ -122,6 +142,25 @@ public class GraphPathFinder {
     return paths;
   }
 
+  /**
+   * Use the landmark heuristic if the graph has landmarks for the mode and preferences of the
+   * request. The landmark weights do not include the data overlay costs, so it can not be used
+   * with data overlay.
+   */
+  private RemainingWeightHeuristic<State> createHeuristic(RouteRequest request) {
+    if (streetLandmarks != null && dataOverlayContext == null) {
+      var table = streetLandmarks.find(
+        request.journey().direct().mode(),
+        request.wheelchair(),
+        request.preferences()
+      );
+      if (table.isPresent()) {
+        return new LandmarkRemainingWeightHeuristic(table.get());
+      }
+    }
+    return new EuclideanRemainingWeightHeuristic();
+  }
+
   /**
    * Try to find N paths through the Graph
    */
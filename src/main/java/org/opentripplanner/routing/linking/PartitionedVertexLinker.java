@@ -0,0 +1,175 @@
+package org.opentripplanner.routing.linking;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.opentripplanner.framework.time.DurationUtils;
+import org.opentripplanner.routing.linking.VertexLinker.LinkCandidates;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TraverseModeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Link many vertices permanently to the street graph, using several threads. This is used during
+ * graph build to link stops and entrances.
+ * <p>
+ * Linking is done in two phases. First the vertices are grouped into spatial tiles, and the street
+ * edges to link each vertex to are found for all tiles in parallel. Nothing is changed in this
+ * phase, so the spatial index and the graph can be read by all threads. Then the vertices are
+ * linked one at a time, in the given order, splitting the street edges found. If an earlier
+ * vertex has split one of the edges within the search radius of a vertex, the edges for that
+ * vertex are found again. The graph is therefore the same as if each vertex was linked with
+ * {@link VertexLinker#linkVertexPermanently(Vertex, TraverseModeSet, LinkingDirection, BiFunction)}
+ * in the same order.
+ */
+public class PartitionedVertexLinker {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PartitionedVertexLinker.class);
+
+  /** About 1 km, a tile is the unit of work for the parallel phase. */
+  private static final double TILE_SIZE_DEGREES = 0.01;
+
+  private final VertexLinker linker;
+  private final int threads;
+
+  public PartitionedVertexLinker(VertexLinker linker, int threads) {
+    this.linker = linker;
+    this.threads = threads;
+  }
+
+  /**
+   * Link the vertices in the given order.
+   *
+   * @param traverseModes The modes used to find the street edges to link each vertex to
+   * @param onLinked      Called after each vertex is linked, can be used to track progress
+   */
+  public <T extends Vertex> void linkVerticesPermanently(
+    List<T> vertices,
+    Function<T, TraverseModeSet> traverseModes,
+    LinkingDirection direction,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction,
+    Runnable onLinked
+  ) {
+    long startTime = System.currentTimeMillis();
+    LinkCandidates[] candidates = findCandidates(vertices, traverseModes);
+    long findTime = System.currentTimeMillis() - startTime;
+
+    int foundAgain = 0;
+    for (int i = 0; i < vertices.size(); ++i) {
+      T vertex = vertices.get(i);
+      boolean candidatesUsed = linker.linkVertexPermanently(
+        vertex,
+        candidates[i],
+        traverseModes.apply(vertex),
+        direction,
+        edgeFunction
+      );
+      if (!candidatesUsed) {
+        ++foundAgain;
+      }
+      candidates[i] = null;
+      onLinked.run();
+    }
+    logStatistics(vertices.size(), foundAgain, findTime, System.currentTimeMillis() - startTime);
+  }
+
+  /* private methods */
+
+  private <T extends Vertex> LinkCandidates[] findCandidates(
+    List<T> vertices,
+    Function<T, TraverseModeSet> traverseModes
+  ) {
+    LinkCandidates[] candidates = new LinkCandidates[vertices.size()];
+
+    if (threads <= 1 || vertices.size() < 2) {
+      for (int i = 0; i < vertices.size(); ++i) {
+        T vertex = vertices.get(i);
+        candidates[i] = linker.findCandidatesPermanently(vertex, traverseModes.apply(vertex));
+      }
+      return candidates;
+    }
+
+    var threadFactory = new ThreadFactoryBuilder()
+      .setNameFormat("VertexLinker-%d")
+      .setDaemon(true)
+      .build();
+    ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory);
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (List<Integer> tile : partitionIntoTiles(vertices)) {
+        tasks.add(
+          executor.submit(() -> {
+            for (int i : tile) {
+              T vertex = vertices.get(i);
+              candidates[i] = linker.findCandidatesPermanently(vertex, traverseModes.apply(vertex));
+            }
+          })
+        );
+      }
+      for (Future<?> task : tasks) {
+        await(task);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    // All tasks are complete, so the candidates written by the workers are visible here
+    return candidates;
+  }
+
+  /**
+   * The street edges of the vertices found again are searched sequentially, if this is a large
+   * share of the vertices the parallel phase does not pay off.
+   */
+  private void logStatistics(int nVertices, int foundAgain, long findTime, long totalTime) {
+    if (nVertices == 0) {
+      return;
+    }
+    LOG.info(
+      "Linked {} vertices in {}, finding the street edges took {} (threads: {}). The street " +
+      "edges of {} vertices ({}%) were found again, since an earlier vertex had split one of them.",
+      nVertices,
+      DurationUtils.msToSecondsStr(totalTime),
+      DurationUtils.msToSecondsStr(findTime),
+      threads,
+      foundAgain,
+      (100 * foundAgain) / nVertices
+    );
+  }
+
+  /** Group the indexes of the vertices by tile. */
+  private static List<List<Integer>> partitionIntoTiles(List<? extends Vertex> vertices) {
+    Map<Long, List<Integer>> tiles = new HashMap<>();
+    for (int i = 0; i < vertices.size(); ++i) {
+      Vertex v = vertices.get(i);
+      long x = (long) Math.floor(v.getLon() / TILE_SIZE_DEGREES);
+      long y = (long) Math.floor(v.getLat() / TILE_SIZE_DEGREES);
+      tiles.computeIfAbsent((x << 32) ^ (y & 0xFFFFFFFFL), it -> new ArrayList<>()).add(i);
+    }
+    return new ArrayList<>(tiles.values());
+  }
+
+  private static void await(Future<?> task) {
+    try {
+      task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while linking vertices", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
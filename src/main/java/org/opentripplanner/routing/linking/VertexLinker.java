@@ -237,6 +237,50 @@ public class VertexLinker {
     return tempEdges;
   }
 
+  /**
+   * Find the street edges to link the given vertex to, without changing the graph. This is used to
+   * link many vertices in parallel, see {@link PartitionedVertexLinker}.
+   */
+  LinkCandidates findCandidatesPermanently(Vertex vertex, TraverseModeSet traverseModes) {
+    var candidates = findCandidates(
+      vertex,
+      traverseModes,
+      Scope.PERMANENT,
+      INITIAL_SEARCH_RADIUS_METERS
+    );
+    if (candidates.isEmpty()) {
+      candidates =
+        findCandidates(vertex, traverseModes, Scope.PERMANENT, MAX_SEARCH_RADIUS_METERS);
+    }
+    return candidates;
+  }
+
+  /**
+   * Link the vertex permanently to the candidate edges found by
+   * {@link #findCandidatesPermanently(Vertex, TraverseModeSet)}. If any of the candidate edges is
+   * split after the candidates were found, the candidates are found again. The result is the same
+   * as linking the vertex without the candidates.
+   *
+   * @return {@code false} if the candidates were found again
+   */
+  boolean linkVertexPermanently(
+    Vertex vertex,
+    LinkCandidates candidates,
+    TraverseModeSet traverseModes,
+    LinkingDirection direction,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
+  ) {
+    if (!candidates.isUnchanged()) {
+      linkVertexPermanently(vertex, traverseModes, direction, edgeFunction);
+      return false;
+    }
+    var streetVertices = linkToCandidates(vertex, candidates, Scope.PERMANENT, direction, null);
+    for (StreetVertex streetVertex : streetVertices) {
+      edgeFunction.apply(vertex, streetVertex);
+    }
+    return true;
+  }
+
   private Set<StreetVertex> linkToStreetEdges(
     Vertex vertex,
     TraverseModeSet traverseModes,
@@ -244,6 +288,16 @@ public class VertexLinker {
     Scope scope,
     int radiusMeters,
     DisposableEdgeCollection tempEdges
+  ) {
+    var candidates = findCandidates(vertex, traverseModes, scope, radiusMeters);
+    return linkToCandidates(vertex, candidates, scope, direction, tempEdges);
+  }
+
+  private LinkCandidates findCandidates(
+    Vertex vertex,
+    TraverseModeSet traverseModes,
+    Scope scope,
+    int radiusMeters
   ) {
     final double radiusDeg = SphericalDistanceLibrary.metersToDegrees(radiusMeters);
 
@@ -269,14 +323,24 @@ public class VertexLinker {
       .collect(Collectors.toList());
 
     if (candidateEdges.isEmpty()) {
-      return Set.of();
+      return new LinkCandidates(xscale, List.of(), Set.of());
     }
 
     Set<DistanceTo<StreetEdge>> closesEdges = getClosestEdgesPerMode(traverseModes, candidateEdges);
 
-    return closesEdges
+    return new LinkCandidates(xscale, candidateEdges, closesEdges);
+  }
+
+  private Set<StreetVertex> linkToCandidates(
+    Vertex vertex,
+    LinkCandidates candidates,
+    Scope scope,
+    LinkingDirection direction,
+    DisposableEdgeCollection tempEdges
+  ) {
+    return candidates.closestEdges
       .stream()
-      .map(ce -> link(vertex, ce.item, xscale, scope, direction, tempEdges))
+      .map(ce -> link(vertex, ce.item, candidates.xscale, scope, direction, tempEdges))
       .collect(Collectors.toSet());
   }
 
@@ -500,4 +564,41 @@ public class VertexLinker {
   }
 
   private record StreetEdgePair(StreetEdge e0, StreetEdge e1) {}
+
+  /**
+   * The street edges within the search radius of a vertex, and the closest of them. Splitting an
+   * edge only creates new edges along the split edge, so the vertex is linked in the same way as
+   * long as none of the edges within the search radius are split.
+   */
+  static class LinkCandidates {
+
+    private final double xscale;
+    private final List<DistanceTo<StreetEdge>> edgesWithinRadius;
+    private final Set<DistanceTo<StreetEdge>> closestEdges;
+
+    private LinkCandidates(
+      double xscale,
+      List<DistanceTo<StreetEdge>> edgesWithinRadius,
+      Set<DistanceTo<StreetEdge>> closestEdges
+    ) {
+      this.xscale = xscale;
+      this.edgesWithinRadius = edgesWithinRadius;
+      this.closestEdges = closestEdges;
+    }
+
+    boolean isEmpty() {
+      return edgesWithinRadius.isEmpty();
+    }
+
+    /** Return {@code true} if none of the edges are split or removed from the graph. */
+    boolean isUnchanged() {
+      for (DistanceTo<StreetEdge> it : edgesWithinRadius) {
+        Vertex toVertex = it.item.getToVertex();
+        if (toVertex == null || !toVertex.getIncoming().contains(it.item)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
 }
@@ -1,11 +1,17 @@
 package org.opentripplanner.routing.service;
 
 import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Consumer;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.routing.algorithm.BatchRoutingWorker;
 import org.opentripplanner.routing.algorithm.RoutingWorker;
 import org.opentripplanner.routing.algorithm.via.ViaRoutingWorker;
 import org.opentripplanner.routing.api.RoutingService;
+import org.opentripplanner.routing.api.request.RouteBatchRequest;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.RouteViaRequest;
+import org.opentripplanner.routing.api.response.BatchRoutingResponse;
 import org.opentripplanner.routing.api.response.RoutingResponse;
 import org.opentripplanner.routing.api.response.ViaRoutingResponse;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
@@ -31,6 +37,15 @@ public class DefaultRoutingService implements RoutingService {
     return worker.route();
   }
 
+  @Override
+  public RoutingResponse route(
+    RouteRequest request,
+    Consumer<List<Itinerary>> partialResultListener
+  ) {
+    RoutingWorker worker = new RoutingWorker(serverContext, request, timeZone);
+    return worker.route(partialResultListener);
+  }
+
   @Override
   public ViaRoutingResponse route(RouteViaRequest request) {
     var viaRoutingWorker = new ViaRoutingWorker(
@@ -40,4 +55,9 @@ public class DefaultRoutingService implements RoutingService {
     );
     return viaRoutingWorker.route();
   }
+
+  @Override
+  public void route(RouteBatchRequest request, Consumer<BatchRoutingResponse> responseListener) {
+    new BatchRoutingWorker(serverContext, request, timeZone).route(responseListener);
+  }
 }
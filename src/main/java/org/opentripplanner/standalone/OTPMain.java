@@ -4,6 +4,7 @@ import static org.opentripplanner.model.projectinfo.OtpProjectInfo.projectInfo;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.ParameterException;
+import java.util.function.Supplier;
 import org.geotools.referencing.factory.DeferredAuthorityFactory;
 import org.geotools.util.WeakCollectionCleaner;
 import org.opentripplanner.framework.application.OtpAppException;
@@ -186,7 +187,7 @@ public class OTPMain {
     if (params.doServe()) {
       GrizzlyServer grizzlyServer = app.createGrizzlyServer();
 
-      registerShutdownHookToGracefullyShutDownServer(app.transitModel(), app.raptorConfig());
+      registerShutdownHookToGracefullyShutDownServer(app::servedTransitModel, app.raptorConfig());
 
       // Loop to restart server on uncaught fatal exceptions.
       while (true) {
@@ -214,12 +215,12 @@ public class OTPMain {
    * </ol>
    */
   private static void registerShutdownHookToGracefullyShutDownServer(
-    TransitModel transitModel,
+    Supplier<TransitModel> transitModel,
     RaptorConfig<?> raptorConfig
   ) {
     var hook = new Thread(() -> {
       LOG.info("OTP shutdown started...");
-      UpdaterConfigurator.shutdownGraph(transitModel);
+      UpdaterConfigurator.shutdownGraph(transitModel.get());
       raptorConfig.shutdown();
       WeakCollectionCleaner.DEFAULT.exit();
       DeferredAuthorityFactory.exit();
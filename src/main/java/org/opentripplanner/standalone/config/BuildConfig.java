@@ -24,6 +24,7 @@ import org.opentripplanner.framework.geometry.CompactElevationProfile;
 import org.opentripplanner.framework.lang.ObjectUtils;
 import org.opentripplanner.graph_builder.module.ned.parameter.DemExtractParameters;
 import org.opentripplanner.graph_builder.module.ned.parameter.DemExtractParametersList;
+import org.opentripplanner.graph_builder.module.osm.OsmNodeStoreType;
 import org.opentripplanner.graph_builder.module.osm.parameters.OsmExtractParameters;
 import org.opentripplanner.graph_builder.module.osm.parameters.OsmExtractParametersList;
 import org.opentripplanner.graph_builder.services.osm.CustomNamer;
@@ -32,6 +33,7 @@ import org.opentripplanner.model.calendar.ServiceDateInterval;
 import org.opentripplanner.netex.config.NetexFeedParameters;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.fares.FareServiceFactory;
+import org.opentripplanner.routing.graph.GraphFileFormat;
 import org.opentripplanner.standalone.config.buildconfig.DemConfig;
 import org.opentripplanner.standalone.config.buildconfig.GtfsConfig;
 import org.opentripplanner.standalone.config.buildconfig.IslandPruningConfig;
@@ -145,6 +147,7 @@ public class BuildConfig implements OtpDataStoreConfig {
   public final CustomNamer customNamer;
 
   public final boolean osmCacheDataInMem;
+  public final OsmNodeStoreType osmNodeStore;
 
   /** See {@link IslandPruningConfig}. */
   public final IslandPruningConfig islandPruning;
@@ -163,6 +166,10 @@ public class BuildConfig implements OtpDataStoreConfig {
 
   public final int maxAreaNodes;
 
+  public final int streetLandmarkCount;
+
+  public final GraphFileFormat graphFileFormat;
+
   public final DataOverlayConfig dataOverlay;
   public final double maxStopToShapeSnapDistance;
   public final Set<String> boardingLocationTags;
@@ -361,6 +368,22 @@ all of the elevation values in the street edges.
       """
         )
         .asBoolean(false);
+    osmNodeStore =
+      root
+        .of("osmNodeStore")
+        .since(V2_3)
+        .summary("How the OSM nodes are kept in memory during processing.")
+        .description(
+          """
+Most OSM nodes only carry a location, but with the `heap` store every node used by a way is kept
+as an object on the heap. This is the main reason a street graph for a large region needs a very
+large heap. The `compact` store keeps the coordinates of nodes without tags as fixed-point values
+in off-heap arrays sorted by id, and only nodes with tags as objects. This uses a fraction of the
+memory, at the cost of a slower node lookup. Note that the off-heap memory is limited by the JVM
+option `-XX:MaxDirectMemorySize`, which defaults to the max heap size.
+"""
+        )
+        .asEnum(OsmNodeStoreType.HEAP);
     platformEntriesLinking =
       root
         .of("platformEntriesLinking")
@@ -392,6 +415,23 @@ all of the elevation values in the street edges.
         .since(V1_5)
         .summary("Whether we should create car P+R stations from OSM data.")
         .asBoolean(true);
+    streetLandmarkCount =
+      root
+        .of("streetLandmarkCount")
+        .since(V2_3)
+        .summary("The number of landmarks to pre-calculate for car and bike street routing.")
+        .description(
+          """
+When set, landmark weights are calculated for car and bike with the default routing preferences
+and saved with the graph. Direct street searches with the same mode and preferences use these to
+estimate the remaining weight to the destination, which reduces the number of visited vertices
+in long car and bike searches. Other searches use the straight-line estimate as before.
+
+Each landmark uses 16 bytes of memory per street vertex, a value in the range 8-16 is usually a
+good choice. If 0, no landmarks are calculated.
+"""
+        )
+        .asInt(0);
     subwayAccessTime =
       root
         .of("subwayAccessTime")
@@ -612,6 +652,24 @@ Netex data is also often supplied in a ZIP file.
         .summary("URI to the graph object file for reading and writing.")
         .description("The file is created or overwritten if OTP saves the graph to the file.")
         .asUri(null);
+    graphFileFormat =
+      root
+        .of("graphFileFormat")
+        .since(V2_3)
+        .summary("The file format used when saving the graph.")
+        .description(
+          """
+The `kryo` format serializes the graph as one stream, which is read into the heap when the graph
+is loaded. The `mapped` format currently only affects the landmark tables used by the street
+routing heuristic: if landmarks are built, their weights are saved in a separate section of the
+file, which is memory-mapped when the graph is loaded. The rest of the graph is read into the heap
+as in the `kryo` format, so without landmarks the two formats load the same way. A graph in the
+`mapped` format must be loaded from a local uncompressed file.
+
+The format is detected when the graph is loaded.
+"""
+        )
+        .asEnum(GraphFileFormat.KRYO);
     streetGraph =
       root
         .of("streetGraph")
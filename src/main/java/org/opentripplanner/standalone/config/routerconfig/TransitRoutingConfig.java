@@ -1,6 +1,7 @@
 package org.opentripplanner.standalone.config.routerconfig;
 
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.NA;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
 
 import java.time.Duration;
 import java.util.List;
@@ -21,6 +22,7 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
   private final int iterationDepartureStepInSeconds;
   private final int searchThreadPoolSize;
   private final int transferCacheMaxSize;
+  private final int accessEgressCacheMaxSize;
   private final List<Duration> pagingSearchWindowAdjustments;
 
   private final Map<StopTransferPriority, Integer> stopTransferCost;
@@ -139,6 +141,24 @@ Use values in a range from `0` to `100 000`. **All key/value pairs are required
           " If too low, requests may be slower. If too high, more memory may be used then required."
         )
         .asInt(25);
+    this.accessEgressCacheMaxSize =
+      c
+        .of("accessEgressCacheMaxSize")
+        .since(V2_3)
+        .summary("The maximum number of access/egress street search results to cache.")
+        .description(
+          """
+The stops found by the access/egress street search are cached by location, street mode and the
+street-relevant request parameters. Requests from the same location, like a popular address or a
+stop place, can then skip the street search. The cache is cleared every time a realtime updater
+changes the street graph, like when the vehicle rental availability is updated. Searches with
+parking are not cached, since they depend on the opening hours of the parking facilities. Nor are
+searches using a mode which a time-dependent turn restriction in the graph applies to.
+
+The cache is disabled if set to `0`. The hit rate and size of the cache are available as metrics.
+"""
+        )
+        .asInt(0);
 
     this.pagingSearchWindowAdjustments =
       c
@@ -202,6 +222,11 @@ for more info."
     return transferCacheMaxSize;
   }
 
+  @Override
+  public int accessEgressCacheMaxSize() {
+    return accessEgressCacheMaxSize;
+  }
+
   @Override
   public List<Duration> pagingSearchWindowAdjustments() {
     return pagingSearchWindowAdjustments;
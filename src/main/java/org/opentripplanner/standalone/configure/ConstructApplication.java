@@ -15,8 +15,10 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.TransitLayerMapper;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.TransitLayerUpdater;
 import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graphfinder.NearbyStopCache;
 import org.opentripplanner.service.vehiclepositions.VehiclePositionRepository;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeRepository;
+import org.opentripplanner.service.worldenvelope.model.WorldEnvelope;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.standalone.config.BuildConfig;
 import org.opentripplanner.standalone.config.CommandLineParameters;
@@ -25,6 +27,7 @@ import org.opentripplanner.standalone.config.OtpConfig;
 import org.opentripplanner.standalone.config.RouterConfig;
 import org.opentripplanner.standalone.server.GrizzlyServer;
 import org.opentripplanner.standalone.server.OTPWebApplication;
+import org.opentripplanner.standalone.server.TransitModelReloader;
 import org.opentripplanner.street.model.elevation.ElevationUtils;
 import org.opentripplanner.transit.service.TransitModel;
 import org.opentripplanner.updater.configure.UpdaterConfigurator;
@@ -54,6 +57,7 @@ public class ConstructApplication {
 
   private final CommandLineParameters cli;
   private final GraphBuilderDataSources graphBuilderDataSources;
+  private final DataSource inputGraph;
   private final ConstructApplicationFactory factory;
 
   /**
@@ -65,10 +69,12 @@ public class ConstructApplication {
     TransitModel transitModel,
     WorldEnvelopeRepository worldEnvelopeRepository,
     ConfigModel config,
-    GraphBuilderDataSources graphBuilderDataSources
+    GraphBuilderDataSources graphBuilderDataSources,
+    DataSource inputGraph
   ) {
     this.cli = cli;
     this.graphBuilderDataSources = graphBuilderDataSources;
+    this.inputGraph = inputGraph;
 
     // We create the optional GraphVisualizer here, because it would be significant more complex to
     // use Dagger DI to do it - passing in a parameter to enable it or not.
@@ -129,10 +135,24 @@ public class ConstructApplication {
   private Application createApplication() {
     LOG.info("Wiring up and configuring server.");
     setupTransitRoutingServer();
-    return new OTPWebApplication(this::createServerContext);
+
+    var transitModelReloader = OTPFeature.APITransitModelReload.isOn()
+      ? new TransitModelReloader(
+        inputGraph,
+        routerConfig(),
+        vehiclePositionRepository(),
+        factory.servedModelHolder()
+      )
+      : null;
+    return new OTPWebApplication(this::createServerContext, transitModelReloader);
   }
 
   private void setupTransitRoutingServer() {
+    int accessEgressCacheMaxSize = routerConfig().transitTuningConfig().accessEgressCacheMaxSize();
+    if (accessEgressCacheMaxSize > 0) {
+      graph().setNearbyStopCache(NearbyStopCache.forGraph(graph(), accessEgressCacheMaxSize));
+    }
+
     // Create MetricsLogging
     factory.metricsLogging();
 
@@ -163,10 +183,23 @@ public class ConstructApplication {
   }
 
   private void initEllipsoidToGeoidDifference() {
+    var envelope = factory.worldEnvelopeService().envelope();
+    if (envelope.isPresent()) {
+      initEllipsoidToGeoidDifference(graph(), envelope.get());
+    } else {
+      LOG.error("Error computing ellipsoid/geoid difference");
+    }
+  }
+
+  /**
+   * Compute the ellipsoid/geoid difference at the center of the given envelope and set it on the
+   * graph.
+   */
+  public static void initEllipsoidToGeoidDifference(Graph graph, WorldEnvelope envelope) {
+    var c = envelope.center();
     try {
-      var c = factory.worldEnvelopeService().envelope().orElseThrow().center();
       double value = ElevationUtils.computeEllipsoidToGeoidDifference(c.latitude(), c.longitude());
-      graph().initEllipsoidToGeoidDifference(value, c.latitude(), c.longitude());
+      graph.initEllipsoidToGeoidDifference(value, c.latitude(), c.longitude());
     } catch (Exception e) {
       LOG.error("Error computing ellipsoid/geoid difference");
     }
@@ -199,6 +232,14 @@ public class ConstructApplication {
     return factory.transitModel();
   }
 
+  /**
+   * The transit model served by the APIs. This is the {@link #transitModel()} loaded or built at
+   * startup, until a new graph is reloaded into the running server.
+   */
+  public TransitModel servedTransitModel() {
+    return factory.servedModelHolder().get().transitModel();
+  }
+
   public VehiclePositionRepository vehiclePositionRepository() {
     return factory.vehiclePositionRepository();
   }
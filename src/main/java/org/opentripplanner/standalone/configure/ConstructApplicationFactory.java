@@ -18,6 +18,7 @@ import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.standalone.config.ConfigModel;
 import org.opentripplanner.standalone.config.configure.ConfigModule;
 import org.opentripplanner.standalone.server.MetricsLogging;
+import org.opentripplanner.standalone.server.ServedModelHolder;
 import org.opentripplanner.transit.configure.TransitModule;
 import org.opentripplanner.transit.service.TransitModel;
 import org.opentripplanner.transit.service.TransitService;
@@ -51,6 +52,7 @@ public interface ConstructApplicationFactory {
   GraphVisualizer graphVisualizer();
 
   TransitService transitService();
+  ServedModelHolder servedModelHolder();
   OtpServerRequestContext createServerContext();
 
   MetricsLogging metricsLogging();
@@ -7,13 +7,13 @@ import javax.annotation.Nullable;
 import org.opentripplanner.astar.spi.TraverseVisitor;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
-import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.service.vehiclepositions.VehiclePositionService;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeService;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.standalone.config.RouterConfig;
 import org.opentripplanner.standalone.server.DefaultServerRequestContext;
-import org.opentripplanner.transit.service.TransitService;
+import org.opentripplanner.standalone.server.ServedModelHolder;
+import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.visualizer.GraphVisualizer;
 
 @Module
@@ -23,19 +23,20 @@ public class ConstructApplicationModule {
   OtpServerRequestContext providesServerContext(
     RouterConfig routerConfig,
     RaptorConfig<TripSchedule> raptorConfig,
-    Graph graph,
-    TransitService transitService,
+    ServedModelHolder servedModelHolder,
     WorldEnvelopeService worldEnvelopeService,
     VehiclePositionService vehiclePositionService,
     @Nullable TraverseVisitor<?, ?> traverseVisitor
   ) {
+    // Read the model once, the graph and transit model must belong to the same model
+    var model = servedModelHolder.get();
     return DefaultServerRequestContext.create(
       routerConfig.transitTuningConfig(),
       routerConfig.routingRequestDefaults(),
       routerConfig.streetRoutingTimeout(),
       raptorConfig,
-      graph,
-      transitService,
+      model.graph(),
+      new DefaultTransitService(model.transitModel()),
       Metrics.globalRegistry,
       routerConfig.vectorTileLayers(),
       worldEnvelopeService,
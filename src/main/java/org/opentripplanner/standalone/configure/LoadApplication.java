@@ -81,7 +81,8 @@ public class LoadApplication {
       transitModel,
       worldEnvelopeRepository,
       config(),
-      graphBuilderDataSources()
+      graphBuilderDataSources(),
+      factory.datastore().getGraph()
     );
   }
 }
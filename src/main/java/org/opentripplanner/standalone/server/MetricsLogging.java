@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.concurrent.ForkJoinPool;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
+import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.transit.service.TransitModel;
 
 /**
@@ -29,7 +30,11 @@ import org.opentripplanner.transit.service.TransitModel;
 public class MetricsLogging {
 
   @Inject
-  public MetricsLogging(TransitModel transitModel, RaptorConfig<TripSchedule> raptorConfig) {
+  public MetricsLogging(
+    Graph graph,
+    TransitModel transitModel,
+    RaptorConfig<TripSchedule> raptorConfig
+  ) {
     new ClassLoaderMetrics().bindTo(Metrics.globalRegistry);
     new FileDescriptorMetrics().bindTo(Metrics.globalRegistry);
     new JvmCompilationMetrics().bindTo(Metrics.globalRegistry);
@@ -50,6 +55,14 @@ public class MetricsLogging {
       )
         .bindTo(Metrics.globalRegistry);
     }
+    if (graph.getNearbyStopCache() != null) {
+      new GuavaCacheMetrics(
+        graph.getNearbyStopCache().getCache(),
+        "accessEgressStopsCache",
+        List.of(Tag.of("cache", "accessEgressStops"))
+      )
+        .bindTo(Metrics.globalRegistry);
+    }
     new ExecutorServiceMetrics(
       ForkJoinPool.commonPool(),
       "commonPool",
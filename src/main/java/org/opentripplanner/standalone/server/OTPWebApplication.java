@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import org.glassfish.jersey.CommonProperties;
 import org.glassfish.jersey.internal.inject.AbstractBinder;
 import org.glassfish.jersey.internal.inject.Binder;
@@ -37,6 +38,9 @@ public class OTPWebApplication extends Application {
   /* This object groups together all the modules for a single running OTP server. */
   private final Supplier<OtpServerRequestContext> contextProvider;
 
+  @Nullable
+  private final TransitModelReloader transitModelReloader;
+
   static {
     // Remove existing handlers attached to the j.u.l root logger
     SLF4JBridgeHandler.removeHandlersForRootLogger();
@@ -45,8 +49,12 @@ public class OTPWebApplication extends Application {
     SLF4JBridgeHandler.install();
   }
 
-  public OTPWebApplication(Supplier<OtpServerRequestContext> contextProvider) {
+  public OTPWebApplication(
+    Supplier<OtpServerRequestContext> contextProvider,
+    @Nullable TransitModelReloader transitModelReloader
+  ) {
     this.contextProvider = contextProvider;
+    this.transitModelReloader = transitModelReloader;
   }
 
   /**
@@ -97,6 +105,10 @@ public class OTPWebApplication extends Application {
       singletons.add(getBoundPrometheusRegistry());
     }
 
+    if (transitModelReloader != null) {
+      singletons.add(makeBinder(transitModelReloader));
+    }
+
     return singletons;
   }
 
@@ -132,6 +144,18 @@ public class OTPWebApplication extends Application {
     };
   }
 
+  /**
+   * Return an HK2 Binder that injects the reloader into the endpoint used to reload the graph.
+   */
+  private Binder makeBinder(TransitModelReloader transitModelReloader) {
+    return new AbstractBinder() {
+      @Override
+      protected void configure() {
+        bind(transitModelReloader).to(TransitModelReloader.class);
+      }
+    };
+  }
+
   private MetricsApplicationEventListener getMetricsApplicationEventListener() {
     return new MetricsApplicationEventListener(
       Metrics.globalRegistry,
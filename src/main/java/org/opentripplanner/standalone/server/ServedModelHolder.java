@@ -0,0 +1,39 @@
+package org.opentripplanner.standalone.server;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.concurrent.atomic.AtomicReference;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.transit.service.TransitModel;
+
+/**
+ * Hold the graph and transit model served by the APIs. The graph and the transit model are
+ * replaced together when a newly built graph is reloaded into a running server, see
+ * {@link TransitModelReloader}. The server context of each HTTP request reads the model once, so a
+ * request in progress keeps using the model it started with.
+ */
+@Singleton
+public class ServedModelHolder {
+
+  private final AtomicReference<ServedModel> model;
+
+  @Inject
+  public ServedModelHolder(Graph graph, TransitModel transitModel) {
+    this.model = new AtomicReference<>(new ServedModel(graph, transitModel));
+  }
+
+  public ServedModel get() {
+    return model.get();
+  }
+
+  /**
+   * Replace the served model, the new model must be indexed and ready for routing.
+   *
+   * @return the model served before the swap
+   */
+  public ServedModel swap(ServedModel newModel) {
+    return model.getAndSet(newModel);
+  }
+
+  public record ServedModel(Graph graph, TransitModel transitModel) {}
+}
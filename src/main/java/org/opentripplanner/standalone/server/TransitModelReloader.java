@@ -0,0 +1,231 @@
+package org.opentripplanner.standalone.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.opentripplanner.datastore.api.DataSource;
+import org.opentripplanner.ext.geocoder.LuceneIndex;
+import org.opentripplanner.ext.transmodelapi.TransmodelAPI;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.framework.time.DurationUtils;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.SerializedGraphObject;
+import org.opentripplanner.routing.graphfinder.NearbyStopCache;
+import org.opentripplanner.service.vehiclepositions.VehiclePositionRepository;
+import org.opentripplanner.standalone.config.RouterConfig;
+import org.opentripplanner.standalone.configure.ConstructApplication;
+import org.opentripplanner.standalone.server.ServedModelHolder.ServedModel;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphUpdaterManager;
+import org.opentripplanner.updater.configure.UpdaterConfigurator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reload a newly built graph into a running server, without restarting it. The transit model is
+ * serialized together with the street graph the stops are linked into, so the graph and the
+ * transit model are replaced together.
+ * <p>
+ * The new model is loaded and prepared for routing in the background: it is indexed, the Raptor
+ * transit layer is created and the realtime updaters are started on it. The new updaters fetch the
+ * current realtime data, and the model is swapped into the {@link ServedModelHolder} when all
+ * updaters are primed. Requests already in progress keep using the old model until they complete,
+ * new requests use the new model. Finally, the updaters of the old model are stopped. The server
+ * needs enough memory to hold both models while reloading.
+ * <p>
+ * The router-config is not reloaded, and the world envelope is kept from the model loaded at
+ * startup. The static setup of the Transmodel API depends on the transit model, so it is redone
+ * with the new model. The new Transmodel schema is built before the swap and put in use right
+ * after it.
+ * <p>
+ * Graphs in the {@link org.opentripplanner.routing.graph.GraphFileFormat#MAPPED} format can not be
+ * reloaded. The served model keeps parts of the file memory-mapped, so the file can not be rebuilt
+ * in place while the server is running.
+ */
+public class TransitModelReloader {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransitModelReloader.class);
+
+  /**
+   * Swap in the new model even if some updaters are not primed after this time, the realtime data
+   * of those updaters is missing until they are.
+   */
+  private static final Duration MAX_WAIT_FOR_UPDATERS = Duration.ofMinutes(5);
+  private static final Duration UPDATERS_POLL_INTERVAL = Duration.ofSeconds(1);
+
+  private final DataSource graphSource;
+  private final RouterConfig routerConfig;
+  private final VehiclePositionRepository vehiclePositionRepository;
+  private final ServedModelHolder modelHolder;
+  private final boolean servedGraphIsMapped;
+  private final AtomicBoolean reloading = new AtomicBoolean(false);
+  private final ExecutorService executor;
+
+  public TransitModelReloader(
+    DataSource graphSource,
+    RouterConfig routerConfig,
+    VehiclePositionRepository vehiclePositionRepository,
+    ServedModelHolder modelHolder
+  ) {
+    this.graphSource = graphSource;
+    this.routerConfig = routerConfig;
+    this.vehiclePositionRepository = vehiclePositionRepository;
+    this.modelHolder = modelHolder;
+    this.servedGraphIsMapped = SerializedGraphObject.isMappedGraphFile(graphSource);
+    if (servedGraphIsMapped) {
+      LOG.warn(
+        "The graph is saved in the mapped file format, reloading it is not supported. Graph: {}",
+        graphSource.path()
+      );
+    }
+    var threadFactory = new ThreadFactoryBuilder()
+      .setNameFormat("TransitModelReloader-%d")
+      .setDaemon(true)
+      .build();
+    this.executor = Executors.newSingleThreadExecutor(threadFactory);
+  }
+
+  /**
+   * Start reloading the graph in the background.
+   *
+   * @return {@code false} if a reload is already in progress, in which case nothing is done.
+   */
+  public boolean reloadInBackground() {
+    if (!reloading.compareAndSet(false, true)) {
+      return false;
+    }
+    executor.execute(() -> {
+      try {
+        reload();
+      } catch (Exception e) {
+        LOG.error("Reloading the graph failed, the old graph is still in use.", e);
+      } finally {
+        reloading.set(false);
+      }
+    });
+    return true;
+  }
+
+  public boolean isReloading() {
+    return reloading.get();
+  }
+
+  /**
+   * A graph loaded from a file in the mapped format can not be reloaded, the file must not be
+   * replaced while the served model has it memory-mapped.
+   */
+  public boolean isSupported() {
+    return !servedGraphIsMapped;
+  }
+
+  /**
+   * Load, prepare and swap in the new model on the calling thread.
+   */
+  void reload() {
+    if (!isSupported()) {
+      throw new OtpAppException(
+        "The served graph is in the mapped file format, reloading it is not supported."
+      );
+    }
+    long startTime = System.currentTimeMillis();
+    LOG.info("Reloading graph from {}", graphSource.path());
+
+    // The new model would keep the file memory-mapped, so it could not be rebuilt in place again
+    if (SerializedGraphObject.isMappedGraphFile(graphSource)) {
+      throw new OtpAppException(
+        "The graph is saved in the mapped file format, reloading it is not supported. Graph: " +
+        graphSource.path()
+      );
+    }
+
+    var obj = SerializedGraphObject.load(graphSource);
+    var model = new ServedModel(obj.graph, obj.transitModel);
+    prepareForRouting(model.graph(), model.transitModel());
+
+    var envelope = obj.worldEnvelopeRepository.retrieveEnvelope();
+    if (envelope.isPresent()) {
+      ConstructApplication.initEllipsoidToGeoidDifference(model.graph(), envelope.get());
+    }
+
+    UpdaterConfigurator.configure(
+      model.graph(),
+      vehiclePositionRepository,
+      model.transitModel(),
+      routerConfig.updaterConfig()
+    );
+    try {
+      waitForUpdatersToBePrimed(model.transitModel());
+    } catch (RuntimeException e) {
+      UpdaterConfigurator.shutdownGraph(model.transitModel());
+      throw e;
+    }
+
+    Runnable transmodelApiSetUp = () -> {};
+    if (OTPFeature.SandboxAPITransmodelApi.isOn()) {
+      transmodelApiSetUp =
+        TransmodelAPI.prepareSetUp(
+          routerConfig.transmodelApi(),
+          model.transitModel(),
+          routerConfig.routingRequestDefaults()
+        );
+    }
+
+    var oldModel = modelHolder.swap(model);
+    transmodelApiSetUp.run();
+    LOG.info(
+      "Graph reloaded in {}, new requests use the new graph.",
+      DurationUtils.msToSecondsStr(System.currentTimeMillis() - startTime)
+    );
+
+    UpdaterConfigurator.shutdownGraph(oldModel.transitModel());
+  }
+
+  /* private methods */
+
+  private void prepareForRouting(Graph graph, TransitModel transitModel) {
+    transitModel.index();
+    graph.index(transitModel.getStopModel());
+
+    var tuningConfig = routerConfig.transitTuningConfig();
+    if (tuningConfig.accessEgressCacheMaxSize() > 0) {
+      graph.setNearbyStopCache(
+        NearbyStopCache.forGraph(graph, tuningConfig.accessEgressCacheMaxSize())
+      );
+    }
+    ConstructApplication.creatTransitLayerForRaptor(transitModel, tuningConfig);
+
+    if (OTPFeature.SandboxAPIGeocoder.isOn()) {
+      LOG.info("Creating debug client geocoder lucene index");
+      graph.setLuceneIndex(new LuceneIndex(graph, new DefaultTransitService(transitModel)));
+    }
+  }
+
+  private static void waitForUpdatersToBePrimed(TransitModel transitModel) {
+    GraphUpdaterManager updaterManager = transitModel.getUpdaterManager();
+    if (updaterManager == null) {
+      return;
+    }
+    long timeLimit = System.currentTimeMillis() + MAX_WAIT_FOR_UPDATERS.toMillis();
+    List<String> unprimed = updaterManager.listUnprimedUpdaters();
+
+    while (!unprimed.isEmpty()) {
+      if (System.currentTimeMillis() > timeLimit) {
+        LOG.warn("Swapping in the new graph before these updaters are primed: {}", unprimed);
+        return;
+      }
+      try {
+        //noinspection BusyWait
+        Thread.sleep(UPDATERS_POLL_INTERVAL.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for updaters", e);
+      }
+      unprimed = updaterManager.listUnprimedUpdaters();
+    }
+  }
+}
@@ -21,6 +21,9 @@ public abstract class Edge implements AStarEdge<State, Edge, Vertex>, Serializab
 
   protected Vertex tov;
 
+  /** Dense index assigned at the end of the graph build, -1 for edges added later. */
+  private int index = -1;
+
   protected Edge(Vertex v1, Vertex v2) {
     if (v1 == null || v2 == null) {
       String err = String.format(
@@ -45,6 +48,21 @@ public abstract class Edge implements AStarEdge<State, Edge, Vertex>, Serializab
     return tov;
   }
 
+  /**
+   * The index is assigned by {@link org.opentripplanner.routing.graph.Graph#assignDenseIndexes()}
+   * at the end of the graph build. The indexes are dense, and the outgoing edges of each vertex
+   * have consecutive indexes. Edges created after the graph is built, like temporary edges and
+   * edges linking realtime rental stations, return -1.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /** Only the graph should set the index. */
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
   /**
    * Checks equivalency to another edge. Default implementation is trivial equality, but subclasses
    * may want to do something more tricky.
@@ -41,6 +41,9 @@ public abstract class Vertex implements AStarVertex<State, Edge, Vertex>, Serial
   private transient Edge[] outgoing = new Edge[0];
   private RentalRestrictionExtension rentalRestrictions = RentalRestrictionExtension.NO_RESTRICTION;
 
+  /** Dense index assigned when the vertex is added to the graph, -1 for temporary vertices. */
+  private int index = -1;
+
   /* CONSTRUCTORS */
 
   protected Vertex(Graph g, String label, double x, double y) {
@@ -78,6 +81,17 @@ public abstract class Vertex implements AStarVertex<State, Edge, Vertex>, Serial
     this.incoming = new Edge[0];
   }
 
+  /**
+   * Set both edge lists at once. This is used to reconstruct the edge lists after deserialization,
+   * adding the edges one by one reallocates the arrays for each edge.
+   */
+  public void initEdgeLists(Edge[] outgoing, Edge[] incoming) {
+    synchronized (this) {
+      this.outgoing = outgoing;
+      this.incoming = incoming;
+    }
+  }
+
   /* EDGE UTILITY METHODS (use arrays to eliminate copy-on-write set objects) */
 
   public void addOutgoing(Edge edge) {
@@ -158,6 +172,20 @@ public abstract class Vertex implements AStarVertex<State, Edge, Vertex>, Serial
     return this.name.toString();
   }
 
+  /**
+   * The index is unique within the graph and assigned when the vertex is added to the graph. The
+   * indexes are dense, so they can be used to look up vertex data in an array of size
+   * {@link Graph#getVertexIndexSize()}. Temporary vertices are not part of the graph and return -1.
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /** Only the {@link Graph} should set the index. */
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
   /** Every vertex has a label which is globally unique. */
   public String getLabel() {
     return label;
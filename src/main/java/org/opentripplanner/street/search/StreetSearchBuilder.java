@@ -17,6 +17,7 @@ import org.opentripplanner.street.search.request.StreetSearchRequestMapper;
 import org.opentripplanner.street.search.state.State;
 import org.opentripplanner.street.search.strategy.DominanceFunctions;
 import org.opentripplanner.street.search.strategy.EuclideanRemainingWeightHeuristic;
+import org.opentripplanner.street.search.strategy.LandmarkRemainingWeightHeuristic;
 
 public class StreetSearchBuilder extends AStarBuilder<State, Edge, Vertex, StreetSearchBuilder> {
 
@@ -108,6 +109,14 @@ public class StreetSearchBuilder extends AStarBuilder<State, Edge, Vertex, Stree
         arriveBy,
         routeRequest.preferences()
       );
+    } else if (heuristic instanceof LandmarkRemainingWeightHeuristic landmarkHeuristic) {
+      landmarkHeuristic.initialize(
+        streetRequest.mode(),
+        origin,
+        destination,
+        arriveBy,
+        routeRequest.preferences()
+      );
     } else {
       throw new IllegalArgumentException("Unknown heuristic type: " + heuristic);
     }
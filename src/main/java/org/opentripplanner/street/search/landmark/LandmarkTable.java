@@ -0,0 +1,145 @@
+package org.opentripplanner.street.search.landmark;
+
+import java.io.Serializable;
+import java.nio.FloatBuffer;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.BikePreferences;
+import org.opentripplanner.routing.api.request.preference.CarPreferences;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.routing.api.request.preference.StreetPreferences;
+import org.opentripplanner.routing.api.request.preference.WalkPreferences;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+/**
+ * The pre-calculated weights from and to a small set of landmark vertices for one street mode and
+ * one set of preferences (the cost profile). The weights are lower bounds of the weight of the
+ * street search, since turn costs and other state dependent costs are not included. By the triangle
+ * inequality these are used to calculate a lower bound of the remaining weight to the target of a
+ * search (the ALT heuristic: A*, Landmarks and Triangle inequality).
+ * <p>
+ * The weights are stored in arrays indexed by the {@link Vertex#getIndex()}. Vertices added to the
+ * graph after the table is created have an index outside the table, they have no weight. The
+ * arrays are {@link FloatBuffer}s, so they can be memory-mapped from the graph file, see
+ * {@link LandmarkTableSerializer}.
+ * <p>
+ * THIS CLASS IS IMMUTABLE AND THREAD-SAFE.
+ */
+public class LandmarkTable implements Serializable {
+
+  private final StreetMode mode;
+  private final WalkPreferences walk;
+  private final BikePreferences bike;
+  private final CarPreferences car;
+  private final StreetPreferences street;
+  private final int vertexIndexSize;
+
+  /** The vertex index of each landmark */
+  private final int[] landmarks;
+
+  /** The weight from each landmark to each vertex: {@code fromLandmark[landmark][vertex]} */
+  private final FloatBuffer[] fromLandmark;
+
+  /** The weight from each vertex to each landmark: {@code toLandmark[landmark][vertex]} */
+  private final FloatBuffer[] toLandmark;
+
+  LandmarkTable(
+    StreetMode mode,
+    WalkPreferences walk,
+    BikePreferences bike,
+    CarPreferences car,
+    StreetPreferences street,
+    int vertexIndexSize,
+    int[] landmarks,
+    FloatBuffer[] fromLandmark,
+    FloatBuffer[] toLandmark
+  ) {
+    this.mode = mode;
+    this.walk = walk;
+    this.bike = bike;
+    this.car = car;
+    this.street = street;
+    this.vertexIndexSize = vertexIndexSize;
+    this.landmarks = landmarks;
+    this.fromLandmark = fromLandmark;
+    this.toLandmark = toLandmark;
+  }
+
+  /**
+   * Return {@code true} if the table can be used for a search with the given mode and
+   * preferences. The weights are only lower bounds for the cost profile used to create the table,
+   * wheelchair searches are not supported.
+   */
+  public boolean matches(StreetMode mode, boolean wheelchair, RoutingPreferences preferences) {
+    return (
+      this.mode == mode &&
+      !wheelchair &&
+      walk.equals(preferences.walk()) &&
+      bike.equals(preferences.bike()) &&
+      car.equals(preferences.car()) &&
+      street.equals(preferences.street())
+    );
+  }
+
+  public StreetMode mode() {
+    return mode;
+  }
+
+  public int numberOfLandmarks() {
+    return landmarks.length;
+  }
+
+  public int landmarkVertexIndex(int landmark) {
+    return landmarks[landmark];
+  }
+
+  public int vertexIndexSize() {
+    return vertexIndexSize;
+  }
+
+  /** Return {@code true} if the vertex index is part of the table. */
+  public boolean contains(int vertexIndex) {
+    return vertexIndex >= 0 && vertexIndex < vertexIndexSize;
+  }
+
+  /**
+   * The weight from the landmark to the given vertex, {@link Float#POSITIVE_INFINITY} if the vertex
+   * can not be reached from the landmark.
+   */
+  public float fromLandmark(int landmark, int vertexIndex) {
+    return fromLandmark[landmark].get(vertexIndex);
+  }
+
+  /**
+   * The weight from the given vertex to the landmark, {@link Float#POSITIVE_INFINITY} if the
+   * landmark can not be reached from the vertex.
+   */
+  public float toLandmark(int landmark, int vertexIndex) {
+    return toLandmark[landmark].get(vertexIndex);
+  }
+
+  /* package local methods, used by the serializer */
+
+  WalkPreferences walk() {
+    return walk;
+  }
+
+  BikePreferences bike() {
+    return bike;
+  }
+
+  CarPreferences car() {
+    return car;
+  }
+
+  StreetPreferences street() {
+    return street;
+  }
+
+  FloatBuffer fromLandmark(int landmark) {
+    return fromLandmark[landmark];
+  }
+
+  FloatBuffer toLandmark(int landmark) {
+    return toLandmark[landmark];
+  }
+}
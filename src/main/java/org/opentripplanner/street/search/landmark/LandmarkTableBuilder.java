@@ -0,0 +1,250 @@
+package org.opentripplanner.street.search.landmark;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.GraphAdjacency;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+import org.opentripplanner.street.search.state.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Create a {@link LandmarkTable} for the given street graph, mode and preferences.
+ * <p>
+ * The weight of each edge is calculated by traversing it from a new state, so the weight does not
+ * include turn costs or other costs depending on the previous edges. This makes the edge weight a
+ * lower bound of the edge weight in a search. The landmark weights are then calculated with a
+ * Dijkstra search on the {@link GraphAdjacency}, one forward and one backward search for each
+ * landmark.
+ * <p>
+ * The landmarks are selected using the "farthest" strategy: The first landmark is the vertex
+ * farthest away from an arbitrary start vertex, then each new landmark is the vertex farthest away
+ * from all the landmarks selected so far. This places the landmarks on the edge of the graph, which
+ * gives a good heuristic for most searches.
+ */
+public class LandmarkTableBuilder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LandmarkTableBuilder.class);
+
+  private final GraphAdjacency adjacency;
+  private final StreetSearchRequest request;
+  private final int numberOfLandmarks;
+  private final float[] edgeWeights;
+
+  public LandmarkTableBuilder(
+    GraphAdjacency adjacency,
+    StreetSearchRequest request,
+    int numberOfLandmarks
+  ) {
+    if (numberOfLandmarks < 1) {
+      throw new IllegalArgumentException("At least one landmark is required: " + numberOfLandmarks);
+    }
+    this.adjacency = adjacency;
+    this.request = request;
+    this.numberOfLandmarks = numberOfLandmarks;
+    this.edgeWeights = new float[adjacency.edgeCount()];
+  }
+
+  /**
+   * Return the landmark table, or {@code null} if the graph has no vertices.
+   */
+  public LandmarkTable build() {
+    StreetMode mode = request.mode();
+    int start = firstVertex();
+    if (start < 0) {
+      return null;
+    }
+    LOG.info("Creating {} landmarks for {}", numberOfLandmarks, mode);
+    calculateEdgeWeights();
+
+    int[] landmarks = new int[numberOfLandmarks];
+    float[][] fromLandmark = new float[numberOfLandmarks][];
+    float[][] toLandmark = new float[numberOfLandmarks][];
+
+    // The minimum weight from any selected landmark to each vertex
+    float[] minWeight = dijkstra(start, true);
+
+    for (int i = 0; i < numberOfLandmarks; ++i) {
+      landmarks[i] = farthestVertex(minWeight);
+      fromLandmark[i] = dijkstra(landmarks[i], true);
+      toLandmark[i] = dijkstra(landmarks[i], false);
+
+      if (i == 0) {
+        // The distances from the start vertex are not used to select the next landmarks
+        minWeight = fromLandmark[i].clone();
+      } else {
+        for (int v = 0; v < minWeight.length; ++v) {
+          minWeight[v] = Math.min(minWeight[v], fromLandmark[i][v]);
+        }
+      }
+    }
+    LOG.info("Landmarks for {} created.", mode);
+
+    var preferences = request.preferences();
+    return new LandmarkTable(
+      mode,
+      preferences.walk(),
+      preferences.bike(),
+      preferences.car(),
+      preferences.street(),
+      adjacency.vertexIndexSize(),
+      landmarks,
+      wrap(fromLandmark),
+      wrap(toLandmark)
+    );
+  }
+
+  /* private methods */
+
+  private static FloatBuffer[] wrap(float[][] arrays) {
+    var buffers = new FloatBuffer[arrays.length];
+    for (int i = 0; i < arrays.length; ++i) {
+      buffers[i] = FloatBuffer.wrap(arrays[i]);
+    }
+    return buffers;
+  }
+
+  private int firstVertex() {
+    for (int v = 0; v < adjacency.vertexIndexSize(); ++v) {
+      if (adjacency.vertex(v) != null) {
+        return v;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Traverse each edge from a new state. If the edge has more than one result the smallest weight
+   * is used.
+   */
+  private void calculateEdgeWeights() {
+    for (int e = 0; e < edgeWeights.length; ++e) {
+      Edge edge = adjacency.edge(e);
+      Vertex from = adjacency.vertex(adjacency.fromVertex(e));
+      double weight = Double.POSITIVE_INFINITY;
+      for (State s = edge.traverse(new State(from, request)); s != null; s = s.getNextResult()) {
+        weight = Math.min(weight, s.getWeight());
+      }
+      edgeWeights[e] = (float) weight;
+    }
+  }
+
+  /**
+   * Return the vertex with the largest finite weight. Vertices which can not be reached are
+   * ignored, these are often in small disconnected islands.
+   */
+  private int farthestVertex(float[] weights) {
+    int farthest = -1;
+    float max = -1;
+    for (int v = 0; v < weights.length; ++v) {
+      if (weights[v] > max && weights[v] != Float.POSITIVE_INFINITY) {
+        max = weights[v];
+        farthest = v;
+      }
+    }
+    return farthest;
+  }
+
+  /**
+   * Calculate the weight from the source to all vertices ({@code forward=true}), or from all
+   * vertices to the source ({@code forward=false}).
+   */
+  private float[] dijkstra(int source, boolean forward) {
+    float[] weights = new float[adjacency.vertexIndexSize()];
+    Arrays.fill(weights, Float.POSITIVE_INFINITY);
+    boolean[] settled = new boolean[weights.length];
+    var queue = new VertexQueue(1024);
+
+    weights[source] = 0;
+    queue.add(source, 0);
+
+    while (!queue.isEmpty()) {
+      int v = queue.pollVertex();
+      if (settled[v]) {
+        continue;
+      }
+      settled[v] = true;
+
+      if (forward) {
+        for (int e = adjacency.outgoingStart(v); e < adjacency.outgoingEnd(v); ++e) {
+          relax(weights, queue, e, adjacency.toVertex(e), weights[v]);
+        }
+      } else {
+        for (int i = adjacency.incomingStart(v); i < adjacency.incomingEnd(v); ++i) {
+          int e = adjacency.incomingEdge(i);
+          relax(weights, queue, e, adjacency.fromVertex(e), weights[v]);
+        }
+      }
+    }
+    return weights;
+  }
+
+  private void relax(float[] weights, VertexQueue queue, int edge, int to, float weight) {
+    float w = weight + edgeWeights[edge];
+    if (w < weights[to]) {
+      weights[to] = w;
+      queue.add(to, w);
+    }
+  }
+
+  /**
+   * A binary min-heap of vertices ordered by weight. A vertex may be added more than once, the
+   * caller must skip vertices already settled. The weight and vertex index are packed into one
+   * {@code long}, the bit pattern of a non-negative float has the same order as the float value.
+   */
+  private static class VertexQueue {
+
+    private long[] heap;
+    private int size = 0;
+
+    private VertexQueue(int capacity) {
+      this.heap = new long[capacity];
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void add(int vertex, float weight) {
+      if (size == heap.length) {
+        heap = Arrays.copyOf(heap, size * 2);
+      }
+      long value = ((long) Float.floatToIntBits(weight) << 32) | vertex;
+      int i = size++;
+      while (i > 0) {
+        int parent = (i - 1) >>> 1;
+        if (heap[parent] <= value) {
+          break;
+        }
+        heap[i] = heap[parent];
+        i = parent;
+      }
+      heap[i] = value;
+    }
+
+    int pollVertex() {
+      long min = heap[0];
+      long last = heap[--size];
+      int i = 0;
+      while (true) {
+        int child = 2 * i + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && heap[child + 1] < heap[child]) {
+          ++child;
+        }
+        if (last <= heap[child]) {
+          break;
+        }
+        heap[i] = heap[child];
+        i = child;
+      }
+      heap[i] = last;
+      return (int) min;
+    }
+  }
+}
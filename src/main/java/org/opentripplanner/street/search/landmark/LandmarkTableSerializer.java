@@ -0,0 +1,104 @@
+package org.opentripplanner.street.search.landmark;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import java.nio.FloatBuffer;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.BikePreferences;
+import org.opentripplanner.routing.api.request.preference.CarPreferences;
+import org.opentripplanner.routing.api.request.preference.StreetPreferences;
+import org.opentripplanner.routing.api.request.preference.WalkPreferences;
+import org.opentripplanner.routing.graph.mapped.FlatArrayReader;
+import org.opentripplanner.routing.graph.mapped.FlatArrayWriter;
+
+/**
+ * Kryo serializer for the {@link LandmarkTable}. The landmark weights are the largest arrays in
+ * the graph. When the graph is saved in the mapped graph file format these are written to the
+ * flat array section, and memory-mapped when the graph is loaded. Otherwise, the weights are
+ * written to the Kryo stream.
+ */
+public class LandmarkTableSerializer extends Serializer<LandmarkTable> {
+
+  @Override
+  public void write(Kryo kryo, Output output, LandmarkTable table) {
+    output.writeVarInt(table.mode().ordinal(), true);
+    kryo.writeObject(output, table.walk());
+    kryo.writeObject(output, table.bike());
+    kryo.writeObject(output, table.car());
+    kryo.writeObject(output, table.street());
+    output.writeVarInt(table.vertexIndexSize(), true);
+    output.writeVarInt(table.numberOfLandmarks(), true);
+
+    var flatArrays = FlatArrayWriter.of(kryo);
+    for (int i = 0; i < table.numberOfLandmarks(); ++i) {
+      output.writeVarInt(table.landmarkVertexIndex(i), true);
+      writeWeights(output, flatArrays, table.fromLandmark(i));
+      writeWeights(output, flatArrays, table.toLandmark(i));
+    }
+  }
+
+  @Override
+  public LandmarkTable read(Kryo kryo, Input input, Class<? extends LandmarkTable> type) {
+    var mode = StreetMode.values()[input.readVarInt(true)];
+    var walk = kryo.readObject(input, WalkPreferences.class);
+    var bike = kryo.readObject(input, BikePreferences.class);
+    var car = kryo.readObject(input, CarPreferences.class);
+    var street = kryo.readObject(input, StreetPreferences.class);
+    int vertexIndexSize = input.readVarInt(true);
+    int numberOfLandmarks = input.readVarInt(true);
+
+    var flatArrays = FlatArrayReader.of(kryo);
+    int[] landmarks = new int[numberOfLandmarks];
+    var fromLandmark = new FloatBuffer[numberOfLandmarks];
+    var toLandmark = new FloatBuffer[numberOfLandmarks];
+
+    for (int i = 0; i < numberOfLandmarks; ++i) {
+      landmarks[i] = input.readVarInt(true);
+      fromLandmark[i] = readWeights(input, flatArrays, vertexIndexSize);
+      toLandmark[i] = readWeights(input, flatArrays, vertexIndexSize);
+    }
+    return new LandmarkTable(
+      mode,
+      walk,
+      bike,
+      car,
+      street,
+      vertexIndexSize,
+      landmarks,
+      fromLandmark,
+      toLandmark
+    );
+  }
+
+  /* private methods */
+
+  private static void writeWeights(Output output, FlatArrayWriter flatArrays, FloatBuffer weights) {
+    float[] array = toArray(weights);
+    if (flatArrays != null) {
+      output.writeVarLong(flatArrays.add(array), true);
+    } else {
+      output.writeFloats(array, 0, array.length);
+    }
+  }
+
+  /** Return the backing array if possible, to avoid copying the weights when saving the graph. */
+  private static float[] toArray(FloatBuffer weights) {
+    if (
+      weights.hasArray() && weights.arrayOffset() == 0 && weights.array().length == weights.limit()
+    ) {
+      return weights.array();
+    }
+    float[] array = new float[weights.limit()];
+    weights.get(0, array);
+    return array;
+  }
+
+  private static FloatBuffer readWeights(Input input, FlatArrayReader flatArrays, int size) {
+    if (flatArrays != null) {
+      return flatArrays.floats(input.readVarLong(true), size);
+    }
+    return FloatBuffer.wrap(input.readFloats(size));
+  }
+}
@@ -0,0 +1,37 @@
+package org.opentripplanner.street.search.landmark;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+
+/**
+ * The landmark tables created by the graph builder, one for each street mode. This is serialized
+ * with the graph.
+ *
+ * @see LandmarkTable
+ */
+public class StreetLandmarks implements Serializable {
+
+  private final List<LandmarkTable> tables;
+
+  public StreetLandmarks(List<LandmarkTable> tables) {
+    this.tables = List.copyOf(tables);
+  }
+
+  /**
+   * Find a table matching the mode and preferences of a search.
+   */
+  public Optional<LandmarkTable> find(
+    StreetMode mode,
+    boolean wheelchair,
+    RoutingPreferences preferences
+  ) {
+    return tables.stream().filter(t -> t.matches(mode, wheelchair, preferences)).findFirst();
+  }
+
+  public List<LandmarkTable> tables() {
+    return tables;
+  }
+}
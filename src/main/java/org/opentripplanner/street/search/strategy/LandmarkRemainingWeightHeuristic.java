@@ -0,0 +1,125 @@
+package org.opentripplanner.street.search.strategy;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.opentripplanner.astar.spi.RemainingWeightHeuristic;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.landmark.LandmarkTable;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * A remaining weight heuristic using pre-calculated landmark weights (ALT). The triangle
+ * inequality gives a lower bound of the weight from a vertex {@code v} to the target {@code t} for
+ * each landmark {@code L}: {@code w(v,t) >= w(L,t) - w(L,v)}, and for arrive-by searches (which
+ * search backwards from the destination) {@code w(t,v) >= w(t,L) - w(v,L)}. The largest of these
+ * and the euclidean heuristic is used.
+ * <p>
+ * The target is a temporary vertex, which is not part of the landmark table. The weight between
+ * the landmark and the target is bounded by the smallest weight of the graph vertices connected
+ * to the target through temporary vertices. Temporary vertices have no landmark weights, for these
+ * only the euclidean heuristic is used.
+ */
+public class LandmarkRemainingWeightHeuristic implements RemainingWeightHeuristic<State> {
+
+  /**
+   * The maximum number of temporary vertices to visit when looking for the graph vertices next to
+   * the target. If exceeded only the euclidean heuristic is used.
+   */
+  private static final int MAX_TEMPORARY_VERTICES = 1000;
+
+  private final LandmarkTable table;
+  private final EuclideanRemainingWeightHeuristic euclidean =
+    new EuclideanRemainingWeightHeuristic();
+
+  private boolean arriveBy;
+
+  /** A lower bound of the weight between each landmark and the target. */
+  private float[] targetWeights;
+
+  public LandmarkRemainingWeightHeuristic(LandmarkTable table) {
+    this.table = table;
+  }
+
+  public void initialize(
+    StreetMode streetMode,
+    Set<Vertex> fromVertices,
+    Set<Vertex> toVertices,
+    boolean arriveBy,
+    RoutingPreferences preferences
+  ) {
+    euclidean.initialize(streetMode, fromVertices, toVertices, arriveBy, preferences);
+    this.arriveBy = arriveBy;
+    this.targetWeights = new float[table.numberOfLandmarks()];
+    Arrays.fill(targetWeights, Float.POSITIVE_INFINITY);
+
+    Set<Vertex> targets = findTableVertices(toVertices);
+    for (Vertex target : targets) {
+      for (int l = 0; l < targetWeights.length; ++l) {
+        targetWeights[l] = Math.min(targetWeights[l], weight(l, target.getIndex()));
+      }
+    }
+  }
+
+  @Override
+  public double estimateRemainingWeight(State s) {
+    double estimate = euclidean.estimateRemainingWeight(s);
+    int v = s.getVertex().getIndex();
+
+    if (!table.contains(v)) {
+      return estimate;
+    }
+    for (int l = 0; l < targetWeights.length; ++l) {
+      float vertexWeight = weight(l, v);
+      if (targetWeights[l] != Float.POSITIVE_INFINITY && vertexWeight != Float.POSITIVE_INFINITY) {
+        estimate = Math.max(estimate, targetWeights[l] - vertexWeight);
+      }
+    }
+    return estimate;
+  }
+
+  /* private methods */
+
+  /**
+   * The weight from the landmark to the vertex, or from the vertex to the landmark for arrive-by
+   * searches.
+   */
+  private float weight(int landmark, int vertexIndex) {
+    return arriveBy
+      ? table.toLandmark(landmark, vertexIndex)
+      : table.fromLandmark(landmark, vertexIndex);
+  }
+
+  /**
+   * Find the vertices in the landmark table next to the target vertices. Any path to the target
+   * (or from the target for arrive-by searches) must pass through one of these. Return an empty
+   * set if not all vertices are found.
+   */
+  private Set<Vertex> findTableVertices(Set<Vertex> targets) {
+    Set<Vertex> result = new HashSet<>();
+    Set<Vertex> visited = new HashSet<>(targets);
+    var queue = new ArrayDeque<>(targets);
+
+    while (!queue.isEmpty()) {
+      Vertex v = queue.poll();
+      if (table.contains(v.getIndex())) {
+        result.add(v);
+        continue;
+      }
+      if (visited.size() > MAX_TEMPORARY_VERTICES) {
+        return Set.of();
+      }
+      for (Edge e : arriveBy ? v.getOutgoing() : v.getIncoming()) {
+        Vertex next = arriveBy ? e.getToVertex() : e.getFromVertex();
+        if (visited.add(next)) {
+          queue.add(next);
+        }
+      }
+    }
+    return result;
+  }
+}
@@ -161,6 +161,8 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
 
       oldVehicleParkings.removeAll(toRemove);
       oldVehicleParkings.addAll(toAdd);
+
+      graph.invalidateNearbyStopCache();
     }
 
     private List<DisposableEdgeCollection> linkVehicleParkingVertexToStreets(
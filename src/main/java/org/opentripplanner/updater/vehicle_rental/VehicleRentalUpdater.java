@@ -213,6 +213,9 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
           latestModifiedEdges.size()
         );
       }
+
+      // The cached access/egress searches may use rental vehicles which are no longer available
+      graph.invalidateNearbyStopCache();
     }
   }
 }
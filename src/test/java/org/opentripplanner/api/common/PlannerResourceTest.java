@@ -3,22 +3,61 @@ package org.opentripplanner.api.common;
 import static graphql.Assert.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.model.plan.TestItineraryBuilder.newItinerary;
 import static org.opentripplanner.routing.api.request.StreetMode.BIKE_RENTAL;
 
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.CommonProperties;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.jackson.internal.jackson.jaxrs.json.JacksonJsonProvider;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.opentripplanner.TestServerContext;
 import org.opentripplanner._support.time.ZoneIds;
+import org.opentripplanner.api.json.JSONObjectMapperProvider;
 import org.opentripplanner.api.parameter.QualifiedModeSet;
 import org.opentripplanner.api.resource.PlannerResource;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.model.plan.PlanTestConstants;
+import org.opentripplanner.model.plan.StreetLeg;
+import org.opentripplanner.model.plan.StreetLegBuilder;
+import org.opentripplanner.model.plan.TripPlan;
+import org.opentripplanner.routing.api.RoutingService;
 import org.opentripplanner.routing.api.request.RequestModes;
+import org.opentripplanner.routing.api.request.RouteBatchRequest;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.RouteViaRequest;
+import org.opentripplanner.routing.api.response.BatchRoutingResponse;
+import org.opentripplanner.routing.api.response.RoutingResponse;
+import org.opentripplanner.routing.api.response.ViaRoutingResponse;
+import org.opentripplanner.routing.framework.DebugTimingAggregator;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.transit.service.TransitModel;
 
-class PlannerResourceTest {
+class PlannerResourceTest implements PlanTestConstants {
 
   static OtpServerRequestContext context() {
     var transitModel = new TransitModel();
@@ -58,4 +97,130 @@ class PlannerResourceTest {
       req.journey().modes()
     );
   }
+
+  @ParameterizedTest
+  @NullSource
+  @ValueSource(strings = { "*/*", "application/json, text/event-stream" })
+  void planIsReturnedAsJsonUnlessTheEventStreamIsRequested(@Nullable String accept) {
+    var response = plan(context(), accept, new ByteArrayOutputStream());
+
+    assertEquals(200, response.getStatus());
+    assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
+  }
+
+  @Test
+  void eventStreamSendsPartialItinerariesBeforeThePlan() {
+    var walk = (StreetLeg) newItinerary(A, T11_00).walk(D10m, B).build().firstLeg();
+    // The API mapper encodes the leg geometry, so the leg needs one
+    var geometry = GeometryUtils.makeLineString(
+      List.of(A.coordinate.asJtsCoordinate(), B.coordinate.asJtsCoordinate())
+    );
+    var itinerary = new Itinerary(
+      List.of(StreetLegBuilder.of(walk).withGeometry(geometry).build())
+    );
+    var context = withRoutingService(context(), new PartialResultRoutingService(itinerary));
+    var out = new ByteArrayOutputStream();
+
+    var response = plan(context, "text/event-stream", out);
+
+    assertEquals(200, response.getStatus());
+    assertEquals("text/event-stream", response.getMediaType().toString());
+    var events = out.toString(StandardCharsets.UTF_8).split("\n\n");
+    assertEquals(2, events.length);
+    assertTrue(events[0].startsWith("event: itineraries\ndata: [{"), events[0]);
+    assertTrue(events[1].startsWith("event: plan\ndata: {"), events[1]);
+    assertTrue(events[1].contains("\"itineraries\":[{"), events[1]);
+  }
+
+  /**
+   * Send a GET request to the plan endpoint through Jersey, so the resource method is selected by
+   * the content negotiation.
+   */
+  private static ContainerResponse plan(
+    OtpServerRequestContext context,
+    @Nullable String accept,
+    ByteArrayOutputStream out
+  ) {
+    var config = new ResourceConfig()
+      .property(CommonProperties.FEATURE_AUTO_DISCOVERY_DISABLE, true)
+      .register(PlannerResource.class)
+      .register(new JacksonJsonProvider())
+      .register(new JSONObjectMapperProvider())
+      .register(
+        new AbstractBinder() {
+          @Override
+          protected void configure() {
+            bind(context).to(OtpServerRequestContext.class);
+            bind(Request.create()).to(Request.class);
+          }
+        }
+      );
+    var request = new ContainerRequest(
+      URI.create("http://localhost/"),
+      URI.create("http://localhost/routers/default/plan"),
+      "GET",
+      null,
+      new MapPropertiesDelegate(),
+      null
+    );
+    if (accept != null) {
+      request.header(HttpHeaders.ACCEPT, accept);
+    }
+    try {
+      return new ApplicationHandler(config).apply(request, out).get();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static OtpServerRequestContext withRoutingService(
+    OtpServerRequestContext context,
+    RoutingService routingService
+  ) {
+    return (OtpServerRequestContext) Proxy.newProxyInstance(
+      OtpServerRequestContext.class.getClassLoader(),
+      new Class<?>[] { OtpServerRequestContext.class },
+      (proxy, method, args) ->
+        method.getName().equals("routingService") ? routingService : method.invoke(context, args)
+    );
+  }
+
+  /**
+   * Publish the itinerary as a partial result, and return it in the response.
+   */
+  private record PartialResultRoutingService(Itinerary itinerary) implements RoutingService {
+    @Override
+    public RoutingResponse route(RouteRequest request) {
+      return new RoutingResponse(
+        new TripPlan(A, B, Instant.EPOCH, List.of(itinerary)),
+        null,
+        null,
+        null,
+        List.of(),
+        new DebugTimingAggregator()
+      );
+    }
+
+    @Override
+    public RoutingResponse route(
+      RouteRequest request,
+      Consumer<List<Itinerary>> partialResultListener
+    ) {
+      partialResultListener.accept(List.of(itinerary));
+      return route(request);
+    }
+
+    @Override
+    public ViaRoutingResponse route(RouteViaRequest request) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void route(
+      RouteBatchRequest request,
+      Consumer<BatchRoutingResponse> responseListener
+    ) {
+      throw new UnsupportedOperationException();
+    }
+  }
 }
@@ -0,0 +1,50 @@
+package org.opentripplanner.api.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ServerSentEventWriterTest {
+
+  private final ObjectMapper mapper = new ObjectMapper()
+    .enable(SerializationFeature.INDENT_OUTPUT);
+
+  @Test
+  void send() {
+    var out = new ByteArrayOutputStream();
+    var subject = new ServerSentEventWriter(out, mapper);
+
+    subject.send("itineraries", List.of(Map.of("a", 1)));
+    subject.send("plan", Map.of("b", "x"));
+
+    assertEquals(
+      "event: itineraries\ndata: [{\"a\":1}]\n\nevent: plan\ndata: {\"b\":\"x\"}\n\n",
+      out.toString(StandardCharsets.UTF_8)
+    );
+  }
+
+  @Test
+  void sendToClosedStream() {
+    var subject = new ServerSentEventWriter(
+      new OutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+          throw new IOException("Broken pipe");
+        }
+      },
+      mapper
+    );
+
+    assertThrows(UncheckedIOException.class, () -> subject.send("plan", Map.of()));
+  }
+}
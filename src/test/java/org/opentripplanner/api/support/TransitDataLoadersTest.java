@@ -0,0 +1,95 @@
+package org.opentripplanner.api.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.routing.impl.TransitAlertServiceImpl;
+import org.opentripplanner.routing.services.TransitAlertService;
+import org.opentripplanner.service.vehiclepositions.internal.DefaultVehiclePositionService;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.TransitModel;
+
+class TransitDataLoadersTest {
+
+  private static final FeedScopedId ROUTE_A = new FeedScopedId("F", "A");
+  private static final FeedScopedId ROUTE_B = new FeedScopedId("F", "B");
+
+  private final TransitModel transitModel = indexedTransitModel();
+  private final CountingAlertService alertService = new CountingAlertService(transitModel);
+  private final DataFetchingEnvironment env = DataFetchingEnvironmentImpl
+    .newDataFetchingEnvironment()
+    .dataLoaderRegistry(
+      TransitDataLoaders.createRegistry(
+        new DefaultTransitService(transitModel) {
+          @Override
+          public TransitAlertService getTransitAlertService() {
+            return alertService;
+          }
+        },
+        new DefaultVehiclePositionService()
+      )
+    )
+    .build();
+
+  @Test
+  void sameKeyIsLoadedOnce() {
+    var a1 = TransitDataLoaders.routeAlerts(env, ROUTE_A);
+    var b = TransitDataLoaders.routeAlerts(env, ROUTE_B);
+    var a2 = TransitDataLoaders.routeAlerts(env, ROUTE_A);
+
+    assertFalse(a1.isDone());
+
+    env.getDataLoaderRegistry().dispatchAll();
+
+    assertTrue(a1.isDone());
+    assertTrue(b.isDone());
+    assertEquals(List.of(ROUTE_A, ROUTE_B), alertService.routeIds);
+
+    // The result is cached for the rest of the request
+    var a3 = TransitDataLoaders.routeAlerts(env, ROUTE_A);
+    assertTrue(a3.isDone());
+    assertEquals(2, alertService.routeIds.size());
+    assertEquals(a2.join(), a3.join());
+  }
+
+  @Test
+  void unknownTripIsNull() {
+    var trip = TransitDataLoaders.trip(env, new FeedScopedId("F", "T"));
+
+    env.getDataLoaderRegistry().dispatchAll();
+
+    assertTrue(trip.isDone());
+    assertNull(trip.join());
+  }
+
+  private static TransitModel indexedTransitModel() {
+    var transitModel = new TransitModel();
+    transitModel.index();
+    return transitModel;
+  }
+
+  private static class CountingAlertService extends TransitAlertServiceImpl {
+
+    private final List<FeedScopedId> routeIds = new ArrayList<>();
+
+    private CountingAlertService(TransitModel transitModel) {
+      super(transitModel);
+    }
+
+    @Override
+    public Collection<TransitAlert> getRouteAlerts(FeedScopedId route) {
+      routeIds.add(route);
+      return super.getRouteAlerts(route);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package org.opentripplanner.astar.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class DenseIndexMapTest {
+
+  private static final Key A = new Key(0);
+  private static final Key B = new Key(3);
+  private static final Key TEMPORARY = new Key(-1);
+  private static final Key OUTSIDE = new Key(4);
+
+  @Test
+  void putAndGet() {
+    var subject = new DenseIndexMap<Key, String>(Key::index, 4);
+
+    assertNull(subject.put(A, "a"));
+    assertEquals("a", subject.put(A, "a2"));
+    subject.put(B, "b");
+    subject.put(TEMPORARY, "t");
+    subject.put(OUTSIDE, "o");
+
+    assertEquals(4, subject.size());
+    assertEquals("a2", subject.get(A));
+    assertEquals("t", subject.get(TEMPORARY));
+    assertEquals("o", subject.get(OUTSIDE));
+    assertTrue(subject.containsKey(B));
+    assertFalse(subject.containsKey(new Key(2)));
+    assertEquals(Set.of(A, B, TEMPORARY, OUTSIDE), subject.keySet());
+    assertEquals(Map.of(A, "a2", B, "b", TEMPORARY, "t", OUTSIDE, "o"), subject);
+  }
+
+  private record Key(int index) {}
+}
@@ -0,0 +1,123 @@
+package org.opentripplanner.astar.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IndexedDaryHeapTest {
+
+  @Test
+  void emptyQueue() {
+    var subject = new IndexedDaryHeap<Item>();
+
+    assertTrue(subject.empty());
+    assertNull(subject.peek_min());
+    assertNull(subject.extract_min());
+    assertThrows(IllegalStateException.class, subject::peek_min_key);
+  }
+
+  @Test
+  void extractInKeyOrder() {
+    var rnd = new Random(17);
+    // Start small to test growing the queue
+    var subject = new IndexedDaryHeap<Item>(10);
+    var items = createItems(5_000, rnd);
+
+    items.forEach(it -> subject.insert(it, it.key));
+    assertEquals(items.size(), subject.size());
+
+    items.sort(Comparator.comparingDouble(it -> it.key));
+    assertEquals(items.get(0).key, subject.peek_min_key());
+    assertEquals(items, extractAll(subject));
+  }
+
+  @Test
+  void rekeyAndRemove() {
+    var rnd = new Random(42);
+    var subject = new IndexedDaryHeap<Item>(10);
+    var items = createItems(5_000, rnd);
+    items.forEach(it -> subject.insert(it, it.key));
+
+    var expected = new ArrayList<Item>();
+    for (int i = 0; i < items.size(); ++i) {
+      Item it = items.get(i);
+      if (i % 3 == 0) {
+        assertTrue(subject.remove(it));
+        assertFalse(subject.contains(it));
+        assertFalse(subject.remove(it));
+      } else {
+        // Both increase and decrease the key
+        it.key = rnd.nextDouble() * 1000;
+        subject.rekey(it, it.key);
+        expected.add(it);
+      }
+    }
+    expected.sort(Comparator.comparingDouble(it -> it.key));
+
+    assertEquals(expected, extractAll(subject));
+  }
+
+  @Test
+  void insertExistingElementChangeKey() {
+    var subject = new IndexedDaryHeap<Item>();
+    var a = new Item(10);
+    var b = new Item(20);
+    subject.insert(a, a.key);
+    subject.insert(b, b.key);
+
+    subject.insert(b, 5);
+
+    assertEquals(2, subject.size());
+    assertEquals(List.of(b, a), extractAll(subject));
+  }
+
+  @Test
+  void reset() {
+    var subject = new IndexedDaryHeap<Item>();
+    var a = new Item(10);
+    subject.insert(a, a.key);
+
+    subject.reset();
+
+    assertTrue(subject.empty());
+    assertFalse(subject.contains(a));
+  }
+
+  private static List<Item> createItems(int n, Random rnd) {
+    var items = new ArrayList<Item>();
+    for (int i = 0; i < n; ++i) {
+      items.add(new Item(rnd.nextDouble() * 1000));
+    }
+    return items;
+  }
+
+  private static List<Item> extractAll(IndexedDaryHeap<Item> heap) {
+    var result = new ArrayList<Item>();
+    while (!heap.empty()) {
+      result.add(heap.extract_min());
+    }
+    return result;
+  }
+
+  private static class Item {
+
+    double key;
+
+    Item(double key) {
+      this.key = key;
+    }
+
+    @Override
+    public String toString() {
+      return "Item(" + key + ")";
+    }
+  }
+}
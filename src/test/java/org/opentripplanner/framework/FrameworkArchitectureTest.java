@@ -15,6 +15,13 @@ public class FrameworkArchitectureTest {
 
   private static final Package APACHE_HTTP = Package.of("org.apache.http..");
   private static final Package GUAVA_COLLECTIONS = Package.of("com.google.common.collect");
+  private static final Module GUAVA_CACHE = Module.of(
+    Package.of("com.google.common.cache"),
+    Package.of("com.google.common.hash"),
+    Package.of("com.google.common.util.concurrent")
+  );
+  private static final Package GRAPHQL_JAVA = Package.of("graphql..");
+  private static final Package MICROMETER = Package.of("io.micrometer..");
 
   private static final Module XML_MODULES = Module.of(
     Package.of("com.fasterxml.jackson.."),
@@ -24,6 +31,7 @@ public class FrameworkArchitectureTest {
   private static final Package APPLICATION = FRAMEWORK.subPackage("application");
   private static final Package COLLECTION = FRAMEWORK.subPackage("collection");
   private static final Package GEOMETRY = FRAMEWORK.subPackage("geometry");
+  private static final Package GRAPHQL = FRAMEWORK.subPackage("graphql");
   private static final Package I18N = FRAMEWORK.subPackage("i18n");
   private static final Package IO = FRAMEWORK.subPackage("io");
   private static final Package LANG = FRAMEWORK.subPackage("lang");
@@ -60,6 +68,11 @@ public class FrameworkArchitectureTest {
       .verify();
   }
 
+  @Test
+  void enforceGraphQLPackageDependencies() {
+    GRAPHQL.dependsOn(GRAPHQL_JAVA, GUAVA_CACHE, MICROMETER).verify();
+  }
+
   @Test
   void enforceI18nPackageDependencies() {
     I18N.dependsOn(RESOURCES).verify();
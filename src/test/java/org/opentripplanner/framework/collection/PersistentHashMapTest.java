@@ -0,0 +1,104 @@
+package org.opentripplanner.framework.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PersistentHashMapTest {
+
+  @Test
+  void putAndGet() {
+    PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+    var subject = empty.put("A", 1).put("B", 2);
+
+    assertTrue(empty.isEmpty());
+    assertEquals(2, subject.size());
+    assertEquals(1, subject.get("A"));
+    assertEquals(2, subject.get("B"));
+    assertNull(subject.get("C"));
+    assertTrue(subject.containsKey("A"));
+    assertFalse(subject.containsKey("C"));
+  }
+
+  @Test
+  void updatesDoNotChangePreviousVersion() {
+    PersistentHashMap<String, Integer> v1 = PersistentHashMap.<String, Integer>empty().put("A", 1);
+    var v2 = v1.put("A", 2);
+    var v3 = v2.remove("A");
+
+    assertEquals(1, v1.get("A"));
+    assertEquals(2, v2.get("A"));
+    assertNull(v3.get("A"));
+    assertEquals(1, v2.size());
+    assertEquals(0, v3.size());
+  }
+
+  @Test
+  void unchangedMapIsReturnedIfNothingIsChanged() {
+    Integer value = 1000;
+    var subject = PersistentHashMap.<String, Integer>empty().put("A", value);
+
+    assertSame(subject, subject.put("A", value));
+    assertSame(subject, subject.remove("B"));
+  }
+
+  @Test
+  void keysWithSameHashCode() {
+    // "Aa" and "BB" have the same hash code
+    var subject = PersistentHashMap.<String, Integer>empty().put("Aa", 1).put("BB", 2);
+
+    assertEquals(2, subject.size());
+    assertEquals(1, subject.get("Aa"));
+    assertEquals(2, subject.get("BB"));
+
+    var removed = subject.remove("Aa");
+    assertEquals(1, removed.size());
+    assertNull(removed.get("Aa"));
+    assertEquals(2, removed.get("BB"));
+    assertEquals(Map.of("Aa", 1, "BB", 2), subject.asMap());
+    assertEquals(Set.of("Aa", "BB"), subject.keySet());
+  }
+
+  @Test
+  void compareWithHashMap() {
+    var random = new Random(17);
+    var expected = new HashMap<Integer, Integer>();
+    var subject = PersistentHashMap.<Integer, Integer>empty();
+
+    for (int i = 0; i < 20_000; ++i) {
+      int key = random.nextInt(5_000);
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        subject = subject.remove(key);
+      } else {
+        expected.put(key, i);
+        subject = subject.put(key, i);
+      }
+    }
+    assertEquals(expected.size(), subject.size());
+    assertEquals(expected, subject.asMap());
+    assertEquals(expected.keySet().size(), subject.keys().size());
+    assertEquals(expected.keySet(), subject.keySet());
+    assertEquals(expected.keySet(), new HashSet<>(subject.keySet()));
+  }
+
+  @Test
+  void keySetOfEmptyMap() {
+    var keys = PersistentHashMap.<String, Integer>empty().keySet();
+
+    assertTrue(keys.isEmpty());
+    assertFalse(keys.iterator().hasNext());
+    assertThrows(NoSuchElementException.class, () -> keys.iterator().next());
+  }
+}
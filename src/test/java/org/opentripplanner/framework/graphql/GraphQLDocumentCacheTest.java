@@ -0,0 +1,106 @@
+package org.opentripplanner.framework.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class GraphQLDocumentCacheTest {
+
+  private static final String QUERY = "{ stop(id: \"A\") { name } }";
+  private static final String QUERY_HASH = Hashing
+    .sha256()
+    .hashString(QUERY, StandardCharsets.UTF_8)
+    .toString();
+
+  private final GraphQLDocumentCache subject = new GraphQLDocumentCache();
+  private int parseCount = 0;
+
+  @Test
+  void sameQueryIsParsedOnce() {
+    var first = subject.getDocument(input(QUERY, Map.of()), this::parse);
+    var second = subject.getDocument(input(QUERY, Map.of()), this::parse);
+
+    assertEquals(1, parseCount);
+    assertSame(first, second);
+    assertFalse(first.hasErrors());
+  }
+
+  @Test
+  void persistedQuery() {
+    var extensions = persistedQueryExtensions(QUERY_HASH);
+    var marker = PersistedQuerySupport.PERSISTED_QUERY_MARKER;
+
+    var notFound = subject.getDocument(input(marker, extensions), this::parse);
+    assertTrue(notFound.hasErrors());
+    assertInstanceOf(PersistedQueryNotFound.class, notFound.getErrors().get(0).getErrorType());
+
+    var registered = subject.getDocument(input(QUERY, extensions), this::parse);
+    assertFalse(registered.hasErrors());
+
+    var found = subject.getDocument(input(marker, extensions), this::parse);
+    assertSame(registered, found);
+
+    // The hash of the query text and the persisted query id is the same key
+    assertSame(registered, subject.getDocument(input(QUERY, Map.of()), this::parse));
+    assertEquals(1, parseCount);
+  }
+
+  @Test
+  void persistedQueryWithWrongHash() {
+    var extensions = persistedQueryExtensions("0".repeat(64));
+
+    var entry = subject.getDocument(input(QUERY, extensions), this::parse);
+
+    assertTrue(entry.hasErrors());
+    assertInstanceOf(PersistedQueryIdInvalid.class, entry.getErrors().get(0).getErrorType());
+    assertEquals(0, parseCount);
+  }
+
+  @Test
+  void isPersistedQuery() {
+    assertTrue(GraphQLDocumentCache.isPersistedQuery(persistedQueryExtensions(QUERY_HASH)));
+    assertFalse(GraphQLDocumentCache.isPersistedQuery(Map.of()));
+    assertFalse(GraphQLDocumentCache.isPersistedQuery(null));
+  }
+
+  @Test
+  void bindMetricsReplacesTheMetersOfAnOldCache() {
+    var registry = new SimpleMeterRegistry();
+    var tags = List.of(Tag.of("api", "test"));
+    new GraphQLDocumentCache().bindMetrics(registry, "documents", tags);
+
+    subject.bindMetrics(registry, "documents", tags);
+    subject.getDocument(input(QUERY, Map.of()), this::parse);
+
+    assertEquals(1.0, registry.get("cache.size").tag("cache", "documents").gauge().value());
+  }
+
+  private PreparsedDocumentEntry parse(ExecutionInput input) {
+    ++parseCount;
+    return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+  }
+
+  private static ExecutionInput input(String query, Map<String, Object> extensions) {
+    return ExecutionInput.newExecutionInput().query(query).extensions(extensions).build();
+  }
+
+  private static Map<String, Object> persistedQueryExtensions(String hash) {
+    return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash));
+  }
+}
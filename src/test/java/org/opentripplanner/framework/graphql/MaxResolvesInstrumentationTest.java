@@ -0,0 +1,57 @@
+package org.opentripplanner.framework.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MaxResolvesInstrumentationTest {
+
+  private static final String QUERY = "{ a b c }";
+
+  private final GraphQL subject = GraphQL
+    .newGraphQL(
+      new SchemaGenerator()
+        .makeExecutableSchema(
+          new SchemaParser().parse("type Query { a: Int b: Int c: Int }"),
+          RuntimeWiring.newRuntimeWiring().build()
+        )
+    )
+    .instrumentation(new MaxResolvesInstrumentation(2))
+    .build();
+
+  @Test
+  void defaultMaxResolves() {
+    var result = execute(ExecutionInput.newExecutionInput(QUERY));
+    assertEquals(1, result.getErrors().size());
+    assertTrue(result.getErrors().get(0).getMessage().contains("maximum query complexity"));
+  }
+
+  @Test
+  void maxResolvesFromContext() {
+    var within = execute(
+      ExecutionInput
+        .newExecutionInput(QUERY)
+        .graphQLContext(Map.of(MaxResolvesInstrumentation.MAX_RESOLVES, 3))
+    );
+    assertTrue(within.getErrors().isEmpty());
+
+    var exceeded = execute(
+      ExecutionInput
+        .newExecutionInput(QUERY)
+        .graphQLContext(Map.of(MaxResolvesInstrumentation.MAX_RESOLVES, 1))
+    );
+    assertEquals(1, exceeded.getErrors().size());
+  }
+
+  private ExecutionResult execute(ExecutionInput.Builder input) {
+    return subject.execute(input.build());
+  }
+}
@@ -12,6 +12,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.opentripplanner.ConstantsForTests;
+import org.opentripplanner.ext.fares.impl.DefaultFareServiceFactory;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssue;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.graph_builder.issue.service.DefaultDataImportIssueStore;
 import org.opentripplanner.gtfs.graphbuilder.GtfsBundle;
 import org.opentripplanner.gtfs.graphbuilder.GtfsModule;
 import org.opentripplanner.model.calendar.ServiceDateInterval;
@@ -54,6 +58,53 @@ class GtfsModuleTest {
     assertNotNull(pattern.getHopGeometry(0));
   }
 
+  @Test
+  public void feedsLoadedInParallelGiveTheSameResult() {
+    var sequential = buildTestModel();
+    var sequentialIssues = new DefaultDataImportIssueStore();
+    loadInterliningFeeds(sequential, sequentialIssues, 1);
+
+    var parallel = buildTestModel();
+    var parallelIssues = new DefaultDataImportIssueStore();
+    loadInterliningFeeds(parallel, parallelIssues, 3);
+
+    assertEquals(tripPatternIds(sequential), tripPatternIds(parallel));
+    assertEquals(
+      sequential.transitModel.getTransferService().listAll().size(),
+      parallel.transitModel.getTransferService().listAll().size()
+    );
+    assertEquals(
+      sequentialIssues.listIssues().stream().map(DataImportIssue::getMessage).toList(),
+      parallelIssues.listIssues().stream().map(DataImportIssue::getMessage).toList()
+    );
+  }
+
+  private static void loadInterliningFeeds(
+    TestModels model,
+    DataImportIssueStore issueStore,
+    int loaderThreads
+  ) {
+    new GtfsModule(
+      List.of(Interlining.bundle("A"), Interlining.bundle("B"), Interlining.bundle("C")),
+      model.transitModel,
+      model.graph,
+      issueStore,
+      ServiceDateInterval.unbounded(),
+      new DefaultFareServiceFactory(),
+      loaderThreads
+    )
+      .buildGraph();
+  }
+
+  private static List<String> tripPatternIds(TestModels model) {
+    return model.transitModel
+      .getAllTripPatterns()
+      .stream()
+      .map(it -> it.getId().toString())
+      .sorted()
+      .toList();
+  }
+
   private static TestModels buildTestModel() {
     var deduplicator = new Deduplicator();
     var stopModel = new StopModel();
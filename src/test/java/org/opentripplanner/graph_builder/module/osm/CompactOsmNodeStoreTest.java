@@ -0,0 +1,139 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.openstreetmap.OpenStreetMapProvider;
+import org.opentripplanner.openstreetmap.model.OSMNode;
+import org.opentripplanner.openstreetmap.model.OSMWay;
+
+class CompactOsmNodeStoreTest {
+
+  private final CompactOsmNodeStore subject = new CompactOsmNodeStore();
+
+  @Test
+  void untaggedNodesAreCreatedOnLookup() {
+    var node = node(7, latitude(7), longitude(7));
+    subject.add(node);
+
+    var result = subject.get(7);
+    assertNotSame(node, result);
+    assertEquals(node, result);
+    assertEquals(node.lat, result.lat);
+    assertEquals(node.lon, result.lon);
+    assertNull(result.getTags());
+    assertNull(subject.get(8));
+    assertTrue(subject.contains(7));
+    assertFalse(subject.contains(8));
+  }
+
+  @Test
+  void taggedNodesAreKeptAsObjects() {
+    var node = node(7, 59.9115021, 10.7500935);
+    node.addTag("highway", "traffic_signals");
+    subject.add(node);
+
+    assertSame(node, subject.get(7));
+  }
+
+  @Test
+  void nodesWithMoreThanOsmPrecisionAreKeptAsObjects() {
+    var node = node(-100000, latitude(0) + 1e-9, longitude(0));
+    subject.add(node);
+
+    assertSame(node, subject.get(-100000));
+  }
+
+  @Test
+  void firstNodeWithTheSameIdIsKept() {
+    subject.add(node(1, latitude(1), longitude(1)));
+    subject.add(node(2, latitude(0), longitude(0)));
+    subject.add(node(2, latitude(2), longitude(2)));
+    assertEquals(2, subject.size());
+    assertEquals(latitude(0), subject.get(2).lat);
+
+    // Nodes in a new run are ignored if they exist in a previous run
+    subject.add(node(2, latitude(3), longitude(3)));
+    subject.add(node(3, latitude(3), longitude(3)));
+    assertEquals(3, subject.size());
+    assertEquals(latitude(0), subject.get(2).lat);
+    assertEquals(latitude(3), subject.get(3).lat);
+  }
+
+  @Test
+  void manyNodesInRandomOrder() {
+    List<Long> ids = new ArrayList<>();
+    for (long id = 1; id <= 600_000; ++id) {
+      ids.add(id * 3);
+    }
+    Collections.shuffle(ids, new Random(13));
+    ids.forEach(id -> subject.add(node(id, latitude(id), longitude(id))));
+
+    assertEquals(ids.size(), subject.size());
+    for (long id : ids) {
+      var node = subject.get(id);
+      assertEquals(latitude(id), node.lat);
+      assertEquals(longitude(id), node.lon);
+      assertFalse(subject.contains(id + 1));
+    }
+  }
+
+  @Test
+  void sameNodesAsTheHeapStore() {
+    File osmFile = new File(
+      URLDecoder.decode(getClass().getResource("map.osm.pbf").getPath(), StandardCharsets.UTF_8)
+    );
+    var heap = new OSMDatabase(DataImportIssueStore.NOOP, Set.of(), OsmNodeStoreType.HEAP);
+    var compact = new OSMDatabase(DataImportIssueStore.NOOP, Set.of(), OsmNodeStoreType.COMPACT);
+    new OpenStreetMapProvider(osmFile, true).readOSM(heap);
+    new OpenStreetMapProvider(osmFile, true).readOSM(compact);
+
+    assertEquals(heap.nodeCount(), compact.nodeCount());
+    for (OSMWay way : heap.getWays()) {
+      for (long id : way.getNodeRefs().toArray()) {
+        var expected = heap.getNode(id);
+        var actual = compact.getNode(id);
+        if (expected == null) {
+          assertNull(actual);
+          continue;
+        }
+        assertNotNull(actual);
+        assertEquals(expected.lat, actual.lat);
+        assertEquals(expected.lon, actual.lon);
+        assertEquals(expected.getTags(), actual.getTags());
+      }
+    }
+  }
+
+  private static OSMNode node(long id, double lat, double lon) {
+    var node = new OSMNode();
+    node.setId(id);
+    node.lat = lat;
+    node.lon = lon;
+    return node;
+  }
+
+  /** Coordinates calculated the same way as the PBF parser */
+  private static double latitude(long id) {
+    return (100L * (500_000_000 + id)) * .000000001;
+  }
+
+  private static double longitude(long id) {
+    return (100L * (-1_000_000_000 - id)) * .000000001;
+  }
+}
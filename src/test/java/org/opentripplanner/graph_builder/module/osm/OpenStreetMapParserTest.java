@@ -7,11 +7,15 @@ import gnu.trove.list.TLongList;
 import java.io.File;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.opentripplanner.ConstantsForTests;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.openstreetmap.OpenStreetMapProvider;
 import org.opentripplanner.openstreetmap.model.OSMNode;
+import org.opentripplanner.openstreetmap.model.OSMRelation;
 import org.opentripplanner.openstreetmap.model.OSMWay;
 
 public class OpenStreetMapParserTest {
@@ -47,4 +51,58 @@ public class OpenStreetMapParserTest {
     assertEquals("Potlatch 0.9a", wayA.getTag("created_by"));
     assertEquals("secondary", wayA.getTag("highway"));
   }
+
+  /**
+   * The blocks are decoded in parallel, but the entities must be added to the database in the
+   * same order as with a single thread.
+   */
+  @Test
+  public void testParallelParserKeepsInsertionOrder() {
+    File osmFile = new File(ConstantsForTests.PORTLAND_CENTRAL_OSM);
+
+    var expected = new RecordingOSMDatabase();
+    new OpenStreetMapProvider(osmFile, true, 1).readOSM(expected);
+
+    var actual = new RecordingOSMDatabase();
+    new OpenStreetMapProvider(osmFile, true, 4).readOSM(actual);
+
+    assertTrue(expected.events.size() > 1000);
+    assertEquals(expected.events, actual.events);
+  }
+
+  private static class RecordingOSMDatabase
+    implements org.opentripplanner.openstreetmap.spi.OSMDatabase {
+
+    private final List<String> events = new ArrayList<>();
+
+    @Override
+    public void addNode(OSMNode node) {
+      events.add("node " + node.getId() + " " + node.lat + " " + node.lon + " " + node.getTags());
+    }
+
+    @Override
+    public void addWay(OSMWay way) {
+      events.add("way " + way.getId() + " " + way.getNodeRefs() + " " + way.getTags());
+    }
+
+    @Override
+    public void addRelation(OSMRelation relation) {
+      events.add("relation " + relation.getId() + " " + relation.getMembers().size());
+    }
+
+    @Override
+    public void doneFirstPhaseRelations() {
+      events.add("relations done");
+    }
+
+    @Override
+    public void doneSecondPhaseWays() {
+      events.add("ways done");
+    }
+
+    @Override
+    public void doneThirdPhaseNodes() {
+      events.add("nodes done");
+    }
+  }
 }
@@ -0,0 +1,68 @@
+package org.opentripplanner.netex.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.opentripplanner.datastore.api.DataSource;
+import org.opentripplanner.datastore.api.FileType;
+import org.opentripplanner.datastore.file.ZipFileDataSource;
+import org.opentripplanner.netex.index.NetexEntityIndex;
+import org.rutebanken.netex.model.Line;
+
+class NetexParallelParserTest {
+
+  private static final String LINE_4 = "RUT_RUT-Line-4_4_Vestli---Bergkrystallen.xml";
+  private static final String LINE_12 = "RUT_RUT-Line-12_12_Majorstuen---Kjelsas.xml";
+
+  private final ZipFileDataSource source = new ZipFileDataSource(
+    new File("src/test/resources/netex/netex_minimal.zip"),
+    FileType.NETEX
+  );
+
+  @AfterEach
+  void tearDown() {
+    source.close();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 1, 4 })
+  void filesAreHandledInOrderWithAnIndexEach(int threads) {
+    var root = new NetexEntityIndex();
+    List<DataSource> entries = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      entries.add(source.entry(i % 3 == 0 ? LINE_12 : LINE_4));
+    }
+    List<String> lines = new ArrayList<>();
+
+    try (var subject = new NetexParallelParser(new NetexXmlParser(), false, threads)) {
+      subject.parse("shared file", source.entry("_stops.xml"), root);
+      subject.parse("shared file", source.entry("_RUT_shared_data.xml"), root);
+
+      subject.parseEach(
+        "group file",
+        entries,
+        root,
+        index -> {
+          assertSame(root, index.pop());
+          assertNotNull(index.timeZone.get());
+          lines.add(index.lineById.localValues().stream().map(Line::getId).findFirst().get());
+        }
+      );
+    }
+
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      expected.add(i % 3 == 0 ? "RUT:Line:12" : "RUT:Line:4");
+    }
+    assertEquals(expected, lines);
+    // Nothing is added to the parent
+    assertEquals(0, root.lineById.size());
+  }
+}
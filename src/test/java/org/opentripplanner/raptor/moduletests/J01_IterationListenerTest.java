@@ -0,0 +1,105 @@
+package org.opentripplanner.raptor.moduletests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.time.TimeUtils;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.RaptorTestConstants;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+/**
+ * Feature under test
+ * <p>
+ * Raptor should notify the iteration listener with the best stop arrivals for each Range Raptor
+ * iteration (minute) in the search-window.
+ */
+public class J01_IterationListenerTest implements RaptorTestConstants {
+
+  private final TestTransitData data = new TestTransitData();
+  private final RaptorRequestBuilder<TestTripSchedule> requestBuilder = new RaptorRequestBuilder<>();
+  private final RaptorService<TestTripSchedule> raptorService = new RaptorService<>(
+    RaptorConfig.defaultConfigForTest()
+  );
+
+  /**
+   * <pre>
+   * Stops: A, B, C, D
+   *
+   * Route R1: A - B
+   *   Trip 1: 00:02 - 00:05
+   *   Trip 2: 00:04 - 00:08
+   * Route R2: C - D (not reached)
+   *   Trip 1: 00:10 - 00:12
+   *
+   * Access: A 30s
+   * Search-window: 00:00 - 00:03, 3 iterations
+   * </pre>
+   */
+  @BeforeEach
+  public void setup() {
+    data.withRoute(
+      route(pattern("R1", STOP_A, STOP_B))
+        .withTimetable(schedule("00:02, 00:05"), schedule("00:04, 00:08"))
+    );
+    data.withRoute(route(pattern("R2", STOP_C, STOP_D)).withTimetable(schedule("00:10, 00:12")));
+
+    requestBuilder
+      .profile(RaptorProfile.BEST_TIME)
+      .searchParams()
+      .addAccessPaths(TestAccessEgress.walk(STOP_A, D30s))
+      .earliestDepartureTime(T00_00)
+      .searchWindowInSeconds(D3m)
+      .allowEmptyEgressPaths(true)
+      .timetable(false);
+  }
+
+  @Test
+  public void arrivalsForEachIteration() {
+    List<String> result = new ArrayList<>();
+
+    raptorService.route(
+      requestBuilder.build(),
+      data,
+      (departureTime, arrivals) -> {
+        assertFalse(arrivals.reached(STOP_C));
+        result.add(
+          TimeUtils.timeToStrCompact(departureTime) +
+          " A " +
+          TimeUtils.timeToStrCompact(arrivals.bestArrivalTime(STOP_A)) +
+          " B " +
+          TimeUtils.timeToStrCompact(arrivals.bestArrivalTime(STOP_B))
+        );
+      }
+    );
+
+    assertEquals(
+      List.of("0:02 A 0:02:30 B 0:08", "0:01 A 0:01:30 B 0:05", "0:00 A 0:00:30 B 0:05"),
+      result
+    );
+  }
+
+  @Test
+  public void dynamicSearchIsNotSupported() {
+    requestBuilder.profile(RaptorProfile.MULTI_CRITERIA);
+    var request = requestBuilder.build();
+
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> raptorService.route(request, data, (departureTime, arrivals) -> {})
+    );
+  }
+}
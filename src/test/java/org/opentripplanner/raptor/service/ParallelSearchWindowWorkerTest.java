@@ -0,0 +1,195 @@
+package org.opentripplanner.raptor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.opentripplanner.framework.time.DurationUtils.durationInSeconds;
+import static org.opentripplanner.framework.time.TimeUtils.hm2time;
+import static org.opentripplanner.raptor._data.api.PathUtils.pathsToString;
+import static org.opentripplanner.raptor._data.transit.TestAccessEgress.walk;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTransfer.transfer;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.RaptorTestConstants;
+import org.opentripplanner.raptor._data.transit.TestRoute;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.api.request.Optimization;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+class ParallelSearchWindowWorkerTest implements RaptorTestConstants {
+
+  private static final int N_STOPS = 12;
+  private static final int ITERATION_STEP = 60;
+  private static final int LAST_DEPARTURE = hm2time(2, 0);
+  private static final int LATEST_ARRIVAL = hm2time(2, 30);
+
+  private static final RaptorConfig<TestTripSchedule> CONFIG = new RaptorConfig<>(
+    new RaptorTuningParameters() {
+      @Override
+      public int searchThreadPoolSize() {
+        return 4;
+      }
+    }
+  );
+
+  private final RaptorService<TestTripSchedule> service = new RaptorService<>(CONFIG);
+
+  @AfterAll
+  static void shutdown() {
+    CONFIG.shutdown();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 60, 90, 300, 3540, 3600, 3630 })
+  void splitSearchWindowPerformsTheSameIterations(int searchWindow) {
+    var data = createTransitData(new Random(1));
+    var request = request(SearchDirection.FORWARD, searchWindow).build();
+    var expected = iterations(data, request);
+
+    for (int maxSubRanges = 1; maxSubRanges <= 7; ++maxSubRanges) {
+      var subRequests = ParallelSearchWindowWorker.splitSearchWindow(
+        request,
+        maxSubRanges,
+        ITERATION_STEP
+      );
+      List<Integer> result = new ArrayList<>();
+      subRequests.forEach(it -> result.addAll(iterations(data, it)));
+
+      assertEquals(expected, result, "max sub-ranges: " + maxSubRanges);
+    }
+  }
+
+  @Test
+  void reverseSearchIsNotSplit() {
+    var request = request(SearchDirection.REVERSE, durationInSeconds("1h")).build();
+
+    assertEquals(
+      List.of(request),
+      ParallelSearchWindowWorker.splitSearchWindow(request, 4, ITERATION_STEP)
+    );
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = { true, false })
+  void sameResultAsSingleThreadedSearch(boolean destinationPruning) {
+    for (int seed = 0; seed < 20; ++seed) {
+      var data = createTransitData(new Random(seed));
+      var builder = request(SearchDirection.FORWARD, durationInSeconds("1h"));
+      if (destinationPruning) {
+        builder.enableOptimization(Optimization.PARETO_CHECK_AGAINST_DESTINATION);
+      }
+      var request = builder.build();
+      var parallelRequest = request
+        .mutate()
+        .enableOptimization(Optimization.PARALLEL_SEARCH_WINDOW)
+        .build();
+
+      var expected = pathsToString(service.route(request, data));
+      var result = pathsToString(service.route(parallelRequest, data));
+
+      assertFalse(expected.isEmpty(), "seed: " + seed);
+      assertEquals(expected, result, "seed: " + seed);
+    }
+  }
+
+  /**
+   * The relaxed cost comparator is not transitive, so the merged pareto set of the sub-ranges may
+   * differ from the single-threaded result. These searches are not split.
+   */
+  @Test
+  void sameResultAsSingleThreadedSearchWithRelaxedCostAtDestination() {
+    for (int seed = 0; seed < 20; ++seed) {
+      var data = createTransitData(new Random(seed));
+      var builder = request(SearchDirection.FORWARD, durationInSeconds("1h"));
+      builder.searchParams().relaxCostAtDestination(1.5);
+      var request = builder.build();
+      var parallelRequest = request
+        .mutate()
+        .enableOptimization(Optimization.PARALLEL_SEARCH_WINDOW)
+        .build();
+
+      var expected = pathsToString(service.route(request, data));
+      var result = pathsToString(service.route(parallelRequest, data));
+
+      assertFalse(expected.isEmpty(), "seed: " + seed);
+      assertEquals(expected, result, "seed: " + seed);
+    }
+  }
+
+  private static RaptorRequestBuilder<TestTripSchedule> request(
+    SearchDirection direction,
+    int searchWindow
+  ) {
+    var builder = new RaptorRequestBuilder<TestTripSchedule>();
+    builder.profile(RaptorProfile.MULTI_CRITERIA).searchDirection(direction);
+    builder
+      .searchParams()
+      .earliestDepartureTime(T00_10)
+      .latestArrivalTime(LATEST_ARRIVAL)
+      .searchWindowInSeconds(searchWindow)
+      .addAccessPaths(walk(STOP_A, D1m), walk(STOP_B, D4m))
+      .addEgressPaths(walk(N_STOPS, D2m), walk(N_STOPS - 1, D5m));
+    return builder;
+  }
+
+  private static List<Integer> iterations(
+    TestTransitData data,
+    RaptorRequest<TestTripSchedule> request
+  ) {
+    var it = CONFIG.context(data, request).calculator().rangeRaptorMinutes();
+    List<Integer> result = new ArrayList<>();
+    while (it.hasNext()) {
+      result.add(it.next());
+    }
+    return result;
+  }
+
+  /**
+   * Create a network of routes between random stops, with trips at random intervals and short
+   * transfers between some of the stops.
+   */
+  private static TestTransitData createTransitData(Random random) {
+    var data = new TestTransitData();
+
+    for (int i = 0; i < 16; ++i) {
+      int[] stops = random.ints(1, N_STOPS + 1).distinct().limit(4).toArray();
+      int[] travelTimes = random.ints(stops.length, 2 * 60, 12 * 60).toArray();
+      TestRoute route = route("R" + i, stops);
+
+      int departure = random.nextInt(20 * 60);
+      while (departure < LAST_DEPARTURE) {
+        int[] times = new int[stops.length];
+        times[0] = departure;
+        for (int j = 1; j < stops.length; ++j) {
+          times[j] = times[j - 1] + travelTimes[j];
+        }
+        route.withTimetable(schedule().times(times));
+        departure += 3 * 60 + random.nextInt(15 * 60);
+      }
+      data.withRoute(route);
+    }
+
+    for (int i = 0; i < N_STOPS; ++i) {
+      int from = 1 + random.nextInt(N_STOPS);
+      int to = 1 + random.nextInt(N_STOPS);
+      if (from != to) {
+        data.withTransfer(from, transfer(to, D1m + random.nextInt(D4m)));
+      }
+    }
+    return data;
+  }
+}
@@ -0,0 +1,60 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class TransitLayerTest {
+
+  private static final LocalDate D1 = LocalDate.of(2023, 1, 2);
+  private static final LocalDate D2 = LocalDate.of(2023, 1, 3);
+  private static final LocalDate D3 = LocalDate.of(2023, 1, 4);
+
+  private final TripPatternForDate patternA = Mockito.mock(TripPatternForDate.class);
+  private final TripPatternForDate patternB = Mockito.mock(TripPatternForDate.class);
+
+  @Test
+  void replaceTripPatternsForDateInCopyDoesNotChangeOriginal() {
+    var original = createTransitLayer(Map.of(D1, List.of(patternA), D2, List.of(patternA)));
+    var copy = new TransitLayer(original);
+
+    copy.replaceTripPatternsForDate(D1, List.of(patternA, patternB));
+
+    assertEquals(List.of(patternA), List.copyOf(original.getTripPatternsForDate(D1)));
+    assertEquals(List.of(patternA, patternB), List.copyOf(copy.getTripPatternsForDate(D1)));
+
+    // Unchanged dates are shared
+    assertEquals(List.of(patternA), List.copyOf(copy.getTripPatternsForDate(D2)));
+  }
+
+  @Test
+  void replaceTripPatternsForUnknownDateIsIgnored() {
+    var subject = createTransitLayer(Map.of(D1, List.of(patternA)));
+
+    subject.replaceTripPatternsForDate(D3, List.of(patternB));
+
+    assertTrue(subject.getTripPatternsForDate(D3).isEmpty());
+    assertTrue(subject.getTripPatternsRunningOnDateCopy(D3).isEmpty());
+  }
+
+  private static TransitLayer createTransitLayer(
+    Map<LocalDate, List<TripPatternForDate>> tripPatternsRunningOnDate
+  ) {
+    return new TransitLayer(
+      tripPatternsRunningOnDate,
+      List.of(),
+      null,
+      null,
+      null,
+      null,
+      null,
+      null,
+      null
+    );
+  }
+}
@@ -1,6 +1,7 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
 
 import java.time.LocalDate;
@@ -9,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
+import java.util.function.Predicate;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner._support.time.ZoneIds;
 import org.opentripplanner.framework.time.ServiceDateUtils;
@@ -62,8 +64,7 @@ public class RaptorRoutingRequestTransitDataCreatorTest {
     // Patterns containing trip schedules for all 3 days. Trip schedules for later days are offset in time when requested.
     List<TripPatternForDates> combinedTripPatterns = RaptorRoutingRequestTransitDataCreator.merge(
       startOfTime,
-      tripPatternsForDates,
-      new TestTransitDataProviderFilter()
+      tripPatternsForDates
     );
 
     // Get the results
@@ -81,6 +82,53 @@ public class RaptorRoutingRequestTransitDataCreatorTest {
     assertEquals(-82800, ((TripScheduleWithOffset) r3.getTripSchedule(0)).getSecondsOffset());
     assertEquals(0, ((TripScheduleWithOffset) r3.getTripSchedule(1)).getSecondsOffset());
     assertEquals(86400, ((TripScheduleWithOffset) r3.getTripSchedule(2)).getSecondsOffset());
+
+    // Verify that the trip schedules read the offset times from the merged timetable
+    var trip = r3.getTripSchedule(2);
+    assertEquals(86400, trip.departure(0));
+    assertEquals(86400 + 7200, trip.arrival(1));
+    assertEquals(86400 + 7200, r3.getArrivalTimes(1).applyAsInt(2));
+  }
+
+  @Test
+  public void testFilterTripPatterns() {
+    LocalDate date = LocalDate.of(2019, 3, 31);
+    ZonedDateTime startOfTime = ServiceDateUtils.asStartOfService(date, ZoneIds.LONDON);
+
+    TripTimes tripA = createTripTimesForTest("A");
+    TripTimes tripB = createTripTimesForTest("B");
+
+    RoutingTripPattern tripPattern1 = createTripPattern(TP_ID_1);
+    RoutingTripPattern tripPattern2 = createTripPattern(TP_ID_2);
+    RoutingTripPattern tripPattern3 = createTripPattern(TP_ID_3);
+
+    List<TripPatternForDates> unfiltered = RaptorRoutingRequestTransitDataCreator.merge(
+      startOfTime,
+      List.of(
+        new TripPatternForDate(tripPattern1, List.of(tripA), List.of(), date),
+        new TripPatternForDate(tripPattern2, List.of(tripA, tripB), List.of(), date),
+        new TripPatternForDate(tripPattern3, List.of(tripB), List.of(), date)
+      )
+    );
+
+    // Remove trip B
+    var filter = new TestTransitDataProviderFilter(tripTimes -> tripTimes != tripB);
+    var result = RaptorRoutingRequestTransitDataCreator.filterTripPatterns(
+      new TripPatternsForSearchDays(unfiltered, List.of(), List.of()),
+      filter
+    );
+
+    // Pattern 1 is not changed by the filter, so the shared instance is reused
+    var r1 = findTripPatternForDate(tripPattern1.patternIndex(), result);
+    assertSame(findTripPatternForDate(tripPattern1.patternIndex(), unfiltered), r1);
+
+    // Trip B is removed from pattern 2
+    var r2 = findTripPatternForDate(tripPattern2.patternIndex(), result);
+    assertEquals(1, r2.numberOfTripSchedules());
+    assertSame(tripA, r2.getTripSchedule(0).getOriginalTripTimes());
+
+    // Pattern 3 has no trips left and is removed
+    assertEquals(2, result.size());
   }
 
   private static TripPatternForDates findTripPatternForDate(
@@ -95,6 +143,10 @@ public class RaptorRoutingRequestTransitDataCreatorTest {
   }
 
   private TripTimes createTripTimesForTest() {
+    return createTripTimesForTest("Test");
+  }
+
+  private TripTimes createTripTimesForTest(String tripId) {
     StopTime stopTime1 = new StopTime();
     StopTime stopTime2 = new StopTime();
 
@@ -102,7 +154,7 @@ public class RaptorRoutingRequestTransitDataCreatorTest {
     stopTime2.setArrivalTime(7200);
 
     return new TripTimes(
-      TransitModelForTest.trip("Test").build(),
+      TransitModelForTest.trip(tripId).build(),
       Arrays.asList(stopTime1, stopTime2),
       new Deduplicator()
     );
@@ -128,19 +180,16 @@ public class RaptorRoutingRequestTransitDataCreatorTest {
       .getRoutingTripPattern();
   }
 
-  /**
-   * Utility class that does nothing, used just to avoid null value on filter
-   */
-  private static class TestTransitDataProviderFilter implements TransitDataProviderFilter {
-
+  private record TestTransitDataProviderFilter(Predicate<TripTimes> tripTimesFilter)
+    implements TransitDataProviderFilter {
     @Override
     public boolean tripPatternPredicate(TripPatternForDate tripPatternForDate) {
-      return false;
+      return true;
     }
 
     @Override
     public boolean tripTimesPredicate(TripTimes tripTimes, boolean withFilters) {
-      return false;
+      return tripTimesFilter.test(tripTimes);
     }
 
     @Override
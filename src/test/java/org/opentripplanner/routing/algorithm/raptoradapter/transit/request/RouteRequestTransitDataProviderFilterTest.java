@@ -13,7 +13,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
+import org.opentripplanner._support.time.ZoneIds;
 import org.opentripplanner.ext.transmodelapi.model.TransmodelTransportSubmode;
+import org.opentripplanner.framework.time.ServiceDateUtils;
 import org.opentripplanner.model.StopTime;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripPatternForDate;
 import org.opentripplanner.routing.api.request.preference.WheelchairPreferences;
@@ -576,6 +578,148 @@ public class RouteRequestTransitDataProviderFilterTest {
     assertFalse(filter.tripTimesPredicate(failingTripTimes5, true));
   }
 
+  @Test
+  public void filterTripPatternsUsingAttributeIndex() {
+    var agency = TransitModelForTest.agency("A2");
+    var busRoute = TransitModelForTest.route("R1").withMode(TransitMode.BUS).build();
+    var railRoute = TransitModelForTest
+      .route("R2")
+      .withMode(TransitMode.RAIL)
+      .withAgency(agency)
+      .build();
+
+    var busPattern = createTestTripPatternForDates(busRoute, List.of());
+    var railPattern = createTestTripPatternForDates(railRoute, List.of());
+    var index = new TripPatternAttributeIndex(List.of(busPattern, railPattern));
+
+    var filters = List.of(
+      List.<TransitFilter>of(AllowAllTransitFilter.of()),
+      filterForMode(TransitMode.BUS),
+      filterForMode(TransitMode.FERRY),
+      List.<TransitFilter>of(
+        TransitFilterRequest
+          .of()
+          .addNot(SelectRequest.of().withRoutes(List.of(busRoute.getId())).build())
+          .build()
+      ),
+      List.<TransitFilter>of(
+        TransitFilterRequest
+          .of()
+          .addSelect(SelectRequest.of().withAgencies(List.of(agency.getId())).build())
+          .build()
+      )
+    );
+
+    for (List<TransitFilter> it : filters) {
+      var filter = new RouteRequestTransitDataProviderFilter(
+        false,
+        false,
+        DEFAULT_ACCESSIBILITY,
+        false,
+        false,
+        Set.of(),
+        it
+      );
+      // The bitset operations must give the same result as the pattern predicate
+      assertEquals(
+        index.matchPredicate(filter::tripPatternPredicate),
+        filter.filterTripPatterns(index),
+        it.toString()
+      );
+    }
+  }
+
+  @Test
+  public void filterTripsUsingTripAttributes() {
+    var trips = List.of(
+      createTestTripTimes(
+        TransitModelForTest.id("T1"),
+        ROUTE,
+        BikeAccess.ALLOWED,
+        TransitMode.BUS,
+        null,
+        Accessibility.POSSIBLE,
+        null
+      ),
+      createTestTripTimes(
+        TransitModelForTest.id("T2"),
+        ROUTE,
+        BikeAccess.NOT_ALLOWED,
+        TransitMode.BUS,
+        null,
+        Accessibility.POSSIBLE,
+        null
+      ),
+      createTestTripTimes(
+        TransitModelForTest.id("T3"),
+        ROUTE,
+        BikeAccess.ALLOWED,
+        TransitMode.BUS,
+        null,
+        Accessibility.NOT_POSSIBLE,
+        null
+      ),
+      createTestTripTimes(
+        TransitModelForTest.id("T4"),
+        ROUTE,
+        BikeAccess.ALLOWED,
+        TransitMode.BUS,
+        null,
+        Accessibility.POSSIBLE,
+        TripAlteration.CANCELLATION
+      )
+    );
+    var tripPattern = createTestTripPatternForDates(ROUTE, trips);
+
+    for (boolean bikes : new boolean[] { false, true }) {
+      for (boolean wheelchair : new boolean[] { false, true }) {
+        for (boolean cancellations : new boolean[] { false, true }) {
+          var filter = new RouteRequestTransitDataProviderFilter(
+            bikes,
+            wheelchair,
+            DEFAULT_ACCESSIBILITY,
+            cancellations,
+            cancellations,
+            Set.of(),
+            List.of(AllowAllTransitFilter.of())
+          );
+          var expected = new BitSet();
+          for (int i = 0; i < trips.size(); ++i) {
+            expected.set(i, filter.tripTimesPredicate(trips.get(i), false));
+          }
+          var result = filter.filterTrips(tripPattern);
+          assertEquals(expected, result == null ? allTrips(trips.size()) : result);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void requireTripTimesPredicate() {
+    var filter = new RouteRequestTransitDataProviderFilter(
+      false,
+      false,
+      DEFAULT_ACCESSIBILITY,
+      false,
+      false,
+      Set.of(),
+      List.of(AllowAllTransitFilter.of())
+    );
+    assertFalse(filter.requireTripTimesPredicate(false));
+    assertTrue(filter.requireTripTimesPredicate(true));
+
+    var filterWithBannedTrips = new RouteRequestTransitDataProviderFilter(
+      false,
+      false,
+      DEFAULT_ACCESSIBILITY,
+      false,
+      false,
+      Set.of(TRIP_ID),
+      List.of(AllowAllTransitFilter.of())
+    );
+    assertTrue(filterWithBannedTrips.requireTripTimesPredicate(false));
+  }
+
   private boolean validateModesOnTripTimes(
     Collection<MainAndSubMode> allowedModes,
     TripTimes tripTimes
@@ -611,6 +755,34 @@ public class RouteRequestTransitDataProviderFilterTest {
     return new TripPatternForDate(tripPattern, List.of(tripTimes), List.of(), LocalDate.now());
   }
 
+  private TripPatternForDates createTestTripPatternForDates(
+    Route route,
+    List<TripTimes> tripTimes
+  ) {
+    var stopTime = new StopTime();
+    stopTime.setStop(STOP_FOR_TEST);
+    RoutingTripPattern tripPattern = TripPattern
+      .of(TransitModelForTest.id("P-" + route.getId().getId()))
+      .withRoute(route)
+      .withStopPattern(new StopPattern(List.of(stopTime)))
+      .build()
+      .getRoutingTripPattern();
+    var date = LocalDate.of(2023, 1, 2);
+
+    return RaptorRoutingRequestTransitDataCreator
+      .merge(
+        ServiceDateUtils.asStartOfService(date, ZoneIds.UTC),
+        List.of(new TripPatternForDate(tripPattern, tripTimes, List.of(), date))
+      )
+      .get(0);
+  }
+
+  private static BitSet allTrips(int nTrips) {
+    var bitSet = new BitSet();
+    bitSet.set(0, nTrips);
+    return bitSet;
+  }
+
   private List<TransitFilter> filterForMode(TransitMode mode) {
     return filterForModes(List.of(new MainAndSubMode(mode)));
   }
@@ -0,0 +1,46 @@
+package org.opentripplanner.routing.api.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.model.GenericLocation;
+
+class RouteBatchRequestTest {
+
+  private static final GenericLocation A = new GenericLocation(60.0, 10.0);
+  private static final GenericLocation B = new GenericLocation(60.1, 10.1);
+  private static final GenericLocation C = new GenericLocation(60.2, 10.2);
+
+  @Test
+  void routeRequest() {
+    var routeRequest = new RouteRequest();
+    routeRequest.setNumItineraries(3);
+
+    var subject = new RouteBatchRequest(routeRequest, List.of(A, B), List.of(C));
+    var request = subject.routeRequest(1, 0);
+
+    assertSame(B, request.from());
+    assertSame(C, request.to());
+    assertEquals(3, request.numItineraries());
+    assertNotSame(routeRequest, request);
+    assertNotSame(routeRequest.journey(), request.journey());
+  }
+
+  @Test
+  void originsAndDestinationsAreRequired() {
+    var routeRequest = new RouteRequest();
+
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new RouteBatchRequest(routeRequest, List.of(), List.of(C))
+    );
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new RouteBatchRequest(routeRequest, List.of(A), List.of())
+    );
+  }
+}
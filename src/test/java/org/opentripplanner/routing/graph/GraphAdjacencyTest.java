@@ -0,0 +1,94 @@
+package org.opentripplanner.routing.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+class GraphAdjacencyTest {
+
+  private final Graph graph = new Graph();
+  private final Vertex a = new SimpleConcreteVertex(graph, "A", 60.0, 10.0);
+  private final Vertex b = new SimpleConcreteVertex(graph, "B", 60.1, 10.0);
+  private final Vertex removed = new SimpleConcreteVertex(graph, "X", 60.2, 10.0);
+  private final Vertex c = new SimpleConcreteVertex(graph, "C", 60.3, 10.0);
+  private final Edge ab = new SimpleConcreteEdge(a, b);
+  private final Edge ca = new SimpleConcreteEdge(c, a);
+  private final Edge cb = new SimpleConcreteEdge(c, b);
+  private final Edge ba = new SimpleConcreteEdge(b, a);
+
+  @Test
+  void assignDenseIndexes() {
+    graph.remove(removed);
+    assertEquals(4, graph.getVertexIndexSize());
+
+    graph.assignDenseIndexes();
+
+    assertEquals(3, graph.getVertexIndexSize());
+    assertEquals(List.of(0, 1, 2), List.of(a.getIndex(), b.getIndex(), c.getIndex()));
+    // Outgoing edges are numbered in vertex order
+    assertEquals(
+      List.of(0, 1, 2, 3),
+      List.of(ab.getIndex(), ba.getIndex(), ca.getIndex(), cb.getIndex())
+    );
+  }
+
+  @Test
+  void adjacency() {
+    graph.remove(removed);
+    graph.assignDenseIndexes();
+
+    var subject = GraphAdjacency.of(graph);
+
+    assertEquals(3, subject.vertexIndexSize());
+    assertEquals(4, subject.edgeCount());
+    assertEquals(c, subject.vertex(2));
+    assertEquals(List.of(ab), outgoing(subject, a));
+    assertEquals(List.of(ca, cb), outgoing(subject, c));
+    assertEquals(List.of(ba, ca), incoming(subject, a));
+    assertEquals(List.of(ab, cb), incoming(subject, b));
+    assertEquals(List.of(), incoming(subject, c));
+
+    for (int e = 0; e < subject.edgeCount(); ++e) {
+      Edge edge = subject.edge(e);
+      assertEquals(e, edge.getIndex());
+      assertEquals(edge.getFromVertex().getIndex(), subject.fromVertex(e));
+      assertEquals(edge.getToVertex().getIndex(), subject.toVertex(e));
+    }
+  }
+
+  @Test
+  void edgesToVerticesNotInGraphAreSkipped() {
+    graph.remove(removed);
+    var temporary = new SimpleConcreteVertex(null, "T", 60.4, 10.0);
+    new SimpleConcreteEdge(a, temporary);
+
+    var subject = GraphAdjacency.of(graph);
+
+    assertEquals(4, subject.edgeCount());
+    assertEquals(List.of(ab), outgoing(subject, a));
+    assertNull(subject.vertex(removed.getIndex()));
+  }
+
+  private static List<Edge> outgoing(GraphAdjacency adjacency, Vertex v) {
+    int i = v.getIndex();
+    var result = new ArrayList<Edge>();
+    for (int e = adjacency.outgoingStart(i); e < adjacency.outgoingEnd(i); ++e) {
+      result.add(adjacency.edge(e));
+    }
+    return result;
+  }
+
+  private static List<Edge> incoming(GraphAdjacency adjacency, Vertex v) {
+    int i = v.getIndex();
+    var result = new ArrayList<Edge>();
+    for (int j = adjacency.incomingStart(i); j < adjacency.incomingEnd(i); ++j) {
+      result.add(adjacency.edge(adjacency.incomingEdge(j)));
+    }
+    return result;
+  }
+}
@@ -73,6 +73,21 @@ public class GraphSerializationTest {
     testRoundTrip(model.graph(), model.transitModel(), worldEnvelopeRepository);
   }
 
+  /**
+   * Tests graph serialization to file in the mapped file format.
+   */
+  @Test
+  public void testRoundTripSerializationForMappedFormat() throws Exception {
+    TestOtpModel model = ConstantsForTests.buildNewMinimalNetexGraph();
+    var worldEnvelopeRepository = new DefaultWorldEnvelopeRepository();
+    testRoundTrip(
+      model.graph(),
+      model.transitModel(),
+      worldEnvelopeRepository,
+      GraphFileFormat.MAPPED
+    );
+  }
+
   // Ideally we'd also test comparing two separate but identical complex graphs, built separately from the same inputs.
   // A test that builds the same graph twice will currently fail for the following reasons:
   // There is global state in Vertex.index and the feeds IDs that mean if you build the same graph twice the feed IDs
@@ -169,6 +184,20 @@ public class GraphSerializationTest {
     Graph originalGraph,
     TransitModel originalTransitModel,
     WorldEnvelopeRepository worldEnvelopeRepository
+  ) throws Exception {
+    testRoundTrip(
+      originalGraph,
+      originalTransitModel,
+      worldEnvelopeRepository,
+      GraphFileFormat.KRYO
+    );
+  }
+
+  private void testRoundTrip(
+    Graph originalGraph,
+    TransitModel originalTransitModel,
+    WorldEnvelopeRepository worldEnvelopeRepository,
+    GraphFileFormat format
   ) throws Exception {
     // Now round-trip the graph through serialization.
     File tempFile = TempFile.createTempFile("graph", "pdx");
@@ -179,7 +208,7 @@ public class GraphSerializationTest {
       BuildConfig.DEFAULT,
       RouterConfig.DEFAULT
     );
-    serializedObj.save(new FileDataSource(tempFile, FileType.GRAPH));
+    serializedObj.save(new FileDataSource(tempFile, FileType.GRAPH), format);
     SerializedGraphObject deserializedGraph = SerializedGraphObject.load(tempFile);
     Graph copiedGraph1 = deserializedGraph.graph;
     TransitModel copiedTransitModel1 = deserializedGraph.transitModel;
@@ -0,0 +1,136 @@
+package org.opentripplanner.routing.graphfinder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner._support.time.ZoneIds;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.request.StreetRequest;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.RepeatingTimePeriod;
+import org.opentripplanner.street.model.TurnRestriction;
+import org.opentripplanner.street.model.TurnRestrictionType;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.TraverseModeSet;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+
+class NearbyStopCacheTest {
+
+  private static final GenericLocation LOCATION = new GenericLocation(60.0, 10.0);
+  private static final StreetRequest WALK = new StreetRequest(StreetMode.WALK);
+  private static final Duration DURATION_LIMIT = Duration.ofMinutes(20);
+
+  private final NearbyStopCache subject = new NearbyStopCache(10);
+  private final List<GenericLocation> searches = new ArrayList<>();
+
+  @Test
+  void sameSearchIsCached() {
+    var first = get(LOCATION, new RouteRequest(), WALK, false);
+    var second = get(LOCATION, new RouteRequest(), WALK, false);
+
+    assertSame(first, second);
+    assertEquals(1, searches.size());
+    assertEquals(1, subject.getCache().stats().hitCount());
+    assertEquals(1, subject.getCache().stats().missCount());
+  }
+
+  @Test
+  void locationIsSnapped() {
+    get(LOCATION, new RouteRequest(), WALK, false);
+    get(new GenericLocation(60.000001, 10.000001), new RouteRequest(), WALK, false);
+    get(new GenericLocation(60.0001, 10.0), new RouteRequest(), WALK, false);
+    get(new GenericLocation("Home", null, 60.0, 10.0), new RouteRequest(), WALK, false);
+
+    assertEquals(3, searches.size());
+  }
+
+  @Test
+  void keyContainsStreetRelevantOptions() {
+    get(LOCATION, new RouteRequest(), WALK, false);
+    get(LOCATION, new RouteRequest(), WALK, true);
+    get(LOCATION, new RouteRequest(), new StreetRequest(StreetMode.BIKE), false);
+
+    var slowWalk = new RouteRequest();
+    slowWalk.withPreferences(p -> p.withWalk(w -> w.withSpeed(0.8)));
+    get(LOCATION, slowWalk, WALK, false);
+
+    assertEquals(4, searches.size());
+
+    // Bike preferences are not relevant for walking
+    var slowBike = new RouteRequest();
+    slowBike.withPreferences(p -> p.withBike(b -> b.withSpeed(3.0)));
+    get(LOCATION, slowBike, WALK, false);
+
+    assertEquals(4, searches.size());
+  }
+
+  @Test
+  void invalidateAll() {
+    get(LOCATION, new RouteRequest(), WALK, false);
+    subject.invalidateAll();
+    get(LOCATION, new RouteRequest(), WALK, false);
+
+    assertEquals(2, searches.size());
+  }
+
+  @Test
+  void searchesAffectedByTimeDependentTurnRestrictionsAreNotCached() {
+    var graph = new Graph(new Deduplicator());
+    var a = new IntersectionVertex(graph, "A", 10.0, 60.0);
+    var b = new IntersectionVertex(graph, "B", 10.001, 60.0);
+    var c = new IntersectionVertex(graph, "C", 10.001, 60.001);
+    var from = StreetModelForTest.streetEdge(a, b);
+    var to = StreetModelForTest.streetEdge(b, c);
+    from.addTurnRestriction(
+      new TurnRestriction(
+        from,
+        to,
+        TurnRestrictionType.NO_TURN,
+        new TraverseModeSet(TraverseMode.CAR),
+        new RepeatingTimePeriod(ZoneIds.OSLO)
+      )
+    );
+    var subject = NearbyStopCache.forGraph(graph, 10);
+    var car = new StreetRequest(StreetMode.CAR);
+
+    subject.get(LOCATION, new RouteRequest(), car, false, DURATION_LIMIT, this::search);
+    subject.get(LOCATION, new RouteRequest(), car, false, DURATION_LIMIT, this::search);
+    assertEquals(2, searches.size());
+
+    subject.get(LOCATION, new RouteRequest(), WALK, false, DURATION_LIMIT, this::search);
+    subject.get(LOCATION, new RouteRequest(), WALK, false, DURATION_LIMIT, this::search);
+    assertEquals(3, searches.size());
+  }
+
+  private List<NearbyStop> search() {
+    searches.add(LOCATION);
+    return new ArrayList<>();
+  }
+
+  private List<NearbyStop> get(
+    GenericLocation location,
+    RouteRequest request,
+    StreetRequest streetRequest,
+    boolean fromTarget
+  ) {
+    return subject.get(
+      location,
+      request,
+      streetRequest,
+      fromTarget,
+      DURATION_LIMIT,
+      () -> {
+        searches.add(location);
+        return new ArrayList<>();
+      }
+    );
+  }
+}
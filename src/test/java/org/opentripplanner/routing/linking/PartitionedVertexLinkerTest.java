@@ -0,0 +1,153 @@
+package org.opentripplanner.routing.linking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetTransitStopLink;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.TransitStopVertex;
+import org.opentripplanner.street.model.vertex.TransitStopVertexBuilder;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.TraverseModeSet;
+import org.opentripplanner.transit.model._data.TransitModelForTest;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.service.StopModel;
+
+class PartitionedVertexLinkerTest {
+
+  private static final int GRID_SIZE = 12;
+  /** About 200 meters */
+  private static final double GRID_SPACING = 0.002;
+  private static final double LAT = 59.9;
+  private static final double LON = 10.7;
+
+  private static final BiFunction<Vertex, StreetVertex, List<Edge>> EDGE_FUNCTION = (
+      vertex,
+      streetVertex
+    ) ->
+    List.of(
+      new StreetTransitStopLink((TransitStopVertex) vertex, streetVertex),
+      new StreetTransitStopLink(streetVertex, (TransitStopVertex) vertex)
+    );
+
+  @Test
+  void sameGraphAsLinkingOneByOne() {
+    var graph = buildGraph();
+    for (TransitStopVertex stop : graph.getVerticesOfType(TransitStopVertex.class)) {
+      graph
+        .getLinker()
+        .linkVertexPermanently(
+          stop,
+          new TraverseModeSet(TraverseMode.WALK),
+          LinkingDirection.BOTH_WAYS,
+          EDGE_FUNCTION
+        );
+    }
+    var expected = describeEdges(graph);
+    // Check that the stops are linked by splitting the streets
+    assertTrue(expected.size() > 4 * GRID_SIZE * (GRID_SIZE - 1) + 4 * 400);
+
+    assertEquals(expected, describeEdges(linkPartitioned(1)));
+    assertEquals(expected, describeEdges(linkPartitioned(4)));
+  }
+
+  private static Graph linkPartitioned(int threads) {
+    var graph = buildGraph();
+    new PartitionedVertexLinker(graph.getLinker(), threads)
+      .linkVerticesPermanently(
+        graph.getVerticesOfType(TransitStopVertex.class),
+        stop -> new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BOTH_WAYS,
+        EDGE_FUNCTION,
+        () -> {}
+      );
+    return graph;
+  }
+
+  /**
+   * A grid of streets with stops at random positions. Many stops are close to each other, so they
+   * are linked to the same street edges.
+   */
+  private static Graph buildGraph() {
+    var graph = new Graph(new Deduplicator());
+
+    IntersectionVertex[][] grid = new IntersectionVertex[GRID_SIZE][GRID_SIZE];
+    for (int x = 0; x < GRID_SIZE; ++x) {
+      for (int y = 0; y < GRID_SIZE; ++y) {
+        String label = "V" + x + "_" + y;
+        grid[x][y] =
+          new IntersectionVertex(
+            graph,
+            label,
+            LON + x * GRID_SPACING,
+            LAT + y * GRID_SPACING,
+            label
+          );
+      }
+    }
+    for (int x = 0; x < GRID_SIZE; ++x) {
+      for (int y = 0; y < GRID_SIZE; ++y) {
+        if (x + 1 < GRID_SIZE) {
+          StreetModelForTest.streetEdge(grid[x][y], grid[x + 1][y]);
+          StreetModelForTest.streetEdge(grid[x + 1][y], grid[x][y]);
+        }
+        if (y + 1 < GRID_SIZE) {
+          StreetModelForTest.streetEdge(grid[x][y], grid[x][y + 1]);
+          StreetModelForTest.streetEdge(grid[x][y + 1], grid[x][y]);
+        }
+      }
+    }
+
+    var random = new Random(42);
+    double size = (GRID_SIZE - 1) * GRID_SPACING;
+    double lat = LAT;
+    double lon = LON;
+    for (int i = 0; i < 400; ++i) {
+      if (i % 2 == 0) {
+        lat = LAT + random.nextDouble() * size;
+        lon = LON + random.nextDouble() * size;
+      } else {
+        // Every other stop is within about 10 meters of the previous one
+        lat += (random.nextDouble() - 0.5) * 0.0002;
+        lon += (random.nextDouble() - 0.5) * 0.0002;
+      }
+      var stop = TransitModelForTest.stop("S" + i).withCoordinate(lat, lon).build();
+      new TransitStopVertexBuilder().withGraph(graph).withStop(stop).build();
+    }
+
+    graph.index(new StopModel());
+    return graph;
+  }
+
+  /** Describe the edges by type and geometry, the labels of split vertices are not stable. */
+  private static List<String> describeEdges(Graph graph) {
+    List<String> result = new ArrayList<>();
+    for (Edge edge : graph.getEdges()) {
+      result.add(
+        edge.getClass().getSimpleName() +
+        " " +
+        describe(edge.getFromVertex().getCoordinate()) +
+        " -> " +
+        describe(edge.getToVertex().getCoordinate())
+      );
+    }
+    result.sort(String::compareTo);
+    return result;
+  }
+
+  private static String describe(Coordinate c) {
+    return String.format(Locale.ROOT, "(%.9f, %.9f)", c.x, c.y);
+  }
+}
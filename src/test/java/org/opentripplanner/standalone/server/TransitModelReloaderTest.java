@@ -0,0 +1,100 @@
+package org.opentripplanner.standalone.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentripplanner.datastore.api.FileType;
+import org.opentripplanner.datastore.file.FileDataSource;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.GraphFileFormat;
+import org.opentripplanner.routing.graph.SerializedGraphObject;
+import org.opentripplanner.service.vehiclepositions.internal.DefaultVehiclePositionService;
+import org.opentripplanner.service.worldenvelope.internal.DefaultWorldEnvelopeRepository;
+import org.opentripplanner.standalone.config.BuildConfig;
+import org.opentripplanner.standalone.config.RouterConfig;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.service.StopModel;
+import org.opentripplanner.transit.service.TransitModel;
+
+class TransitModelReloaderTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final Graph graph = new Graph(new Deduplicator());
+  private final TransitModel transitModel = new TransitModel(new StopModel(), new Deduplicator());
+  private final ServedModelHolder modelHolder = new ServedModelHolder(graph, transitModel);
+
+  @Test
+  void reloadSwapsInANewModelReadyForRouting() {
+    var newGraph = new Graph(new Deduplicator());
+    new IntersectionVertex(newGraph, "V1", 10.7, 59.9);
+    var file = save(newGraph);
+
+    subject(file).reload();
+
+    var served = modelHolder.get();
+    assertNotSame(graph, served.graph());
+    assertNotSame(transitModel, served.transitModel());
+    assertEquals(1, served.graph().getVertices().size());
+    assertNotNull(served.transitModel().getTransitModelIndex());
+    assertNotNull(served.transitModel().getTransitLayer());
+    assertNotNull(served.transitModel().getRealtimeTransitLayer());
+  }
+
+  @Test
+  void failedReloadKeepsTheServedModel() {
+    var served = modelHolder.get();
+    var subject = subject(tempDir.resolve("none.obj").toFile());
+
+    assertThrows(RuntimeException.class, subject::reload);
+
+    assertSame(served, modelHolder.get());
+  }
+
+  @Test
+  void mappedGraphIsNotReloaded() {
+    var served = modelHolder.get();
+    var subject = subject(save(new Graph(new Deduplicator()), GraphFileFormat.MAPPED));
+
+    assertFalse(subject.isSupported());
+    assertThrows(RuntimeException.class, subject::reload);
+
+    assertSame(served, modelHolder.get());
+  }
+
+  private TransitModelReloader subject(File file) {
+    return new TransitModelReloader(
+      new FileDataSource(file, FileType.GRAPH),
+      RouterConfig.DEFAULT,
+      new DefaultVehiclePositionService(),
+      modelHolder
+    );
+  }
+
+  private File save(Graph graph) {
+    return save(graph, GraphFileFormat.KRYO);
+  }
+
+  private File save(Graph graph, GraphFileFormat format) {
+    File file = tempDir.resolve("graph.obj").toFile();
+    new SerializedGraphObject(
+      graph,
+      new TransitModel(new StopModel(), new Deduplicator()),
+      new DefaultWorldEnvelopeRepository(),
+      BuildConfig.DEFAULT,
+      RouterConfig.DEFAULT
+    )
+      .save(new FileDataSource(file, FileType.GRAPH), format);
+    return file;
+  }
+}
@@ -0,0 +1,133 @@
+package org.opentripplanner.street.search.landmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.GraphAdjacency;
+import org.opentripplanner.routing.graph.SimpleConcreteEdge;
+import org.opentripplanner.routing.graph.SimpleConcreteVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+import org.opentripplanner.street.search.state.State;
+import org.opentripplanner.street.search.strategy.LandmarkRemainingWeightHeuristic;
+
+class LandmarkTableBuilderTest {
+
+  private static final double DELTA = 0.1;
+
+  private final StreetSearchRequest request = StreetSearchRequest
+    .of()
+    .withMode(StreetMode.CAR)
+    .build();
+
+  // A - B - C - D, with one-way edges from the isolated vertex E to A
+  private final Graph graph = new Graph();
+  private final Vertex a = new SimpleConcreteVertex(graph, "A", 60.0, 10.0);
+  private final Vertex b = new SimpleConcreteVertex(graph, "B", 60.01, 10.0);
+  private final Vertex c = new SimpleConcreteVertex(graph, "C", 60.02, 10.0);
+  private final Vertex d = new SimpleConcreteVertex(graph, "D", 60.03, 10.0);
+  private final Vertex e = new SimpleConcreteVertex(graph, "E", 59.99, 10.0);
+
+  {
+    connect(a, b);
+    connect(b, c);
+    connect(c, d);
+    new SimpleConcreteEdge(e, a);
+    graph.assignDenseIndexes();
+  }
+
+  @Test
+  void landmarksAreSelectedFarthestFirst() {
+    var table = build(2);
+
+    assertEquals(2, table.numberOfLandmarks());
+    // E is not reachable from A, so D is the farthest vertex, then A is farthest from D
+    assertEquals(d.getIndex(), table.landmarkVertexIndex(0));
+    assertEquals(a.getIndex(), table.landmarkVertexIndex(1));
+  }
+
+  @Test
+  void weights() {
+    var table = build(1);
+
+    assertEquals(0, table.fromLandmark(0, d.getIndex()));
+    assertEquals(distance(d, b), table.fromLandmark(0, b.getIndex()), DELTA);
+    assertEquals(distance(a, d), table.toLandmark(0, a.getIndex()), DELTA);
+    assertEquals(Float.POSITIVE_INFINITY, table.fromLandmark(0, e.getIndex()));
+    assertEquals(distance(e, d), table.toLandmark(0, e.getIndex()), DELTA);
+  }
+
+  @Test
+  void matches() {
+    var table = build(1);
+    var preferences = new RoutingPreferences();
+
+    assertTrue(table.matches(StreetMode.CAR, false, preferences));
+    assertFalse(table.matches(StreetMode.BIKE, false, preferences));
+    assertFalse(table.matches(StreetMode.CAR, true, preferences));
+    assertFalse(
+      table.matches(
+        StreetMode.CAR,
+        false,
+        preferences.copyOf().withCar(car -> car.withReluctance(3.0)).build()
+      )
+    );
+  }
+
+  @Test
+  void heuristicIsLowerBound() {
+    var table = build(2);
+
+    assertEquals(distance(a, d), estimate(table, a, d, false), DELTA);
+    assertEquals(distance(b, c), estimate(table, b, c, false), DELTA);
+    assertEquals(distance(d, a), estimate(table, d, a, true), DELTA);
+    assertTrue(estimate(table, e, d, false) <= distance(e, d) + DELTA);
+  }
+
+  @Test
+  void numberOfLandmarksMustBePositive() {
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new LandmarkTableBuilder(GraphAdjacency.of(graph), request, 0)
+    );
+  }
+
+  private LandmarkTable build(int numberOfLandmarks) {
+    return new LandmarkTableBuilder(GraphAdjacency.of(graph), request, numberOfLandmarks).build();
+  }
+
+  /**
+   * The estimated weight between the two vertices. For arrive-by searches the search starts at
+   * the destination {@code to}, and the target is the origin {@code from}.
+   */
+  private double estimate(LandmarkTable table, Vertex from, Vertex to, boolean arriveBy) {
+    var heuristic = new LandmarkRemainingWeightHeuristic(table);
+    var origin = arriveBy ? to : from;
+    var target = arriveBy ? from : to;
+    heuristic.initialize(
+      StreetMode.CAR,
+      Set.of(origin),
+      Set.of(target),
+      arriveBy,
+      request.preferences()
+    );
+    return heuristic.estimateRemainingWeight(new State(origin, request));
+  }
+
+  private static void connect(Vertex v1, Vertex v2) {
+    new SimpleConcreteEdge(v1, v2);
+    new SimpleConcreteEdge(v2, v1);
+  }
+
+  private static double distance(Vertex v1, Vertex v2) {
+    return SphericalDistanceLibrary.distance(v1.getCoordinate(), v2.getCoordinate());
+  }
+}
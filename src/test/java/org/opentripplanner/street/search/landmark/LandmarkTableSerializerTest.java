@@ -0,0 +1,103 @@
+package org.opentripplanner.street.search.landmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.GraphAdjacency;
+import org.opentripplanner.routing.graph.SimpleConcreteEdge;
+import org.opentripplanner.routing.graph.SimpleConcreteVertex;
+import org.opentripplanner.routing.graph.kryosupport.KryoBuilder;
+import org.opentripplanner.routing.graph.mapped.MappedGraphFile;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+
+class LandmarkTableSerializerTest {
+
+  private static final byte[] HEADER = "HEADER".getBytes();
+
+  @TempDir
+  Path tempDir;
+
+  private final LandmarkTable table = createTable();
+
+  @Test
+  void kryoRoundTrip() {
+    var out = new ByteArrayOutputStream();
+    var output = new Output(out);
+    KryoBuilder.create().writeClassAndObject(output, new StreetLandmarks(List.of(table)));
+    output.close();
+
+    var input = new Input(out.toByteArray());
+    var result = (StreetLandmarks) KryoBuilder.create().readClassAndObject(input);
+
+    var copy = result.tables().get(0);
+    assertFalse(copy.fromLandmark(0).isDirect());
+    assertSameTable(table, copy);
+  }
+
+  @Test
+  void mappedRoundTrip() throws Exception {
+    File file = tempDir.resolve("graph.obj").toFile();
+    MappedGraphFile.write(
+      new FileOutputStream(file),
+      HEADER,
+      KryoBuilder.create(),
+      new StreetLandmarks(List.of(table))
+    );
+
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    byte[] magic = new byte[MappedGraphFile.magicLength()];
+    System.arraycopy(bytes, HEADER.length, magic, 0, magic.length);
+    assertTrue(MappedGraphFile.isMagic(magic));
+
+    var result = (StreetLandmarks) MappedGraphFile.read(file, KryoBuilder.create());
+
+    var copy = result.tables().get(0);
+    // The weights are mapped from the file, not read into the heap
+    assertTrue(copy.fromLandmark(0).isDirect());
+    assertSameTable(table, copy);
+    assertTrue(copy.matches(StreetMode.CAR, false, new RoutingPreferences()));
+  }
+
+  private static void assertSameTable(LandmarkTable expected, LandmarkTable actual) {
+    assertEquals(expected.mode(), actual.mode());
+    assertEquals(expected.vertexIndexSize(), actual.vertexIndexSize());
+    assertEquals(expected.numberOfLandmarks(), actual.numberOfLandmarks());
+
+    for (int l = 0; l < expected.numberOfLandmarks(); ++l) {
+      assertEquals(expected.landmarkVertexIndex(l), actual.landmarkVertexIndex(l));
+      for (int v = 0; v < expected.vertexIndexSize(); ++v) {
+        assertEquals(expected.fromLandmark(l, v), actual.fromLandmark(l, v));
+        assertEquals(expected.toLandmark(l, v), actual.toLandmark(l, v));
+      }
+    }
+  }
+
+  private static LandmarkTable createTable() {
+    var graph = new Graph();
+    Vertex a = new SimpleConcreteVertex(graph, "A", 60.0, 10.0);
+    Vertex b = new SimpleConcreteVertex(graph, "B", 60.01, 10.0);
+    Vertex c = new SimpleConcreteVertex(graph, "C", 60.01, 10.01);
+    new SimpleConcreteEdge(a, b);
+    new SimpleConcreteEdge(b, c);
+    new SimpleConcreteEdge(c, a);
+    graph.assignDenseIndexes();
+
+    var request = StreetSearchRequest.of().withMode(StreetMode.CAR).build();
+    return new LandmarkTableBuilder(GraphAdjacency.of(graph), request, 2).build();
+  }
+}